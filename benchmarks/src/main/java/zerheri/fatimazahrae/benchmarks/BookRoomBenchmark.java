@@ -0,0 +1,141 @@
+package zerheri.fatimazahrae.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zerheri.fatimazahrae.enums.AvailabilityStrategy;
+import zerheri.fatimazahrae.enums.BookingStorage;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.services.HotelReservationServiceImpl;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réservation sur HotelReservationServiceImpl : succès, refus et contrôle de conflit
+ * en fonction de la taille de l'historique
+ *
+ * LIST_SCAN n'est pas dans les paramètres par défaut : sa préparation est quadratique.
+ * Pour la comparer : -p strategy=LIST_SCAN -p historySize=1000,100000
+ * Stockage compact de l'historique : -p storage=COMPACT
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class BookRoomBenchmark {
+    private static final int SAMPLES = 1 << 10;
+
+    @Param({"1000", "100000", "10000000"})
+    private int historySize;
+
+    @Param({"INTERVAL_INDEX", "OCCUPANCY_CALENDAR"})
+    private AvailabilityStrategy strategy;
+
+    @Param({"OBJECTS"})
+    private BookingStorage storage;
+
+    private HotelReservationServiceImpl service;
+    private int roomCount;
+
+    // Périodes déjà réservées, tirées à l'avance pour ne pas mesurer le générateur aléatoire
+    private final int[] bookedRooms = new int[SAMPLES];
+    private final LocalDate[] bookedCheckIns = new LocalDate[SAMPLES];
+    private final int[] bookedCheckInDays = new int[SAMPLES];
+    private final Date[] bookedCheckInDates = new Date[SAMPLES];
+    private final Date[] bookedCheckOutDates = new Date[SAMPLES];
+    private int sample;
+
+    // Nuits libres consommées une à une par le scénario de succès : l'historique grandit pendant la mesure
+    private long nextFreeNight;
+
+    @Setup
+    public void setUp() {
+        service = new HotelReservationServiceImpl(strategy, storage);
+        service.setEventSink(ReservationEventSink.SILENT);
+        Fixtures.populate(service, historySize);
+        roomCount = Fixtures.roomCount(historySize);
+
+        Random random = new Random(42);
+        int nightsPerRoom = Math.min(historySize, Fixtures.BOOKINGS_PER_ROOM);
+        for (int i = 0; i < SAMPLES; i++) {
+            bookedRooms[i] = random.nextInt(roomCount) + 1;
+            bookedCheckIns[i] = Fixtures.bookedCheckIn(random.nextInt(nightsPerRoom));
+            bookedCheckInDays[i] = (int) bookedCheckIns[i].toEpochDay();
+            bookedCheckInDates[i] = toDate(bookedCheckIns[i]);
+            bookedCheckOutDates[i] = toDate(bookedCheckIns[i].plusDays(1));
+        }
+        nextFreeNight = 0;
+    }
+
+    @Benchmark
+    public BookingResult bookRoomSuccess() {
+        long night = nextFreeNight++;
+        int roomNumber = (int) (night % roomCount) + 1;
+        LocalDate checkIn = Fixtures.freeCheckIn(night / roomCount);
+        return service.tryBookRoom(Fixtures.RICH_USER_ID, roomNumber, checkIn, checkIn.plusDays(1));
+    }
+
+    @Benchmark
+    public BookingResult conflictRejected() {
+        int i = nextSample();
+        LocalDate checkIn = bookedCheckIns[i];
+        return service.tryBookRoom(Fixtures.RICH_USER_ID, bookedRooms[i], checkIn, checkIn.plusDays(1));
+    }
+
+    /**
+     * Même refus sur des jours epoch : aucune allocation avant le moteur de disponibilité
+     */
+    @Benchmark
+    public BookingResult conflictRejectedEpochDays() {
+        int i = nextSample();
+        int checkInDay = bookedCheckInDays[i];
+        return service.tryBookRoom(Fixtures.RICH_USER_ID, bookedRooms[i], checkInDay, checkInDay + 1);
+    }
+
+    @Benchmark
+    public BookingResult insufficientBalanceRejected() {
+        LocalDate checkIn = Fixtures.FIRST_DAY.minusDays(3);
+        return service.tryBookRoom(Fixtures.POOR_USER_ID, bookedRooms[nextSample()], checkIn, checkIn.plusDays(1));
+    }
+
+    @Benchmark
+    public BookingResult unknownUserRejected() {
+        LocalDate checkIn = bookedCheckIns[nextSample()];
+        return service.tryBookRoom(Fixtures.UNKNOWN_USER_ID, 1, checkIn, checkIn.plusDays(1));
+    }
+
+    /**
+     * API historique : conversion des dates et refus silencieux
+     */
+    @Benchmark
+    public int legacyBookRoomConflict() {
+        int i = nextSample();
+        service.bookRoom(Fixtures.RICH_USER_ID, bookedRooms[i], bookedCheckInDates[i], bookedCheckOutDates[i]);
+        return i;
+    }
+
+    private int nextSample() {
+        int i = sample;
+        sample = (i + 1) & (SAMPLES - 1);
+        return i;
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
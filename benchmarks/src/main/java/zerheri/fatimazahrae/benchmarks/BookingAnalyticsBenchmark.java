@@ -0,0 +1,77 @@
+package zerheri.fatimazahrae.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import zerheri.fatimazahrae.analytics.BookingAnalytics;
+import zerheri.fatimazahrae.analytics.UserSpend;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.services.ConcurrentHotelReservationService;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durée d'un parcours complet de l'historique selon le nombre de threads du pool fork-join
+ *
+ * parallelism=0 exécute la même réduction sur le thread appelant : le rapport des deux mesures
+ * donne l'accélération obtenue par cœur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BookingAnalyticsBenchmark {
+
+    @Param({"1000000"})
+    private int historySize;
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private BookingAnalytics analytics;
+
+    @Setup
+    public void setUp() {
+        ConcurrentHotelReservationService service = new ConcurrentHotelReservationService();
+        service.setEventSink(ReservationEventSink.SILENT);
+        Fixtures.populate(service, historySize);
+        pool = parallelism > 0 ? new ForkJoinPool(parallelism) : null;
+        analytics = service.analyzeBookings(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<UserSpend> topUsersBySpend() {
+        return analytics.topUsersBySpend(10);
+    }
+
+    @Benchmark
+    public long[] leadTimeHistogram() {
+        return analytics.leadTimeHistogram(365);
+    }
+
+    @Benchmark
+    public long[][] lengthOfStayHistogram() {
+        return analytics.lengthOfStayHistogram(30);
+    }
+}
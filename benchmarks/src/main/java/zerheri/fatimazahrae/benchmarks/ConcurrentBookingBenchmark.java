@@ -0,0 +1,82 @@
+package zerheri.fatimazahrae.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import zerheri.fatimazahrae.enums.BookingCommitMode;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.services.ConcurrentHotelReservationService;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de ConcurrentHotelReservationService avec plusieurs threads (-t pour en changer le nombre)
+ *
+ * Les réservations portent sur des chambres et des nuits tirées au hasard après l'historique :
+ * la plupart réussissent, les collisions entre threads sont refusées comme en production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Threads(4)
+public class ConcurrentBookingBenchmark {
+    private static final int FREE_NIGHTS = 1_000_000;
+
+    @Param({"1000", "100000"})
+    private int historySize;
+
+    @Param({"OPTIMISTIC", "PESSIMISTIC"})
+    private BookingCommitMode commitMode;
+
+    private ConcurrentHotelReservationService service;
+    private int roomCount;
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup
+    public void setUp() {
+        service = new ConcurrentHotelReservationService(commitMode);
+        service.setEventSink(ReservationEventSink.SILENT);
+        Fixtures.populate(service, historySize);
+        roomCount = Fixtures.roomCount(historySize);
+    }
+
+    @Benchmark
+    public BookingResult bookRandomFreeNight(ThreadRandom state) {
+        int roomNumber = state.random.nextInt(roomCount) + 1;
+        LocalDate checkIn = Fixtures.freeCheckIn(state.random.nextInt(FREE_NIGHTS));
+        return service.tryBookRoom(Fixtures.RICH_USER_ID, roomNumber, checkIn, checkIn.plusDays(1));
+    }
+
+    @Benchmark
+    public BookingResult conflictRejected(ThreadRandom state) {
+        int roomNumber = state.random.nextInt(roomCount) + 1;
+        LocalDate checkIn = Fixtures.bookedCheckIn(state.random.nextInt(Math.min(historySize, Fixtures.BOOKINGS_PER_ROOM)));
+        return service.tryBookRoom(Fixtures.RICH_USER_ID, roomNumber, checkIn, checkIn.plusDays(1));
+    }
+
+    @Benchmark
+    public int setUser(ThreadRandom state) {
+        int userId = state.random.nextInt(1_000) + 10;
+        service.setUser(userId, 1000);
+        return userId;
+    }
+}
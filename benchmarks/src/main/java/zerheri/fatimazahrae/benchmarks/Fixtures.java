@@ -0,0 +1,97 @@
+package zerheri.fatimazahrae.benchmarks;
+
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.services.HotelReservationService;
+
+import java.time.LocalDate;
+
+/**
+ * Jeux de données communs aux benchmarks
+ *
+ * L'historique est réparti en chambres de {@link #BOOKINGS_PER_ROOM} nuits, toutes réservées
+ * par {@link #RICH_USER_ID}. Le jour de départ bloquant encore la chambre, les nuits sont
+ * espacées de deux jours : la n-ième commence à {@link #FIRST_DAY} + 2n. Les nuits suivantes
+ * ({@link #freeCheckIn}) sont libres dans toutes les chambres. Des clients supplémentaires
+ * ({@link #clientUserId}), aussi solvables, permettent de répartir les réservations concurrentes
+ * entre utilisateurs.
+ */
+final class Fixtures {
+    static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    static final int BOOKINGS_PER_ROOM = 1_000;
+    static final int PRICE_PER_NIGHT = 1;
+    static final int RICH_USER_ID = 1;
+    static final int POOR_USER_ID = 2;
+    static final int UNKNOWN_USER_ID = 999_999_999;
+    // Identifiants des clients supplémentaires, hors de ceux des autres benchmarks
+    private static final int FIRST_CLIENT_USER_ID = 1_000_000;
+
+    private Fixtures() {
+    }
+
+    /**
+     * @return Arrivée de la nuit réservée d'indice donné (inférieur à {@link #BOOKINGS_PER_ROOM})
+     */
+    static LocalDate bookedCheckIn(int night) {
+        return FIRST_DAY.plusDays(2L * night);
+    }
+
+    /**
+     * @return Arrivée de la nuit libre d'indice donné, après l'historique
+     */
+    static LocalDate freeCheckIn(long night) {
+        return FIRST_DAY.plusDays(2L * (BOOKINGS_PER_ROOM + night));
+    }
+
+    /**
+     * @return Identifiant du client supplémentaire d'indice donné (inférieur au nombre de clients créés)
+     */
+    static int clientUserId(int client) {
+        return FIRST_CLIENT_USER_ID + client;
+    }
+
+    /**
+     * @return Nombre de chambres nécessaires pour un historique de la taille donnée
+     */
+    static int roomCount(int historySize) {
+        return Math.max(1, (historySize + BOOKINGS_PER_ROOM - 1) / BOOKINGS_PER_ROOM);
+    }
+
+    /**
+     * Crée les chambres, les deux utilisateurs et l'historique de réservations
+     *
+     * @param service Service vide, de préférence silencieux
+     * @param historySize Nombre de réservations à créer
+     */
+    static void populate(HotelReservationService service, int historySize) {
+        populate(service, historySize, 0);
+    }
+
+    /**
+     * Crée les chambres, les deux utilisateurs, des clients supplémentaires et l'historique de réservations
+     *
+     * @param service Service vide, de préférence silencieux
+     * @param historySize Nombre de réservations à créer
+     * @param clientCount Nombre de clients supplémentaires
+     */
+    static void populate(HotelReservationService service, int historySize, int clientCount) {
+        int rooms = roomCount(historySize);
+        for (int roomNumber = 1; roomNumber <= rooms; roomNumber++) {
+            service.setRoom(roomNumber, RoomType.STANDARD, PRICE_PER_NIGHT);
+        }
+        service.setUser(RICH_USER_ID, Integer.MAX_VALUE);
+        service.setUser(POOR_USER_ID, 0);
+        for (int client = 0; client < clientCount; client++) {
+            service.setUser(clientUserId(client), Integer.MAX_VALUE);
+        }
+
+        for (int i = 0; i < historySize; i++) {
+            int roomNumber = i / BOOKINGS_PER_ROOM + 1;
+            LocalDate checkIn = bookedCheckIn(i % BOOKINGS_PER_ROOM);
+            BookingResult result = service.tryBookRoom(RICH_USER_ID, roomNumber, checkIn, checkIn.plusDays(1));
+            if (!result.isConfirmed()) {
+                throw new IllegalStateException("Fixture booking rejected: " + result.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package zerheri.fatimazahrae.benchmarks;
+
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.http.ReservationHttpServer;
+import zerheri.fatimazahrae.services.ConcurrentHotelReservationService;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client de charge du point d'accès HTTP
+ *
+ * Maintient un nombre fixe de requêtes en vol (une connexion HTTP/1.1 chacune, client asynchrone :
+ * aucun thread par connexion côté client), 80 % de recherches et 20 % de réservations, puis affiche
+ * le débit, la répartition des statuts et les percentiles de latence.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar zerheri.fatimazahrae.benchmarks.HttpLoadTest \
+ *      [connexions=2000] [requêtes=200000] [url, sinon serveur embarqué sur localhost]
+ * </pre>
+ *
+ * Au-delà de quelques milliers de connexions, relever la limite de descripteurs (ulimit -n).
+ */
+public final class HttpLoadTest {
+    private static final int ROOMS = 1_000;
+    private static final int USERS = 10_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        ReservationHttpServer embedded = null;
+        String baseUrl;
+        if (args.length > 2) {
+            baseUrl = args[2];
+        } else {
+            embedded = startEmbeddedServer();
+            InetSocketAddress address = embedded.getAddress();
+            baseUrl = "http://" + address.getHostString() + ":" + address.getPort();
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            seed(client, baseUrl);
+            run(client, baseUrl, connections, requests);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static ReservationHttpServer startEmbeddedServer() throws IOException {
+        ConcurrentHotelReservationService service = new ConcurrentHotelReservationService();
+        service.setEventSink(ReservationEventSink.SILENT);
+        return ReservationHttpServer.start(service, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    private static void seed(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        RoomType[] types = RoomType.values();
+        for (int room = 1; room <= ROOMS; room++) {
+            send(client, post(baseUrl + "/rooms?number=" + room + "&type=" + types[room % types.length].getDisplayName()
+                    + "&price=" + (50 + room % 200)));
+        }
+        for (int user = 1; user <= USERS; user++) {
+            send(client, post(baseUrl + "/users?id=" + user + "&balance=1000000"));
+        }
+    }
+
+    private static void run(HttpClient client, String baseUrl, int connections, int requests)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(connections);
+        CountDownLatch done = new CountDownLatch(requests);
+        long[] latencies = new long[requests];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicLong failures = new AtomicLong();
+        Map<Integer, AtomicInteger> statuses = new TreeMap<>();
+        for (int status : new int[]{200, 201, 400, 404, 409, 500}) {
+            statuses.put(status, new AtomicInteger());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(nextRequest(baseUrl), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[completed.getAndIncrement()] = System.nanoTime() - sent;
+                        if (error != null) {
+                            failures.incrementAndGet();
+                        } else {
+                            AtomicInteger count = statuses.get(response.statusCode());
+                            if (count != null) {
+                                count.incrementAndGet();
+                            }
+                        }
+                        inFlight.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("%d requests, %d connections in %.2f s: %.0f req/s%n",
+                requests, connections, elapsed / 1e9, requests / (elapsed / 1e9));
+        System.out.printf("statuses %s, transport failures %d%n", statuses, failures.get());
+        System.out.printf("latency p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static HttpRequest nextRequest(String baseUrl) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate checkIn = FIRST_DAY.plusDays(random.nextInt(365));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(3));
+        if (random.nextInt(5) == 0) {
+            return post(baseUrl + "/bookings?userId=" + (1 + random.nextInt(USERS))
+                    + "&roomNumber=" + (1 + random.nextInt(ROOMS))
+                    + "&checkIn=" + checkIn + "&checkOut=" + checkOut);
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/rooms/available?checkIn=" + checkIn
+                + "&checkOut=" + checkOut + "&maxPrice=" + (60 + random.nextInt(190)) + "&limit=10")).GET().build();
+    }
+
+    private static HttpRequest post(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 300) {
+            throw new IllegalStateException("Seed request rejected with " + status + ": " + request.uri());
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,53 @@
+package zerheri.fatimazahrae.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import zerheri.fatimazahrae.enums.RejectionReason;
+import zerheri.fatimazahrae.enums.ReservationOperation;
+import zerheri.fatimazahrae.metrics.ReservationMetrics;
+import zerheri.fatimazahrae.models.BookingResult;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'un enregistrement de métriques (objectif : moins de 50 ns), seul et sous contention
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+    private static final BookingResult REJECTED =
+            BookingResult.rejected(RejectionReason.ROOM_NOT_AVAILABLE, "Room is not available");
+
+    private final ReservationMetrics metrics = new ReservationMetrics(() -> 0, () -> 0, () -> 0, () -> 0);
+
+    @Benchmark
+    public ReservationMetrics recordSuccess() {
+        metrics.recordSuccess(ReservationOperation.SET_ROOM, System.nanoTime());
+        return metrics;
+    }
+
+    @Benchmark
+    public ReservationMetrics recordRejection() {
+        metrics.recordBooking(REJECTED, System.nanoTime());
+        return metrics;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ReservationMetrics recordRejectionContended() {
+        metrics.recordBooking(REJECTED, System.nanoTime());
+        return metrics;
+    }
+}
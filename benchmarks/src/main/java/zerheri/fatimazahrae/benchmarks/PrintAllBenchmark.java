@@ -0,0 +1,69 @@
+package zerheri.fatimazahrae.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zerheri.fatimazahrae.enums.AvailabilityStrategy;
+import zerheri.fatimazahrae.enums.BookingStorage;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.Page;
+import zerheri.fatimazahrae.services.HotelReservationServiceImpl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Affichage complet et pagination, vers une destination qui ignore les caractères
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PrintAllBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "100000"})
+    private int historySize;
+
+    @Param({"OBJECTS", "COMPACT"})
+    private BookingStorage storage;
+
+    private HotelReservationServiceImpl service;
+    private final Writer out = Writer.nullWriter();
+
+    @Setup
+    public void setUp() {
+        service = new HotelReservationServiceImpl(AvailabilityStrategy.INTERVAL_INDEX, storage);
+        service.setEventSink(ReservationEventSink.SILENT);
+        Fixtures.populate(service, historySize);
+    }
+
+    @Benchmark
+    public Writer printAll() throws IOException {
+        service.printAll(out);
+        return out;
+    }
+
+    @Benchmark
+    public Writer printAllUsers() throws IOException {
+        service.printAllUsers(out);
+        return out;
+    }
+
+    @Benchmark
+    public Page<Booking> latestBookingsPage() {
+        return service.listBookings(Page.LATEST, PAGE_SIZE);
+    }
+}
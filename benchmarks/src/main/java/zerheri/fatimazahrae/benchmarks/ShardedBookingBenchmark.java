@@ -0,0 +1,104 @@
+package zerheri.fatimazahrae.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.services.ShardedHotelReservationService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de ShardedHotelReservationService selon le nombre de shards (-t pour le nombre de threads clients)
+ *
+ * Mêmes scénarios que ConcurrentBookingBenchmark, pour comparer les deux services à nombre de cœurs égal.
+ * Le débit d'un utilisateur passant par le shard qui le possède, chaque réservation est faite
+ * par un client tiré au hasard parmi {@link #CLIENTS}, répartis entre les shards ;
+ * {@link #bookRandomFreeNightSingleUser} mesure le pire cas, un seul utilisateur pour tous les threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Threads(4)
+public class ShardedBookingBenchmark {
+    private static final int FREE_NIGHTS = 1_000_000;
+    private static final int CLIENTS = 1_024;
+
+    @Param({"1000", "100000"})
+    private int historySize;
+
+    @Param({"1", "4", "8"})
+    private int shardCount;
+
+    private ShardedHotelReservationService service;
+    private int roomCount;
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup
+    public void setUp() {
+        service = new ShardedHotelReservationService(shardCount);
+        service.setEventSink(ReservationEventSink.SILENT);
+        Fixtures.populate(service, historySize, CLIENTS);
+        roomCount = Fixtures.roomCount(historySize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public BookingResult bookRandomFreeNight(ThreadRandom state) {
+        int userId = Fixtures.clientUserId(state.random.nextInt(CLIENTS));
+        int roomNumber = state.random.nextInt(roomCount) + 1;
+        LocalDate checkIn = Fixtures.freeCheckIn(state.random.nextInt(FREE_NIGHTS));
+        return service.tryBookRoom(userId, roomNumber, checkIn, checkIn.plusDays(1));
+    }
+
+    /**
+     * Pire cas : tous les threads réservent pour le même utilisateur, dont le shard sérialise les débits
+     */
+    @Benchmark
+    public BookingResult bookRandomFreeNightSingleUser(ThreadRandom state) {
+        int roomNumber = state.random.nextInt(roomCount) + 1;
+        LocalDate checkIn = Fixtures.freeCheckIn(state.random.nextInt(FREE_NIGHTS));
+        return service.tryBookRoom(Fixtures.RICH_USER_ID, roomNumber, checkIn, checkIn.plusDays(1));
+    }
+
+    @Benchmark
+    public BookingResult conflictRejected(ThreadRandom state) {
+        int userId = Fixtures.clientUserId(state.random.nextInt(CLIENTS));
+        int roomNumber = state.random.nextInt(roomCount) + 1;
+        LocalDate checkIn = Fixtures.bookedCheckIn(state.random.nextInt(Math.min(historySize, Fixtures.BOOKINGS_PER_ROOM)));
+        return service.tryBookRoom(userId, roomNumber, checkIn, checkIn.plusDays(1));
+    }
+
+    @Benchmark
+    public List<Room> findAvailableRooms(ThreadRandom state) {
+        LocalDate checkIn = Fixtures.bookedCheckIn(state.random.nextInt(Math.min(historySize, Fixtures.BOOKINGS_PER_ROOM)));
+        return service.findAvailableRooms(RoomType.STANDARD, checkIn, checkIn.plusDays(1), Integer.MAX_VALUE, 10);
+    }
+}
@@ -0,0 +1,78 @@
+package zerheri.fatimazahrae.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.services.HotelReservationServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Création et mise à jour de chambres et d'utilisateurs sur HotelReservationServiceImpl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpsertBenchmark {
+    private static final int EXISTING = 1 << 12;
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private HotelReservationServiceImpl service;
+    private int counter;
+    private int nextId;
+
+    /**
+     * Service recréé à chaque itération : les créations ne s'accumulent pas d'une itération à l'autre
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new HotelReservationServiceImpl();
+        service.setEventSink(ReservationEventSink.SILENT);
+        for (int id = 1; id <= EXISTING; id++) {
+            service.setRoom(id, RoomType.STANDARD, 1000);
+            service.setUser(id, 1000);
+        }
+        nextId = EXISTING + 1;
+    }
+
+    @Benchmark
+    public int setRoomUpdate() {
+        int i = counter++;
+        service.setRoom((i & (EXISTING - 1)) + 1, ROOM_TYPES[i % ROOM_TYPES.length], 1000 + (i & 0xFF));
+        return i;
+    }
+
+    @Benchmark
+    public int setRoomCreate() {
+        int roomNumber = nextId++;
+        service.setRoom(roomNumber, RoomType.STANDARD, 1000);
+        return roomNumber;
+    }
+
+    @Benchmark
+    public int setUserUpdate() {
+        int i = counter++;
+        service.setUser((i & (EXISTING - 1)) + 1, i & 0xFFFF);
+        return i;
+    }
+
+    @Benchmark
+    public int setUserCreate() {
+        int userId = nextId++;
+        service.setUser(userId, 1000);
+        return userId;
+    }
+}
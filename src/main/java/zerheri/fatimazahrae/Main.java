@@ -4,8 +4,7 @@ import zerheri.fatimazahrae.enums.RoomType;
 import zerheri.fatimazahrae.services.HotelReservationService;
 import zerheri.fatimazahrae.services.HotelReservationServiceFactory;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDate;
 
 public class Main {
     public static void main(String[] args) {
@@ -33,15 +32,14 @@ public class Main {
             hotelService.setUser(2, 10000);
 
             // Create dates for testing
-            SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-            Date checkIn1 = sdf.parse("30/06/2026");
-            Date checkOut1 = sdf.parse("07/07/2026");
-            Date checkIn2 = sdf.parse("07/07/2026");
-            Date checkOut2 = sdf.parse("30/06/2026"); // Invalid: before check-in
-            Date checkIn3 = sdf.parse("07/07/2026");
-            Date checkOut3 = sdf.parse("08/07/2026");
-            Date checkIn4 = sdf.parse("07/07/2026");
-            Date checkOut4 = sdf.parse("09/07/2026");
+            LocalDate checkIn1 = LocalDate.of(2026, 6, 30);
+            LocalDate checkOut1 = LocalDate.of(2026, 7, 7);
+            LocalDate checkIn2 = LocalDate.of(2026, 7, 7);
+            LocalDate checkOut2 = LocalDate.of(2026, 6, 30); // Invalid: before check-in
+            LocalDate checkIn3 = LocalDate.of(2026, 7, 7);
+            LocalDate checkOut3 = LocalDate.of(2026, 7, 8);
+            LocalDate checkIn4 = LocalDate.of(2026, 7, 7);
+            LocalDate checkOut4 = LocalDate.of(2026, 7, 9);
 
             // Test bookings
             System.out.println("\n=== BOOKING TESTS ===");
@@ -0,0 +1,307 @@
+package zerheri.fatimazahrae.analytics;
+
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.index.IntLongHashMap;
+import zerheri.fatimazahrae.models.Booking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Analyses ad hoc de l'historique des réservations par réductions fork-join
+ *
+ * L'historique est figé à la construction : seules les réservations présentes à cet instant
+ * (un préfixe de la liste, qui ne fait que grandir) sont parcourues, quelles que soient les réservations
+ * ajoutées pendant l'analyse. Un {@link Spliterator} indexé coupe ce préfixe en moitiés jusqu'à
+ * des feuilles de quelques milliers de réservations ; chaque feuille remplit ses propres accumulateurs
+ * primitifs (tableaux de compteurs, {@link IntLongHashMap}), fusionnés deux à deux en remontant.
+ * Sans pool, la même réduction s'exécute sur une seule feuille : les résultats sont identiques.
+ *
+ * Seules les réservations confirmées sont comptées. Le statut est lu pendant le parcours :
+ * une annulation concurrente peut être vue ou non. La liste doit être à accès indexé et lisible
+ * sans verrou pendant les ajouts, ou ne pas être modifiée pendant l'analyse.
+ */
+public final class BookingAnalytics {
+    private static final int MIN_LEAF_SIZE = 4_096;
+    // Feuilles par thread du pool : assez pour équilibrer la charge sans multiplier les fusions
+    private static final int LEAVES_PER_THREAD = 8;
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final List<Booking> bookings;
+    private final int count;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param bookings Historique des réservations, dans l'ordre de création
+     * @param pool Pool exécutant les réductions en parallèle, ou null pour les exécuter sur le thread appelant
+     */
+    public BookingAnalytics(List<Booking> bookings, ForkJoinPool pool) {
+        if (bookings == null) {
+            throw new IllegalArgumentException("Bookings cannot be null");
+        }
+        if (!(bookings instanceof RandomAccess)) {
+            throw new IllegalArgumentException("Bookings must support indexed access");
+        }
+        this.bookings = bookings;
+        this.count = bookings.size();
+        this.pool = pool;
+    }
+
+    /**
+     * @return Nombre de réservations figées à la construction
+     */
+    public int getBookingCount() {
+        return count;
+    }
+
+    /**
+     * @return true si les réductions s'exécutent sur un pool fork-join
+     */
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Meilleurs clients par montant dépensé, à égalité par identifiant croissant
+     *
+     * @param limit Nombre maximal d'utilisateurs retournés
+     * @return Utilisateurs par montant décroissant
+     */
+    public List<UserSpend> topUsersBySpend(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        SpendTotals totals = reduce(new Reduction<SpendTotals>() {
+            @Override
+            public SpendTotals create() {
+                return new SpendTotals();
+            }
+
+            @Override
+            public void accept(SpendTotals totals, Booking booking) {
+                totals.spend.addTo(booking.getUserId(), booking.getTotalAmount());
+                totals.bookings.addTo(booking.getUserId(), 1);
+            }
+
+            @Override
+            public SpendTotals combine(SpendTotals left, SpendTotals right) {
+                SpendTotals smaller = left.spend.size() < right.spend.size() ? left : right;
+                SpendTotals larger = smaller == left ? right : left;
+                larger.spend.addAll(smaller.spend);
+                larger.bookings.addAll(smaller.bookings);
+                return larger;
+            }
+        });
+
+        Comparator<UserSpend> order = Comparator.comparingLong(UserSpend::getTotalSpend).reversed()
+                .thenComparingInt(UserSpend::getUserId);
+        // Tas des meilleurs, dont la tête est le moins bon retenu
+        PriorityQueue<UserSpend> best = new PriorityQueue<>(limit + 1, order.reversed());
+        totals.spend.forEach((userId, spend) -> {
+            best.add(new UserSpend(userId, spend, totals.bookings.get(userId)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        List<UserSpend> top = new ArrayList<>(best);
+        top.sort(order);
+        return top;
+    }
+
+    /**
+     * Distribution du délai de réservation : jours entre la date de création et l'arrivée
+     *
+     * @param maxDays Délai au-delà duquel les réservations sont regroupées
+     * @return Compteurs par délai : indice = nombre de jours (un délai négatif compte pour 0),
+     *         dernier indice = maxDays jours ou plus
+     */
+    public long[] leadTimeHistogram(int maxDays) {
+        if (maxDays <= 0) {
+            throw new IllegalArgumentException("Maximum lead time must be positive");
+        }
+        return reduce(new Reduction<long[]>() {
+            @Override
+            public long[] create() {
+                return new long[maxDays + 1];
+            }
+
+            @Override
+            public void accept(long[] histogram, Booking booking) {
+                long leadDays = booking.getCheckIn().toEpochDay() - booking.getCreatedAt().toLocalDate().toEpochDay();
+                histogram[(int) Math.max(0, Math.min(leadDays, maxDays))]++;
+            }
+
+            @Override
+            public long[] combine(long[] left, long[] right) {
+                for (int i = 0; i < left.length; i++) {
+                    left[i] += right[i];
+                }
+                return left;
+            }
+        });
+    }
+
+    /**
+     * Distribution de la durée des séjours par type de chambre (au moment de la réservation)
+     *
+     * @param maxNights Durée au-delà de laquelle les séjours sont regroupés
+     * @return Compteurs par type (indice = ordinal de {@link RoomType}) puis par durée :
+     *         indice = nombre de nuits, dernier indice = maxNights nuits ou plus
+     */
+    public long[][] lengthOfStayHistogram(int maxNights) {
+        if (maxNights <= 0) {
+            throw new IllegalArgumentException("Maximum length of stay must be positive");
+        }
+        return reduce(new Reduction<long[][]>() {
+            @Override
+            public long[][] create() {
+                return new long[ROOM_TYPES.length][maxNights + 1];
+            }
+
+            @Override
+            public void accept(long[][] histograms, Booking booking) {
+                long nights = booking.getCheckOut().toEpochDay() - booking.getCheckIn().toEpochDay();
+                histograms[booking.getRoomTypeAtBooking().ordinal()][(int) Math.min(nights, maxNights)]++;
+            }
+
+            @Override
+            public long[][] combine(long[][] left, long[][] right) {
+                for (int type = 0; type < left.length; type++) {
+                    for (int i = 0; i < left[type].length; i++) {
+                        left[type][i] += right[type][i];
+                    }
+                }
+                return left;
+            }
+        });
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private <A> A reduce(Reduction<A> reduction) {
+        BookingSpliterator spliterator = new BookingSpliterator(bookings, 0, count);
+        if (pool == null) {
+            return ReductionTask.leaf(spliterator, reduction);
+        }
+        long leafSize = Math.max(MIN_LEAF_SIZE, count / ((long) pool.getParallelism() * LEAVES_PER_THREAD));
+        return pool.invoke(new ReductionTask<>(spliterator, reduction, leafSize));
+    }
+
+    /**
+     * Réduction mutable : un accumulateur par feuille, rempli puis fusionné avec son voisin
+     */
+    private interface Reduction<A> {
+        A create();
+
+        void accept(A accumulator, Booking booking);
+
+        /**
+         * @return Fusion des deux accumulateurs, qui peut réutiliser l'un d'eux
+         */
+        A combine(A left, A right);
+    }
+
+    private static final class SpendTotals {
+        private final IntLongHashMap spend = new IntLongHashMap();
+        private final IntLongHashMap bookings = new IntLongHashMap();
+    }
+
+    private static final class ReductionTask<A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<Booking> spliterator;
+        private final Reduction<A> reduction;
+        private final long leafSize;
+
+        private ReductionTask(Spliterator<Booking> spliterator, Reduction<A> reduction, long leafSize) {
+            this.spliterator = spliterator;
+            this.reduction = reduction;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected A compute() {
+            Spliterator<Booking> prefix;
+            if (spliterator.estimateSize() <= leafSize || (prefix = spliterator.trySplit()) == null) {
+                return leaf(spliterator, reduction);
+            }
+            ReductionTask<A> left = new ReductionTask<>(prefix, reduction, leafSize);
+            left.fork();
+            A right = new ReductionTask<>(spliterator, reduction, leafSize).compute();
+            return reduction.combine(left.join(), right);
+        }
+
+        private static <A> A leaf(Spliterator<Booking> spliterator, Reduction<A> reduction) {
+            A accumulator = reduction.create();
+            spliterator.forEachRemaining(booking -> {
+                if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                    reduction.accept(accumulator, booking);
+                }
+            });
+            return accumulator;
+        }
+    }
+
+    /**
+     * Parcours d'un intervalle de positions [origin, fence) de la liste, coupé en deux moitiés
+     */
+    private static final class BookingSpliterator implements Spliterator<Booking> {
+        private final List<Booking> bookings;
+        private int origin;
+        private final int fence;
+
+        private BookingSpliterator(List<Booking> bookings, int origin, int fence) {
+            this.bookings = bookings;
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Booking> action) {
+            if (origin >= fence) {
+                return false;
+            }
+            action.accept(bookings.get(origin++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Booking> action) {
+            for (int i = origin; i < fence; i++) {
+                action.accept(bookings.get(i));
+            }
+            origin = fence;
+        }
+
+        @Override
+        public Spliterator<Booking> trySplit() {
+            int middle = (origin + fence) >>> 1;
+            if (middle <= origin) {
+                return null;
+            }
+            BookingSpliterator prefix = new BookingSpliterator(bookings, origin, middle);
+            origin = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package zerheri.fatimazahrae.analytics;
+
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.index.IntObjectHashMap;
+import zerheri.fatimazahrae.index.RangeFenwickTree;
+import zerheri.fatimazahrae.models.Booking;
+
+/**
+ * Agrégats d'occupation et de chiffre d'affaires par jour et par type de chambre
+ *
+ * Chaque réservation confirmée ajoute, à chaque nuit de son séjour, une nuit vendue et son prix
+ * par nuit au moment de la réservation (la somme sur le séjour est son montant total) ; une annulation
+ * les retire. Les deux séries de chaque type sont des {@link RangeFenwickTree} indexés par jour epoch :
+ * mise à jour et requête sur une période coûtent O(log n), sans parcourir les réservations.
+ *
+ * Le type retenu est celui de la chambre au moment de la réservation ; le taux d'occupation
+ * rapporte les nuits vendues au nombre actuel de chambres du type. Les blocages temporaires
+ * ne comptent qu'une fois confirmés. Thread-safe : un moniteur par type de chambre.
+ */
+public final class OccupancyAggregates {
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final TypeAggregate[] byType = new TypeAggregate[ROOM_TYPES.length];
+    // Type actuel de chaque chambre, pour le nombre de chambres par type
+    private final IntObjectHashMap<RoomType> roomTypes = new IntObjectHashMap<>();
+
+    public OccupancyAggregates() {
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new TypeAggregate();
+        }
+    }
+
+    /**
+     * Compte les nuits et le chiffre d'affaires d'une réservation confirmée
+     */
+    public void bookingConfirmed(Booking booking) {
+        apply(booking, 1);
+    }
+
+    /**
+     * Retire les nuits et le chiffre d'affaires d'une réservation confirmée puis annulée
+     */
+    public void bookingCancelled(Booking booking) {
+        apply(booking, -1);
+    }
+
+    /**
+     * Tient à jour le nombre de chambres par type, après la création ou la mise à jour d'une chambre
+     */
+    public void roomUpdated(int roomNumber, RoomType roomType) {
+        if (roomType == null) {
+            throw new IllegalArgumentException("Room type cannot be null");
+        }
+        RoomType previous;
+        synchronized (roomTypes) {
+            previous = roomTypes.put(roomNumber, roomType);
+        }
+        if (previous == roomType) {
+            return;
+        }
+        if (previous != null) {
+            TypeAggregate old = byType[previous.ordinal()];
+            synchronized (old) {
+                old.rooms--;
+            }
+        }
+        TypeAggregate current = byType[roomType.ordinal()];
+        synchronized (current) {
+            current.rooms++;
+        }
+    }
+
+    /**
+     * @param roomType Type de chambre, ou null pour tous les types
+     * @param fromDay Première nuit, en jour epoch (incluse)
+     * @param toDay Dernière nuit, en jour epoch (incluse)
+     * @return Nombre de nuits vendues sur la période
+     */
+    public long getNightsSold(RoomType roomType, int fromDay, int toDay) {
+        checkPeriod(fromDay, toDay);
+        long nights = 0;
+        for (TypeAggregate aggregate : selected(roomType)) {
+            synchronized (aggregate) {
+                nights += aggregate.nights.sum(fromDay, toDay);
+            }
+        }
+        return nights;
+    }
+
+    /**
+     * @param roomType Type de chambre, ou null pour tous les types
+     * @param fromDay Première nuit, en jour epoch (incluse)
+     * @param toDay Dernière nuit, en jour epoch (incluse)
+     * @return Chiffre d'affaires des nuits de la période
+     */
+    public long getRevenue(RoomType roomType, int fromDay, int toDay) {
+        checkPeriod(fromDay, toDay);
+        long revenue = 0;
+        for (TypeAggregate aggregate : selected(roomType)) {
+            synchronized (aggregate) {
+                revenue += aggregate.revenue.sum(fromDay, toDay);
+            }
+        }
+        return revenue;
+    }
+
+    /**
+     * @param roomType Type de chambre, ou null pour tous les types
+     * @param fromDay Première nuit, en jour epoch (incluse)
+     * @param toDay Dernière nuit, en jour epoch (incluse)
+     * @return Nuits vendues rapportées aux nuits disponibles (chambres actuelles × nuits), 0 sans chambre
+     */
+    public double getOccupancyRate(RoomType roomType, int fromDay, int toDay) {
+        checkPeriod(fromDay, toDay);
+        long nights = 0;
+        long rooms = 0;
+        for (TypeAggregate aggregate : selected(roomType)) {
+            synchronized (aggregate) {
+                nights += aggregate.nights.sum(fromDay, toDay);
+                rooms += aggregate.rooms;
+            }
+        }
+        long capacity = rooms * ((long) toDay - fromDay + 1);
+        return capacity > 0 ? (double) nights / capacity : 0;
+    }
+
+    /**
+     * @return Nombre actuel de chambres du type, ou de toutes les chambres si null
+     */
+    public int getRoomCount(RoomType roomType) {
+        int rooms = 0;
+        for (TypeAggregate aggregate : selected(roomType)) {
+            synchronized (aggregate) {
+                rooms += aggregate.rooms;
+            }
+        }
+        return rooms;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private void apply(Booking booking, int sign) {
+        if (booking == null) {
+            throw new IllegalArgumentException("Booking cannot be null");
+        }
+        int firstNight = Math.toIntExact(booking.getCheckIn().toEpochDay());
+        int lastNight = Math.toIntExact(booking.getCheckOut().toEpochDay()) - 1;
+        TypeAggregate aggregate = byType[booking.getRoomTypeAtBooking().ordinal()];
+        synchronized (aggregate) {
+            aggregate.nights.add(firstNight, lastNight, sign);
+            aggregate.revenue.add(firstNight, lastNight, (long) sign * booking.getRoomPriceAtBooking());
+        }
+    }
+
+    private TypeAggregate[] selected(RoomType roomType) {
+        return roomType == null ? byType : new TypeAggregate[]{byType[roomType.ordinal()]};
+    }
+
+    private static void checkPeriod(int fromDay, int toDay) {
+        if (toDay < fromDay) {
+            throw new IllegalArgumentException("Last day cannot precede first day");
+        }
+    }
+
+    /**
+     * Séries d'un type de chambre, protégées par le moniteur de l'instance
+     */
+    private static final class TypeAggregate {
+        private final RangeFenwickTree nights = new RangeFenwickTree();
+        private final RangeFenwickTree revenue = new RangeFenwickTree();
+        private int rooms;
+    }
+}
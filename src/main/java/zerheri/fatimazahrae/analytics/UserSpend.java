@@ -0,0 +1,52 @@
+package zerheri.fatimazahrae.analytics;
+
+import java.util.Objects;
+
+/**
+ * Montant dépensé par un utilisateur sur ses réservations confirmées
+ */
+public final class UserSpend {
+    private final int userId;
+    private final long totalSpend;
+    private final long bookingCount;
+
+    public UserSpend(int userId, long totalSpend, long bookingCount) {
+        this.userId = userId;
+        this.totalSpend = totalSpend;
+        this.bookingCount = bookingCount;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public long getTotalSpend() {
+        return totalSpend;
+    }
+
+    public long getBookingCount() {
+        return bookingCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserSpend)) {
+            return false;
+        }
+        UserSpend other = (UserSpend) o;
+        return userId == other.userId && totalSpend == other.totalSpend && bookingCount == other.bookingCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, totalSpend, bookingCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserSpend{userId=%d, totalSpend=%d, bookings=%d}", userId, totalSpend, bookingCount);
+    }
+}
@@ -0,0 +1,384 @@
+package zerheri.fatimazahrae.cache;
+
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.models.Room;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Cache borné des réponses de recherche de disponibilité, invalidé chambre par chambre
+ *
+ * Une réponse est indexée par (type, arrivée, départ, prix maximal, nombre de résultats) et retient
+ * la version de chaque chambre examinée pour la calculer. Réservation, annulation ou modification
+ * d'une chambre incrémentent sa seule version : seules les réponses qui l'ont examinée deviennent
+ * périmées, et sont écartées à leur prochaine lecture (aucun vidage global).
+ *
+ * Une chambre créée, ou dont le type ou le prix change, peut aussi entrer dans une réponse qui ne
+ * l'a jamais examinée : ces changements de catalogue, rares, sont conservés dans un court historique
+ * et une réponse n'est écartée que si la chambre tombe dans son périmètre (type, prix maximal, et
+ * avant son dernier résultat si la réponse a été tronquée).
+ *
+ * Les réponses sont évincées dans l'ordre d'insertion au-delà de la taille maximale, et ignorées
+ * au-delà de leur âge maximal. Toutes les méthodes sont thread-safe.
+ */
+public final class AvailabilityCache implements AvailabilityCacheMXBean {
+    private static final String JMX_DOMAIN = "zerheri.fatimazahrae";
+    private static final int CATALOG_HISTORY = 1024;
+
+    /**
+     * Recherche à exécuter en cas d'absence ou de péremption de la réponse
+     */
+    @FunctionalInterface
+    public interface Search {
+
+        /**
+         * @param candidates Reçoit le numéro de chaque chambre examinée, disponible ou non
+         * @return Chambres disponibles
+         */
+        List<Room> search(IntConsumer candidates);
+    }
+
+    private final int maxEntries;
+    private final long maxAgeNanos;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    // Horloge logique commune aux versions des chambres et à l'historique du catalogue
+    private final AtomicLong clock = new AtomicLong();
+    private final ConcurrentHashMap<Integer, Long> roomVersions = new ConcurrentHashMap<>();
+
+    // Historique circulaire des changements de catalogue, protégé par son propre moniteur
+    private final CatalogChange[] catalogHistory = new CatalogChange[CATALOG_HISTORY];
+    private long catalogChanges;
+    private long lastOverwrittenChange;
+    private volatile long lastCatalogChange;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries Nombre maximal de réponses conservées
+     * @param maxAge Âge au-delà duquel une réponse est recalculée
+     */
+    public AvailabilityCache(int maxEntries, Duration maxAge) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (maxAge == null || maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("Cache entry age must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /**
+     * Retourne la réponse en cache si elle est encore valide, sinon exécute la recherche et la met en cache
+     *
+     * @return Chambres disponibles (liste propre à l'appelant)
+     */
+    public List<Room> get(RoomType roomType, int checkInDay, int checkOutDay, int maxPrice, int limit,
+                          Search search) {
+        Key key = new Key(roomType, checkInDay, checkOutDay, maxPrice, limit);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (System.nanoTime() - entry.createdNanos > maxAgeNanos) {
+                expirations.increment();
+                entries.remove(key, entry);
+            } else if (!isValid(entry)) {
+                invalidations.increment();
+                entries.remove(key, entry);
+            } else {
+                hits.increment();
+                return new ArrayList<>(entry.rooms);
+            }
+        }
+
+        misses.increment();
+        // Lue avant la recherche : une chambre modifiée pendant la recherche a une version plus récente
+        long stamp = clock.get();
+        Candidates candidates = new Candidates();
+        List<Room> rooms = search.search(candidates);
+        Entry computed = newEntry(key, stamp, rooms, candidates);
+        if (computed != null) {
+            store(key, computed);
+        }
+        return rooms;
+    }
+
+    /**
+     * Périme les réponses qui ont examiné la chambre ; à appeler après une réservation
+     * ou une annulation, une fois la mutation visible
+     */
+    public void roomChanged(int roomNumber) {
+        roomVersions.merge(roomNumber, clock.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Périme les réponses qui ont examiné la chambre ou dans le périmètre desquelles elle entre ;
+     * à appeler après la création ou la mise à jour d'une chambre, une fois la mutation visible
+     */
+    public void roomUpdated(int roomNumber, RoomType roomType, int pricePerNight) {
+        synchronized (catalogHistory) {
+            // Séquence attribuée sous le moniteur : l'historique reste trié
+            long sequence = clock.incrementAndGet();
+            roomVersions.merge(roomNumber, sequence, Math::max);
+            int slot = (int) (catalogChanges++ % CATALOG_HISTORY);
+            if (catalogHistory[slot] != null) {
+                lastOverwrittenChange = catalogHistory[slot].sequence;
+            }
+            catalogHistory[slot] = new CatalogChange(sequence, roomNumber, roomType, pricePerNight);
+            lastCatalogChange = sequence;
+        }
+    }
+
+    /**
+     * Publie les statistiques du cache auprès du serveur MBean de la plateforme
+     *
+     * @param name Nom distinguant le cache (propriété name de l'ObjectName)
+     * @return Nom sous lequel le MBean est enregistré
+     * @throws JMException si le nom est invalide ou déjà utilisé
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("MBean name cannot be empty");
+        }
+        ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=AvailabilityCache,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    // ===============================
+    // ATTRIBUTS JMX
+    // ===============================
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return Nombre de réponses écartées parce qu'une chambre de leur périmètre a changé
+     */
+    @Override
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    @Override
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private Entry newEntry(Key key, long stamp, List<Room> rooms, Candidates candidates) {
+        int[] examined = Arrays.copyOf(candidates.roomNumbers, candidates.size);
+        long[] versions = new long[examined.length];
+        for (int i = 0; i < examined.length; i++) {
+            versions[i] = roomVersions.getOrDefault(examined[i], 0L);
+            if (versions[i] > stamp) {
+                // Chambre modifiée pendant la recherche : réponse peut-être déjà périmée
+                return null;
+            }
+        }
+        long frontier = Long.MAX_VALUE;
+        if (rooms.size() >= key.limit) {
+            Room last = rooms.get(rooms.size() - 1);
+            frontier = order(last.getPricePerNight(), last.getRoomNumber());
+        }
+        return new Entry(key, List.copyOf(rooms), examined, versions, frontier, stamp);
+    }
+
+    private void store(Key key, Entry entry) {
+        if (entries.put(key, entry) != null) {
+            return;
+        }
+        insertionOrder.add(key);
+        if (queued.incrementAndGet() <= maxEntries) {
+            return;
+        }
+        while (queued.get() > maxEntries) {
+            Key oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            queued.decrementAndGet();
+            if (entries.remove(oldest) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean isValid(Entry entry) {
+        for (int i = 0; i < entry.examined.length; i++) {
+            if (roomVersions.getOrDefault(entry.examined[i], 0L) != entry.versions[i]) {
+                return false;
+            }
+        }
+        long checkedUpTo = entry.catalogCheckedUpTo;
+        if (lastCatalogChange <= checkedUpTo) {
+            return true;
+        }
+        synchronized (catalogHistory) {
+            if (lastOverwrittenChange > checkedUpTo) {
+                // Changements sortis de l'historique : impossible de prouver que la réponse est valide
+                return false;
+            }
+            long first = Math.max(0, catalogChanges - CATALOG_HISTORY);
+            for (long i = first; i < catalogChanges; i++) {
+                CatalogChange change = catalogHistory[(int) (i % CATALOG_HISTORY)];
+                if (change.sequence > checkedUpTo && entry.covers(change)) {
+                    return false;
+                }
+            }
+            entry.catalogCheckedUpTo = lastCatalogChange;
+        }
+        return true;
+    }
+
+    /**
+     * Ordre de parcours des recherches : prix croissant, puis numéro de chambre croissant
+     */
+    private static long order(int pricePerNight, int roomNumber) {
+        return ((long) pricePerNight << 32) | (roomNumber & 0xFFFFFFFFL);
+    }
+
+    private static final class Key {
+        private final RoomType roomType;
+        private final int checkInDay;
+        private final int checkOutDay;
+        private final int maxPrice;
+        private final int limit;
+
+        private Key(RoomType roomType, int checkInDay, int checkOutDay, int maxPrice, int limit) {
+            this.roomType = roomType;
+            this.checkInDay = checkInDay;
+            this.checkOutDay = checkOutDay;
+            this.maxPrice = maxPrice;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return roomType == other.roomType && checkInDay == other.checkInDay && checkOutDay == other.checkOutDay
+                    && maxPrice == other.maxPrice && limit == other.limit;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = roomType != null ? roomType.hashCode() : 0;
+            result = 31 * result + checkInDay;
+            result = 31 * result + checkOutDay;
+            result = 31 * result + maxPrice;
+            return 31 * result + limit;
+        }
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final List<Room> rooms;
+        private final int[] examined;
+        private final long[] versions;
+        // Position du dernier résultat d'une réponse tronquée, sinon Long.MAX_VALUE
+        private final long frontier;
+        private final long createdNanos = System.nanoTime();
+        private volatile long catalogCheckedUpTo;
+
+        private Entry(Key key, List<Room> rooms, int[] examined, long[] versions, long frontier, long stamp) {
+            this.key = key;
+            this.rooms = rooms;
+            this.examined = examined;
+            this.versions = versions;
+            this.frontier = frontier;
+            this.catalogCheckedUpTo = stamp;
+        }
+
+        private boolean covers(CatalogChange change) {
+            return (key.roomType == null || key.roomType == change.roomType)
+                    && change.pricePerNight <= key.maxPrice
+                    && order(change.pricePerNight, change.roomNumber) < frontier;
+        }
+    }
+
+    private static final class CatalogChange {
+        private final long sequence;
+        private final int roomNumber;
+        private final RoomType roomType;
+        private final int pricePerNight;
+
+        private CatalogChange(long sequence, int roomNumber, RoomType roomType, int pricePerNight) {
+            this.sequence = sequence;
+            this.roomNumber = roomNumber;
+            this.roomType = roomType;
+            this.pricePerNight = pricePerNight;
+        }
+    }
+
+    /**
+     * Numéros des chambres examinées par une recherche ; utilisé par un seul thread
+     */
+    private static final class Candidates implements IntConsumer {
+        private int[] roomNumbers = new int[16];
+        private int size;
+
+        @Override
+        public void accept(int roomNumber) {
+            if (size == roomNumbers.length) {
+                roomNumbers = Arrays.copyOf(roomNumbers, size << 1);
+            }
+            roomNumbers[size++] = roomNumber;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package zerheri.fatimazahrae.cache;
+
+/**
+ * Vue JMX du cache des recherches de disponibilité, pour le dimensionner
+ */
+public interface AvailabilityCacheMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getInvalidationCount();
+
+    long getExpirationCount();
+
+    long getEvictionCount();
+
+    int getSize();
+
+    int getMaxEntries();
+}
@@ -0,0 +1,13 @@
+package zerheri.fatimazahrae.enums;
+
+/**
+ * Moteurs disponibles pour vérifier la disponibilité d'une chambre lors d'une réservation
+ */
+public enum AvailabilityStrategy {
+    /** Parcours de la liste complète des réservations (comportement historique, référence) */
+    LIST_SCAN,
+    /** Index trié des périodes réservées par chambre, recherche en O(log k) */
+    INTERVAL_INDEX,
+    /** Calendrier d'occupation par chambre sous forme de bitmap journalier */
+    OCCUPANCY_CALENDAR
+}
@@ -0,0 +1,11 @@
+package zerheri.fatimazahrae.enums;
+
+/**
+ * Stratégie de validation d'une réservation concurrente
+ */
+public enum BookingCommitMode {
+    /** Verrous de la chambre et de l'utilisateur pendant toute la réservation */
+    PESSIMISTIC,
+    /** Validation sans verrou puis validation par CAS, repli sur les verrous pour les chambres disputées */
+    OPTIMISTIC
+}
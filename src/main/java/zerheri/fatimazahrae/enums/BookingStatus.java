@@ -3,5 +3,12 @@ package zerheri.fatimazahrae.enums;
 public enum BookingStatus {
     CONFIRMED,
     CANCELLED,
-    PENDING
+    PENDING;
+
+    /**
+     * @return true si la réservation bloque ses nuits (confirmée, ou blocage en attente)
+     */
+    public boolean blocksRoom() {
+        return this != CANCELLED;
+    }
 }
@@ -0,0 +1,11 @@
+package zerheri.fatimazahrae.enums;
+
+/**
+ * Représentation en mémoire de l'historique des réservations
+ */
+public enum BookingStorage {
+    /** Un objet Booking par réservation (comportement historique) */
+    OBJECTS,
+    /** Colonnes de types primitifs, objets Booking reconstruits à la lecture */
+    COMPACT
+}
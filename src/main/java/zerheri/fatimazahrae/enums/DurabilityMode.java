@@ -0,0 +1,11 @@
+package zerheri.fatimazahrae.enums;
+
+/**
+ * Garantie de durabilité du journal des mutations
+ */
+public enum DurabilityMode {
+    /** Chaque mutation attend que le lot qui la contient soit écrit et synchronisé sur disque */
+    SYNC,
+    /** Les mutations n'attendent pas : le lot est synchronisé au plus tard après l'intervalle de flush */
+    ASYNC
+}
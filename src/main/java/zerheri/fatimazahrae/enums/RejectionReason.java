@@ -0,0 +1,14 @@
+package zerheri.fatimazahrae.enums;
+
+/**
+ * Motifs de refus d'une réservation ou d'une annulation
+ */
+public enum RejectionReason {
+    INVALID_PARAMETERS,
+    INVALID_DATES,
+    USER_NOT_FOUND,
+    ROOM_NOT_FOUND,
+    ROOM_NOT_AVAILABLE,
+    INSUFFICIENT_BALANCE,
+    BOOKING_NOT_FOUND
+}
@@ -0,0 +1,14 @@
+package zerheri.fatimazahrae.enums;
+
+/**
+ * Opérations du service de réservation, pour les événements d'échec
+ */
+public enum ReservationOperation {
+    SET_ROOM,
+    SET_USER,
+    BOOK_ROOM,
+    CANCEL_BOOKING,
+    HOLD_ROOM,
+    CONFIRM_HOLD,
+    RELEASE_HOLD
+}
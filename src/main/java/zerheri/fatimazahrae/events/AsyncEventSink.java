@@ -0,0 +1,136 @@
+package zerheri.fatimazahrae.events;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Transmet les événements à un autre destinataire depuis un thread dédié
+ *
+ * Les émetteurs déposent l'événement dans un tampon circulaire borné (réservation d'une case
+ * par CAS, sans verrou) et repartent immédiatement ; la mise en forme et les entrées/sorties
+ * du destinataire se font sur le thread de distribution, dans l'ordre de dépôt.
+ * Lorsque le tampon est plein, l'événement est abandonné plutôt que de bloquer l'émetteur
+ * (voir {@link #getDroppedCount()}).
+ */
+public class AsyncEventSink implements ReservationEventSink, Closeable {
+    private static final Logger logger = Logger.getLogger(AsyncEventSink.class.getName());
+    private static final int SPINS_BEFORE_PARK = 256;
+    private static final long PARK_NANOS = 1_000_000L;
+
+    private final ReservationEventSink delegate;
+    private final AtomicReferenceArray<ReservationEvent> slots;
+    private final int capacity;
+    private final int mask;
+    // Prochaine case à réserver (émetteurs) et prochaine case à lire (thread de distribution)
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread dispatcher;
+    private volatile boolean dispatcherParked;
+    private volatile boolean closed;
+
+    /**
+     * @param delegate Destinataire final, appelé uniquement depuis le thread de distribution
+     * @param capacity Nombre maximal d'événements en attente (arrondi à la puissance de deux supérieure)
+     */
+    public AsyncEventSink(ReservationEventSink delegate, int capacity) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate sink cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.delegate = delegate;
+        this.capacity = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.dispatcher = new Thread(this::dispatchLoop, "reservation-event-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    @Override
+    public void publish(ReservationEvent event) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= capacity) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        slots.set((int) sequence & mask, event);
+        if (dispatcherParked) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return delegate.isEnabled();
+    }
+
+    /**
+     * @return Nombre d'événements abandonnés (tampon plein ou destinataire fermé)
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Distribue les événements en attente puis arrête le thread de distribution
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(dispatcher);
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatchLoop() {
+        long next = 0;
+        int idleSpins = 0;
+        while (true) {
+            int index = (int) next & mask;
+            ReservationEvent event = slots.get(index);
+            if (event == null) {
+                if (closed && claimed.get() == next) {
+                    return;
+                }
+                if (++idleSpins < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    dispatcherParked = true;
+                    if (slots.get(index) == null && !closed) {
+                        LockSupport.parkNanos(this, PARK_NANOS);
+                    }
+                    dispatcherParked = false;
+                }
+                continue;
+            }
+
+            idleSpins = 0;
+            // Libère la case avant de la rendre aux émetteurs
+            slots.lazySet(index, null);
+            consumed = ++next;
+            try {
+                delegate.publish(event);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Event sink failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package zerheri.fatimazahrae.events;
+
+/**
+ * Lot de réservations traité par bookRooms
+ */
+public final class BatchProcessedEvent extends ReservationEvent {
+    private final int requestCount;
+    private final int confirmedCount;
+
+    public BatchProcessedEvent(int requestCount, int confirmedCount) {
+        this.requestCount = requestCount;
+        this.confirmedCount = confirmedCount;
+    }
+
+    public int getRequestCount() {
+        return requestCount;
+    }
+
+    public int getConfirmedCount() {
+        return confirmedCount;
+    }
+
+    public int getRejectedCount() {
+        return requestCount - confirmedCount;
+    }
+}
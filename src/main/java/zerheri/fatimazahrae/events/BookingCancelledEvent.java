@@ -0,0 +1,22 @@
+package zerheri.fatimazahrae.events;
+
+import zerheri.fatimazahrae.models.Booking;
+
+/**
+ * Réservation annulée par cancelBooking, montant total remboursé à l'utilisateur
+ */
+public final class BookingCancelledEvent extends ReservationEvent {
+    private final Booking booking;
+
+    public BookingCancelledEvent(Booking booking) {
+        this.booking = booking;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public int getRefundedAmount() {
+        return booking.getTotalAmount();
+    }
+}
@@ -0,0 +1,49 @@
+package zerheri.fatimazahrae.events;
+
+import zerheri.fatimazahrae.models.Booking;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Réservation confirmée par bookRoom, ou blocage confirmé par confirmHold
+ */
+public final class BookingConfirmedEvent extends ReservationEvent {
+    private final Booking booking;
+    private final boolean holdConfirmation;
+
+    public BookingConfirmedEvent(Booking booking) {
+        this(booking, false);
+    }
+
+    /**
+     * @param holdConfirmation true pour un blocage confirmé : le solde a été débité lors du blocage
+     *                         et a pu changer depuis, il n'est donc pas rapporté
+     */
+    public BookingConfirmedEvent(Booking booking, boolean holdConfirmation) {
+        this.booking = booking;
+        this.holdConfirmation = holdConfirmation;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public boolean isHoldConfirmation() {
+        return holdConfirmation;
+    }
+
+    public long getNights() {
+        return ChronoUnit.DAYS.between(booking.getCheckIn(), booking.getCheckOut());
+    }
+
+    /**
+     * @return Solde de l'utilisateur juste après le débit de la réservation
+     * @throws IllegalStateException pour un blocage confirmé, dont le solde courant n'est pas connu
+     */
+    public int getRemainingBalance() {
+        if (holdConfirmation) {
+            throw new IllegalStateException("Remaining balance is not known for a confirmed hold");
+        }
+        return booking.getUserBalanceBeforeBooking() - booking.getTotalAmount();
+    }
+}
@@ -0,0 +1,139 @@
+package zerheri.fatimazahrae.events;
+
+import zerheri.fatimazahrae.exceptions.BookingException;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Affiche les événements sur la console et les trace dans le journal applicatif
+ *
+ * Reproduit les messages historiques du service : confirmations sur la sortie standard,
+ * échecs sur la sortie d'erreur. Synchrone : à envelopper dans un {@link AsyncEventSink}
+ * pour sortir la mise en forme du chemin critique.
+ */
+public class ConsoleEventSink implements ReservationEventSink {
+    private final Logger logger;
+
+    /**
+     * @param logger Journal applicatif du service émetteur
+     */
+    public ConsoleEventSink(Logger logger) {
+        if (logger == null) {
+            throw new IllegalArgumentException("Logger cannot be null");
+        }
+        this.logger = logger;
+    }
+
+    @Override
+    public void publish(ReservationEvent event) {
+        if (event instanceof RoomSavedEvent room) {
+            printRoomSaved(room);
+        } else if (event instanceof UserSavedEvent user) {
+            printUserSaved(user);
+        } else if (event instanceof BookingConfirmedEvent booking) {
+            printBookingConfirmed(booking);
+        } else if (event instanceof BookingCancelledEvent cancellation) {
+            printBookingCancelled(cancellation);
+        } else if (event instanceof OperationFailedEvent failure) {
+            printOperationFailed(failure);
+        } else if (event instanceof BatchProcessedEvent batch) {
+            if (logger.isLoggable(Level.INFO)) {
+                logger.info(String.format("Batch booking processed: %d requests, %d confirmed, %d rejected",
+                        batch.getRequestCount(), batch.getConfirmedCount(), batch.getRejectedCount()));
+            }
+        }
+    }
+
+    private void printRoomSaved(RoomSavedEvent event) {
+        if (event.isCreated()) {
+            System.out.printf("Room %d created: type=%s, price=%d/night%n",
+                    event.getRoomNumber(), event.getRoomType().getDisplayName(), event.getPricePerNight());
+            logger.info(String.format("Room %d created successfully", event.getRoomNumber()));
+        } else {
+            System.out.printf("Room %d updated: type=%s, price=%d/night%n",
+                    event.getRoomNumber(), event.getRoomType().getDisplayName(), event.getPricePerNight());
+            logger.info(String.format("Room %d updated successfully", event.getRoomNumber()));
+        }
+    }
+
+    private void printUserSaved(UserSavedEvent event) {
+        if (event.isCreated()) {
+            System.out.printf("User %d created with balance %d%n", event.getUserId(), event.getBalance());
+            logger.info(String.format("User %d created successfully", event.getUserId()));
+        } else {
+            System.out.printf("User %d balance updated to %d%n", event.getUserId(), event.getBalance());
+            logger.info(String.format("User %d updated successfully", event.getUserId()));
+        }
+    }
+
+    private void printBookingConfirmed(BookingConfirmedEvent event) {
+        if (event.isHoldConfirmation()) {
+            System.out.printf("Hold confirmed: User %d booked Room %d for %d nights. Total cost: %d%n",
+                    event.getBooking().getUserId(), event.getBooking().getRoomNumber(), event.getNights(),
+                    event.getBooking().getTotalAmount());
+            logger.info(String.format("Hold %d confirmed", event.getBooking().getBookingId()));
+            return;
+        }
+        System.out.printf("Booking successful: User %d booked Room %d for %d nights. " +
+                        "Total cost: %d. Remaining balance: %d%n",
+                event.getBooking().getUserId(), event.getBooking().getRoomNumber(), event.getNights(),
+                event.getBooking().getTotalAmount(), event.getRemainingBalance());
+        logger.info(String.format("Booking successful: User %d, Room %d",
+                event.getBooking().getUserId(), event.getBooking().getRoomNumber()));
+    }
+
+    private void printBookingCancelled(BookingCancelledEvent event) {
+        System.out.printf("Booking %d cancelled: User %d refunded %d for Room %d%n",
+                event.getBooking().getBookingId(), event.getBooking().getUserId(), event.getRefundedAmount(),
+                event.getBooking().getRoomNumber());
+        logger.info(String.format("Booking %d cancelled", event.getBooking().getBookingId()));
+    }
+
+    private void printOperationFailed(OperationFailedEvent event) {
+        Exception error = event.getError();
+        switch (event.getOperation()) {
+            case SET_ROOM:
+                if (error instanceof IllegalArgumentException) {
+                    logger.log(Level.WARNING, "Invalid parameters for setRoom", error);
+                    System.err.println("Error setting room: " + error.getMessage());
+                } else {
+                    logger.log(Level.SEVERE, "Unexpected error in setRoom", error);
+                    System.err.println("Unexpected error setting room: " + error.getMessage());
+                }
+                break;
+            case SET_USER:
+                if (error instanceof IllegalArgumentException) {
+                    logger.log(Level.WARNING, "Invalid parameters for setUser", error);
+                    System.err.println("Error setting user: " + error.getMessage());
+                } else {
+                    logger.log(Level.SEVERE, "Unexpected error in setUser", error);
+                    System.err.println("Unexpected error setting user: " + error.getMessage());
+                }
+                break;
+            case BOOK_ROOM:
+                if (error instanceof BookingException) {
+                    logger.log(Level.WARNING, "Booking failed", error);
+                    System.err.println("Booking failed: " + error.getMessage());
+                } else if (error instanceof IllegalArgumentException) {
+                    logger.log(Level.WARNING, "Invalid booking parameters", error);
+                    System.err.println("Invalid booking parameters: " + error.getMessage());
+                } else {
+                    logger.log(Level.SEVERE, "Unexpected error during booking", error);
+                    System.err.println("Unexpected error during booking: " + error.getMessage());
+                }
+                break;
+            case CANCEL_BOOKING:
+                if (error instanceof BookingException) {
+                    logger.log(Level.WARNING, "Cancellation failed", error);
+                    System.err.println("Cancellation failed: " + error.getMessage());
+                } else {
+                    logger.log(Level.SEVERE, "Unexpected error during cancellation", error);
+                    System.err.println("Unexpected error during cancellation: " + error.getMessage());
+                }
+                break;
+            default:
+                logger.log(Level.SEVERE, "Unexpected error in " + event.getOperation(), error);
+        }
+    }
+}
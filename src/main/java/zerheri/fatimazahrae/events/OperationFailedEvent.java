@@ -0,0 +1,24 @@
+package zerheri.fatimazahrae.events;
+
+import zerheri.fatimazahrae.enums.ReservationOperation;
+
+/**
+ * Échec d'une opération : refus métier, paramètres invalides ou erreur inattendue
+ */
+public final class OperationFailedEvent extends ReservationEvent {
+    private final ReservationOperation operation;
+    private final Exception error;
+
+    public OperationFailedEvent(ReservationOperation operation, Exception error) {
+        this.operation = operation;
+        this.error = error;
+    }
+
+    public ReservationOperation getOperation() {
+        return operation;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+}
@@ -0,0 +1,22 @@
+package zerheri.fatimazahrae.events;
+
+/**
+ * Événement structuré émis par le service de réservation
+ *
+ * Les événements sont immuables et ne contiennent que des valeurs brutes : la mise en forme
+ * (console, journal applicatif) est à la charge du {@link ReservationEventSink}.
+ */
+public abstract class ReservationEvent {
+    private final long timestampNanos;
+
+    protected ReservationEvent() {
+        this.timestampNanos = System.nanoTime();
+    }
+
+    /**
+     * @return Instant d'émission, au sens de {@link System#nanoTime()}
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+}
@@ -0,0 +1,33 @@
+package zerheri.fatimazahrae.events;
+
+/**
+ * Destinataire des événements du service de réservation
+ *
+ * {@link #publish(ReservationEvent)} est appelé sur le chemin critique des opérations :
+ * une implémentation lente doit être enveloppée dans un {@link AsyncEventSink}.
+ */
+public interface ReservationEventSink {
+
+    /**
+     * Ignore tous les événements ; le service n'en construit alors aucun
+     */
+    ReservationEventSink SILENT = new ReservationEventSink() {
+        @Override
+        public void publish(ReservationEvent event) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    void publish(ReservationEvent event);
+
+    /**
+     * @return false si les événements sont ignorés, ce qui permet à l'émetteur de ne pas les construire
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package zerheri.fatimazahrae.events;
+
+import zerheri.fatimazahrae.enums.RoomType;
+
+/**
+ * Chambre créée ou mise à jour par setRoom
+ */
+public final class RoomSavedEvent extends ReservationEvent {
+    private final int roomNumber;
+    private final RoomType roomType;
+    private final int pricePerNight;
+    private final boolean created;
+
+    public RoomSavedEvent(int roomNumber, RoomType roomType, int pricePerNight, boolean created) {
+        this.roomNumber = roomNumber;
+        this.roomType = roomType;
+        this.pricePerNight = pricePerNight;
+        this.created = created;
+    }
+
+    public int getRoomNumber() {
+        return roomNumber;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public int getPricePerNight() {
+        return pricePerNight;
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+}
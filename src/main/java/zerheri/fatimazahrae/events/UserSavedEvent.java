@@ -0,0 +1,28 @@
+package zerheri.fatimazahrae.events;
+
+/**
+ * Utilisateur créé ou solde mis à jour par setUser
+ */
+public final class UserSavedEvent extends ReservationEvent {
+    private final int userId;
+    private final int balance;
+    private final boolean created;
+
+    public UserSavedEvent(int userId, int balance, boolean created) {
+        this.userId = userId;
+        this.balance = balance;
+        this.created = created;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getBalance() {
+        return balance;
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+}
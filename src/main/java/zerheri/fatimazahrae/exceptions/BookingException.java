@@ -1,7 +1,23 @@
 package zerheri.fatimazahrae.exceptions;
 
+import zerheri.fatimazahrae.enums.RejectionReason;
+
 public class BookingException extends Exception {
+    private final RejectionReason reason;
+
     public BookingException(String message) {
+        this(null, message);
+    }
+
+    public BookingException(RejectionReason reason, String message) {
         super(message);
+        this.reason = reason;
+    }
+
+    /**
+     * @return Motif du refus, ou null s'il n'est pas qualifié
+     */
+    public RejectionReason getReason() {
+        return reason;
     }
 }
@@ -0,0 +1,185 @@
+package zerheri.fatimazahrae.holds;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Roue temporelle hachée : échéances regroupées par tranche de temps (tick) dans un anneau de cases
+ *
+ * Planifier une échéance coûte un ajout dans une file sans verrou : les threads appelants ne
+ * touchent jamais à l'anneau. Un seul thread fait avancer la roue ({@link #advance(long, Consumer)}) :
+ * à chaque tick, il range les nouvelles échéances puis ne parcourt que la case courante. Une échéance
+ * plus lointaine qu'un tour de roue y porte un nombre de tours restants, décrémenté à chaque passage.
+ * Une échéance annulée n'est retirée qu'au passage sur sa case.
+ *
+ * @param <T> Type des éléments planifiés
+ */
+public class HashedTimingWheel<T> {
+    private final long tickNanos;
+    private final long startNanos;
+    private final int mask;
+    private final Timeout<T>[] buckets;
+    private final ConcurrentLinkedQueue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    // Accédé uniquement par le thread qui fait avancer la roue
+    private long tick;
+
+    /**
+     * @param tickNanos Durée d'un tick, en nanosecondes (granularité des échéances)
+     * @param ticksPerWheel Nombre de cases de l'anneau (arrondi à la puissance de deux supérieure)
+     * @param startNanos Origine des temps, au sens de {@link System#nanoTime()}
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickNanos, int ticksPerWheel, long startNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("Ticks per wheel must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(Math.max(ticksPerWheel - 1, 1)) << 1;
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+        this.mask = size - 1;
+        this.buckets = (Timeout<T>[]) new Timeout<?>[size];
+    }
+
+    /**
+     * Planifie un élément ; utilisable depuis n'importe quel thread
+     *
+     * @param item Élément remis à l'échéance
+     * @param deadlineNanos Échéance, au sens de {@link System#nanoTime()}
+     * @return Échéance planifiée, annulable
+     */
+    public Timeout<T> schedule(T item, long deadlineNanos) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        Timeout<T> timeout = new Timeout<>(item, deadlineNanos - startNanos, pendingCount);
+        pendingCount.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Fait avancer la roue jusqu'à l'instant donné et remet les éléments arrivés à échéance
+     *
+     * À appeler depuis un seul thread à la fois. Le coût d'un tick est celui de sa case,
+     * indépendant du nombre total d'échéances planifiées.
+     *
+     * @param nowNanos Instant courant, au sens de {@link System#nanoTime()}
+     * @param expired Reçoit chaque élément arrivé à échéance, dans l'ordre des ticks
+     * @return Nombre d'éléments remis
+     */
+    public int advance(long nowNanos, Consumer<? super T> expired) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        int count = 0;
+        while (tick <= targetTick) {
+            transferScheduled();
+            count += expireBucket(expired);
+            tick++;
+        }
+        return count;
+    }
+
+    /**
+     * @return Nombre d'échéances planifiées, ni échues ni annulées
+     */
+    public int size() {
+        return pendingCount.get();
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private void transferScheduled() {
+        Timeout<T> timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+            // Premier tick qui ne précède pas l'échéance ; une échéance déjà passée est remise au tick courant
+            long deadlineTick = Math.max(-Math.floorDiv(-timeout.deadlineOffsetNanos, tickNanos), tick);
+            timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+            int index = (int) (deadlineTick & mask);
+            timeout.next = buckets[index];
+            buckets[index] = timeout;
+        }
+    }
+
+    private int expireBucket(Consumer<? super T> expired) {
+        int index = (int) (tick & mask);
+        int count = 0;
+        Timeout<T> kept = null;
+        Timeout<T> timeout = buckets[index];
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                timeout.next = null;
+            } else if (timeout.remainingRounds <= 0) {
+                timeout.next = null;
+                if (timeout.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+                    pendingCount.decrementAndGet();
+                    expired.accept(timeout.item);
+                    count++;
+                }
+            } else {
+                timeout.remainingRounds--;
+                timeout.next = kept;
+                kept = timeout;
+            }
+            timeout = next;
+        }
+        buckets[index] = kept;
+        return count;
+    }
+
+    /**
+     * Échéance planifiée dans la roue
+     *
+     * @param <T> Type de l'élément planifié
+     */
+    public static final class Timeout<T> {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final T item;
+        private final long deadlineOffsetNanos;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        // Compteur d'échéances en attente de la roue
+        private final AtomicInteger pendingCount;
+        private long remainingRounds;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadlineOffsetNanos, AtomicInteger pendingCount) {
+            this.item = item;
+            this.deadlineOffsetNanos = deadlineOffsetNanos;
+            this.pendingCount = pendingCount;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Annule l'échéance si elle n'est pas encore échue ; retirée de la roue au passage sur sa case
+         *
+         * @return true si l'échéance a été annulée par cet appel
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrementAndGet();
+            return true;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+}
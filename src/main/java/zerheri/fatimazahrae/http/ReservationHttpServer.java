@@ -0,0 +1,385 @@
+package zerheri.fatimazahrae.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.services.HotelReservationService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Point d'accès HTTP/JSON au service de réservation, sans dépendance externe ({@code com.sun.net.httpserver})
+ *
+ * Routes (paramètres en query string ou en corps {@code application/x-www-form-urlencoded}) :
+ * <ul>
+ *     <li>{@code POST /rooms} : number, type (standard, junior, suite), price</li>
+ *     <li>{@code POST /users} : id, balance</li>
+ *     <li>{@code POST /bookings} : userId, roomNumber, checkIn, checkOut (ISO-8601)</li>
+ *     <li>{@code GET /rooms/available} : checkIn, checkOut, type, maxPrice et limit facultatifs</li>
+ *     <li>{@code GET /counts} : nombre de chambres, d'utilisateurs et de réservations</li>
+ * </ul>
+ *
+ * Chaque requête s'exécute sur son propre thread virtuel quand la JVM en dispose (Java 21+),
+ * sinon sur un pool borné de threads plateforme. Le service doit être thread-safe :
+ * {@link zerheri.fatimazahrae.services.HotelReservationServiceFactory#createConcurrentService()}.
+ */
+public class ReservationHttpServer implements AutoCloseable {
+    // File d'attente des connexions entrantes, dimensionnée pour des milliers de clients simultanés
+    private static final int BACKLOG = 4096;
+    // Repli sans threads virtuels : assez de threads pour couvrir les attentes de durabilité du journal
+    private static final int FALLBACK_POOL_SIZE = 256;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String FORM = "application/x-www-form-urlencoded";
+
+    private static final Logger logger = Logger.getLogger(ReservationHttpServer.class.getName());
+
+    private final HotelReservationService service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ReservationHttpServer(HotelReservationService service, HttpServer server, ExecutorService executor) {
+        this.service = service;
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Démarre le serveur avec l'exécuteur par défaut ({@link #newRequestExecutor()})
+     *
+     * @param service Service thread-safe exposé
+     * @param address Adresse d'écoute ; port 0 pour un port libre
+     * @return Serveur démarré
+     * @throws IOException si l'adresse ne peut pas être liée
+     */
+    public static ReservationHttpServer start(HotelReservationService service, InetSocketAddress address)
+            throws IOException {
+        return start(service, address, newRequestExecutor());
+    }
+
+    /**
+     * @param executor Exécuteur des requêtes, arrêté par {@link #close()}
+     */
+    public static ReservationHttpServer start(HotelReservationService service, InetSocketAddress address,
+                                              ExecutorService executor) throws IOException {
+        if (service == null) {
+            throw new IllegalArgumentException("Service cannot be null");
+        }
+        if (address == null) {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        HttpServer server = HttpServer.create(address, BACKLOG);
+        ReservationHttpServer httpServer = new ReservationHttpServer(service, server, executor);
+        server.createContext("/", httpServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Reservation HTTP server listening on " + server.getAddress());
+        return httpServer;
+    }
+
+    /**
+     * Un thread virtuel par requête si la JVM en dispose (Java 21+), sinon un pool borné
+     * de threads plateforme démons
+     *
+     * @return Nouvel exécuteur de requêtes
+     */
+    public static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(FALLBACK_POOL_SIZE, runnable -> {
+                Thread thread = new Thread(runnable, "reservation-http-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * @return Adresse effective d'écoute (port attribué si 0 a été demandé)
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Arrête d'accepter des connexions, puis arrête l'exécuteur des requêtes
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - ROUTAGE
+    // ===============================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            switch (path) {
+                case "/rooms":
+                    requireMethod(exchange, method, "POST", () -> setRoom(exchange));
+                    break;
+                case "/users":
+                    requireMethod(exchange, method, "POST", () -> setUser(exchange));
+                    break;
+                case "/bookings":
+                    requireMethod(exchange, method, "POST", () -> bookRoom(exchange));
+                    break;
+                case "/rooms/available":
+                    requireMethod(exchange, method, "GET", () -> findAvailableRooms(exchange));
+                    break;
+                case "/counts":
+                    requireMethod(exchange, method, "GET", () -> counts(exchange));
+                    break;
+                default:
+                    sendError(exchange, 404, "Unknown path: " + path);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Unexpected error on " + exchange.getRequestURI(), e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method, String expected, Handler handler)
+            throws IOException {
+        if (!expected.equals(method)) {
+            exchange.getResponseHeaders().set("Allow", expected);
+            sendError(exchange, 405, "Method not allowed: " + method);
+            return;
+        }
+        handler.handle();
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - OPÉRATIONS
+    // ===============================
+
+    /**
+     * Les paramètres sont validés ici comme par le service : un refus de trySetRoom sur des paramètres
+     * valides est une erreur d'écriture (journal), répondue en 500
+     */
+    private void setRoom(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = parameters(exchange);
+        int roomNumber = positiveInt(parameters, "number");
+        RoomType roomType = RoomType.fromDisplayName(required(parameters, "type"));
+        int price = positiveInt(parameters, "price");
+        if (!service.trySetRoom(roomNumber, roomType, price)) {
+            sendError(exchange, 500, "Room " + roomNumber + " could not be saved");
+            return;
+        }
+        sendNoContent(exchange);
+    }
+
+    private void setUser(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = parameters(exchange);
+        int userId = positiveInt(parameters, "id");
+        int balance = intParameter(parameters, "balance");
+        if (balance < 0) {
+            throw new IllegalArgumentException("Balance cannot be negative");
+        }
+        if (!service.trySetUser(userId, balance)) {
+            sendError(exchange, 500, "User " + userId + " could not be saved");
+            return;
+        }
+        sendNoContent(exchange);
+    }
+
+    private void bookRoom(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = parameters(exchange);
+        BookingResult result = service.tryBookRoom(intParameter(parameters, "userId"),
+                intParameter(parameters, "roomNumber"),
+                LocalDate.parse(required(parameters, "checkIn")), LocalDate.parse(required(parameters, "checkOut")));
+        if (result.isConfirmed()) {
+            Booking booking = result.getBooking();
+            sendJson(exchange, 201, new StringBuilder(96)
+                    .append("{\"bookingId\":").append(booking.getBookingId())
+                    .append(",\"roomNumber\":").append(booking.getRoomNumber())
+                    .append(",\"totalAmount\":").append(booking.getTotalAmount())
+                    .append('}'));
+            return;
+        }
+        StringBuilder body = new StringBuilder(128).append("{\"rejection\":\"").append(result.getRejectionReason())
+                .append("\",\"message\":");
+        appendString(body, result.getMessage()).append('}');
+        sendJson(exchange, statusOf(result), body);
+    }
+
+    private void findAvailableRooms(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = parameters(exchange);
+        String type = parameters.get("type");
+        List<Room> rooms = service.findAvailableRooms(
+                type != null ? RoomType.fromDisplayName(type) : null,
+                LocalDate.parse(required(parameters, "checkIn")), LocalDate.parse(required(parameters, "checkOut")),
+                parameters.containsKey("maxPrice") ? intParameter(parameters, "maxPrice") : Integer.MAX_VALUE,
+                parameters.containsKey("limit") ? intParameter(parameters, "limit") : DEFAULT_SEARCH_LIMIT);
+        StringBuilder body = new StringBuilder(16 + rooms.size() * 64).append('[');
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"roomNumber\":").append(room.getRoomNumber())
+                    .append(",\"type\":\"").append(room.getRoomType().getDisplayName())
+                    .append("\",\"pricePerNight\":").append(room.getPricePerNight())
+                    .append('}');
+        }
+        sendJson(exchange, 200, body.append(']'));
+    }
+
+    private void counts(HttpExchange exchange) throws IOException {
+        sendJson(exchange, 200, new StringBuilder(64)
+                .append("{\"rooms\":").append(service.getTotalRoomsCount())
+                .append(",\"users\":").append(service.getTotalUsersCount())
+                .append(",\"bookings\":").append(service.getTotalBookingsCount())
+                .append('}'));
+    }
+
+    private static int statusOf(BookingResult result) {
+        switch (result.getRejectionReason()) {
+            case INVALID_PARAMETERS:
+            case INVALID_DATES:
+                return 400;
+            case USER_NOT_FOUND:
+            case ROOM_NOT_FOUND:
+                return 404;
+            default:
+                // Chambre occupée, solde insuffisant : requête valide, refusée par l'état courant
+                return 409;
+        }
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - PARAMÈTRES
+    // ===============================
+
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), parameters);
+        // Corps toujours lu jusqu'au bout : sinon la connexion ne peut pas être réutilisée
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null && contentType.startsWith(FORM)) {
+            parseForm(new String(body, StandardCharsets.UTF_8), parameters);
+        }
+        return parameters;
+    }
+
+    private static void parseForm(String form, Map<String, String> parameters) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String required(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static int intParameter(Map<String, String> parameters, String name) {
+        try {
+            return Integer.parseInt(required(parameters, name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be an integer");
+        }
+    }
+
+    private static int positiveInt(Map<String, String> parameters, String name) {
+        int value = intParameter(parameters, name);
+        if (value <= 0) {
+            throw new IllegalArgumentException("Parameter " + name + " must be positive");
+        }
+        return value;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - RÉPONSES
+    // ===============================
+
+    private static void sendNoContent(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder body = new StringBuilder(64).append("{\"error\":");
+        appendString(body, message).append('}');
+        sendJson(exchange, status, body);
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static StringBuilder appendString(StringBuilder json, String value) {
+        if (value == null) {
+            return json.append("null");
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"');
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle() throws IOException;
+    }
+}
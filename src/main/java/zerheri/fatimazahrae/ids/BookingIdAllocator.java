@@ -0,0 +1,28 @@
+package zerheri.fatimazahrae.ids;
+
+/**
+ * Source des identifiants de réservation
+ *
+ * {@link #nextId()} est appelé sur le chemin critique de chaque réservation, éventuellement
+ * depuis plusieurs threads à la fois.
+ */
+public interface BookingIdAllocator {
+
+    /**
+     * Compteur séquentiel partagé par tout le processus (1, 2, 3...), utilisé par défaut
+     */
+    BookingIdAllocator SEQUENTIAL = new SequentialBookingIdAllocator();
+
+    /**
+     * @return Nouvel identifiant, strictement positif et jamais rendu deux fois
+     */
+    long nextId();
+
+    /**
+     * Signale un identifiant déjà attribué (relecture du journal ou d'un instantané),
+     * pour que les identifiants suivants ne puissent pas le reproduire
+     *
+     * @param bookingId Identifiant restauré
+     */
+    void observe(long bookingId);
+}
@@ -0,0 +1,122 @@
+package zerheri.fatimazahrae.ids;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Identifiants uniques entre instances et entre redémarrages : nœud + époque + séquence sur 63 bits
+ *
+ * <pre>
+ *   0 | nœud (10 bits) | secondes depuis 2024-01-01 UTC (31 bits) | séquence (22 bits)
+ * </pre>
+ *
+ * Chaque thread reçoit une plage de {@code blockSize} identifiants consécutifs et la consomme
+ * sans synchronisation ; seule l'obtention d'une nouvelle plage passe par un compteur partagé.
+ * La partie époque + séquence ne recule jamais : elle part au moins de la seconde courante,
+ * si bien qu'un processus redémarré ne réutilise pas les identifiants du précédent. Au-delà de
+ * 4 194 304 identifiants par seconde, l'allocateur emprunte les secondes suivantes ; après un
+ * redémarrage rapide, la relecture du journal ({@link #observe(long)}) couvre ce cas.
+ * Les identifiants sont uniques mais ne sont pas ordonnés entre threads.
+ */
+public class NodeBookingIdAllocator implements BookingIdAllocator {
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 22;
+    static final int EPOCH_BITS = 63 - NODE_BITS - SEQUENCE_BITS;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 10;
+
+    // 2024-01-01T00:00:00Z
+    static final long EPOCH_ORIGIN_SECONDS = 1_704_067_200L;
+    private static final long TIME_SEQUENCE_MASK = (1L << (EPOCH_BITS + SEQUENCE_BITS)) - 1;
+
+    private final int nodeId;
+    private final long nodeBits;
+    private final int blockSize;
+    private final Clock clock;
+    // Début de la prochaine plage libre (époque << SEQUENCE_BITS | séquence)
+    private final AtomicLong nextBlock = new AtomicLong();
+    // Plage du thread courant : prochain identifiant, fin exclue
+    private final ThreadLocal<long[]> ranges = ThreadLocal.withInitial(() -> new long[2]);
+
+    public NodeBookingIdAllocator(int nodeId) {
+        this(nodeId, DEFAULT_BLOCK_SIZE, Clock.systemUTC());
+    }
+
+    /**
+     * @param nodeId Identifiant de l'instance, unique dans le cluster (0 à {@link #MAX_NODE_ID})
+     * @param blockSize Taille des plages attribuées aux threads, puissance de deux d'au plus 2^22
+     * @param clock Horloge donnant la seconde courante
+     */
+    public NodeBookingIdAllocator(int nodeId, int blockSize, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        if (blockSize <= 0 || Integer.bitCount(blockSize) != 1 || blockSize > 1 << SEQUENCE_BITS) {
+            throw new IllegalArgumentException("Block size must be a power of two up to " + (1 << SEQUENCE_BITS));
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.nodeId = nodeId;
+        this.nodeBits = (long) nodeId << (EPOCH_BITS + SEQUENCE_BITS);
+        this.blockSize = blockSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        long[] range = ranges.get();
+        if (range[0] == range[1]) {
+            long start = reserveBlock();
+            range[0] = start;
+            range[1] = start + blockSize;
+        }
+        // Jamais nul, même pour le nœud 0 : l'époque d'une plage vaut au moins 1
+        return nodeBits | range[0]++;
+    }
+
+    /**
+     * Ne tient compte que des identifiants de ce nœud ; les plages déjà distribuées aux threads
+     * restent valides puisqu'elles précèdent l'identifiant observé ou lui sont étrangères
+     */
+    @Override
+    public void observe(long bookingId) {
+        if (nodeOf(bookingId) != nodeId) {
+            return;
+        }
+        long afterBlock = ((bookingId & TIME_SEQUENCE_MASK) | (blockSize - 1)) + 1;
+        nextBlock.accumulateAndGet(afterBlock, Math::max);
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return Nœud ayant attribué l'identifiant
+     */
+    public static int nodeOf(long bookingId) {
+        return (int) (bookingId >>> (EPOCH_BITS + SEQUENCE_BITS)) & MAX_NODE_ID;
+    }
+
+    /**
+     * @return Seconde epoch (UTC) de la plage dont provient l'identifiant
+     */
+    public static long epochSecondOf(long bookingId) {
+        return EPOCH_ORIGIN_SECONDS + ((bookingId & TIME_SEQUENCE_MASK) >>> SEQUENCE_BITS);
+    }
+
+    private long reserveBlock() {
+        long floor = Math.max(1, clock.millis() / 1000 - EPOCH_ORIGIN_SECONDS) << SEQUENCE_BITS;
+        while (true) {
+            long current = nextBlock.get();
+            long start = Math.max(current, floor);
+            if (start + blockSize > TIME_SEQUENCE_MASK) {
+                throw new IllegalStateException("Booking ID space exhausted for node " + nodeId);
+            }
+            if (nextBlock.compareAndSet(current, start + blockSize)) {
+                return start;
+            }
+        }
+    }
+}
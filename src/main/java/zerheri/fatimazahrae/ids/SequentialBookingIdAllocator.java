@@ -0,0 +1,37 @@
+package zerheri.fatimazahrae.ids;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Identifiants consécutifs tirés d'un compteur atomique unique
+ *
+ * Lisibles et compacts, mais propres à un processus et partagés par tous les threads :
+ * voir {@link NodeBookingIdAllocator} pour plusieurs instances ou un débit élevé.
+ */
+public class SequentialBookingIdAllocator implements BookingIdAllocator {
+    private final AtomicLong nextId;
+
+    public SequentialBookingIdAllocator() {
+        this(1);
+    }
+
+    /**
+     * @param firstId Premier identifiant attribué
+     */
+    public SequentialBookingIdAllocator(long firstId) {
+        if (firstId <= 0) {
+            throw new IllegalArgumentException("First booking ID must be positive");
+        }
+        this.nextId = new AtomicLong(firstId);
+    }
+
+    @Override
+    public long nextId() {
+        return nextId.getAndIncrement();
+    }
+
+    @Override
+    public void observe(long bookingId) {
+        nextId.accumulateAndGet(bookingId + 1, Math::max);
+    }
+}
@@ -0,0 +1,68 @@
+package zerheri.fatimazahrae.index;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Liste en ajout seul, à accès indexé, lisible sans verrou pendant les ajouts
+ *
+ * Les éléments sont rangés dans des segments de taille fixe qui ne sont jamais recopiés :
+ * seul le répertoire des segments grandit. Les ajouts sont sérialisés par un verrou court ;
+ * la taille est publiée (écriture volatile) après l'élément, si bien qu'un lecteur voit toujours
+ * un préfixe complet de la liste. Itérer depuis {@code size() - 1} jusqu'à 0 parcourt les
+ * éléments du plus récent au plus ancien sans tri ni copie.
+ *
+ * @param <E> Type des éléments
+ */
+public class AppendOnlyList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int SEGMENT_SHIFT = 12;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private volatile Object[][] segments = new Object[1][];
+    private volatile int size;
+
+    /**
+     * Ajoute un élément en fin de liste
+     *
+     * @param element Élément non null
+     * @return true
+     */
+    @Override
+    public synchronized boolean add(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        int index = size;
+        if (index == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List is full");
+        }
+        int segmentIndex = index >>> SEGMENT_SHIFT;
+        Object[][] directory = segments;
+        if (segmentIndex == directory.length) {
+            directory = Arrays.copyOf(directory, directory.length << 1);
+        }
+        if (directory[segmentIndex] == null) {
+            directory[segmentIndex] = new Object[SEGMENT_SIZE];
+        }
+        directory[segmentIndex][index & SEGMENT_MASK] = element;
+        segments = directory;
+        size = index + 1;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return (E) segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,47 @@
+package zerheri.fatimazahrae.index;
+
+/**
+ * Moteur de disponibilité des chambres
+ *
+ * Les périodes sont exprimées en jours epoch et suivent la sémantique d'intervalle fermé
+ * de {@link zerheri.fatimazahrae.models.Booking#hasDateConflict}.
+ * Les implémentations ne sont pas thread-safe, sauf mention contraire.
+ */
+public interface AvailabilityEngine {
+
+    /**
+     * Indique si la chambre est libre sur toute la période
+     *
+     * @param roomNumber Numéro de la chambre
+     * @param checkInDay Jour epoch d'arrivée
+     * @param checkOutDay Jour epoch de départ
+     * @return true si aucune réservation active ne chevauche la période
+     * @throws IllegalArgumentException si la période n'est pas gérée par le moteur
+     */
+    boolean isAvailable(int roomNumber, int checkInDay, int checkOutDay);
+
+    /**
+     * Bloque la période pour la chambre, après vérification de sa disponibilité
+     *
+     * @param roomNumber Numéro de la chambre
+     * @param checkInDay Jour epoch d'arrivée
+     * @param checkOutDay Jour epoch de départ
+     */
+    void reserve(int roomNumber, int checkInDay, int checkOutDay);
+
+    /**
+     * Libère une période précédemment bloquée (annulation, blocage expiré)
+     *
+     * @param roomNumber Numéro de la chambre
+     * @param checkInDay Jour epoch d'arrivée
+     * @param checkOutDay Jour epoch de départ
+     */
+    void release(int roomNumber, int checkInDay, int checkOutDay);
+
+    /**
+     * Taille des structures du moteur, pour la supervision
+     *
+     * @return Nombre de périodes réservées suivies par le moteur
+     */
+    long getIndexedPeriodCount();
+}
@@ -0,0 +1,42 @@
+package zerheri.fatimazahrae.index;
+
+import zerheri.fatimazahrae.enums.AvailabilityStrategy;
+import zerheri.fatimazahrae.models.Booking;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Création des moteurs de disponibilité à partir d'une {@link AvailabilityStrategy}
+ *
+ * L'horizon du calendrier d'occupation est configurable via la propriété système
+ * {@code hotel.availability.horizonDays} (730 jours par défaut).
+ */
+public final class AvailabilityEngines {
+    public static final String HORIZON_DAYS_PROPERTY = "hotel.availability.horizonDays";
+
+    private AvailabilityEngines() {
+    }
+
+    /**
+     * Crée le moteur correspondant à la stratégie
+     *
+     * @param strategy Stratégie de disponibilité
+     * @param bookings Liste des réservations du service (utilisée par le parcours de liste)
+     * @return Nouveau moteur
+     */
+    public static AvailabilityEngine create(AvailabilityStrategy strategy, List<Booking> bookings) {
+        switch (strategy) {
+            case LIST_SCAN:
+                return new ListScanAvailabilityEngine(bookings);
+            case INTERVAL_INDEX:
+                return new IntervalIndexAvailabilityEngine();
+            case OCCUPANCY_CALENDAR:
+                return new OccupancyCalendarAvailabilityEngine(
+                        Integer.getInteger(HORIZON_DAYS_PROPERTY, OccupancyCalendarAvailabilityEngine.DEFAULT_HORIZON_DAYS),
+                        Clock.systemUTC());
+            default:
+                throw new IllegalArgumentException("Unknown availability strategy: " + strategy);
+        }
+    }
+}
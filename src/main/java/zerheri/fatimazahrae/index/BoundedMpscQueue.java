@@ -0,0 +1,94 @@
+package zerheri.fatimazahrae.index;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * File bornée sans verrou, plusieurs producteurs et un seul consommateur
+ *
+ * Anneau pré-alloué dont chaque case porte un numéro de séquence : un producteur réserve sa case
+ * par CAS sur la queue, y écrit l'élément puis publie la séquence (écriture volatile) ; le consommateur
+ * ne lit une case qu'une fois sa séquence publiée, la vide et la rend aux producteurs pour le tour
+ * suivant. Aucune allocation après la construction. Une file pleine refuse l'élément :
+ * la pression arrière est à la charge du producteur.
+ *
+ * @param <E> Type des éléments
+ */
+public class BoundedMpscQueue<E> {
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Accédé uniquement par le consommateur
+    private long head;
+
+    /**
+     * @param capacity Nombre maximal d'éléments en attente (arrondi à la puissance de deux supérieure)
+     */
+    public BoundedMpscQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Ajoute un élément ; utilisable depuis n'importe quel thread
+     *
+     * @param element Élément non null
+     * @return false si la file est pleine
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (available < 0) {
+                // Case encore occupée depuis le tour précédent
+                return false;
+            }
+            // Sinon, un autre producteur a déjà pris cette position
+        }
+    }
+
+    /**
+     * Retire l'élément le plus ancien ; réservé au thread consommateur
+     *
+     * @return Élément retiré, ou null si aucun élément publié n'est disponible
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = (E) elements[index];
+        elements[index] = null;
+        sequences.set(index, head + elements.length);
+        head++;
+        return element;
+    }
+
+    /**
+     * @return Capacité effective de la file
+     */
+    public int capacity() {
+        return elements.length;
+    }
+}
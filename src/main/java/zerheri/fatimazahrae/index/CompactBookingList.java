@@ -0,0 +1,167 @@
+package zerheri.fatimazahrae.index;
+
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.models.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Liste de réservations stockée en colonnes de types primitifs
+ *
+ * Chaque réservation occupe 46 octets répartis dans des tableaux parallèles (dates en jours epoch,
+ * statut et type de chambre par ordinal, horodatage en nanosecondes UTC), contre 180 octets
+ * environ pour un objet Booking et ses dates. Les colonnes sont découpées en blocs de taille fixe :
+ * aucun grand tableau n'est recopié ni alloué d'un seul tenant quand l'historique grandit.
+ * {@link #get(int)} reconstruit à chaque appel un objet Booking équivalent à celui ajouté ;
+ * les accesseurs primitifs évitent cette allocation.
+ * Ajout seul, hormis le statut que {@link #set(int, Booking)} peut mettre à jour ;
+ * cette structure n'est pas thread-safe.
+ */
+public class CompactBookingList extends AbstractList<Booking> implements RandomAccess {
+    private static final int BLOCK_SHIFT = 12;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final BookingStatus[] BOOKING_STATUSES = BookingStatus.values();
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private Block[] blocks = new Block[1];
+    private int size;
+
+    private static final class Block {
+        private final long[] bookingIds = new long[BLOCK_SIZE];
+        private final long[] createdAtNanos = new long[BLOCK_SIZE];
+        private final int[] userIds = new int[BLOCK_SIZE];
+        private final int[] roomNumbers = new int[BLOCK_SIZE];
+        private final int[] checkInDays = new int[BLOCK_SIZE];
+        private final int[] checkOutDays = new int[BLOCK_SIZE];
+        private final int[] totalAmounts = new int[BLOCK_SIZE];
+        private final int[] roomPrices = new int[BLOCK_SIZE];
+        private final int[] balancesBefore = new int[BLOCK_SIZE];
+        private final byte[] statuses = new byte[BLOCK_SIZE];
+        private final byte[] roomTypes = new byte[BLOCK_SIZE];
+    }
+
+    /**
+     * Décompose la réservation dans les colonnes ; l'objet n'est pas conservé
+     *
+     * @param booking Réservation non null
+     * @return true
+     */
+    @Override
+    public boolean add(Booking booking) {
+        if (booking == null) {
+            throw new IllegalArgumentException("Booking cannot be null");
+        }
+        int index = size;
+        int blockIndex = index >>> BLOCK_SHIFT;
+        if (blockIndex == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blocks.length << 1);
+        }
+        Block block = blocks[blockIndex];
+        if (block == null) {
+            block = new Block();
+            blocks[blockIndex] = block;
+        }
+        int row = index & BLOCK_MASK;
+        block.bookingIds[row] = booking.getBookingId();
+        block.createdAtNanos[row] = toEpochNanos(booking.getCreatedAt());
+        block.userIds[row] = booking.getUserId();
+        block.roomNumbers[row] = booking.getRoomNumber();
+        block.checkInDays[row] = Math.toIntExact(booking.getCheckIn().toEpochDay());
+        block.checkOutDays[row] = Math.toIntExact(booking.getCheckOut().toEpochDay());
+        block.totalAmounts[row] = booking.getTotalAmount();
+        block.roomPrices[row] = booking.getRoomPriceAtBooking();
+        block.balancesBefore[row] = booking.getUserBalanceBeforeBooking();
+        block.statuses[row] = (byte) booking.getStatus().ordinal();
+        block.roomTypes[row] = (byte) booking.getRoomTypeAtBooking().ordinal();
+        size = index + 1;
+        return true;
+    }
+
+    /**
+     * @return Nouvel objet Booking reconstitué à partir des colonnes
+     */
+    @Override
+    public Booking get(int index) {
+        Block block = block(index);
+        int row = index & BLOCK_MASK;
+        return new Booking(block.bookingIds[row], block.userIds[row], block.roomNumbers[row],
+                LocalDate.ofEpochDay(block.checkInDays[row]), LocalDate.ofEpochDay(block.checkOutDays[row]),
+                block.totalAmounts[row], BOOKING_STATUSES[block.statuses[row]],
+                fromEpochNanos(block.createdAtNanos[row]), ROOM_TYPES[block.roomTypes[row]],
+                block.roomPrices[row], block.balancesBefore[row]);
+    }
+
+    /**
+     * Enregistre le nouveau statut d'une réservation ; les autres colonnes sont immuables
+     *
+     * @param index Position de la réservation
+     * @param booking Même réservation (même identifiant), dans son nouvel état
+     * @return Réservation dans son état précédent
+     * @throws IllegalArgumentException s'il ne s'agit pas de la réservation rangée à cette position
+     */
+    @Override
+    public Booking set(int index, Booking booking) {
+        Block block = block(index);
+        int row = index & BLOCK_MASK;
+        if (booking == null || booking.getBookingId() != block.bookingIds[row]) {
+            throw new IllegalArgumentException("Only the status of the booking at index " + index + " can change");
+        }
+        Booking previous = get(index);
+        block.statuses[row] = (byte) booking.getStatus().ordinal();
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long getBookingId(int index) {
+        return block(index).bookingIds[index & BLOCK_MASK];
+    }
+
+    public int getRoomNumber(int index) {
+        return block(index).roomNumbers[index & BLOCK_MASK];
+    }
+
+    public int getCheckInDay(int index) {
+        return block(index).checkInDays[index & BLOCK_MASK];
+    }
+
+    public int getCheckOutDay(int index) {
+        return block(index).checkOutDays[index & BLOCK_MASK];
+    }
+
+    public BookingStatus getStatus(int index) {
+        return BOOKING_STATUSES[block(index).statuses[index & BLOCK_MASK]];
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private Block block(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return blocks[index >>> BLOCK_SHIFT];
+    }
+
+    private static long toEpochNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + dateTime.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,58 @@
+package zerheri.fatimazahrae.index;
+
+import java.util.logging.Logger;
+
+/**
+ * Moteur de disponibilité qui compare un moteur principal à un moteur de référence
+ *
+ * La réponse du moteur principal est retournée ; chaque désaccord est journalisé
+ * et comptabilisé, ce qui permet de valider un nouveau moteur contre le parcours de liste.
+ */
+public class CrossCheckingAvailabilityEngine implements AvailabilityEngine {
+    private static final Logger logger = Logger.getLogger(CrossCheckingAvailabilityEngine.class.getName());
+
+    private final AvailabilityEngine primary;
+    private final AvailabilityEngine reference;
+    private long mismatchCount;
+
+    public CrossCheckingAvailabilityEngine(AvailabilityEngine primary, AvailabilityEngine reference) {
+        this.primary = primary;
+        this.reference = reference;
+    }
+
+    @Override
+    public boolean isAvailable(int roomNumber, int checkInDay, int checkOutDay) {
+        boolean available = primary.isAvailable(roomNumber, checkInDay, checkOutDay);
+        boolean expected = reference.isAvailable(roomNumber, checkInDay, checkOutDay);
+        if (available != expected) {
+            mismatchCount++;
+            logger.severe(String.format("Availability mismatch for room %d [%d, %d]: engine=%b, reference=%b",
+                    roomNumber, checkInDay, checkOutDay, available, expected));
+        }
+        return available;
+    }
+
+    @Override
+    public void reserve(int roomNumber, int checkInDay, int checkOutDay) {
+        primary.reserve(roomNumber, checkInDay, checkOutDay);
+        reference.reserve(roomNumber, checkInDay, checkOutDay);
+    }
+
+    @Override
+    public void release(int roomNumber, int checkInDay, int checkOutDay) {
+        primary.release(roomNumber, checkInDay, checkOutDay);
+        reference.release(roomNumber, checkInDay, checkOutDay);
+    }
+
+    @Override
+    public long getIndexedPeriodCount() {
+        return primary.getIndexedPeriodCount();
+    }
+
+    /**
+     * @return Nombre de réponses divergentes depuis la création
+     */
+    public long getMismatchCount() {
+        return mismatchCount;
+    }
+}
@@ -0,0 +1,134 @@
+package zerheri.fatimazahrae.index;
+
+/**
+ * Table de hachage à adressage ouvert (sondage linéaire) de clés int vers des compteurs long
+ *
+ * Sert d'accumulateur primitif aux réductions (montant dépensé par utilisateur, par exemple) :
+ * {@link #addTo(int, long)} incrémente sans boxing ni entrée intermédiaire.
+ * La clé 0 n'est pas acceptée (elle marque une case libre). Pas de suppression.
+ * Cette structure n'est pas thread-safe.
+ */
+public class IntLongHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * Reçoit chaque couple clé / valeur de la table
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, long value);
+    }
+
+    private int[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public IntLongHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param key Clé recherchée
+     * @return Valeur associée, ou 0 si la clé est absente
+     */
+    public long get(int key) {
+        int index = hash(key) & mask;
+        int existing;
+        while ((existing = keys[index]) != 0) {
+            if (existing == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Ajoute une valeur à celle de la clé (0 si elle est absente)
+     *
+     * @param key Clé non nulle
+     * @param delta Valeur ajoutée
+     * @return Nouvelle valeur
+     */
+    public long addTo(int key, long delta) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key cannot be zero");
+        }
+        int index = hash(key) & mask;
+        int existing;
+        while ((existing = keys[index]) != 0) {
+            if (existing == key) {
+                return values[index] += delta;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = delta;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    /**
+     * Ajoute toutes les valeurs d'une autre table à celles de cette table
+     */
+    public void addAll(IntLongHashMap other) {
+        other.forEach(this::addTo);
+    }
+
+    /**
+     * Parcourt les couples dans l'ordre des cases, sans ordre garanti
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int index = hash(key) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,192 @@
+package zerheri.fatimazahrae.index;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Table de hachage à adressage ouvert (sondage linéaire) indexée par des clés int primitives
+ *
+ * Évite le boxing des numéros de chambre et des identifiants utilisateur ainsi que
+ * l'allocation d'entrées intermédiaires : une recherche se résume à quelques lectures de tableaux.
+ * Les valeurs null ne sont pas acceptées (null marque une case libre).
+ * Cette structure n'est pas thread-safe.
+ *
+ * @param <V> Type des valeurs indexées
+ */
+public class IntObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public IntObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntObjectHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        allocate(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR)));
+    }
+
+    /**
+     * Retourne la valeur associée à la clé
+     *
+     * @param key Clé recherchée
+     * @return Valeur associée ou null si absente
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = hash(key) & mask;
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associe une valeur à une clé
+     *
+     * @param key Clé
+     * @param value Valeur non nulle
+     * @return Ancienne valeur ou null si la clé était absente
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        int index = hash(key) & mask;
+        Object existing;
+        while ((existing = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Supprime une clé en conservant la continuité des séquences de sondage
+     *
+     * @param key Clé à supprimer
+     * @return Valeur supprimée ou null si absente
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int index = hash(key) & mask;
+        Object existing;
+        while ((existing = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = null;
+                size--;
+                compactChain(index);
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Parcourt toutes les valeurs (ordre non spécifié)
+     *
+     * @param action Action appliquée à chaque valeur
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private void compactChain(int deletedIndex) {
+        int gap = deletedIndex;
+        int index = (deletedIndex + 1) & mask;
+        Object value;
+        while ((value = values[index]) != null) {
+            int home = hash(keys[index]) & mask;
+            // Déplace l'entrée dans le trou si sa position d'origine ne se situe pas entre le trou et elle
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = value;
+                values[index] = null;
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                int index = hash(oldKeys[i]) & mask;
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        return Math.max(size, DEFAULT_CAPACITY);
+    }
+}
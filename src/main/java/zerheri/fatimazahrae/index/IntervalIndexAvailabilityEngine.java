@@ -0,0 +1,40 @@
+package zerheri.fatimazahrae.index;
+
+/**
+ * Moteur de disponibilité s'appuyant sur un {@link RoomIntervalIndex} par chambre
+ */
+public class IntervalIndexAvailabilityEngine implements AvailabilityEngine {
+    private final IntObjectHashMap<RoomIntervalIndex> intervalsByRoom = new IntObjectHashMap<>();
+    // Lu par la supervision depuis d'autres threads
+    private volatile long periodCount;
+
+    @Override
+    public boolean isAvailable(int roomNumber, int checkInDay, int checkOutDay) {
+        RoomIntervalIndex intervals = intervalsByRoom.get(roomNumber);
+        return intervals == null || !intervals.hasConflict(checkInDay, checkOutDay);
+    }
+
+    @Override
+    public void reserve(int roomNumber, int checkInDay, int checkOutDay) {
+        RoomIntervalIndex intervals = intervalsByRoom.get(roomNumber);
+        if (intervals == null) {
+            intervals = new RoomIntervalIndex();
+            intervalsByRoom.put(roomNumber, intervals);
+        }
+        intervals.add(checkInDay, checkOutDay);
+        periodCount++;
+    }
+
+    @Override
+    public void release(int roomNumber, int checkInDay, int checkOutDay) {
+        RoomIntervalIndex intervals = intervalsByRoom.get(roomNumber);
+        if (intervals != null && intervals.remove(checkInDay, checkOutDay)) {
+            periodCount--;
+        }
+    }
+
+    @Override
+    public long getIndexedPeriodCount() {
+        return periodCount;
+    }
+}
@@ -0,0 +1,67 @@
+package zerheri.fatimazahrae.index;
+
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.models.Booking;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moteur de disponibilité historique : parcours de toutes les réservations actives (confirmées ou en attente)
+ *
+ * La liste des réservations fait foi, reserve/release n'ont donc rien à maintenir.
+ * Conservé comme référence pour valider les autres moteurs.
+ */
+public class ListScanAvailabilityEngine implements AvailabilityEngine {
+    private final List<Booking> bookings;
+
+    public ListScanAvailabilityEngine(List<Booking> bookings) {
+        this.bookings = bookings;
+    }
+
+    @Override
+    public boolean isAvailable(int roomNumber, int checkInDay, int checkOutDay) {
+        if (bookings instanceof CompactBookingList) {
+            return isAvailable((CompactBookingList) bookings, roomNumber, checkInDay, checkOutDay);
+        }
+        LocalDate checkIn = LocalDate.ofEpochDay(checkInDay);
+        LocalDate checkOut = LocalDate.ofEpochDay(checkOutDay);
+        return bookings.stream()
+                .filter(booking -> booking.getRoomNumber() == roomNumber)
+                .filter(booking -> booking.getStatus().blocksRoom())
+                .noneMatch(booking -> booking.hasDateConflict(checkIn, checkOut));
+    }
+
+    /**
+     * Même parcours sur les colonnes, sans reconstruire les réservations
+     */
+    private static boolean isAvailable(CompactBookingList bookings, int roomNumber, int checkInDay, int checkOutDay) {
+        for (int i = 0, size = bookings.size(); i < size; i++) {
+            if (bookings.getRoomNumber(i) == roomNumber
+                    && bookings.getStatus(i).blocksRoom()
+                    && bookings.getCheckOutDay(i) >= checkInDay
+                    && checkOutDay >= bookings.getCheckInDay(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void reserve(int roomNumber, int checkInDay, int checkOutDay) {
+        // La réservation ajoutée à la liste suffit
+    }
+
+    @Override
+    public void release(int roomNumber, int checkInDay, int checkOutDay) {
+        // Le statut de la réservation suffit
+    }
+
+    /**
+     * Toutes les réservations sont parcourues, y compris celles qui ne sont plus confirmées
+     */
+    @Override
+    public long getIndexedPeriodCount() {
+        return bookings.size();
+    }
+}
@@ -0,0 +1,120 @@
+package zerheri.fatimazahrae.index;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage à adressage ouvert (sondage linéaire) de clés long vers des valeurs int positives
+ *
+ * Associe un identifiant de réservation à sa position dans l'historique, sans boxing ni entrée
+ * intermédiaire. Les valeurs négatives ne sont pas acceptées (-1 marque une case libre).
+ * Pas de suppression : l'historique ne fait que grandir.
+ * Cette structure n'est pas thread-safe.
+ */
+public class LongIntHashMap {
+    public static final int NO_VALUE = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public LongIntHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Retourne la valeur associée à la clé
+     *
+     * @param key Clé recherchée
+     * @return Valeur associée ou {@link #NO_VALUE} si absente
+     */
+    public int get(long key) {
+        int index = hash(key) & mask;
+        int value;
+        while ((value = values[index]) != NO_VALUE) {
+            if (keys[index] == key) {
+                return value;
+            }
+            index = (index + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * Associe une valeur à une clé
+     *
+     * @param key Clé
+     * @param value Valeur positive ou nulle
+     * @return Ancienne valeur ou {@link #NO_VALUE} si la clé était absente
+     */
+    public int put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative");
+        }
+        int index = hash(key) & mask;
+        int existing;
+        while ((existing = values[index]) != NO_VALUE) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return NO_VALUE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            int value = oldValues[i];
+            if (value != NO_VALUE) {
+                int index = hash(oldKeys[i]) & mask;
+                while (values[index] != NO_VALUE) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
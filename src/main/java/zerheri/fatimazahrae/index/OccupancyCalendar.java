@@ -0,0 +1,153 @@
+package zerheri.fatimazahrae.index;
+
+/**
+ * Calendrier d'occupation d'une chambre : un bit par jour, indexé par jour epoch
+ *
+ * Les jours sont regroupés en pages de 1024 bits (16 mots long) allouées à la demande
+ * et libérées dès qu'elles redeviennent vides ; vérifier ou bloquer une période
+ * revient à quelques opérations de masque par mot de 64 jours.
+ * Les périodes sont des intervalles fermés [premier jour, dernier jour].
+ * Cette structure n'est pas thread-safe.
+ */
+public class OccupancyCalendar {
+    private static final int PAGE_SHIFT = 10;
+    private static final int DAYS_PER_PAGE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = DAYS_PER_PAGE - 1;
+    private static final int WORDS_PER_PAGE = DAYS_PER_PAGE >>> 6;
+
+    private final IntObjectHashMap<long[]> pages = new IntObjectHashMap<>(4);
+    private int lowestPage = Integer.MAX_VALUE;
+
+    /**
+     * Indique si tous les jours de la période sont libres
+     *
+     * @param fromDay Premier jour epoch (inclus)
+     * @param toDay Dernier jour epoch (inclus)
+     * @return true si aucun jour n'est occupé
+     */
+    public boolean isFree(int fromDay, int toDay) {
+        int day = fromDay;
+        while (day <= toDay) {
+            int pageIndex = day >> PAGE_SHIFT;
+            int last = Math.min(toDay, pageLastDay(pageIndex));
+            long[] page = pages.get(pageIndex);
+            if (page != null && anySet(page, day & PAGE_MASK, last & PAGE_MASK)) {
+                return false;
+            }
+            day = last + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Marque tous les jours de la période comme occupés
+     *
+     * @param fromDay Premier jour epoch (inclus)
+     * @param toDay Dernier jour epoch (inclus)
+     */
+    public void occupy(int fromDay, int toDay) {
+        int day = fromDay;
+        while (day <= toDay) {
+            int pageIndex = day >> PAGE_SHIFT;
+            int last = Math.min(toDay, pageLastDay(pageIndex));
+            long[] page = pages.get(pageIndex);
+            if (page == null) {
+                page = new long[WORDS_PER_PAGE];
+                pages.put(pageIndex, page);
+                lowestPage = Math.min(lowestPage, pageIndex);
+            }
+            apply(page, day & PAGE_MASK, last & PAGE_MASK, true);
+            day = last + 1;
+        }
+    }
+
+    /**
+     * Libère tous les jours de la période
+     *
+     * @param fromDay Premier jour epoch (inclus)
+     * @param toDay Dernier jour epoch (inclus)
+     */
+    public void release(int fromDay, int toDay) {
+        int day = fromDay;
+        while (day <= toDay) {
+            int pageIndex = day >> PAGE_SHIFT;
+            int last = Math.min(toDay, pageLastDay(pageIndex));
+            long[] page = pages.get(pageIndex);
+            if (page != null) {
+                apply(page, day & PAGE_MASK, last & PAGE_MASK, false);
+                if (isEmpty(page)) {
+                    pages.remove(pageIndex);
+                }
+            }
+            day = last + 1;
+        }
+    }
+
+    /**
+     * Supprime les pages entièrement antérieures au jour donné
+     *
+     * @param day Jour epoch à partir duquel l'historique est conservé
+     */
+    public void evictBefore(int day) {
+        int limit = day >> PAGE_SHIFT;
+        for (int pageIndex = lowestPage; pageIndex < limit && !pages.isEmpty(); pageIndex++) {
+            pages.remove(pageIndex);
+        }
+        lowestPage = Math.max(lowestPage, limit);
+    }
+
+    /**
+     * @return Nombre de pages allouées (mémoire occupée par le calendrier)
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private static int pageLastDay(int pageIndex) {
+        return (pageIndex << PAGE_SHIFT) + PAGE_MASK;
+    }
+
+    private static boolean anySet(long[] page, int fromBit, int toBit) {
+        int fromWord = fromBit >>> 6;
+        int toWord = toBit >>> 6;
+        for (int word = fromWord; word <= toWord; word++) {
+            if ((page[word] & wordMask(word, fromWord, toWord, fromBit, toBit)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void apply(long[] page, int fromBit, int toBit, boolean occupied) {
+        int fromWord = fromBit >>> 6;
+        int toWord = toBit >>> 6;
+        for (int word = fromWord; word <= toWord; word++) {
+            long mask = wordMask(word, fromWord, toWord, fromBit, toBit);
+            page[word] = occupied ? page[word] | mask : page[word] & ~mask;
+        }
+    }
+
+    private static long wordMask(int word, int fromWord, int toWord, int fromBit, int toBit) {
+        long mask = -1L;
+        if (word == fromWord) {
+            mask &= -1L << (fromBit & 63);
+        }
+        if (word == toWord) {
+            mask &= -1L >>> (63 - (toBit & 63));
+        }
+        return mask;
+    }
+
+    private static boolean isEmpty(long[] page) {
+        for (long word : page) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
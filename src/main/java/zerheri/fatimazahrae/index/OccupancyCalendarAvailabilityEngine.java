@@ -0,0 +1,102 @@
+package zerheri.fatimazahrae.index;
+
+import java.time.Clock;
+
+/**
+ * Moteur de disponibilité s'appuyant sur un {@link OccupancyCalendar} par chambre
+ *
+ * Vers le futur, la mémoire est bornée par un horizon de réservation : aucune période se terminant
+ * au-delà de l'horizon (en jours à partir d'aujourd'hui, UTC) n'est acceptée. Vers le passé, rien
+ * n'est purgé automatiquement : les dates passées restent réservables (rejeu du journal compris) et
+ * doivent donner le même résultat qu'avec les autres moteurs. {@link #evictBefore(int)} purge
+ * l'historique à la demande, une fois que l'appelant ne réserve plus avant ce jour : les nuits
+ * purgées sont ensuite vues comme libres.
+ */
+public class OccupancyCalendarAvailabilityEngine implements AvailabilityEngine {
+    public static final int DEFAULT_HORIZON_DAYS = 730;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final IntObjectHashMap<OccupancyCalendar> calendarsByRoom = new IntObjectHashMap<>();
+    private final int horizonDays;
+    private final Clock clock;
+    // Lu par la supervision depuis d'autres threads
+    private volatile long periodCount;
+
+    public OccupancyCalendarAvailabilityEngine() {
+        this(DEFAULT_HORIZON_DAYS, Clock.systemUTC());
+    }
+
+    public OccupancyCalendarAvailabilityEngine(int horizonDays, Clock clock) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("Horizon must be positive");
+        }
+        this.horizonDays = horizonDays;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean isAvailable(int roomNumber, int checkInDay, int checkOutDay) {
+        validateHorizon(checkOutDay);
+        OccupancyCalendar calendar = calendarsByRoom.get(roomNumber);
+        return calendar == null || calendar.isFree(checkInDay, checkOutDay);
+    }
+
+    @Override
+    public void reserve(int roomNumber, int checkInDay, int checkOutDay) {
+        validateHorizon(checkOutDay);
+        OccupancyCalendar calendar = calendarsByRoom.get(roomNumber);
+        if (calendar == null) {
+            calendar = new OccupancyCalendar();
+            calendarsByRoom.put(roomNumber, calendar);
+        }
+        calendar.occupy(checkInDay, checkOutDay);
+        periodCount++;
+    }
+
+    @Override
+    public void release(int roomNumber, int checkInDay, int checkOutDay) {
+        OccupancyCalendar calendar = calendarsByRoom.get(roomNumber);
+        if (calendar != null) {
+            calendar.release(checkInDay, checkOutDay);
+            periodCount--;
+        }
+    }
+
+    /**
+     * Les périodes purgées par {@link #evictBefore(int)} restent comptées
+     */
+    @Override
+    public long getIndexedPeriodCount() {
+        return periodCount;
+    }
+
+    /**
+     * Purge l'occupation antérieure au jour donné pour toutes les chambres
+     *
+     * @param day Jour epoch à partir duquel l'historique est conservé
+     */
+    public void evictBefore(int day) {
+        calendarsByRoom.forEachValue(calendar -> calendar.evictBefore(day));
+    }
+
+    /**
+     * @return Nombre de pages allouées, toutes chambres confondues
+     */
+    public int getPageCount() {
+        int[] pageCount = new int[1];
+        calendarsByRoom.forEachValue(calendar -> pageCount[0] += calendar.getPageCount());
+        return pageCount[0];
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    private void validateHorizon(int checkOutDay) {
+        long today = Math.floorDiv(clock.millis(), MILLIS_PER_DAY);
+        if (checkOutDay > today + horizonDays) {
+            throw new IllegalArgumentException(
+                    "Check-out date is beyond the booking horizon of " + horizonDays + " days");
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package zerheri.fatimazahrae.index;
+
+/**
+ * Arbre de Fenwick à ajout et somme par intervalle, indexé par jour epoch
+ *
+ * Deux tableaux primitifs codent les différences : ajouter une même valeur à chaque jour d'une période
+ * et sommer une période coûtent chacun O(log n), quelle que soit la longueur de la période.
+ * La fenêtre de jours couverte double à la demande, vers le passé comme vers le futur
+ * (reconstruction en O(n log n), amortie). Les périodes sont des intervalles fermés
+ * [premier jour, dernier jour]. Cette structure n'est pas thread-safe.
+ */
+public class RangeFenwickTree {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    // Jour epoch de la position 1 ; les positions 1..capacity sont couvertes
+    private int firstDay;
+    private int capacity;
+    private long[] values;
+    private long[] weighted;
+    private boolean empty = true;
+
+    public RangeFenwickTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Nombre de jours couverts avant le premier agrandissement
+     */
+    public RangeFenwickTree(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.values = new long[capacity + 1];
+        this.weighted = new long[capacity + 1];
+    }
+
+    /**
+     * Ajoute une valeur à chaque jour de la période
+     *
+     * @param fromDay Premier jour epoch (inclus)
+     * @param toDay Dernier jour epoch (inclus)
+     * @param delta Valeur ajoutée à chaque jour, négative pour retirer
+     */
+    public void add(int fromDay, int toDay, long delta) {
+        if (toDay < fromDay) {
+            throw new IllegalArgumentException("Last day cannot precede first day");
+        }
+        if (delta == 0) {
+            return;
+        }
+        ensureCovered(fromDay, toDay);
+        int from = fromDay - firstDay + 1;
+        int to = toDay - firstDay + 1;
+        update(from, delta, delta * (from - 1));
+        if (to < capacity) {
+            update(to + 1, -delta, -delta * to);
+        }
+    }
+
+    /**
+     * @param fromDay Premier jour epoch (inclus)
+     * @param toDay Dernier jour epoch (inclus)
+     * @return Somme des valeurs des jours de la période (0 hors de la fenêtre couverte)
+     */
+    public long sum(int fromDay, int toDay) {
+        if (toDay < fromDay || empty) {
+            return 0;
+        }
+        long to = Math.min((long) toDay - firstDay + 1, capacity);
+        long from = Math.max((long) fromDay - firstDay + 1, 1);
+        if (to < from) {
+            return 0;
+        }
+        return prefixSum((int) to) - prefixSum((int) from - 1);
+    }
+
+    /**
+     * @return Valeur du jour
+     */
+    public long get(int day) {
+        return sum(day, day);
+    }
+
+    /**
+     * @return Nombre de jours couverts sans agrandissement
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private void update(int position, long valueDelta, long weightedDelta) {
+        for (int i = position; i <= capacity; i += i & -i) {
+            values[i] += valueDelta;
+            weighted[i] += weightedDelta;
+        }
+    }
+
+    /**
+     * Somme des positions 1..position : somme(valeurs) * position - somme(valeurs pondérées)
+     */
+    private long prefixSum(int position) {
+        long value = 0;
+        long weight = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            value += values[i];
+            weight += weighted[i];
+        }
+        return value * position - weight;
+    }
+
+    private void ensureCovered(int fromDay, int toDay) {
+        if (empty) {
+            // Première période : la fenêtre est centrée sur elle pour absorber les deux sens
+            firstDay = (int) Math.max(Integer.MIN_VALUE, (long) fromDay - capacity / 4);
+            empty = false;
+        }
+        long first = firstDay;
+        long last = first + capacity - 1;
+        if (fromDay >= first && toDay <= last) {
+            return;
+        }
+        long newFirst = Math.min(first, fromDay);
+        long newLast = Math.max(last, toDay);
+        long newCapacity = capacity;
+        while (newCapacity < newLast - newFirst + 1) {
+            newCapacity *= 2;
+        }
+        if (newCapacity > Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("Day range too wide");
+        }
+        // La marge supplémentaire va du côté où la fenêtre a dû s'étendre
+        long spare = newCapacity - (newLast - newFirst + 1);
+        if (fromDay < first) {
+            newFirst -= spare;
+        }
+        rebuild((int) Math.max(Integer.MIN_VALUE, newFirst), (int) newCapacity);
+    }
+
+    private void rebuild(int newFirstDay, int newCapacity) {
+        long[] daily = new long[capacity];
+        long previous = 0;
+        for (int position = 1; position <= capacity; position++) {
+            long prefix = prefixSum(position);
+            daily[position - 1] = prefix - previous;
+            previous = prefix;
+        }
+        int oldFirstDay = firstDay;
+        int oldCapacity = capacity;
+        firstDay = newFirstDay;
+        capacity = newCapacity;
+        values = new long[newCapacity + 1];
+        weighted = new long[newCapacity + 1];
+        for (int i = 0; i < oldCapacity; i++) {
+            if (daily[i] != 0) {
+                int position = oldFirstDay + i - newFirstDay + 1;
+                update(position, daily[i], daily[i] * (position - 1));
+                if (position < newCapacity) {
+                    update(position + 1, -daily[i], -daily[i] * position);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package zerheri.fatimazahrae.index;
+
+import java.util.Arrays;
+
+/**
+ * Index des périodes réservées d'une chambre, triées par date d'arrivée
+ *
+ * Les périodes sont des intervalles fermés [arrivée, départ] exprimés en jours epoch,
+ * avec la même sémantique que {@link zerheri.fatimazahrae.models.Booking#hasDateConflict} :
+ * le jour de départ d'une réservation bloque encore la chambre.
+ * Les périodes indexées étant disjointes, elles sont triées à la fois par arrivée et par départ ;
+ * un test de conflit se limite donc à une recherche dichotomique, en O(log k)
+ * où k est le nombre de réservations de la chambre.
+ * Cette structure n'est pas thread-safe.
+ */
+public class RoomIntervalIndex {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] checkIns;
+    private int[] checkOuts;
+    private int size;
+
+    public RoomIntervalIndex() {
+        this.checkIns = new int[INITIAL_CAPACITY];
+        this.checkOuts = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Indique si la période demandée chevauche une période indexée
+     *
+     * @param checkInDay Jour epoch d'arrivée
+     * @param checkOutDay Jour epoch de départ
+     * @return true en cas de conflit
+     */
+    public boolean hasConflict(int checkInDay, int checkOutDay) {
+        // Dernière période commençant au plus tard le jour de départ demandé
+        int candidate = floorIndex(checkOutDay);
+        return candidate >= 0 && checkOuts[candidate] >= checkInDay;
+    }
+
+    /**
+     * Ajoute une période, qui ne doit chevaucher aucune période existante
+     *
+     * @param checkInDay Jour epoch d'arrivée
+     * @param checkOutDay Jour epoch de départ
+     * @throws IllegalStateException si la période chevauche une période existante
+     */
+    public void add(int checkInDay, int checkOutDay) {
+        if (checkOutDay < checkInDay) {
+            throw new IllegalArgumentException("Check-out day must not be before check-in day");
+        }
+        if (hasConflict(checkInDay, checkOutDay)) {
+            throw new IllegalStateException("Interval overlaps an existing booking");
+        }
+        int position = floorIndex(checkInDay) + 1;
+        if (size == checkIns.length) {
+            int newCapacity = checkIns.length << 1;
+            checkIns = Arrays.copyOf(checkIns, newCapacity);
+            checkOuts = Arrays.copyOf(checkOuts, newCapacity);
+        }
+        System.arraycopy(checkIns, position, checkIns, position + 1, size - position);
+        System.arraycopy(checkOuts, position, checkOuts, position + 1, size - position);
+        checkIns[position] = checkInDay;
+        checkOuts[position] = checkOutDay;
+        size++;
+    }
+
+    /**
+     * Retire une période précédemment ajoutée (annulation, changement de statut)
+     *
+     * @param checkInDay Jour epoch d'arrivée
+     * @param checkOutDay Jour epoch de départ
+     * @return true si la période était indexée
+     */
+    public boolean remove(int checkInDay, int checkOutDay) {
+        int position = floorIndex(checkInDay);
+        if (position < 0 || checkIns[position] != checkInDay || checkOuts[position] != checkOutDay) {
+            return false;
+        }
+        System.arraycopy(checkIns, position + 1, checkIns, position, size - position - 1);
+        System.arraycopy(checkOuts, position + 1, checkOuts, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int floorIndex(int day) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (checkIns[mid] <= day) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
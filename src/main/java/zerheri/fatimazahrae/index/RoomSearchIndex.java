@@ -0,0 +1,116 @@
+package zerheri.fatimazahrae.index;
+
+import zerheri.fatimazahrae.enums.RoomType;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Index secondaire des chambres par type, trié par prix croissant
+ *
+ * Chaque type de chambre possède un tableau trié de clés long (prix dans les 32 bits de poids fort,
+ * numéro de chambre dans les 32 bits de poids faible). Une recherche parcourt les chambres
+ * par prix croissant sans allocation et s'arrête dès que le plafond de prix est dépassé.
+ * Un changement de type ou de prix se traduit par un retrait suivi d'un ajout.
+ * Cette structure n'est pas thread-safe.
+ */
+public class RoomSearchIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final long[][] keysByType = new long[ROOM_TYPES.length][];
+    private final int[] sizes = new int[ROOM_TYPES.length];
+
+    public RoomSearchIndex() {
+        for (int i = 0; i < keysByType.length; i++) {
+            keysByType[i] = new long[INITIAL_CAPACITY];
+        }
+    }
+
+    public void add(RoomType roomType, int pricePerNight, int roomNumber) {
+        int type = roomType.ordinal();
+        long key = key(pricePerNight, roomNumber);
+        int position = Arrays.binarySearch(keysByType[type], 0, sizes[type], key);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (sizes[type] == keysByType[type].length) {
+            keysByType[type] = Arrays.copyOf(keysByType[type], sizes[type] << 1);
+        }
+        long[] keys = keysByType[type];
+        System.arraycopy(keys, position, keys, position + 1, sizes[type] - position);
+        keys[position] = key;
+        sizes[type]++;
+    }
+
+    public boolean remove(RoomType roomType, int pricePerNight, int roomNumber) {
+        int type = roomType.ordinal();
+        long[] keys = keysByType[type];
+        int position = Arrays.binarySearch(keys, 0, sizes[type], key(pricePerNight, roomNumber));
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(keys, position + 1, keys, position, sizes[type] - position - 1);
+        sizes[type]--;
+        return true;
+    }
+
+    /**
+     * Parcourt les chambres par prix croissant (puis numéro croissant) jusqu'au plafond de prix
+     *
+     * @param roomType Type recherché, ou null pour tous les types
+     * @param maxPrice Prix par nuit maximal (inclus)
+     * @param visitor Reçoit chaque numéro de chambre ; retourne false pour arrêter le parcours
+     */
+    public void forEachUpToPrice(RoomType roomType, int maxPrice, IntPredicate visitor) {
+        if (roomType != null) {
+            long[] keys = keysByType[roomType.ordinal()];
+            int size = sizes[roomType.ordinal()];
+            for (int i = 0; i < size && price(keys[i]) <= maxPrice; i++) {
+                if (!visitor.test(roomNumber(keys[i]))) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        // Fusion des listes triées de chaque type
+        int[] cursors = new int[ROOM_TYPES.length];
+        while (true) {
+            int best = -1;
+            for (int type = 0; type < ROOM_TYPES.length; type++) {
+                if (cursors[type] < sizes[type]
+                        && (best < 0 || keysByType[type][cursors[type]] < keysByType[best][cursors[best]])) {
+                    best = type;
+                }
+            }
+            if (best < 0) {
+                return;
+            }
+            long key = keysByType[best][cursors[best]++];
+            if (price(key) > maxPrice || !visitor.test(roomNumber(key))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Nombre de chambres indexées pour le type
+     */
+    public int size(RoomType roomType) {
+        return sizes[roomType.ordinal()];
+    }
+
+    private static long key(int pricePerNight, int roomNumber) {
+        return ((long) pricePerNight << 32) | (roomNumber & 0xFFFFFFFFL);
+    }
+
+    private static int price(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int roomNumber(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,108 @@
+package zerheri.fatimazahrae.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramme de latences à seaux logarithmiques, sans verrou
+ *
+ * Chaque puissance de deux est découpée en {@link #SUB_BUCKETS} seaux, soit une erreur relative
+ * d'au plus 12,5 % sur les centiles. Les enregistrements sont répartis sur plusieurs segments
+ * (choisis d'après le thread) pour que des threads concurrents n'incrémentent pas les mêmes
+ * compteurs ; un instantané additionne les segments.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Valeurs 0..7 exactes, puis 8 seaux par puissance de deux jusqu'à 2^62
+    static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    // Dernière case de chaque segment : somme des latences
+    private static final int SEGMENT_LENGTH = BUCKET_COUNT + 1;
+    private static final int SUM_OFFSET = BUCKET_COUNT;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final AtomicLongArray counts;
+    private final int segmentMask;
+
+    public LatencyHistogram() {
+        int segments = Math.min(MAX_SEGMENTS,
+                Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+        this.segmentMask = segments - 1;
+        this.counts = new AtomicLongArray(segments * SEGMENT_LENGTH);
+    }
+
+    /**
+     * Enregistre une latence
+     *
+     * @param nanos Durée en nanosecondes ; une valeur négative est ramenée à 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int base = (int) (Thread.currentThread().getId() & segmentMask) * SEGMENT_LENGTH;
+        counts.getAndIncrement(base + bucketIndex(value));
+        counts.getAndAdd(base + SUM_OFFSET, value);
+    }
+
+    /**
+     * @return Résumé des latences enregistrées jusqu'ici
+     */
+    public LatencySnapshot snapshot() {
+        long[] buckets = new long[BUCKET_COUNT];
+        long sum = 0;
+        for (int base = 0; base < counts.length(); base += SEGMENT_LENGTH) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] += counts.get(base + i);
+            }
+            sum += counts.get(base + SUM_OFFSET);
+        }
+        long count = 0;
+        int highest = -1;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += buckets[i];
+            if (buckets[i] != 0) {
+                highest = i;
+            }
+        }
+        if (count == 0) {
+            return LatencySnapshot.EMPTY;
+        }
+        return new LatencySnapshot(count, sum / count,
+                percentile(buckets, count, 0.50),
+                percentile(buckets, count, 0.90),
+                percentile(buckets, count, 0.99),
+                percentile(buckets, count, 0.999),
+                upperBound(highest));
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * @return Plus grande valeur rangée dans le seau
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static long percentile(long[] buckets, long count, double quantile) {
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(buckets.length - 1);
+    }
+}
@@ -0,0 +1,96 @@
+package zerheri.fatimazahrae.metrics;
+
+import zerheri.fatimazahrae.enums.RejectionReason;
+import zerheri.fatimazahrae.enums.ReservationOperation;
+
+/**
+ * Photographie immuable des métriques d'un service de réservation
+ *
+ * Les compteurs sont lus un à un, sans figer le service : deux valeurs d'un même instantané
+ * peuvent différer de quelques opérations en cours.
+ */
+public final class MetricsSnapshot {
+    private final long[] successCounts;
+    private final long[] failureCounts;
+    private final long[] rejectionCounts;
+    private final LatencySnapshot[] latencies;
+    private final int roomCount;
+    private final int userCount;
+    private final int bookingCount;
+    private final long indexedPeriodCount;
+
+    MetricsSnapshot(long[] successCounts, long[] failureCounts, long[] rejectionCounts,
+                    LatencySnapshot[] latencies, int roomCount, int userCount, int bookingCount,
+                    long indexedPeriodCount) {
+        this.successCounts = successCounts;
+        this.failureCounts = failureCounts;
+        this.rejectionCounts = rejectionCounts;
+        this.latencies = latencies;
+        this.roomCount = roomCount;
+        this.userCount = userCount;
+        this.bookingCount = bookingCount;
+        this.indexedPeriodCount = indexedPeriodCount;
+    }
+
+    /**
+     * @return Nombre d'appels réussis (pour BOOK_ROOM : réservations confirmées)
+     */
+    public long getSuccessCount(ReservationOperation operation) {
+        return successCounts[operation.ordinal()];
+    }
+
+    /**
+     * @return Nombre d'appels terminés par une erreur inattendue
+     */
+    public long getFailureCount(ReservationOperation operation) {
+        return failureCounts[operation.ordinal()];
+    }
+
+    /**
+     * @return Nombre de réservations refusées pour ce motif
+     */
+    public long getRejectionCount(RejectionReason reason) {
+        return rejectionCounts[reason.ordinal()];
+    }
+
+    public LatencySnapshot getLatency(ReservationOperation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public int getBookingCount() {
+        return bookingCount;
+    }
+
+    /**
+     * @return Nombre de périodes réservées suivies par les structures de disponibilité
+     */
+    public long getIndexedPeriodCount() {
+        return indexedPeriodCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("MetricsSnapshot{");
+        for (ReservationOperation operation : ReservationOperation.values()) {
+            builder.append(operation).append("={success=").append(getSuccessCount(operation))
+                    .append(", failure=").append(getFailureCount(operation))
+                    .append(", latency=").append(getLatency(operation)).append("}, ");
+        }
+        for (RejectionReason reason : RejectionReason.values()) {
+            builder.append(reason).append('=').append(getRejectionCount(reason)).append(", ");
+        }
+        return builder.append("rooms=").append(roomCount)
+                .append(", users=").append(userCount)
+                .append(", bookings=").append(bookingCount)
+                .append(", indexedPeriods=").append(indexedPeriodCount)
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,209 @@
+package zerheri.fatimazahrae.metrics;
+
+import zerheri.fatimazahrae.enums.RejectionReason;
+import zerheri.fatimazahrae.enums.ReservationOperation;
+import zerheri.fatimazahrae.models.BookingResult;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Métriques permanentes d'un service de réservation : compteurs de résultats, latences et jauges
+ *
+ * Les compteurs sont des {@link LongAdder} (répartis par thread) et les latences des
+ * {@link LatencyHistogram} sans verrou : un enregistrement coûte deux lectures d'horloge et
+ * trois incréments non contendus. Les jauges sont calculées à la lecture seulement.
+ */
+public final class ReservationMetrics implements ReservationMetricsMXBean {
+    private static final String JMX_DOMAIN = "zerheri.fatimazahrae";
+    private static final ReservationOperation[] OPERATIONS = ReservationOperation.values();
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    private final LongAdder[] successes = newAdders(OPERATIONS.length);
+    private final LongAdder[] failures = newAdders(OPERATIONS.length);
+    private final LongAdder[] rejections = newAdders(REASONS.length);
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+
+    private final IntSupplier roomCount;
+    private final IntSupplier userCount;
+    private final IntSupplier bookingCount;
+    private final LongSupplier indexedPeriodCount;
+
+    /**
+     * @param roomCount Jauge du nombre de chambres
+     * @param userCount Jauge du nombre d'utilisateurs
+     * @param bookingCount Jauge du nombre de réservations
+     * @param indexedPeriodCount Jauge de la taille des structures de disponibilité
+     */
+    public ReservationMetrics(IntSupplier roomCount, IntSupplier userCount, IntSupplier bookingCount,
+                              LongSupplier indexedPeriodCount) {
+        if (roomCount == null || userCount == null || bookingCount == null || indexedPeriodCount == null) {
+            throw new IllegalArgumentException("Gauges cannot be null");
+        }
+        this.roomCount = roomCount;
+        this.userCount = userCount;
+        this.bookingCount = bookingCount;
+        this.indexedPeriodCount = indexedPeriodCount;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Enregistre un appel réussi
+     *
+     * @param startNanos Valeur de {@link System#nanoTime()} au début de l'appel
+     */
+    public void recordSuccess(ReservationOperation operation, long startNanos) {
+        successes[operation.ordinal()].increment();
+        latencies[operation.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Enregistre un appel terminé par une erreur inattendue
+     *
+     * @param startNanos Valeur de {@link System#nanoTime()} au début de l'appel
+     */
+    public void recordFailure(ReservationOperation operation, long startNanos) {
+        failures[operation.ordinal()].increment();
+        latencies[operation.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Enregistre le résultat et la latence d'une demande de réservation
+     *
+     * @param startNanos Valeur de {@link System#nanoTime()} au début de l'appel
+     */
+    public void recordBooking(BookingResult result, long startNanos) {
+        countBooking(result);
+        latencies[ReservationOperation.BOOK_ROOM.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Compte le résultat d'une demande de réservation sans mesurer sa latence (lots)
+     */
+    public void countBooking(BookingResult result) {
+        if (result.isConfirmed()) {
+            successes[ReservationOperation.BOOK_ROOM.ordinal()].increment();
+        } else {
+            rejections[result.getRejectionReason().ordinal()].increment();
+        }
+    }
+
+    public MetricsSnapshot snapshot() {
+        long[] successCounts = new long[OPERATIONS.length];
+        long[] failureCounts = new long[OPERATIONS.length];
+        LatencySnapshot[] latencySnapshots = new LatencySnapshot[OPERATIONS.length];
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            successCounts[i] = successes[i].sum();
+            failureCounts[i] = failures[i].sum();
+            latencySnapshots[i] = latencies[i].snapshot();
+        }
+        long[] rejectionCounts = new long[REASONS.length];
+        for (int i = 0; i < REASONS.length; i++) {
+            rejectionCounts[i] = rejections[i].sum();
+        }
+        return new MetricsSnapshot(successCounts, failureCounts, rejectionCounts, latencySnapshots,
+                roomCount.getAsInt(), userCount.getAsInt(), bookingCount.getAsInt(),
+                indexedPeriodCount.getAsLong());
+    }
+
+    /**
+     * Publie ces métriques auprès du serveur MBean de la plateforme
+     *
+     * @param name Nom distinguant le service (propriété name de l'ObjectName)
+     * @return Nom sous lequel le MBean est enregistré
+     * @throws JMException si le nom est invalide ou déjà utilisé
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("MBean name cannot be empty");
+        }
+        ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=ReservationMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Retire un MBean publié par {@link #registerMBean(String)}
+     *
+     * @throws JMException si le MBean n'est pas enregistré
+     */
+    public void unregisterMBean(ObjectName objectName) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    }
+
+    // ===============================
+    // ATTRIBUTS JMX
+    // ===============================
+
+    @Override
+    public Map<String, Long> getSuccessCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ReservationOperation operation : OPERATIONS) {
+            counts.put(operation.name(), successes[operation.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getFailureCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ReservationOperation operation : OPERATIONS) {
+            counts.put(operation.name(), failures[operation.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getRejectionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (RejectionReason reason : REASONS) {
+            counts.put(reason.name(), rejections[reason.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getLatencies() {
+        Map<String, LatencySnapshot> snapshots = new LinkedHashMap<>();
+        for (ReservationOperation operation : OPERATIONS) {
+            snapshots.put(operation.name(), latencies[operation.ordinal()].snapshot());
+        }
+        return snapshots;
+    }
+
+    @Override
+    public int getRoomCount() {
+        return roomCount.getAsInt();
+    }
+
+    @Override
+    public int getUserCount() {
+        return userCount.getAsInt();
+    }
+
+    @Override
+    public int getBookingCount() {
+        return bookingCount.getAsInt();
+    }
+
+    @Override
+    public long getIndexedPeriodCount() {
+        return indexedPeriodCount.getAsLong();
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,28 @@
+package zerheri.fatimazahrae.metrics;
+
+import java.util.Map;
+
+/**
+ * Vue JMX des métriques d'un service de réservation
+ *
+ * Les tables sont indexées par nom d'opération ({@link zerheri.fatimazahrae.enums.ReservationOperation})
+ * ou de motif de refus ({@link zerheri.fatimazahrae.enums.RejectionReason}).
+ */
+public interface ReservationMetricsMXBean {
+
+    Map<String, Long> getSuccessCounts();
+
+    Map<String, Long> getFailureCounts();
+
+    Map<String, Long> getRejectionCounts();
+
+    Map<String, LatencySnapshot> getLatencies();
+
+    int getRoomCount();
+
+    int getUserCount();
+
+    int getBookingCount();
+
+    long getIndexedPeriodCount();
+}
@@ -2,21 +2,21 @@ package zerheri.fatimazahrae.models;
 
 import zerheri.fatimazahrae.enums.BookingStatus;
 import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.ids.BookingIdAllocator;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 public class Booking {
-    private static int nextBookingId = 1;
-
-    private final int bookingId;
+    private final long bookingId;
     private final int userId;
     private final int roomNumber;
     private final LocalDate checkIn;
     private final LocalDate checkOut;
     private final int totalAmount;
-    private final BookingStatus status;
+    // Seul champ modifiable : PENDING -> CONFIRMED, puis -> CANCELLED, par le service
+    private volatile BookingStatus status;
     private final LocalDateTime createdAt;
 
     // Room and User information at the time of booking
@@ -25,6 +25,35 @@ public class Booking {
     private final int userBalanceBeforeBooking;
 
     public Booking(User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+        this(user, room, checkIn, checkOut, user.getBalance());
+    }
+
+    /**
+     * Crée une réservation en précisant le solde de l'utilisateur avant débit,
+     * lorsque celui-ci a déjà été débité de manière atomique
+     *
+     * L'identifiant est tiré de {@link BookingIdAllocator#SEQUENTIAL}.
+     */
+    public Booking(User user, Room room, LocalDate checkIn, LocalDate checkOut, int userBalanceBeforeBooking) {
+        this(BookingIdAllocator.SEQUENTIAL.nextId(), user, room, checkIn, checkOut, userBalanceBeforeBooking);
+    }
+
+    /**
+     * Crée une réservation avec un identifiant fourni par l'allocateur du service
+     */
+    public Booking(long bookingId, User user, Room room, LocalDate checkIn, LocalDate checkOut,
+                   int userBalanceBeforeBooking) {
+        this(bookingId, user, room, checkIn, checkOut, userBalanceBeforeBooking, BookingStatus.CONFIRMED);
+    }
+
+    /**
+     * Crée une réservation confirmée, ou un blocage temporaire (PENDING) à confirmer
+     */
+    public Booking(long bookingId, User user, Room room, LocalDate checkIn, LocalDate checkOut,
+                   int userBalanceBeforeBooking, BookingStatus status) {
+        if (status != BookingStatus.CONFIRMED && status != BookingStatus.PENDING) {
+            throw new IllegalArgumentException("A new booking must be confirmed or pending");
+        }
         if (checkIn == null || checkOut == null) {
             throw new IllegalArgumentException("Check-in and check-out dates cannot be null");
         }
@@ -32,7 +61,7 @@ public class Booking {
             throw new IllegalArgumentException("Check-out date must be after check-in date");
         }
 
-        this.bookingId = nextBookingId++;
+        this.bookingId = bookingId;
         this.userId = user.getUserId();
         this.roomNumber = room.getRoomNumber();
         this.checkIn = checkIn;
@@ -44,13 +73,41 @@ public class Booking {
         // Store room and user information at booking time
         this.roomTypeAtBooking = room.getRoomType();
         this.roomPriceAtBooking = room.getPricePerNight();
-        this.userBalanceBeforeBooking = user.getBalance();
+        this.userBalanceBeforeBooking = userBalanceBeforeBooking;
 
-        this.status = BookingStatus.CONFIRMED;
+        this.status = status;
         this.createdAt = LocalDateTime.now();
     }
 
-    public int getBookingId() {
+    /**
+     * Reconstitue une réservation existante (journal, instantané) à l'identique
+     *
+     * L'allocateur d'identifiants du service doit en être informé ({@link BookingIdAllocator#observe(long)}).
+     */
+    public Booking(long bookingId, int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut,
+                   int totalAmount, BookingStatus status, LocalDateTime createdAt,
+                   RoomType roomTypeAtBooking, int roomPriceAtBooking, int userBalanceBeforeBooking) {
+        if (checkIn == null || checkOut == null) {
+            throw new IllegalArgumentException("Check-in and check-out dates cannot be null");
+        }
+        if (status == null || createdAt == null || roomTypeAtBooking == null) {
+            throw new IllegalArgumentException("Status, creation date and room type cannot be null");
+        }
+
+        this.bookingId = bookingId;
+        this.userId = userId;
+        this.roomNumber = roomNumber;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.roomTypeAtBooking = roomTypeAtBooking;
+        this.roomPriceAtBooking = roomPriceAtBooking;
+        this.userBalanceBeforeBooking = userBalanceBeforeBooking;
+    }
+
+    public long getBookingId() {
         return bookingId;
     }
 
@@ -78,6 +135,31 @@ public class Booking {
         return status;
     }
 
+    /**
+     * Passe la réservation au statut CANCELLED ; le remboursement et la libération de la chambre
+     * sont à la charge du service, sous ses verrous
+     *
+     * @throws IllegalStateException si la réservation est déjà annulée
+     */
+    public void cancel() {
+        if (!status.blocksRoom()) {
+            throw new IllegalStateException("Booking " + bookingId + " is already cancelled");
+        }
+        status = BookingStatus.CANCELLED;
+    }
+
+    /**
+     * Confirme un blocage temporaire (PENDING -> CONFIRMED)
+     *
+     * @throws IllegalStateException si la réservation n'est pas en attente
+     */
+    public void confirm() {
+        if (status != BookingStatus.PENDING) {
+            throw new IllegalStateException("Booking " + bookingId + " is not pending");
+        }
+        status = BookingStatus.CONFIRMED;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,55 @@
+package zerheri.fatimazahrae.models;
+
+import java.time.LocalDate;
+
+/**
+ * Demande de réservation, utilisée pour les réservations par lot
+ */
+public class BookingRequest {
+    private final int userId;
+    private final int roomNumber;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+
+    public BookingRequest(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        if (userId <= 0) {
+            throw new IllegalArgumentException("User ID must be positive");
+        }
+        if (roomNumber <= 0) {
+            throw new IllegalArgumentException("Room number must be positive");
+        }
+        if (checkIn == null) {
+            throw new IllegalArgumentException("Check-in date cannot be null");
+        }
+        if (checkOut == null) {
+            throw new IllegalArgumentException("Check-out date cannot be null");
+        }
+
+        this.userId = userId;
+        this.roomNumber = roomNumber;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getRoomNumber() {
+        return roomNumber;
+    }
+
+    public LocalDate getCheckIn() {
+        return checkIn;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BookingRequest{userId=%d, roomNumber=%d, checkIn=%s, checkOut=%s}",
+                userId, roomNumber, checkIn, checkOut);
+    }
+}
@@ -0,0 +1,150 @@
+package zerheri.fatimazahrae.models;
+
+import zerheri.fatimazahrae.enums.RejectionReason;
+import zerheri.fatimazahrae.exceptions.BookingException;
+
+/**
+ * Résultat d'une demande de réservation : la réservation créée, ou le motif du refus
+ *
+ * Un refus ne porte que des valeurs brutes (identifiant, montants) : le message n'est mis
+ * en forme qu'à la demande, et aucune exception n'est construite. Les refus sans détail
+ * sont des instances partagées.
+ */
+public class BookingResult {
+    private static final int NO_DETAIL = -1;
+
+    private static final BookingResult INVALID_DATES = new BookingResult(null,
+            RejectionReason.INVALID_DATES, "Check-out date must be after check-in date", NO_DETAIL, NO_DETAIL);
+
+    private final Booking booking;
+    private final RejectionReason rejectionReason;
+    // Identifiant concerné (utilisateur ou chambre) ou montant requis, puis solde disponible
+    private final int detail;
+    private final int secondaryDetail;
+    // Mis en forme au premier appel de getMessage()
+    private String message;
+
+    private BookingResult(Booking booking, RejectionReason rejectionReason, String message,
+                          int detail, int secondaryDetail) {
+        this.booking = booking;
+        this.rejectionReason = rejectionReason;
+        this.message = message;
+        this.detail = detail;
+        this.secondaryDetail = secondaryDetail;
+    }
+
+    public static BookingResult confirmed(Booking booking) {
+        if (booking == null) {
+            throw new IllegalArgumentException("Booking cannot be null");
+        }
+        return new BookingResult(booking, null, null, NO_DETAIL, NO_DETAIL);
+    }
+
+    public static BookingResult rejected(RejectionReason reason, String message) {
+        if (reason == null) {
+            throw new IllegalArgumentException("Rejection reason cannot be null");
+        }
+        return new BookingResult(null, reason, message, NO_DETAIL, NO_DETAIL);
+    }
+
+    public static BookingResult invalidDates() {
+        return INVALID_DATES;
+    }
+
+    public static BookingResult userNotFound(int userId) {
+        return new BookingResult(null, RejectionReason.USER_NOT_FOUND, null, userId, NO_DETAIL);
+    }
+
+    public static BookingResult roomNotFound(int roomNumber) {
+        return new BookingResult(null, RejectionReason.ROOM_NOT_FOUND, null, roomNumber, NO_DETAIL);
+    }
+
+    public static BookingResult roomNotAvailable(int roomNumber) {
+        return new BookingResult(null, RejectionReason.ROOM_NOT_AVAILABLE, null, roomNumber, NO_DETAIL);
+    }
+
+    public static BookingResult insufficientBalance(int required, int available) {
+        return new BookingResult(null, RejectionReason.INSUFFICIENT_BALANCE, null, required, available);
+    }
+
+    public boolean isConfirmed() {
+        return booking != null;
+    }
+
+    /**
+     * @return Réservation créée, ou null si la demande a été refusée
+     */
+    public Booking getBooking() {
+        return booking;
+    }
+
+    /**
+     * @return Identifiant de la réservation créée, ou -1 si la demande a été refusée
+     */
+    public long getBookingId() {
+        return booking != null ? booking.getBookingId() : -1;
+    }
+
+    /**
+     * @return Motif du refus, ou null si la réservation a été créée
+     */
+    public RejectionReason getRejectionReason() {
+        return rejectionReason;
+    }
+
+    /**
+     * @return Montant requis pour un refus INSUFFICIENT_BALANCE, -1 sinon
+     */
+    public int getRequiredAmount() {
+        return rejectionReason == RejectionReason.INSUFFICIENT_BALANCE ? detail : NO_DETAIL;
+    }
+
+    /**
+     * @return Solde disponible pour un refus INSUFFICIENT_BALANCE, -1 sinon
+     */
+    public int getAvailableBalance() {
+        return rejectionReason == RejectionReason.INSUFFICIENT_BALANCE ? secondaryDetail : NO_DETAIL;
+    }
+
+    public String getMessage() {
+        if (message == null && rejectionReason != null) {
+            message = formatMessage();
+        }
+        return message;
+    }
+
+    /**
+     * Convertit le refus en exception, pour les appelants de l'API historique
+     *
+     * @return Exception portant le motif et le message du refus
+     * @throws IllegalStateException si la réservation a été créée
+     */
+    public BookingException toException() {
+        if (isConfirmed()) {
+            throw new IllegalStateException("Booking was confirmed");
+        }
+        return new BookingException(rejectionReason, getMessage());
+    }
+
+    @Override
+    public String toString() {
+        return isConfirmed()
+                ? String.format("BookingResult{confirmed, bookingId=%d}", booking.getBookingId())
+                : String.format("BookingResult{rejected=%s, message=%s}", rejectionReason, getMessage());
+    }
+
+    private String formatMessage() {
+        switch (rejectionReason) {
+            case USER_NOT_FOUND:
+                return "User not found: " + detail;
+            case ROOM_NOT_FOUND:
+                return "Room not found: " + detail;
+            case ROOM_NOT_AVAILABLE:
+                return String.format("Room %d is not available for the specified period", detail);
+            case INSUFFICIENT_BALANCE:
+                return String.format("Insufficient balance. Required: %d, Available: %d", detail, secondaryDetail);
+            default:
+                return rejectionReason.name();
+        }
+    }
+}
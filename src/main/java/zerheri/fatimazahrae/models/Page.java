@@ -0,0 +1,52 @@
+package zerheri.fatimazahrae.models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page d'une liste parcourue du plus récent au plus ancien
+ *
+ * Le curseur est une position dans l'ordre d'insertion : la page suivante commence juste avant
+ * le dernier élément retourné. Les éléments ajoutés entre deux pages n'apparaissent pas dans
+ * les pages suivantes, qui restent donc stables.
+ *
+ * @param <T> Type des éléments
+ */
+public class Page<T> {
+    /** Curseur de la première page (éléments les plus récents) */
+    public static final int LATEST = -1;
+
+    private final List<T> items;
+    private final int nextCursor;
+
+    public Page(List<T> items, int nextCursor) {
+        if (items == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return Éléments de la page, du plus récent au plus ancien
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return Curseur de la page suivante, 0 s'il n'y a plus d'éléments plus anciens
+     */
+    public int getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor > 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Page{items=%d, nextCursor=%d}", items.size(), nextCursor);
+    }
+}
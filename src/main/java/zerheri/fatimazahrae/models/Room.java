@@ -11,6 +11,13 @@ public class Room {
     private final LocalDateTime createdAt;
 
     public Room(int roomNumber, RoomType roomType, int pricePerNight) {
+        this(roomNumber, roomType, pricePerNight, LocalDateTime.now());
+    }
+
+    /**
+     * Reconstitue une chambre existante (journal, instantané), avec sa date de création d'origine
+     */
+    public Room(int roomNumber, RoomType roomType, int pricePerNight, LocalDateTime createdAt) {
         if (roomNumber <= 0) {
             throw new IllegalArgumentException("Room number must be positive");
         }
@@ -24,7 +31,7 @@ public class Room {
         this.roomNumber = roomNumber;
         this.roomType = roomType;
         this.pricePerNight = pricePerNight;
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = createdAt;
     }
 
     public int getRoomNumber() {
@@ -50,6 +57,23 @@ public class Room {
         this.pricePerNight = pricePerNight;
     }
 
+    /**
+     * Met à jour le type et le prix ensemble, après validation des deux valeurs
+     *
+     * @param roomType Nouveau type de chambre
+     * @param pricePerNight Nouveau prix par nuit
+     */
+    public void update(RoomType roomType, int pricePerNight) {
+        if (roomType == null) {
+            throw new IllegalArgumentException("Room type cannot be null");
+        }
+        if (pricePerNight <= 0) {
+            throw new IllegalArgumentException("Price per night must be positive");
+        }
+        this.roomType = roomType;
+        this.pricePerNight = pricePerNight;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -1,13 +1,33 @@
 package zerheri.fatimazahrae.models;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.LocalDateTime;
 
 public class User {
+    private static final VarHandle BALANCE;
+
+    static {
+        try {
+            BALANCE = MethodHandles.lookup().findVarHandle(User.class, "balance", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final int userId;
-    private int balance;
+    // Modifié par CAS pour permettre les débits concurrents sans verrou
+    private volatile int balance;
     private final LocalDateTime createdAt;
 
     public User(int userId, int balance) {
+        this(userId, balance, LocalDateTime.now());
+    }
+
+    /**
+     * Reconstitue un utilisateur existant (journal, instantané), avec sa date de création d'origine
+     */
+    public User(int userId, int balance, LocalDateTime createdAt) {
         if (userId <= 0) {
             throw new IllegalArgumentException("User ID must be positive");
         }
@@ -17,7 +37,7 @@ public class User {
 
         this.userId = userId;
         this.balance = balance;
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = createdAt;
     }
 
     public int getUserId() {
@@ -44,13 +64,49 @@ public class User {
     }
 
     public void deductBalance(int amount) {
+        if (tryDeductBalance(amount) < 0) {
+            throw new IllegalStateException("Insufficient balance");
+        }
+    }
+
+    /**
+     * Crédite atomiquement le solde (remboursement d'une réservation annulée)
+     *
+     * @param amount Montant à créditer
+     * @return Solde après le crédit
+     * @throws ArithmeticException si le solde dépasse la capacité d'un int
+     */
+    public int creditBalance(int amount) {
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
-        if (!canAfford(amount)) {
-            throw new IllegalStateException("Insufficient balance");
+        int current;
+        int updated;
+        do {
+            current = balance;
+            updated = Math.addExact(current, amount);
+        } while (!BALANCE.compareAndSet(this, current, updated));
+        return updated;
+    }
+
+    /**
+     * Débite atomiquement le solde s'il est suffisant
+     *
+     * @param amount Montant à débiter
+     * @return Solde avant le débit, ou -1 si le solde est insuffisant
+     */
+    public int tryDeductBalance(int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
         }
-        this.balance -= amount;
+        int current;
+        do {
+            current = balance;
+            if (current < amount) {
+                return -1;
+            }
+        } while (!BALANCE.compareAndSet(this, current, current - amount));
+        return current;
     }
 
     @Override
@@ -0,0 +1,378 @@
+package zerheri.fatimazahrae.persistence;
+
+import zerheri.fatimazahrae.enums.DurabilityMode;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Journal binaire en ajout seul, écrit via {@link FileChannel} avec validation groupée
+ *
+ * Les mutations sont copiées dans un tampon mémoire ; un thread dédié écrit le tampon
+ * et appelle {@link FileChannel#force} une seule fois pour toutes les mutations accumulées
+ * (group commit). Un lot est écrit dès qu'un appelant attend sa durabilité, que le lot atteint
+ * la taille maximale configurée, ou au plus tard après l'intervalle de flush.
+ * Après une erreur d'écriture, le journal refuse tout nouvel ajout (arrêt sur erreur).
+ */
+public class FileReservationJournal implements ReservationJournal {
+    private static final Logger logger = Logger.getLogger(FileReservationJournal.class.getName());
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final JournalConfig config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition durabilityAdvanced = lock.newCondition();
+    private final Thread flusher;
+
+    // Protégés par lock
+    private ByteBuffer active;
+    private ByteBuffer flushing;
+    private long appendedSequence;
+    private long durableSequence;
+    private long durablePosition;
+    private long appendedPosition;
+    private int waiters;
+    private long batchStartNanos;
+    private IOException failure;
+    private boolean closed;
+
+    private FileReservationJournal(FileChannel channel, JournalConfig config, long position) {
+        this.channel = channel;
+        this.config = config;
+        this.active = ByteBuffer.allocateDirect(initialBufferSize(config));
+        this.flushing = ByteBuffer.allocateDirect(initialBufferSize(config));
+        this.durablePosition = position;
+        this.appendedPosition = position;
+        this.flusher = new Thread(this::flushLoop, "reservation-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Rejoue le journal existant puis l'ouvre en écriture à la suite du dernier enregistrement valide
+     *
+     * Une fin de fichier tronquée ou corrompue (écriture interrompue) est tronquée.
+     *
+     * @param path Fichier du journal, créé s'il n'existe pas
+     * @param config Paramètres de validation groupée
+     * @param visitor Destinataire des mutations relues
+     * @return Journal ouvert en ajout
+     * @throws IOException en cas d'erreur d'accès au fichier
+     */
+    public static FileReservationJournal recover(Path path, JournalConfig config, JournalVisitor visitor)
+            throws IOException {
+        return recover(path, 0, config, visitor);
+    }
+
+    /**
+     * Rejoue le journal à partir d'une position (fin de la partie couverte par un instantané),
+     * puis l'ouvre en écriture à la suite du dernier enregistrement valide
+     *
+     * @param path Fichier du journal, créé s'il n'existe pas
+     * @param fromPosition Position (en octets) du premier enregistrement à rejouer
+     * @param config Paramètres de validation groupée
+     * @param visitor Destinataire des mutations relues
+     * @return Journal ouvert en ajout
+     * @throws IOException en cas d'erreur d'accès au fichier, ou si le journal est plus court que la position
+     */
+    public static FileReservationJournal recover(Path path, long fromPosition, JournalConfig config,
+                                                 JournalVisitor visitor) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < fromPosition) {
+                throw new IOException(String.format("Journal %s is shorter (%d bytes) than the snapshot position %d",
+                        path, channel.size(), fromPosition));
+            }
+            long validLength = replay(channel, fromPosition, visitor);
+            if (validLength < channel.size()) {
+                logger.warning(String.format("Truncating torn journal tail: %d bytes", channel.size() - validLength));
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+            channel.position(validLength);
+            return new FileReservationJournal(channel, config, validLength);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Relit un journal à partir d'une position, sans l'ouvrir en écriture
+     *
+     * @param path Fichier du journal
+     * @param fromPosition Position (en octets) d'un début d'enregistrement
+     * @param visitor Destinataire des mutations relues
+     * @return Position suivant le dernier enregistrement valide
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public static long replay(Path path, long fromPosition, JournalVisitor visitor) throws IOException {
+        if (!Files.exists(path)) {
+            return fromPosition;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return replay(channel, fromPosition, visitor);
+        }
+    }
+
+    @Override
+    public long appendRoom(Room room) {
+        return append(RecordCodec.ROOM_PAYLOAD_SIZE, room, RecordCodec::writeRoom);
+    }
+
+    @Override
+    public long appendUser(User user) {
+        return append(RecordCodec.USER_PAYLOAD_SIZE, user, RecordCodec::writeUser);
+    }
+
+    @Override
+    public long appendBooking(Booking booking) {
+        return append(RecordCodec.BOOKING_PAYLOAD_SIZE, booking, RecordCodec::writeBooking);
+    }
+
+    @Override
+    public long appendConfirmation(Booking booking) {
+        return append(RecordCodec.CONFIRMATION_PAYLOAD_SIZE, booking, RecordCodec::writeConfirmation);
+    }
+
+    @Override
+    public long appendCancellation(Booking booking) {
+        return append(RecordCodec.CANCELLATION_PAYLOAD_SIZE, booking, RecordCodec::writeCancellation);
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        if (config.getDurabilityMode() == DurabilityMode.ASYNC) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                checkUsable();
+                waiters++;
+                flushRequested.signal();
+                try {
+                    durabilityAdvanced.awaitUninterruptibly();
+                } finally {
+                    waiters--;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getAppendedSequence() {
+        lock.lock();
+        try {
+            return appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getAppendedPosition() {
+        lock.lock();
+        try {
+            return appendedPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getDurablePosition() {
+        lock.lock();
+        try {
+            return durablePosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Écrit les mutations en attente puis ferme le fichier
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - ÉCRITURE
+    // ===============================
+
+    private <T> long append(int payloadSize, T entity, BiConsumer<ByteBuffer, T> writer) {
+        lock.lock();
+        try {
+            checkUsable();
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            if (active.remaining() < RecordCodec.MAX_FRAME_SIZE) {
+                active = grow(active);
+            }
+            if (active.position() == 0) {
+                batchStartNanos = System.nanoTime();
+            }
+            int start = active.position();
+            writer.accept(active, entity);
+            appendedPosition += active.position() - start;
+            if (active.position() >= config.getMaxBatchBytes()) {
+                flushRequested.signal();
+            }
+            return ++appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        long flushIntervalNanos = config.getFlushInterval().toNanos();
+        while (true) {
+            long targetSequence;
+            lock.lock();
+            try {
+                while (!closed && !readyToFlush(flushIntervalNanos)) {
+                    if (active.position() == 0) {
+                        flushRequested.awaitUninterruptibly();
+                    } else {
+                        long remaining = flushIntervalNanos - (System.nanoTime() - batchStartNanos);
+                        if (remaining > 0) {
+                            flushRequested.awaitNanos(remaining);
+                        }
+                    }
+                }
+                if (active.position() == 0 && closed) {
+                    return;
+                }
+                ByteBuffer batch = active;
+                active = flushing;
+                flushing = batch;
+                targetSequence = appendedSequence;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                continue;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            long written = flushing.flip().remaining();
+            try {
+                while (flushing.hasRemaining()) {
+                    channel.write(flushing);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+                logger.log(Level.SEVERE, "Journal write failed, rejecting further mutations", e);
+            }
+            flushing.clear();
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSequence = targetSequence;
+                    durablePosition += written;
+                }
+                durabilityAdvanced.signalAll();
+                if (error != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private boolean readyToFlush(long flushIntervalNanos) {
+        if (active.position() == 0) {
+            return false;
+        }
+        return waiters > 0
+                || active.position() >= config.getMaxBatchBytes()
+                || System.nanoTime() - batchStartNanos >= flushIntervalNanos;
+    }
+
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Journal is unavailable after a write failure", failure);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() << 1);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    private static int initialBufferSize(JournalConfig config) {
+        return Math.max(config.getMaxBatchBytes(), RecordCodec.MAX_FRAME_SIZE) + RecordCodec.MAX_FRAME_SIZE;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - RELECTURE
+    // ===============================
+
+    private static long replay(FileChannel channel, long fromPosition, JournalVisitor visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        long position = fromPosition;
+        long records = 0;
+        channel.position(fromPosition);
+        while (true) {
+            int read = channel.read(buffer);
+            buffer.flip();
+            while (RecordCodec.readRecord(buffer, visitor)) {
+                records++;
+            }
+            // Le tampon commence toujours au premier octet non consommé
+            position += buffer.position();
+            if (read < 0 || buffer.remaining() >= RecordCodec.MAX_FRAME_SIZE) {
+                // Fin de fichier, ou enregistrement corrompu : fin de la partie valide
+                break;
+            }
+            buffer.compact();
+        }
+        logger.info(String.format("Replayed %d journal records (%d bytes)", records, position - fromPosition));
+        return position;
+    }
+}
@@ -0,0 +1,59 @@
+package zerheri.fatimazahrae.persistence;
+
+import zerheri.fatimazahrae.enums.DurabilityMode;
+
+import java.time.Duration;
+
+/**
+ * Paramètres de validation groupée (group commit) du journal des mutations
+ */
+public class JournalConfig {
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(2);
+    private static final int DEFAULT_MAX_BATCH_BYTES = 256 * 1024;
+
+    private final Duration flushInterval;
+    private final int maxBatchBytes;
+    private final DurabilityMode durabilityMode;
+
+    /**
+     * @param flushInterval Délai maximal d'accumulation d'un lot avant écriture et synchronisation
+     * @param maxBatchBytes Taille de lot déclenchant une écriture immédiate
+     * @param durabilityMode Attente (ou non) de la synchronisation par les appelants
+     */
+    public JournalConfig(Duration flushInterval, int maxBatchBytes, DurabilityMode durabilityMode) {
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        if (maxBatchBytes <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        if (durabilityMode == null) {
+            throw new IllegalArgumentException("Durability mode cannot be null");
+        }
+        this.flushInterval = flushInterval;
+        this.maxBatchBytes = maxBatchBytes;
+        this.durabilityMode = durabilityMode;
+    }
+
+    public static JournalConfig defaults() {
+        return new JournalConfig(DEFAULT_FLUSH_INTERVAL, DEFAULT_MAX_BATCH_BYTES, DurabilityMode.SYNC);
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public int getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    public DurabilityMode getDurabilityMode() {
+        return durabilityMode;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("JournalConfig{flushInterval=%s, maxBatchBytes=%d, durability=%s}",
+                flushInterval, maxBatchBytes, durabilityMode);
+    }
+}
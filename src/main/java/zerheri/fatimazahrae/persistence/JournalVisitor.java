@@ -0,0 +1,37 @@
+package zerheri.fatimazahrae.persistence;
+
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+
+/**
+ * Reçoit les mutations relues depuis le journal, dans l'ordre d'écriture
+ */
+public interface JournalVisitor {
+
+    /**
+     * Chambre créée ou mise à jour (état complet après la mutation)
+     */
+    void onRoom(Room room);
+
+    /**
+     * Utilisateur créé ou mis à jour (état complet après la mutation)
+     */
+    void onUser(User user);
+
+    /**
+     * Réservation créée ; le solde de l'utilisateur doit être débité du montant total
+     */
+    void onBooking(Booking booking);
+
+    /**
+     * Blocage temporaire (réservation PENDING) confirmé ; le solde a été débité à sa création
+     */
+    void onConfirmation(long bookingId);
+
+    /**
+     * Réservation ou blocage annulé ; le solde de l'utilisateur doit être recrédité du montant total,
+     * et la période libérée si elle était encore bloquée
+     */
+    void onCancellation(long bookingId);
+}
@@ -0,0 +1,184 @@
+package zerheri.fatimazahrae.persistence;
+
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Encodage binaire à format fixe des chambres, utilisateurs, réservations, confirmations et annulations
+ *
+ * Chaque enregistrement est encadré : longueur (int), type (byte), charge utile à taille fixe,
+ * puis CRC32C du type et de la charge utile, ce qui permet de détecter une fin de fichier
+ * tronquée ou corrompue. Les dates sont stockées en jours epoch (int) et les horodatages
+ * en nanosecondes depuis l'epoch (long, UTC).
+ */
+public final class RecordCodec {
+    public static final byte ROOM = 1;
+    public static final byte USER = 2;
+    // Format antérieur, identifiant sur 32 bits : lu mais plus écrit
+    public static final byte LEGACY_BOOKING = 3;
+    public static final byte BOOKING = 4;
+    public static final byte CANCELLATION = 5;
+    public static final byte CONFIRMATION = 6;
+
+    static final int ROOM_PAYLOAD_SIZE = 4 + 1 + 4 + 8;
+    static final int USER_PAYLOAD_SIZE = 4 + 4 + 8;
+    static final int BOOKING_PAYLOAD_SIZE = 8 + 4 + 4 + 4 + 4 + 4 + 1 + 8 + 1 + 4 + 4;
+    static final int CANCELLATION_PAYLOAD_SIZE = 8;
+    static final int CONFIRMATION_PAYLOAD_SIZE = 8;
+    private static final int FRAME_OVERHEAD = 4 + 1 + 4;
+    public static final int MAX_FRAME_SIZE = FRAME_OVERHEAD + BOOKING_PAYLOAD_SIZE;
+
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+    private static final BookingStatus[] BOOKING_STATUSES = BookingStatus.values();
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private RecordCodec() {
+    }
+
+    public static void writeRoom(ByteBuffer buffer, Room room) {
+        int start = beginFrame(buffer, ROOM, ROOM_PAYLOAD_SIZE);
+        buffer.putInt(room.getRoomNumber());
+        buffer.put((byte) room.getRoomType().ordinal());
+        buffer.putInt(room.getPricePerNight());
+        buffer.putLong(toEpochNanos(room.getCreatedAt()));
+        endFrame(buffer, start);
+    }
+
+    public static void writeUser(ByteBuffer buffer, User user) {
+        int start = beginFrame(buffer, USER, USER_PAYLOAD_SIZE);
+        buffer.putInt(user.getUserId());
+        buffer.putInt(user.getBalance());
+        buffer.putLong(toEpochNanos(user.getCreatedAt()));
+        endFrame(buffer, start);
+    }
+
+    public static void writeBooking(ByteBuffer buffer, Booking booking) {
+        int start = beginFrame(buffer, BOOKING, BOOKING_PAYLOAD_SIZE);
+        buffer.putLong(booking.getBookingId());
+        buffer.putInt(booking.getUserId());
+        buffer.putInt(booking.getRoomNumber());
+        buffer.putInt(Math.toIntExact(booking.getCheckIn().toEpochDay()));
+        buffer.putInt(Math.toIntExact(booking.getCheckOut().toEpochDay()));
+        buffer.putInt(booking.getTotalAmount());
+        buffer.put((byte) booking.getStatus().ordinal());
+        buffer.putLong(toEpochNanos(booking.getCreatedAt()));
+        buffer.put((byte) booking.getRoomTypeAtBooking().ordinal());
+        buffer.putInt(booking.getRoomPriceAtBooking());
+        buffer.putInt(booking.getUserBalanceBeforeBooking());
+        endFrame(buffer, start);
+    }
+
+    public static void writeCancellation(ByteBuffer buffer, Booking booking) {
+        int start = beginFrame(buffer, CANCELLATION, CANCELLATION_PAYLOAD_SIZE);
+        buffer.putLong(booking.getBookingId());
+        endFrame(buffer, start);
+    }
+
+    public static void writeConfirmation(ByteBuffer buffer, Booking booking) {
+        int start = beginFrame(buffer, CONFIRMATION, CONFIRMATION_PAYLOAD_SIZE);
+        buffer.putLong(booking.getBookingId());
+        endFrame(buffer, start);
+    }
+
+    /**
+     * Décode l'enregistrement à la position courante et le transmet au visiteur
+     *
+     * @param buffer Tampon positionné sur un début d'enregistrement
+     * @param visitor Destinataire de l'enregistrement décodé
+     * @return true si un enregistrement complet et valide a été lu ; sinon la position est inchangée
+     */
+    public static boolean readRecord(ByteBuffer buffer, JournalVisitor visitor) {
+        int start = buffer.position();
+        if (buffer.remaining() < 4) {
+            return false;
+        }
+        int length = buffer.getInt(start);
+        if (length <= 0 || length > MAX_FRAME_SIZE || buffer.remaining() < 4 + length + 4) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(start + 4).limit(start + 4 + length));
+        if ((int) crc.getValue() != buffer.getInt(start + 4 + length)) {
+            return false;
+        }
+
+        buffer.position(start + 4);
+        byte type = buffer.get();
+        switch (type) {
+            case ROOM:
+                visitor.onRoom(new Room(buffer.getInt(), ROOM_TYPES[buffer.get()], buffer.getInt(),
+                        fromEpochNanos(buffer.getLong())));
+                break;
+            case USER:
+                visitor.onUser(new User(buffer.getInt(), buffer.getInt(), fromEpochNanos(buffer.getLong())));
+                break;
+            case BOOKING:
+                visitor.onBooking(readBooking(buffer, buffer.getLong()));
+                break;
+            case LEGACY_BOOKING:
+                visitor.onBooking(readBooking(buffer, buffer.getInt()));
+                break;
+            case CANCELLATION:
+                visitor.onCancellation(buffer.getLong());
+                break;
+            case CONFIRMATION:
+                visitor.onConfirmation(buffer.getLong());
+                break;
+            default:
+                buffer.position(start);
+                return false;
+        }
+        buffer.position(start + 4 + length + 4);
+        return true;
+    }
+
+    public static long toEpochNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + dateTime.getNano();
+    }
+
+    public static LocalDateTime fromEpochNanos(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private static Booking readBooking(ByteBuffer buffer, long bookingId) {
+        int userId = buffer.getInt();
+        int roomNumber = buffer.getInt();
+        LocalDate checkIn = LocalDate.ofEpochDay(buffer.getInt());
+        LocalDate checkOut = LocalDate.ofEpochDay(buffer.getInt());
+        int totalAmount = buffer.getInt();
+        BookingStatus status = BOOKING_STATUSES[buffer.get()];
+        LocalDateTime createdAt = fromEpochNanos(buffer.getLong());
+        RoomType roomType = ROOM_TYPES[buffer.get()];
+        int roomPrice = buffer.getInt();
+        int balanceBefore = buffer.getInt();
+        return new Booking(bookingId, userId, roomNumber, checkIn, checkOut, totalAmount, status, createdAt,
+                roomType, roomPrice, balanceBefore);
+    }
+
+    private static int beginFrame(ByteBuffer buffer, byte type, int payloadSize) {
+        int start = buffer.position();
+        buffer.putInt(1 + payloadSize);
+        buffer.put(type);
+        return start;
+    }
+
+    private static void endFrame(ByteBuffer buffer, int start) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(start + 4).limit(buffer.position()));
+        buffer.putInt((int) crc.getValue());
+    }
+}
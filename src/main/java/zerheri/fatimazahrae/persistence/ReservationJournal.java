@@ -0,0 +1,56 @@
+package zerheri.fatimazahrae.persistence;
+
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+
+import java.io.Closeable;
+
+/**
+ * Journal des mutations du service de réservation, en ajout seul
+ *
+ * Les appels d'ajout sont rapides (copie en mémoire) et retournent un numéro de séquence ;
+ * {@link #awaitDurable(long)} bloque jusqu'à ce que la mutation soit sur disque.
+ * Les implémentations sont thread-safe.
+ */
+public interface ReservationJournal extends Closeable {
+
+    long appendRoom(Room room);
+
+    long appendUser(User user);
+
+    long appendBooking(Booking booking);
+
+    /**
+     * Enregistre la confirmation d'un blocage temporaire (seul son identifiant est écrit)
+     */
+    long appendConfirmation(Booking booking);
+
+    /**
+     * Enregistre l'annulation d'une réservation (seul son identifiant est écrit)
+     */
+    long appendCancellation(Booking booking);
+
+    /**
+     * @return Séquence du dernier enregistrement ajouté, durable ou non
+     */
+    long getAppendedSequence();
+
+    /**
+     * @return Position (en octets) qui suit le dernier enregistrement ajouté, durable ou non
+     */
+    long getAppendedPosition();
+
+    /**
+     * @return Taille (en octets) de la partie du journal écrite et synchronisée
+     */
+    long getDurablePosition();
+
+    /**
+     * Attend que toutes les mutations jusqu'à la séquence donnée soient durables
+     *
+     * @param sequence Séquence retournée par un ajout
+     * @throws java.io.UncheckedIOException si l'écriture du lot a échoué
+     */
+    void awaitDurable(long sequence);
+}
@@ -0,0 +1,174 @@
+package zerheri.fatimazahrae.persistence;
+
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Instantané binaire de l'état du service : chambres, utilisateurs et réservations
+ *
+ * Le fichier commence par un en-tête (signature, version, position du journal couverte par
+ * l'instantané, nombre d'enregistrements de chaque type), suivi des enregistrements au format
+ * de {@link RecordCodec}. Il est écrit dans un fichier temporaire puis renommé atomiquement,
+ * et relu par projection mémoire ({@link MappedByteBuffer}) sans copie intermédiaire.
+ * Les soldes sont des valeurs absolues : au chargement, les réservations ne débitent pas les utilisateurs.
+ */
+public final class ReservationSnapshot {
+    private static final Logger logger = Logger.getLogger(ReservationSnapshot.class.getName());
+    private static final int MAGIC = 0x48525353;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 8;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    // Fenêtre de projection : un MappedByteBuffer est limité à Integer.MAX_VALUE octets
+    private static final long MAX_MAPPED_WINDOW = 1L << 30;
+
+    private final long journalPosition;
+    private final List<Room> rooms;
+    private final List<User> users;
+    private final Collection<Booking> bookings;
+    private final long bookingCount;
+
+    /**
+     * @param journalPosition Position du journal jusqu'à laquelle les mutations sont incluses
+     * @param rooms Copies des chambres au moment de la capture
+     * @param users Copies des utilisateurs au moment de la capture
+     * @param bookings Réservations, dans l'ordre de création ; seules les premières sont retenues
+     * @param bookingCount Nombre de réservations au moment de la capture
+     */
+    public ReservationSnapshot(long journalPosition, List<Room> rooms, List<User> users,
+                               Collection<Booking> bookings, long bookingCount) {
+        if (journalPosition < 0) {
+            throw new IllegalArgumentException("Journal position cannot be negative");
+        }
+        if (rooms == null || users == null || bookings == null) {
+            throw new IllegalArgumentException("Snapshot content cannot be null");
+        }
+        if (bookingCount < 0) {
+            throw new IllegalArgumentException("Booking count cannot be negative");
+        }
+        this.journalPosition = journalPosition;
+        this.rooms = rooms;
+        this.users = users;
+        this.bookings = bookings;
+        this.bookingCount = bookingCount;
+    }
+
+    public long getJournalPosition() {
+        return journalPosition;
+    }
+
+    /**
+     * Écrit l'instantané dans un fichier temporaire, le synchronise puis remplace atomiquement le fichier cible
+     *
+     * @param path Fichier de l'instantané
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public void writeTo(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            buffer.putLong(journalPosition);
+            buffer.putInt(rooms.size());
+            buffer.putInt(users.size());
+            buffer.putLong(bookingCount);
+
+            for (Room room : rooms) {
+                flushIfFull(channel, buffer);
+                RecordCodec.writeRoom(buffer, room);
+            }
+            for (User user : users) {
+                flushIfFull(channel, buffer);
+                RecordCodec.writeUser(buffer, user);
+            }
+            Iterator<Booking> iterator = bookings.iterator();
+            for (long i = 0; i < bookingCount; i++) {
+                flushIfFull(channel, buffer);
+                RecordCodec.writeBooking(buffer, iterator.next());
+            }
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info(String.format("Snapshot %s written: %d rooms, %d users, %d bookings, journal position %d",
+                path, rooms.size(), users.size(), bookingCount, journalPosition));
+    }
+
+    /**
+     * Charge un instantané par projection mémoire et transmet son contenu au visiteur
+     *
+     * @param path Fichier de l'instantané
+     * @param visitor Destinataire des chambres, puis des utilisateurs, puis des réservations
+     * @return Position du journal à partir de laquelle rejouer les mutations suivantes
+     * @throws IOException en cas d'erreur de lecture ou si le fichier est incomplet ou corrompu
+     */
+    public static long load(Path path, JournalVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Snapshot " + path + " is truncated");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException("Snapshot " + path + " has an unknown format");
+            }
+            long journalPosition = header.getLong();
+            long expectedRecords = (long) header.getInt() + header.getInt() + header.getLong();
+
+            long records = 0;
+            long position = HEADER_SIZE;
+            while (position < size) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(size - position, MAX_MAPPED_WINDOW));
+                while (RecordCodec.readRecord(window, visitor)) {
+                    records++;
+                }
+                if (window.position() == 0) {
+                    // Aucun enregistrement valide au début de la fenêtre : fichier corrompu
+                    break;
+                }
+                position += window.position();
+            }
+            if (records != expectedRecords || position != size) {
+                throw new IOException(String.format("Snapshot %s is corrupted: %d of %d records readable",
+                        path, records, expectedRecords));
+            }
+            logger.info(String.format("Snapshot %s loaded: %d records, journal position %d",
+                    path, records, journalPosition));
+            return journalPosition;
+        }
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private static void flushIfFull(FileChannel channel, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < RecordCodec.MAX_FRAME_SIZE) {
+            writeFully(channel, buffer);
+            buffer.clear();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
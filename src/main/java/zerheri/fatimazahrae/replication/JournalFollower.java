@@ -0,0 +1,290 @@
+package zerheri.fatimazahrae.replication;
+
+import zerheri.fatimazahrae.persistence.JournalVisitor;
+import zerheri.fatimazahrae.persistence.RecordCodec;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Suit le journal d'un primaire ({@link JournalShipper}) et en applique les mutations, dans l'ordre
+ *
+ * Un thread dédié reçoit les octets du journal, les décode et transmet chaque enregistrement complet
+ * au visiteur, sous le verrou d'application (un verrou par trame reçue, pas par enregistrement).
+ * La position appliquée progresse après chaque enregistrement appliqué : après une coupure, la réplique
+ * se reconnecte et reprend exactement à cette position, sans perte ni doublon. Un enregistrement dont
+ * l'application lève une exception a pu être appliqué en partie : le rejouer pourrait le dupliquer,
+ * le sauter le perdrait. Le suivi s'arrête alors définitivement ({@link #isFailed()}), la réplique
+ * restant lisible dans l'état qui précède cet enregistrement.
+ *
+ * Le retard est exposé en octets (position synchronisée du primaire moins position appliquée,
+ * connue au dernier message reçu) et en millisecondes (temps écoulé depuis que la réplique était
+ * à jour) ; {@link #registerMBean(String)} le publie en JMX.
+ */
+public final class JournalFollower implements JournalFollowerMXBean, Closeable {
+    private static final Logger logger = Logger.getLogger(JournalFollower.class.getName());
+    private static final String JMX_DOMAIN = "zerheri.fatimazahrae";
+    private static final int CONNECT_TIMEOUT_MILLIS = 1_000;
+    // Sans message pendant plusieurs battements de cœur, le primaire est considéré comme perdu
+    private static final int READ_TIMEOUT_MILLIS =
+            (int) TimeUnit.NANOSECONDS.toMillis(JournalShipper.HEARTBEAT_INTERVAL_NANOS * 10);
+    private static final long RECONNECT_DELAY_MILLIS = 200;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final InetSocketAddress primary;
+    private final JournalVisitor visitor;
+    private final Lock applyLock;
+    private final Thread thread;
+    private final Object progress = new Object();
+
+    private volatile long appliedPosition;
+    private volatile long primaryPosition;
+    private volatile long caughtUpNanos;
+    private volatile long appliedRecords;
+    private volatile long reconnects;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private volatile boolean failed;
+    private volatile Socket socket;
+
+    private JournalFollower(InetSocketAddress primary, long fromPosition, JournalVisitor visitor, Lock applyLock) {
+        this.primary = primary;
+        this.visitor = visitor;
+        this.applyLock = applyLock;
+        this.appliedPosition = fromPosition;
+        this.primaryPosition = fromPosition;
+        this.caughtUpNanos = System.nanoTime();
+        this.thread = new Thread(this::followLoop, "journal-follower-" + primary);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Démarre le suivi du journal
+     *
+     * @param primary Adresse de l'expéditeur du primaire
+     * @param fromPosition Position du premier enregistrement à appliquer : 0, ou la position
+     *                     d'un instantané déjà chargé par le visiteur
+     * @param visitor Destinataire des mutations, appelé par le thread de la réplique uniquement
+     * @param applyLock Verrou tenu pendant l'application de chaque trame (lecteurs exclus)
+     * @return Suiveur démarré ; la connexion est établie et rétablie en arrière-plan
+     */
+    public static JournalFollower start(InetSocketAddress primary, long fromPosition, JournalVisitor visitor,
+                                        Lock applyLock) {
+        if (primary == null || visitor == null || applyLock == null) {
+            throw new IllegalArgumentException("Primary address, visitor and lock cannot be null");
+        }
+        if (fromPosition < 0) {
+            throw new IllegalArgumentException("Position cannot be negative");
+        }
+        JournalFollower follower = new JournalFollower(primary, fromPosition, visitor, applyLock);
+        follower.thread.start();
+        return follower;
+    }
+
+    /**
+     * Attend que la réplique ait appliqué le journal jusqu'à une position (lecture de ses propres écritures)
+     *
+     * @param position Position du journal du primaire, par exemple sa position synchronisée
+     * @param timeout Attente maximale
+     * @return true si la position est atteinte, false à l'échéance ou dès que le suivi a échoué
+     * @throws InterruptedException si le thread est interrompu pendant l'attente
+     */
+    public boolean awaitPosition(long position, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            while (appliedPosition < position) {
+                long remaining = deadline - System.nanoTime();
+                if (failed) {
+                    return false;
+                }
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Publie l'avancement de la réplique auprès du serveur MBean de la plateforme
+     *
+     * @param name Nom distinguant la réplique (propriété name de l'ObjectName)
+     * @return Nom sous lequel le MBean est enregistré
+     * @throws JMException si le nom est invalide ou déjà utilisé
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("MBean name cannot be empty");
+        }
+        ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=JournalFollower,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Arrête le suivi ; l'état déjà appliqué reste lisible
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+        thread.interrupt();
+    }
+
+    // ===============================
+    // ATTRIBUTS JMX
+    // ===============================
+
+    @Override
+    public long getAppliedPosition() {
+        return appliedPosition;
+    }
+
+    @Override
+    public long getPrimaryPosition() {
+        return primaryPosition;
+    }
+
+    @Override
+    public long getLagBytes() {
+        return Math.max(0, primaryPosition - appliedPosition);
+    }
+
+    @Override
+    public long getLagMillis() {
+        if (connected && appliedPosition >= primaryPosition) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - caughtUpNanos);
+    }
+
+    @Override
+    public long getAppliedRecordCount() {
+        return appliedRecords;
+    }
+
+    @Override
+    public long getReconnectCount() {
+        return reconnects;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public boolean isFailed() {
+        return failed;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private void followLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (!closed) {
+            try (Socket current = new Socket()) {
+                socket = current;
+                current.connect(primary, CONNECT_TIMEOUT_MILLIS);
+                current.setSoTimeout(READ_TIMEOUT_MILLIS);
+                current.setTcpNoDelay(true);
+                DataOutputStream out = new DataOutputStream(current.getOutputStream());
+                out.writeLong(appliedPosition);
+                out.flush();
+                connected = true;
+                buffer.clear();
+                receive(new DataInputStream(new BufferedInputStream(current.getInputStream(), BUFFER_SIZE)), buffer);
+            } catch (IOException | RuntimeException e) {
+                if (!closed) {
+                    logger.log(Level.WARNING, String.format("Replication from %s interrupted at position %d",
+                            primary, appliedPosition), e);
+                }
+            } finally {
+                connected = false;
+                socket = null;
+            }
+            if (!closed) {
+                reconnects++;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(DataInputStream in, ByteBuffer buffer) throws IOException {
+        while (!closed) {
+            long durable = in.readLong();
+            int length = in.readInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IOException("Invalid replication frame length " + length);
+            }
+            in.readFully(buffer.array(), buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            primaryPosition = durable;
+            if (length > 0) {
+                apply(buffer);
+            }
+            if (appliedPosition >= durable) {
+                caughtUpNanos = System.nanoTime();
+            }
+        }
+    }
+
+    private void apply(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        long records = 0;
+        // Fin du dernier enregistrement entièrement appliqué
+        int consumed = 0;
+        RuntimeException failure = null;
+        applyLock.lock();
+        try {
+            while (RecordCodec.readRecord(buffer, visitor)) {
+                records++;
+                consumed = buffer.position();
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+            closed = true;
+        } finally {
+            applyLock.unlock();
+        }
+        buffer.position(consumed);
+        buffer.compact();
+        appliedRecords += records;
+        synchronized (progress) {
+            appliedPosition += consumed;
+            failed = failure != null;
+            progress.notifyAll();
+        }
+        if (failure != null) {
+            logger.log(Level.SEVERE, String.format("Replication from %s stopped: record at position %d "
+                    + "could not be applied", primary, appliedPosition), failure);
+        } else if (buffer.position() >= RecordCodec.MAX_FRAME_SIZE) {
+            throw new IOException("Corrupted journal record at position " + appliedPosition);
+        }
+    }
+}
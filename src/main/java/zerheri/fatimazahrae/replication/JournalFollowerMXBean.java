@@ -0,0 +1,26 @@
+package zerheri.fatimazahrae.replication;
+
+/**
+ * Vue JMX de l'avancement d'une réplique
+ */
+public interface JournalFollowerMXBean {
+
+    long getAppliedPosition();
+
+    long getPrimaryPosition();
+
+    long getLagBytes();
+
+    long getLagMillis();
+
+    long getAppliedRecordCount();
+
+    long getReconnectCount();
+
+    boolean isConnected();
+
+    /**
+     * @return true si le suivi s'est arrêté sur un enregistrement impossible à appliquer
+     */
+    boolean isFailed();
+}
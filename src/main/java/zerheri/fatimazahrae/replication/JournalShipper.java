@@ -0,0 +1,188 @@
+package zerheri.fatimazahrae.replication;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Expédie le journal des mutations d'un service primaire à ses répliques, sur TCP
+ *
+ * Une réplique se connecte et envoie la position (en octets) à partir de laquelle elle veut le journal :
+ * 0 pour tout l'historique, ou la position atteinte avant une déconnexion, ou celle d'un instantané
+ * déjà chargé. Le primaire lui envoie ensuite, dans l'ordre, les octets du fichier jusqu'à la partie
+ * synchronisée (jamais une mutation qui pourrait disparaître au redémarrage), par trames :
+ *
+ * <pre>
+ * long positionSynchronisée | int longueur | longueur octets du journal
+ * </pre>
+ *
+ * Une trame vide sert de battement de cœur quand le journal n'avance pas : la réplique mesure son retard
+ * et détecte un primaire disparu. Les octets sont ceux du fichier, encodés par
+ * {@link zerheri.fatimazahrae.persistence.RecordCodec} : une trame peut couper un enregistrement.
+ * Un thread par réplique ; le fichier est relu à chaque avance de la position synchronisée.
+ */
+public final class JournalShipper implements Closeable {
+    private static final Logger logger = Logger.getLogger(JournalShipper.class.getName());
+    static final long HEARTBEAT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Path journalFile;
+    private final LongSupplier durablePosition;
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private JournalShipper(Path journalFile, LongSupplier durablePosition, ServerSocket serverSocket) {
+        this.journalFile = journalFile;
+        this.durablePosition = durablePosition;
+        this.serverSocket = serverSocket;
+        this.acceptor = new Thread(this::acceptLoop, "journal-shipper-acceptor");
+        this.acceptor.setDaemon(true);
+    }
+
+    /**
+     * Démarre l'expédition du journal
+     *
+     * @param journalFile Fichier du journal du primaire
+     * @param durablePosition Partie synchronisée du journal, par exemple
+     *                        {@code service::getJournalDurablePosition}
+     * @param address Adresse d'écoute (port 0 pour un port libre)
+     * @return Expéditeur démarré
+     * @throws IOException si l'adresse ne peut pas être réservée
+     */
+    public static JournalShipper start(Path journalFile, LongSupplier durablePosition, InetSocketAddress address)
+            throws IOException {
+        if (journalFile == null || durablePosition == null || address == null) {
+            throw new IllegalArgumentException("Journal file, durable position and address cannot be null");
+        }
+        ServerSocket serverSocket = new ServerSocket();
+        try {
+            serverSocket.bind(address);
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        JournalShipper shipper = new JournalShipper(journalFile, durablePosition, serverSocket);
+        shipper.acceptor.start();
+        logger.info("Shipping journal " + journalFile + " on " + shipper.getAddress());
+        return shipper;
+    }
+
+    /**
+     * @return Adresse effective d'écoute (utile avec le port 0)
+     */
+    public InetSocketAddress getAddress() {
+        return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+    }
+
+    /**
+     * @return Nombre de répliques connectées
+     */
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    /**
+     * Cesse d'accepter des répliques et ferme les connexions en cours
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket follower : followers) {
+            follower.close();
+        }
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                Thread sender = new Thread(() -> serve(socket), "journal-shipper-" + socket.getRemoteSocketAddress());
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.log(Level.WARNING, "Follower connection failed", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            long position = new DataInputStream(socket.getInputStream()).readLong();
+            if (position < 0 || position > durablePosition.getAsLong()) {
+                logger.warning(String.format("Follower %s asked for position %d beyond the durable journal",
+                        socket.getRemoteSocketAddress(), position));
+                return;
+            }
+            logger.info(String.format("Follower %s connected at position %d", socket.getRemoteSocketAddress(), position));
+            ship(channel, position, new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), CHUNK_SIZE + 16)));
+        } catch (SocketException e) {
+            // Réplique déconnectée ou expéditeur fermé
+            logger.fine("Follower disconnected: " + e.getMessage());
+        } catch (IOException e) {
+            if (!closed) {
+                logger.log(Level.WARNING, "Journal shipping to " + socket.getRemoteSocketAddress() + " failed", e);
+            }
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    private void ship(FileChannel channel, long position, DataOutputStream out) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+        long lastSentNanos = 0;
+        while (!closed) {
+            long durable = durablePosition.getAsLong();
+            if (durable > position) {
+                chunk.clear().limit((int) Math.min(CHUNK_SIZE, durable - position));
+                while (chunk.hasRemaining()) {
+                    if (channel.read(chunk, position + chunk.position()) < 0) {
+                        throw new IOException("Journal " + journalFile + " is shorter than its durable position");
+                    }
+                }
+                out.writeLong(durable);
+                out.writeInt(chunk.limit());
+                out.write(chunk.array(), 0, chunk.limit());
+                out.flush();
+                position += chunk.limit();
+                lastSentNanos = System.nanoTime();
+            } else if (System.nanoTime() - lastSentNanos >= HEARTBEAT_INTERVAL_NANOS) {
+                out.writeLong(durable);
+                out.writeInt(0);
+                out.flush();
+                lastSentNanos = System.nanoTime();
+            } else {
+                LockSupport.parkNanos(POLL_INTERVAL_NANOS);
+            }
+        }
+    }
+}
@@ -0,0 +1,1297 @@
+package zerheri.fatimazahrae.services;
+
+import zerheri.fatimazahrae.analytics.BookingAnalytics;
+import zerheri.fatimazahrae.analytics.OccupancyAggregates;
+import zerheri.fatimazahrae.cache.AvailabilityCache;
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.RejectionReason;
+import zerheri.fatimazahrae.enums.ReservationOperation;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.AsyncEventSink;
+import zerheri.fatimazahrae.events.BatchProcessedEvent;
+import zerheri.fatimazahrae.events.BookingCancelledEvent;
+import zerheri.fatimazahrae.events.BookingConfirmedEvent;
+import zerheri.fatimazahrae.events.ConsoleEventSink;
+import zerheri.fatimazahrae.events.OperationFailedEvent;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.events.RoomSavedEvent;
+import zerheri.fatimazahrae.events.UserSavedEvent;
+import zerheri.fatimazahrae.exceptions.BookingException;
+import zerheri.fatimazahrae.holds.HashedTimingWheel;
+import zerheri.fatimazahrae.ids.BookingIdAllocator;
+import zerheri.fatimazahrae.ids.NodeBookingIdAllocator;
+import zerheri.fatimazahrae.metrics.ReservationMetrics;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingRequest;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Page;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.persistence.FileReservationJournal;
+import zerheri.fatimazahrae.persistence.JournalConfig;
+import zerheri.fatimazahrae.persistence.JournalVisitor;
+import zerheri.fatimazahrae.persistence.ReservationJournal;
+import zerheri.fatimazahrae.persistence.ReservationSnapshot;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Socle commun aux implémentations du service de réservation
+ *
+ * Regroupe la validation des paramètres, la gestion des erreurs, les messages console
+ * et l'affichage ; les sous-classes ne fournissent que le stockage et la logique
+ * de création / mise à jour propre à leur modèle de concurrence.
+ */
+abstract class AbstractHotelReservationService implements HotelReservationService {
+    // Refus partagés de tryBookRoom, sans allocation
+    private static final BookingResult INVALID_USER_ID =
+            BookingResult.rejected(RejectionReason.INVALID_PARAMETERS, "User ID must be positive");
+    private static final BookingResult INVALID_ROOM_NUMBER =
+            BookingResult.rejected(RejectionReason.INVALID_PARAMETERS, "Room number must be positive");
+    private static final BookingResult MISSING_DATES =
+            BookingResult.rejected(RejectionReason.INVALID_PARAMETERS, "Check-in and check-out dates cannot be null");
+    // Refus compté par les métriques quand l'API historique rejette ses paramètres
+    private static final BookingResult INVALID_PARAMETERS =
+            BookingResult.rejected(RejectionReason.INVALID_PARAMETERS, "Invalid booking parameters");
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    // Granularité et taille de la roue d'expiration des blocages : un tour couvre 51,2 secondes
+    private static final long HOLD_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int HOLD_WHEEL_SIZE = 512;
+    private static final IntConsumer IGNORE_CANDIDATES = roomNumber -> {
+    };
+
+    protected final Logger logger = Logger.getLogger(getClass().getName());
+
+    // Journal des mutations, null tant que la persistance n'est pas activée
+    private volatile ReservationJournal journal;
+    private ScheduledExecutorService snapshotScheduler;
+    // Destinataire des événements ; par défaut, messages console et journal applicatif synchrones
+    private volatile ReservationEventSink eventSink = new ConsoleEventSink(logger);
+    // Identifiants des nouvelles réservations ; par défaut, compteur partagé par le processus
+    private volatile BookingIdAllocator bookingIdAllocator = BookingIdAllocator.SEQUENTIAL;
+    // Fuseau de l'hôtel, résolu une seule fois, pour convertir les Date de l'API historique
+    private volatile ZoneRules hotelZoneRules = ZoneId.systemDefault().getRules();
+    private final Object snapshotWriteLock = new Object();
+    // Échéances des blocages temporaires ; la roue n'avance que sous son propre moniteur
+    private final HashedTimingWheel<Booking> holdExpiryWheel =
+            new HashedTimingWheel<>(HOLD_TICK_NANOS, HOLD_WHEEL_SIZE, System.nanoTime());
+    private final ConcurrentHashMap<Long, HashedTimingWheel.Timeout<Booking>> holdTimeouts = new ConcurrentHashMap<>();
+    // Démarré au premier blocage, si l'implémentation admet des mutations concurrentes
+    private ScheduledExecutorService holdExpiryScheduler;
+    // Cache des recherches de disponibilité, null tant qu'il n'est pas activé
+    private volatile AvailabilityCache availabilityCache;
+    // Nuits vendues et chiffre d'affaires par jour et par type, null tant qu'ils ne sont pas activés
+    private volatile OccupancyAggregates occupancyAggregates;
+    // Compteurs de résultats, latences et jauges, toujours actifs
+    private final ReservationMetrics metrics = new ReservationMetrics(this::getTotalRoomsCount,
+            this::getTotalUsersCount, this::getTotalBookingsCount, this::getIndexedPeriodCount);
+
+    /**
+     * Métriques du service : {@link ReservationMetrics#snapshot()} pour les lire,
+     * {@link ReservationMetrics#registerMBean(String)} pour les publier en JMX
+     *
+     * @return Métriques de ce service
+     */
+    public ReservationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Active le cache des recherches de disponibilité, avant les premières recherches
+     *
+     * Les réponses sont invalidées chambre par chambre par les réservations, annulations et
+     * modifications de chambres (y compris rejouées depuis un journal) : une réponse servie
+     * par le cache est toujours celle qu'aurait donnée la recherche.
+     *
+     * @param maxEntries Nombre maximal de réponses conservées
+     * @param maxAge Âge au-delà duquel une réponse est recalculée
+     * @return Cache activé, pour lire ses statistiques
+     */
+    public AvailabilityCache enableAvailabilityCache(int maxEntries, Duration maxAge) {
+        AvailabilityCache cache = new AvailabilityCache(maxEntries, maxAge);
+        availabilityCache = cache;
+        return cache;
+    }
+
+    /**
+     * @return Cache des recherches de disponibilité, ou null s'il n'est pas activé
+     */
+    public AvailabilityCache getAvailabilityCache() {
+        return availabilityCache;
+    }
+
+    /**
+     * Active les agrégats d'occupation et de chiffre d'affaires, tenus à jour à chaque réservation
+     * confirmée ou annulée (y compris rejouée depuis un journal)
+     *
+     * Les chambres et réservations déjà présentes sont agrégées à l'activation : à appeler au démarrage,
+     * ou à un moment sans mutation concurrente.
+     *
+     * @return Agrégats activés, à interroger par période
+     */
+    public OccupancyAggregates enableOccupancyAggregates() {
+        OccupancyAggregates aggregates = new OccupancyAggregates();
+        for (Room room : getRooms()) {
+            aggregates.roomUpdated(room.getRoomNumber(), room.getRoomType());
+        }
+        for (Booking booking : getBookings()) {
+            if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                aggregates.bookingConfirmed(booking);
+            }
+        }
+        occupancyAggregates = aggregates;
+        return aggregates;
+    }
+
+    /**
+     * @return Agrégats d'occupation et de chiffre d'affaires, ou null s'ils ne sont pas activés
+     */
+    public OccupancyAggregates getOccupancyAggregates() {
+        return occupancyAggregates;
+    }
+
+    /**
+     * Fige l'historique des réservations pour des analyses parallèles sur le pool fork-join commun
+     *
+     * @return Analyses portant sur les réservations présentes à l'appel
+     */
+    public BookingAnalytics analyzeBookings() {
+        return analyzeBookings(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Fige l'historique des réservations pour des analyses par réductions fork-join
+     *
+     * Les services thread-safe admettent des réservations pendant l'analyse, qui n'en voit aucune ;
+     * {@link HotelReservationServiceImpl} ne doit pas être modifié tant que l'analyse s'exécute.
+     *
+     * @param pool Pool exécutant les réductions, ou null pour les exécuter sur le thread appelant
+     * @return Analyses portant sur les réservations présentes à l'appel
+     */
+    public BookingAnalytics analyzeBookings(ForkJoinPool pool) {
+        return new BookingAnalytics(getBookings(), pool);
+    }
+
+    /**
+     * Remplace la source des identifiants de réservation, avant l'ouverture du journal
+     * et les premières réservations
+     *
+     * Un {@link NodeBookingIdAllocator} garantit l'unicité entre plusieurs instances du service.
+     *
+     * @param bookingIdAllocator Nouvel allocateur
+     */
+    public void setBookingIdAllocator(BookingIdAllocator bookingIdAllocator) {
+        if (bookingIdAllocator == null) {
+            throw new IllegalArgumentException("Booking ID allocator cannot be null");
+        }
+        this.bookingIdAllocator = bookingIdAllocator;
+    }
+
+    /**
+     * Fixe le fuseau de l'hôtel, qui détermine le jour d'une {@link Date} passée à bookRoom
+     *
+     * Par défaut, fuseau du système au moment de la création du service.
+     *
+     * @param hotelZone Fuseau de l'hôtel
+     */
+    public void setHotelZone(ZoneId hotelZone) {
+        if (hotelZone == null) {
+            throw new IllegalArgumentException("Hotel zone cannot be null");
+        }
+        this.hotelZoneRules = hotelZone.getRules();
+    }
+
+    /**
+     * Remplace le destinataire des événements (confirmations, échecs, lots traités)
+     *
+     * {@link ReservationEventSink#SILENT} supprime toute construction et mise en forme de message ;
+     * un {@link AsyncEventSink} déporte la mise en forme hors du chemin critique.
+     *
+     * @param eventSink Nouveau destinataire
+     */
+    public void setEventSink(ReservationEventSink eventSink) {
+        if (eventSink == null) {
+            throw new IllegalArgumentException("Event sink cannot be null");
+        }
+        this.eventSink = eventSink;
+    }
+
+    /**
+     * Reconstruit l'état du service en rejouant le journal, puis y enregistre toutes les mutations suivantes
+     *
+     * Les blocages temporaires encore en attente sont libérés et remboursés une fois l'état reconstruit.
+     * À appeler au démarrage, avant toute autre opération sur le service.
+     *
+     * @param journalFile Fichier du journal, créé s'il n'existe pas
+     * @param config Paramètres de validation groupée
+     * @throws IOException en cas d'erreur d'accès au journal
+     */
+    public void openJournal(Path journalFile, JournalConfig config) throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("Journal already open");
+        }
+        Set<Long> pendingHolds = new LinkedHashSet<>();
+        journal = FileReservationJournal.recover(journalFile, config, restoringVisitor(true, pendingHolds));
+        logger.info(String.format("Journal %s opened with %s", journalFile, config));
+        releaseRecoveredHolds(pendingHolds);
+    }
+
+    /**
+     * Charge le dernier instantané (s'il existe), rejoue uniquement les mutations journalisées
+     * après lui, puis enregistre toutes les mutations suivantes dans le journal
+     *
+     * Les blocages temporaires encore en attente ne survivent pas au redémarrage : ils sont libérés
+     * et remboursés une fois l'état reconstruit.
+     *
+     * @param journalFile Fichier du journal, créé s'il n'existe pas
+     * @param snapshotFile Fichier de l'instantané, écrit par {@link #writeSnapshot(Path)}
+     * @param config Paramètres de validation groupée
+     * @throws IOException en cas d'erreur d'accès, ou si l'instantané est corrompu
+     */
+    public void openJournal(Path journalFile, Path snapshotFile, JournalConfig config) throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("Journal already open");
+        }
+        Set<Long> pendingHolds = new LinkedHashSet<>();
+        long position = Files.exists(snapshotFile)
+                ? ReservationSnapshot.load(snapshotFile, restoringVisitor(false, pendingHolds))
+                : 0;
+        journal = FileReservationJournal.recover(journalFile, position, config,
+                restoringVisitor(true, pendingHolds));
+        logger.info(String.format("Journal %s opened at position %d with %s", journalFile, position, config));
+        releaseRecoveredHolds(pendingHolds);
+    }
+
+    /**
+     * Écrit un instantané de l'état courant
+     *
+     * Pour une implémentation thread-safe ({@link #capturesSnapshotsConcurrently()}), seule la capture
+     * (copie des chambres et des utilisateurs) suspend brièvement les écritures ; l'historique
+     * des réservations est sérialisé ensuite, en parallèle des nouvelles mutations. Sinon, l'instantané
+     * est écrit par le thread qui modifie le service, entre deux opérations.
+     *
+     * @param snapshotFile Fichier de l'instantané, remplacé atomiquement
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public void writeSnapshot(Path snapshotFile) throws IOException {
+        // Un seul instantané écrit à la fois : ils partagent le fichier temporaire
+        synchronized (snapshotWriteLock) {
+            captureSnapshot().writeTo(snapshotFile);
+        }
+    }
+
+    /**
+     * Écrit un instantané à intervalle régulier, jusqu'à {@link #closeJournal()}
+     *
+     * @param snapshotFile Fichier de l'instantané, remplacé atomiquement
+     * @param interval Intervalle entre deux instantanés
+     * @throws IllegalStateException si l'implémentation n'admet pas de capture depuis un autre thread,
+     *         ou si des instantanés sont déjà planifiés
+     */
+    public synchronized void scheduleSnapshots(Path snapshotFile, Duration interval) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        if (!capturesSnapshotsConcurrently()) {
+            throw new IllegalStateException(getClass().getSimpleName()
+                    + " is not thread-safe: write snapshots from the thread that modifies it");
+        }
+        if (snapshotScheduler != null) {
+            throw new IllegalStateException("Snapshots already scheduled");
+        }
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                writeSnapshot(snapshotFile);
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Snapshot failed: " + snapshotFile, e);
+            }
+        }, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Position jusqu'à laquelle le journal peut être expédié aux répliques
+     * ({@link zerheri.fatimazahrae.replication.JournalShipper})
+     *
+     * @return Taille (en octets) de la partie du journal écrite et synchronisée, 0 sans journal
+     */
+    public long getJournalDurablePosition() {
+        ReservationJournal current = journal;
+        return current != null ? current.getDurablePosition() : 0;
+    }
+
+    /**
+     * Écrit les mutations en attente et ferme le journal
+     *
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public void closeJournal() throws IOException {
+        synchronized (this) {
+            if (snapshotScheduler != null) {
+                snapshotScheduler.shutdownNow();
+                snapshotScheduler = null;
+            }
+        }
+        ReservationJournal current = journal;
+        journal = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+        trySetRoom(roomNumber, roomType, roomPricePerNight);
+    }
+
+    @Override
+    public boolean trySetRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+        long start = System.nanoTime();
+        ReservationEventSink sink = eventSink;
+        try {
+            // Update existing room without affecting previous bookings
+            boolean created = upsertRoom(roomNumber, roomType, roomPricePerNight);
+            AvailabilityCache cache = availabilityCache;
+            if (cache != null) {
+                cache.roomUpdated(roomNumber, roomType, roomPricePerNight);
+            }
+            OccupancyAggregates aggregates = occupancyAggregates;
+            if (aggregates != null) {
+                aggregates.roomUpdated(roomNumber, roomType);
+            }
+            metrics.recordSuccess(ReservationOperation.SET_ROOM, start);
+            if (sink.isEnabled()) {
+                sink.publish(new RoomSavedEvent(roomNumber, roomType, roomPricePerNight, created));
+            }
+            return true;
+
+        } catch (Exception e) {
+            metrics.recordFailure(ReservationOperation.SET_ROOM, start);
+            if (sink.isEnabled()) {
+                sink.publish(new OperationFailedEvent(ReservationOperation.SET_ROOM, e));
+            }
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setUser(int userId, int balance) {
+        trySetUser(userId, balance);
+    }
+
+    @Override
+    public boolean trySetUser(int userId, int balance) {
+        long start = System.nanoTime();
+        ReservationEventSink sink = eventSink;
+        try {
+            boolean created = upsertUser(userId, balance);
+            metrics.recordSuccess(ReservationOperation.SET_USER, start);
+            if (sink.isEnabled()) {
+                sink.publish(new UserSavedEvent(userId, balance, created));
+            }
+            return true;
+
+        } catch (Exception e) {
+            metrics.recordFailure(ReservationOperation.SET_USER, start);
+            if (sink.isEnabled()) {
+                sink.publish(new OperationFailedEvent(ReservationOperation.SET_USER, e));
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Adaptateur de l'API historique : les dates sont ramenées à leur jour dans le fuseau de l'hôtel
+     */
+    @Override
+    public void bookRoom(int userId, int roomNumber, Date checkIn, Date checkOut) {
+        bookRoom(userId, roomNumber, toLocalDate(checkIn), toLocalDate(checkOut));
+    }
+
+    @Override
+    public void bookRoom(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        expireDueHolds();
+        long start = System.nanoTime();
+        ReservationEventSink sink = eventSink;
+        try {
+            validateBookRoomParameters(userId, roomNumber, checkIn, checkOut);
+
+            int checkInDay = toEpochDay(checkIn);
+            int checkOutDay = toEpochDay(checkOut);
+
+            BookingResult result = checkOutDay > checkInDay
+                    ? createBooking(userId, roomNumber, checkInDay, checkOutDay, BookingStatus.CONFIRMED)
+                    : BookingResult.invalidDates();
+            metrics.recordBooking(result, start);
+            if (sink.isEnabled()) {
+                sink.publish(result.isConfirmed()
+                        ? new BookingConfirmedEvent(result.getBooking())
+                        : new OperationFailedEvent(ReservationOperation.BOOK_ROOM, result.toException()));
+            }
+
+        } catch (IllegalArgumentException e) {
+            metrics.recordBooking(INVALID_PARAMETERS, start);
+            if (sink.isEnabled()) {
+                sink.publish(new OperationFailedEvent(ReservationOperation.BOOK_ROOM, e));
+            }
+        } catch (Exception e) {
+            // Refus métier ou erreur inattendue : distingués par le destinataire
+            metrics.recordFailure(ReservationOperation.BOOK_ROOM, start);
+            if (sink.isEnabled()) {
+                sink.publish(new OperationFailedEvent(ReservationOperation.BOOK_ROOM, e));
+            }
+        }
+    }
+
+    @Override
+    public BookingResult tryBookRoom(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        expireDueHolds();
+        long start = System.nanoTime();
+        BookingResult result = attemptBooking(userId, roomNumber, checkIn, checkOut, BookingStatus.CONFIRMED, true);
+        metrics.recordBooking(result, start);
+        return result;
+    }
+
+    @Override
+    public BookingResult tryBookRoom(int userId, int roomNumber, int checkInEpochDay, int checkOutEpochDay) {
+        expireDueHolds();
+        long start = System.nanoTime();
+        BookingResult result = attemptBooking(userId, roomNumber, checkInEpochDay, checkOutEpochDay,
+                BookingStatus.CONFIRMED, true);
+        metrics.recordBooking(result, start);
+        return result;
+    }
+
+    private BookingResult attemptBooking(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut,
+                                         BookingStatus status, boolean notifyCreation) {
+        if (checkIn == null || checkOut == null) {
+            return userId <= 0 ? INVALID_USER_ID : roomNumber <= 0 ? INVALID_ROOM_NUMBER : MISSING_DATES;
+        }
+        return attemptBooking(userId, roomNumber, toEpochDay(checkIn), toEpochDay(checkOut), status, notifyCreation);
+    }
+
+    /**
+     * Chemin sans allocation jusqu'au moteur de disponibilité : refus partagés, jours epoch primitifs
+     *
+     * @param notifyCreation false dans un lot, dont les réservations sont notifiées une seule fois par bookRooms
+     */
+    private BookingResult attemptBooking(int userId, int roomNumber, int checkInDay, int checkOutDay,
+                                         BookingStatus status, boolean notifyCreation) {
+        if (userId <= 0) {
+            return INVALID_USER_ID;
+        }
+        if (roomNumber <= 0) {
+            return INVALID_ROOM_NUMBER;
+        }
+        if (checkOutDay <= checkInDay) {
+            return BookingResult.invalidDates();
+        }
+        try {
+            return notifyCreation
+                    ? createBooking(userId, roomNumber, checkInDay, checkOutDay, status)
+                    : tryCreateBooking(userId, roomNumber, checkInDay, checkOutDay, status);
+        } catch (IllegalArgumentException e) {
+            return BookingResult.rejected(RejectionReason.INVALID_PARAMETERS, e.getMessage());
+        }
+    }
+
+    private BookingResult createBooking(int userId, int roomNumber, int checkInDay, int checkOutDay,
+                                        BookingStatus status) {
+        BookingResult result = tryCreateBooking(userId, roomNumber, checkInDay, checkOutDay, status);
+        if (result.isConfirmed()) {
+            roomAvailabilityChanged(roomNumber);
+            if (status == BookingStatus.CONFIRMED) {
+                bookingSold(result.getBooking());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean cancelBooking(long bookingId) {
+        expireDueHolds();
+        long start = System.nanoTime();
+        ReservationEventSink sink = eventSink;
+        try {
+            Booking booking = cancelActiveBooking(bookingId, BookingStatus.CONFIRMED);
+            if (booking == null) {
+                metrics.recordFailure(ReservationOperation.CANCEL_BOOKING, start);
+                if (sink.isEnabled()) {
+                    sink.publish(new OperationFailedEvent(ReservationOperation.CANCEL_BOOKING, new BookingException(
+                            RejectionReason.BOOKING_NOT_FOUND, "No confirmed booking with ID " + bookingId)));
+                }
+                return false;
+            }
+            roomAvailabilityChanged(booking.getRoomNumber());
+            bookingRefunded(booking);
+            awaitJournalDurable();
+            metrics.recordSuccess(ReservationOperation.CANCEL_BOOKING, start);
+            if (sink.isEnabled()) {
+                sink.publish(new BookingCancelledEvent(booking));
+            }
+            return true;
+
+        } catch (Exception e) {
+            metrics.recordFailure(ReservationOperation.CANCEL_BOOKING, start);
+            if (sink.isEnabled()) {
+                sink.publish(new OperationFailedEvent(ReservationOperation.CANCEL_BOOKING, e));
+            }
+            return false;
+        }
+    }
+
+    /**
+     * La réservation en attente est créée comme une réservation confirmée ; seule son échéance
+     * est ajoutée à la roue d'expiration, sans verrou
+     */
+    @Override
+    public BookingResult holdRoom(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut, Duration ttl) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Hold duration must be positive");
+        }
+        // Converti avant toute mutation : une durée hors limites ne laisse aucun blocage sans échéance
+        long ttlNanos = ttl.toNanos();
+        expireDueHolds();
+        long start = System.nanoTime();
+        BookingResult result = attemptBooking(userId, roomNumber, checkIn, checkOut, BookingStatus.PENDING, true);
+        if (result.isConfirmed()) {
+            Booking booking = result.getBooking();
+            ensureHoldExpiryStarted();
+            holdTimeouts.put(booking.getBookingId(), holdExpiryWheel.schedule(booking, start + ttlNanos));
+            metrics.recordSuccess(ReservationOperation.HOLD_ROOM, start);
+        } else {
+            metrics.recordFailure(ReservationOperation.HOLD_ROOM, start);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean confirmHold(long bookingId) {
+        expireDueHolds();
+        long start = System.nanoTime();
+        ReservationEventSink sink = eventSink;
+        try {
+            Booking booking = confirmPendingBooking(bookingId);
+            if (booking == null) {
+                metrics.recordFailure(ReservationOperation.CONFIRM_HOLD, start);
+                return false;
+            }
+            cancelHoldTimeout(bookingId);
+            bookingSold(booking);
+            awaitJournalDurable();
+            metrics.recordSuccess(ReservationOperation.CONFIRM_HOLD, start);
+            if (sink.isEnabled()) {
+                sink.publish(new BookingConfirmedEvent(booking, true));
+            }
+            return true;
+
+        } catch (Exception e) {
+            metrics.recordFailure(ReservationOperation.CONFIRM_HOLD, start);
+            if (sink.isEnabled()) {
+                sink.publish(new OperationFailedEvent(ReservationOperation.CONFIRM_HOLD, e));
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public boolean releaseHold(long bookingId) {
+        expireDueHolds();
+        boolean released = releasePendingBooking(bookingId);
+        if (released) {
+            cancelHoldTimeout(bookingId);
+            awaitJournalDurable();
+        }
+        return released;
+    }
+
+    /**
+     * Fait avancer la roue d'expiration et libère d'un bloc les blocages échus
+     *
+     * Appelé à chaque tick par le thread d'expiration, ou en tête de chaque opération de réservation
+     * pour une implémentation sans thread d'expiration ; une seule attente de durabilité couvre
+     * toutes les libérations du lot.
+     *
+     * @param nowNanos Instant courant, au sens de {@link System#nanoTime()}
+     * @return Nombre de blocages libérés
+     */
+    int expireHolds(long nowNanos) {
+        List<Booking> expired = new ArrayList<>();
+        synchronized (holdExpiryWheel) {
+            holdExpiryWheel.advance(nowNanos, expired::add);
+        }
+        int released = 0;
+        for (Booking booking : expired) {
+            holdTimeouts.remove(booking.getBookingId());
+            if (releasePendingBooking(booking.getBookingId())) {
+                released++;
+            }
+        }
+        if (released > 0) {
+            awaitJournalDurable();
+        }
+        return released;
+    }
+
+    @Override
+    public List<BookingResult> bookRooms(List<BookingRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Booking requests cannot be null");
+        }
+
+        expireDueHolds();
+        BookingResult[] results = new BookingResult[requests.size()];
+        try {
+            executeBatch(requests, results);
+        } finally {
+            // Une erreur inattendue (journal, par exemple) est propagée comme pour une réservation seule ;
+            // les demandes déjà validées en mémoire sont tout de même comptées, et le cache mis à jour
+            for (BookingResult result : results) {
+                if (result == null) {
+                    continue;
+                }
+                metrics.countBooking(result);
+                if (result.isConfirmed()) {
+                    roomAvailabilityChanged(result.getBooking().getRoomNumber());
+                    bookingSold(result.getBooking());
+                }
+            }
+        }
+
+        ReservationEventSink sink = eventSink;
+        if (sink.isEnabled()) {
+            int confirmed = 0;
+            for (BookingResult result : results) {
+                if (result.isConfirmed()) {
+                    confirmed++;
+                }
+            }
+            sink.publish(new BatchProcessedEvent(results.length, confirmed));
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public List<Room> findAvailableRooms(RoomType roomType, LocalDate checkIn, LocalDate checkOut,
+                                         int maxPrice, int limit) {
+        if (checkIn == null || checkOut == null) {
+            throw new IllegalArgumentException("Check-in and check-out dates cannot be null");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (maxPrice <= 0) {
+            throw new IllegalArgumentException("Price ceiling must be positive");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        int checkInDay = toEpochDay(checkIn);
+        int checkOutDay = toEpochDay(checkOut);
+        AvailabilityCache cache = availabilityCache;
+        if (cache == null) {
+            return searchAvailableRooms(roomType, checkInDay, checkOutDay, maxPrice, limit, IGNORE_CANDIDATES);
+        }
+        return cache.get(roomType, checkInDay, checkOutDay, maxPrice, limit, candidates ->
+                searchAvailableRooms(roomType, checkInDay, checkOutDay, maxPrice, limit, candidates));
+    }
+
+    @Override
+    public void printAll() {
+        try {
+            printAll(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void printAll(Appendable out) throws IOException {
+        writeLine(out, "\n=== ALL ROOMS AND BOOKINGS ===");
+
+        writeLatestFirst(out, "\n--- ROOMS (Latest to Oldest) ---", "No rooms found.", getRooms());
+        writeLatestFirst(out, "\n--- BOOKINGS (Latest to Oldest) ---", "No bookings found.", getBookings());
+
+        writeLine(out, "================================\n");
+        flush(out);
+    }
+
+    @Override
+    public void printAllUsers() {
+        try {
+            printAllUsers(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void printAllUsers(Appendable out) throws IOException {
+        writeLine(out, "\n=== ALL USERS ===");
+
+        writeLatestFirst(out, null, "No users found.", getUsers());
+
+        writeLine(out, "==================\n");
+        flush(out);
+    }
+
+    @Override
+    public Page<Room> listRooms(int cursor, int pageSize) {
+        return latestFirstPage(getRooms(), cursor, pageSize);
+    }
+
+    @Override
+    public Page<User> listUsers(int cursor, int pageSize) {
+        return latestFirstPage(getUsers(), cursor, pageSize);
+    }
+
+    @Override
+    public Page<Booking> listBookings(int cursor, int pageSize) {
+        return latestFirstPage(getBookings(), cursor, pageSize);
+    }
+
+    // ===============================
+    // MÉTHODES À FOURNIR PAR LES IMPLÉMENTATIONS
+    // ===============================
+
+    /**
+     * Crée la chambre ou met à jour son type et son prix
+     *
+     * @return true si la chambre a été créée, false si elle a été mise à jour
+     * @throws IllegalArgumentException si les paramètres sont invalides
+     */
+    protected abstract boolean upsertRoom(int roomNumber, RoomType roomType, int roomPricePerNight);
+
+    /**
+     * Crée l'utilisateur ou met à jour son solde
+     *
+     * @return true si l'utilisateur a été créé, false s'il a été mis à jour
+     * @throws IllegalArgumentException si les paramètres sont invalides
+     */
+    protected abstract boolean upsertUser(int userId, int balance);
+
+    /**
+     * Vérifie la disponibilité et le solde, puis enregistre la réservation et débite l'utilisateur
+     *
+     * Les refus sont des résultats ({@link BookingResult#roomNotAvailable(int)}, etc.) et non
+     * des exceptions : c'est un cas courant du chemin critique.
+     *
+     * Les dates restent des jours epoch jusqu'à la confirmation : seule la réservation créée
+     * les convertit en {@link LocalDate}.
+     *
+     * @param checkInDay Jour epoch d'arrivée
+     * @param checkOutDay Jour epoch de départ, strictement postérieur à l'arrivée
+     * @return Réservation créée, ou motif du refus
+     */
+    protected abstract BookingResult tryCreateBooking(int userId, int roomNumber, int checkInDay, int checkOutDay,
+                                                      BookingStatus status);
+
+    /**
+     * Retrouve la réservation par son identifiant (sans parcours de l'historique), la passe
+     * au statut CANCELLED, libère sa période et rembourse l'utilisateur, de façon atomique
+     * vis-à-vis des réservations concurrentes de la même chambre
+     *
+     * L'annulation est journalisée sans en attendre la durabilité : l'appelant s'en charge
+     * une fois pour toutes les annulations qu'il enchaîne.
+     *
+     * @param bookingId Identifiant de la réservation
+     * @param expectedStatus Statut requis : CONFIRMED pour une annulation, PENDING pour un blocage
+     * @return Réservation annulée, ou null si elle est inconnue ou n'a plus le statut attendu
+     */
+    protected abstract Booking cancelActiveBooking(long bookingId, BookingStatus expectedStatus);
+
+    /**
+     * Passe un blocage temporaire au statut CONFIRMED et journalise la confirmation,
+     * de façon atomique vis-à-vis de son annulation ou de son expiration
+     *
+     * @param bookingId Identifiant de la réservation en attente
+     * @return Réservation confirmée, ou null si elle est inconnue ou n'est plus en attente
+     */
+    protected abstract Booking confirmPendingBooking(long bookingId);
+
+    /**
+     * Traite un lot de demandes dans l'ordre de la liste
+     *
+     * L'implémentation par défaut enchaîne les demandes comme {@link #tryBookRoom}, sans en mesurer
+     * la latence (les résultats sont comptés par bookRooms) ; les sous-classes peuvent regrouper
+     * les recherches et les verrous tant que le résultat de chaque demande reste celui
+     * d'un traitement séquentiel.
+     *
+     * @param requests Demandes de réservation
+     * @param results Tableau à remplir, un résultat par demande
+     */
+    protected void executeBatch(List<BookingRequest> requests, BookingResult[] results) {
+        for (int i = 0; i < results.length; i++) {
+            BookingRequest request = requests.get(i);
+            results[i] = attemptBooking(request.getUserId(), request.getRoomNumber(),
+                    request.getCheckIn(), request.getCheckOut(), BookingStatus.CONFIRMED, false);
+        }
+    }
+
+    /**
+     * Indique si les blocages échus peuvent être libérés par un thread dédié, en parallèle des appelants
+     *
+     * Par défaut non : les blocages échus sont libérés par le thread appelant, en tête de la prochaine
+     * opération de réservation, ce qui convient à une implémentation non thread-safe.
+     *
+     * @return true si l'implémentation admet des mutations concurrentes
+     */
+    protected boolean expiresHoldsInBackground() {
+        return false;
+    }
+
+    /**
+     * Indique si {@link #captureSnapshot()} peut s'exécuter pendant des mutations d'autres threads,
+     * condition des instantanés planifiés ({@link #scheduleSnapshots(Path, Duration)})
+     *
+     * Par défaut non : la capture lit les structures du service sans synchronisation.
+     *
+     * @return true si la capture suspend elle-même les écritures concurrentes
+     */
+    protected boolean capturesSnapshotsConcurrently() {
+        return false;
+    }
+
+    /**
+     * Recherche les chambres libres à l'aide des index secondaires
+     *
+     * @param roomType Type de chambre, ou null pour tous les types
+     * @param checkInDay Jour epoch d'arrivée
+     * @param checkOutDay Jour epoch de départ
+     * @param maxPrice Prix par nuit maximal (inclus)
+     * @param limit Nombre maximal de résultats
+     * @param candidates Reçoit le numéro de chaque chambre examinée, disponible ou non, depuis un thread
+     *                   à la fois (dépendances d'une réponse mise en cache)
+     * @return Chambres disponibles, par prix croissant
+     */
+    protected abstract List<Room> searchAvailableRooms(RoomType roomType, int checkInDay, int checkOutDay,
+                                                       int maxPrice, int limit, IntConsumer candidates);
+
+    /**
+     * Restaure une chambre telle quelle (création ou remplacement du type et du prix), sans message
+     */
+    protected abstract void restoreRoom(Room room);
+
+    /**
+     * Restaure un utilisateur tel quel (création ou remplacement du solde), sans message
+     */
+    protected abstract void restoreUser(User user);
+
+    /**
+     * Restaure une réservation et bloque sa période si elle est active
+     *
+     * @param booking Réservation reconstituée
+     * @param debitUser true pour débiter le montant total du solde de l'utilisateur (rejeu du journal)
+     */
+    protected abstract void restoreBooking(Booking booking, boolean debitUser);
+
+    /**
+     * Rejoue une annulation du journal : rembourse toujours l'utilisateur, et ne libère la période
+     * que si la réservation est encore confirmée (un instantané écrit après l'annulation peut
+     * la contenir déjà annulée, avec le solde de l'utilisateur d'avant le remboursement)
+     *
+     * @param bookingId Identifiant de la réservation annulée
+     * @return Réservation dont la période a été libérée, ou null si elle est inconnue ou était déjà annulée
+     */
+    protected abstract Booking restoreCancellation(long bookingId);
+
+    /**
+     * Rejoue la confirmation d'un blocage temporaire (sans effet sur le solde, débité au blocage)
+     *
+     * @param bookingId Identifiant de la réservation confirmée
+     * @return Réservation passée au statut CONFIRMED, ou null si elle est inconnue ou n'était plus en attente
+     */
+    protected abstract Booking restoreConfirmation(long bookingId);
+
+    /**
+     * Capture un état cohérent pour un instantané : copies des chambres et des utilisateurs,
+     * nombre de réservations et position du journal, pris au même instant
+     */
+    protected abstract ReservationSnapshot captureSnapshot();
+
+    /**
+     * @return Chambres dans l'ordre de création, à accès indexé
+     */
+    protected abstract List<Room> getRooms();
+
+    /**
+     * @return Utilisateurs dans l'ordre de création, à accès indexé
+     */
+    protected abstract List<User> getUsers();
+
+    /**
+     * @return Réservations dans l'ordre de création, à accès indexé
+     */
+    protected abstract List<Booking> getBookings();
+
+    /**
+     * Jauge de supervision, lue hors du chemin critique
+     *
+     * @return Nombre de périodes réservées suivies par les structures de disponibilité
+     */
+    protected abstract long getIndexedPeriodCount();
+
+    // ===============================
+    // MÉTHODES PROTÉGÉES - JOURNAL
+    // ===============================
+
+    /**
+     * Enregistre l'état de la chambre dans le journal ; à appeler dans la section critique de la mutation
+     *
+     * @return Séquence à passer à {@link #awaitDurable(long)}, 0 sans journal
+     */
+    protected long journalRoom(Room room) {
+        ReservationJournal current = journal;
+        return current != null ? current.appendRoom(room) : 0;
+    }
+
+    protected long journalUser(User user) {
+        ReservationJournal current = journal;
+        return current != null ? current.appendUser(user) : 0;
+    }
+
+    protected long journalBooking(Booking booking) {
+        ReservationJournal current = journal;
+        return current != null ? current.appendBooking(booking) : 0;
+    }
+
+    protected long journalCancellation(Booking booking) {
+        ReservationJournal current = journal;
+        return current != null ? current.appendCancellation(booking) : 0;
+    }
+
+    protected long journalConfirmation(Booking booking) {
+        ReservationJournal current = journal;
+        return current != null ? current.appendConfirmation(booking) : 0;
+    }
+
+    /**
+     * @return Position du journal suivant la dernière mutation enregistrée, 0 sans journal
+     */
+    protected long journalPosition() {
+        ReservationJournal current = journal;
+        return current != null ? current.getAppendedPosition() : 0;
+    }
+
+    /**
+     * Attend la durabilité d'une mutation journalisée ; à appeler hors des verrous
+     */
+    protected void awaitDurable(long sequence) {
+        ReservationJournal current = journal;
+        if (sequence > 0 && current != null) {
+            current.awaitDurable(sequence);
+        }
+    }
+
+    /**
+     * Attend la durabilité de toutes les mutations journalisées jusqu'ici ; à appeler hors des verrous
+     */
+    protected void awaitJournalDurable() {
+        ReservationJournal current = journal;
+        if (current != null) {
+            awaitDurable(current.getAppendedSequence());
+        }
+    }
+
+    /**
+     * @param debitUsers true pour le journal (soldes à débiter), false pour un instantané (soldes absolus)
+     * @param pendingHolds Identifiants des blocages encore en attente, tenus à jour pendant le rejeu
+     */
+    protected JournalVisitor restoringVisitor(boolean debitUsers, Set<Long> pendingHolds) {
+        return new JournalVisitor() {
+            @Override
+            public void onRoom(Room room) {
+                restoreRoom(room);
+                AvailabilityCache cache = availabilityCache;
+                if (cache != null) {
+                    cache.roomUpdated(room.getRoomNumber(), room.getRoomType(), room.getPricePerNight());
+                }
+                OccupancyAggregates aggregates = occupancyAggregates;
+                if (aggregates != null) {
+                    aggregates.roomUpdated(room.getRoomNumber(), room.getRoomType());
+                }
+            }
+
+            @Override
+            public void onUser(User user) {
+                restoreUser(user);
+            }
+
+            @Override
+            public void onBooking(Booking booking) {
+                bookingIdAllocator.observe(booking.getBookingId());
+                restoreBooking(booking, debitUsers);
+                roomAvailabilityChanged(booking.getRoomNumber());
+                if (booking.getStatus() == BookingStatus.PENDING) {
+                    pendingHolds.add(booking.getBookingId());
+                } else if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                    bookingSold(booking);
+                }
+            }
+
+            @Override
+            public void onConfirmation(long bookingId) {
+                Booking booking = restoreConfirmation(bookingId);
+                if (booking != null) {
+                    bookingSold(booking);
+                }
+                pendingHolds.remove(bookingId);
+            }
+
+            @Override
+            public void onCancellation(long bookingId) {
+                Booking booking = restoreCancellation(bookingId);
+                // Un blocage encore en attente n'a jamais été compté comme vendu
+                boolean wasPending = pendingHolds.remove(bookingId);
+                if (booking != null) {
+                    roomAvailabilityChanged(booking.getRoomNumber());
+                    if (!wasPending) {
+                        bookingRefunded(booking);
+                    }
+                }
+            }
+        };
+    }
+
+    // ===============================
+    // MÉTHODES PROTÉGÉES - UTILITIES
+    // ===============================
+
+    /**
+     * Périme les réponses en cache qui ont examiné la chambre ; après une réservation ou une annulation
+     */
+    private void roomAvailabilityChanged(int roomNumber) {
+        AvailabilityCache cache = availabilityCache;
+        if (cache != null) {
+            cache.roomChanged(roomNumber);
+        }
+    }
+
+    /**
+     * Compte les nuits d'une réservation confirmée (directement ou par confirmation d'un blocage)
+     */
+    private void bookingSold(Booking booking) {
+        OccupancyAggregates aggregates = occupancyAggregates;
+        if (aggregates != null) {
+            aggregates.bookingConfirmed(booking);
+        }
+    }
+
+    /**
+     * Retire les nuits d'une réservation confirmée puis annulée
+     */
+    private void bookingRefunded(Booking booking) {
+        OccupancyAggregates aggregates = occupancyAggregates;
+        if (aggregates != null) {
+            aggregates.bookingCancelled(booking);
+        }
+    }
+
+    protected long nextBookingId() {
+        return bookingIdAllocator.nextId();
+    }
+
+    protected static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    protected static int computeTotalCost(Room room, int checkInDay, int checkOutDay) {
+        long nights = checkOutDay - checkInDay;
+        return (int) (nights * room.getPricePerNight());
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - BLOCAGES TEMPORAIRES
+    // ===============================
+
+    private boolean releasePendingBooking(long bookingId) {
+        long start = System.nanoTime();
+        ReservationEventSink sink = eventSink;
+        try {
+            Booking booking = cancelActiveBooking(bookingId, BookingStatus.PENDING);
+            if (booking == null) {
+                metrics.recordFailure(ReservationOperation.RELEASE_HOLD, start);
+                return false;
+            }
+            roomAvailabilityChanged(booking.getRoomNumber());
+            metrics.recordSuccess(ReservationOperation.RELEASE_HOLD, start);
+            if (sink.isEnabled()) {
+                sink.publish(new BookingCancelledEvent(booking));
+            }
+            return true;
+
+        } catch (Exception e) {
+            metrics.recordFailure(ReservationOperation.RELEASE_HOLD, start);
+            if (sink.isEnabled()) {
+                sink.publish(new OperationFailedEvent(ReservationOperation.RELEASE_HOLD, e));
+            }
+            return false;
+        }
+    }
+
+    private void cancelHoldTimeout(long bookingId) {
+        HashedTimingWheel.Timeout<Booking> timeout = holdTimeouts.remove(bookingId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Libère les blocages échus sur le thread appelant, sans thread d'expiration ;
+     * un simple test de compteur tant qu'aucun blocage n'est en attente
+     */
+    private void expireDueHolds() {
+        if (holdExpiryWheel.size() > 0 && !expiresHoldsInBackground()) {
+            expireHolds(System.nanoTime());
+        }
+    }
+
+    private synchronized void ensureHoldExpiryStarted() {
+        if (holdExpiryScheduler != null || !expiresHoldsInBackground()) {
+            return;
+        }
+        holdExpiryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        holdExpiryScheduler.scheduleAtFixedRate(() -> {
+            try {
+                expireHolds(System.nanoTime());
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Hold expiry failed", e);
+            }
+        }, HOLD_TICK_NANOS, HOLD_TICK_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    private void releaseRecoveredHolds(Set<Long> pendingHolds) {
+        int released = 0;
+        for (long bookingId : pendingHolds) {
+            if (cancelActiveBooking(bookingId, BookingStatus.PENDING) != null) {
+                released++;
+            }
+        }
+        if (released > 0) {
+            awaitJournalDurable();
+            logger.info(released + " pending holds released after recovery");
+        }
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - VALIDATION
+    // ===============================
+
+    private void validateBookRoomParameters(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        if (userId <= 0) {
+            throw new IllegalArgumentException("User ID must be positive");
+        }
+        if (roomNumber <= 0) {
+            throw new IllegalArgumentException("Room number must be positive");
+        }
+        if (checkIn == null) {
+            throw new IllegalArgumentException("Check-in date cannot be null");
+        }
+        if (checkOut == null) {
+            throw new IllegalArgumentException("Check-out date cannot be null");
+        }
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - AFFICHAGE
+    // ===============================
+    /**
+     * Écrit les éléments en ordre d'insertion inverse (du plus récent au plus ancien),
+     * un par un, sans tri ni copie de la liste
+     */
+    private static void writeLatestFirst(Appendable out, String header, String emptyMessage, List<?> items)
+            throws IOException {
+        if (header != null) {
+            writeLine(out, header);
+        }
+        // Taille lue une seule fois : les éléments ajoutés pendant l'écriture sont ignorés
+        int size = items.size();
+        if (size == 0) {
+            writeLine(out, emptyMessage);
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            writeLine(out, String.valueOf(items.get(i)));
+        }
+    }
+
+    private static <T> Page<T> latestFirstPage(List<T> items, int cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        int size = items.size();
+        int end = cursor == Page.LATEST ? size : cursor;
+        if (end < 0 || end > size) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        int start = Math.max(0, end - pageSize);
+        List<T> page = new ArrayList<>(end - start);
+        for (int i = end - 1; i >= start; i--) {
+            page.add(items.get(i));
+        }
+        return new Page<>(page, start);
+    }
+
+    private static void writeLine(Appendable out, String line) throws IOException {
+        out.append(line).append(System.lineSeparator());
+    }
+
+    private static void flush(Appendable out) throws IOException {
+        if (out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+
+    /**
+     * Jour de la date dans le fuseau de l'hôtel ; sans recherche de règles pour un décalage fixe
+     */
+    private LocalDate toLocalDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        long millis = date.getTime();
+        ZoneRules rules = hotelZoneRules;
+        int offsetSeconds = rules.isFixedOffset()
+                ? rules.getOffset(Instant.EPOCH).getTotalSeconds()
+                : rules.getOffset(Instant.ofEpochMilli(millis)).getTotalSeconds();
+        return LocalDate.ofEpochDay(Math.floorDiv(millis + offsetSeconds * 1000L, MILLIS_PER_DAY));
+    }
+}
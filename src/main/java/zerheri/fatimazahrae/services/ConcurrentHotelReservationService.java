@@ -0,0 +1,778 @@
+package zerheri.fatimazahrae.services;
+
+import zerheri.fatimazahrae.enums.BookingCommitMode;
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.RejectionReason;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.index.AppendOnlyList;
+import zerheri.fatimazahrae.index.IntObjectHashMap;
+import zerheri.fatimazahrae.index.RoomIntervalIndex;
+import zerheri.fatimazahrae.index.RoomSearchIndex;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingRequest;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.persistence.ReservationSnapshot;
+
+import java.lang.invoke.VarHandle;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Implémentation thread-safe du service de réservation d'hôtel
+ *
+ * Une réservation ne verrouille que la chambre et l'utilisateur concernés, via un tableau
+ * de verrous (lock striping). Les deux verrous sont toujours acquis dans l'ordre croissant
+ * de leur indice, ce qui exclut tout interblocage entre deux réservations concurrentes.
+ * Sous ces verrous, la vérification de disponibilité, le contrôle du solde, le débit
+ * et l'indexation de la réservation sont atomiques : aucune réservation CONFIRMED ne peut
+ * en chevaucher une autre et aucun solde ne peut devenir négatif.
+ *
+ * En mode {@link BookingCommitMode#OPTIMISTIC}, la disponibilité est vérifiée sans verrou
+ * puis validée par CAS sur le numéro de version de la chambre (pair = stable, impair = écriture
+ * en cours). Le verrou de l'utilisateur est pris juste avant ce CAS, jamais en attente sous la version :
+ * le débit reste ordonné avec setUser et les annulations du même utilisateur. Un conflit provoque
+ * une nouvelle tentative, dans la limite de {@value #MAX_OPTIMISTIC_ATTEMPTS} ; au-delà, ou pour
+ * une chambre jugée disputée, la réservation repasse par les verrous de la chambre et de l'utilisateur.
+ *
+ * Avec un journal ouvert, chaque mutation y est ajoutée dans sa section critique (l'ordre du
+ * journal suit donc celui des écritures sur une même chambre ou un même utilisateur) et l'attente
+ * de durabilité se fait après libération des verrous, ce qui permet de regrouper les écritures
+ * disque de plusieurs threads.
+ */
+public class ConcurrentHotelReservationService extends AbstractHotelReservationService {
+    private static final int DEFAULT_STRIPES_PER_CORE = 16;
+    static final int MAX_OPTIMISTIC_ATTEMPTS = 8;
+    // Score de contention au-delà duquel une chambre passe directement par son verrou
+    private static final int HOT_ROOM_THRESHOLD = 16;
+    private static final int CONFLICT_PENALTY = 4;
+
+    private final ConcurrentHashMap<Integer, RoomSlot> roomsByNumber;
+    private final ConcurrentHashMap<Integer, User> usersById;
+    private final ConcurrentHashMap<Long, Booking> bookingsById;
+
+    // Ordre de création, pour l'affichage et la pagination
+    private final AppendOnlyList<Room> rooms;
+    private final AppendOnlyList<User> users;
+    private final AppendOnlyList<Booking> bookings;
+
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+    private final BookingCommitMode commitMode;
+
+    // Chambres par type, triées par prix ; lectures concurrentes, écritures exclusives
+    private final RoomSearchIndex roomSearchIndex;
+    private final ReentrantReadWriteLock roomSearchIndexLock;
+    private final AtomicLong optimisticRetries;
+    private final AtomicLong pessimisticFallbacks;
+
+    public ConcurrentHotelReservationService() {
+        this(BookingCommitMode.PESSIMISTIC);
+    }
+
+    public ConcurrentHotelReservationService(BookingCommitMode commitMode) {
+        this(Runtime.getRuntime().availableProcessors() * DEFAULT_STRIPES_PER_CORE, commitMode);
+    }
+
+    public ConcurrentHotelReservationService(int stripeCount) {
+        this(stripeCount, BookingCommitMode.PESSIMISTIC);
+    }
+
+    /**
+     * @param stripeCount Nombre de verrous partagés entre chambres et utilisateurs
+     *                    (arrondi à la puissance de deux supérieure)
+     * @param commitMode Stratégie de validation des réservations
+     */
+    public ConcurrentHotelReservationService(int stripeCount, BookingCommitMode commitMode) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        if (commitMode == null) {
+            throw new IllegalArgumentException("Commit mode cannot be null");
+        }
+        this.commitMode = commitMode;
+        this.roomSearchIndex = new RoomSearchIndex();
+        this.roomSearchIndexLock = new ReentrantReadWriteLock();
+        this.optimisticRetries = new AtomicLong();
+        this.pessimisticFallbacks = new AtomicLong();
+        this.roomsByNumber = new ConcurrentHashMap<>();
+        this.usersById = new ConcurrentHashMap<>();
+        this.bookingsById = new ConcurrentHashMap<>();
+        this.rooms = new AppendOnlyList<>();
+        this.users = new AppendOnlyList<>();
+        this.bookings = new AppendOnlyList<>();
+
+        int size = Integer.highestOneBit(Math.max(stripeCount - 1, 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = size - 1;
+
+        logger.info("ConcurrentHotelReservationService initialized with " + size + " lock stripes, "
+                + commitMode + " commits");
+    }
+
+    public BookingCommitMode getCommitMode() {
+        return commitMode;
+    }
+
+    /**
+     * @return Nombre de tentatives optimistes rejouées après un conflit de version
+     */
+    public long getOptimisticRetryCount() {
+        return optimisticRetries.get();
+    }
+
+    /**
+     * @return Nombre de réservations optimistes validées sous verrou (chambre disputée ou tentatives épuisées)
+     */
+    public long getPessimisticFallbackCount() {
+        return pessimisticFallbacks.get();
+    }
+
+    @Override
+    public int getTotalRoomsCount() {
+        return roomsByNumber.size();
+    }
+
+    @Override
+    public int getTotalUsersCount() {
+        return usersById.size();
+    }
+
+    @Override
+    public int getTotalBookingsCount() {
+        return bookings.size();
+    }
+
+    // ===============================
+    // MÉTHODES PROTÉGÉES - BUSINESS LOGIC
+    // ===============================
+
+    @Override
+    protected boolean upsertRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+        // Création et mise à jour sous le verrou de la chambre, pour garder l'index de recherche cohérent
+        ReentrantLock lock = stripes[roomStripe(roomNumber)];
+        boolean created;
+        long sequence;
+        lock.lock();
+        try {
+            RoomSlot slot = roomsByNumber.get(roomNumber);
+            created = slot == null;
+            if (created) {
+                slot = new RoomSlot(new Room(roomNumber, roomType, roomPricePerNight));
+                roomsByNumber.put(roomNumber, slot);
+                rooms.add(slot.room);
+                updateSearchIndex(null, 0, roomType, roomPricePerNight, roomNumber);
+            } else {
+                RoomType previousType = slot.room.getRoomType();
+                int previousPrice = slot.room.getPricePerNight();
+                slot.beginWrite();
+                try {
+                    // Update existing room without affecting previous bookings
+                    slot.room.update(roomType, roomPricePerNight);
+                } finally {
+                    slot.endWrite();
+                }
+                updateSearchIndex(previousType, previousPrice, roomType, roomPricePerNight, roomNumber);
+            }
+            sequence = journalRoom(slot.room);
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(sequence);
+        return created;
+    }
+
+    @Override
+    protected boolean upsertUser(int userId, int balance) {
+        // Création et mise à jour sous le verrou de l'utilisateur, pour journaliser dans l'ordre des écritures
+        ReentrantLock lock = stripes[userStripe(userId)];
+        boolean created;
+        long sequence;
+        lock.lock();
+        try {
+            User user = usersById.get(userId);
+            created = user == null;
+            if (created) {
+                user = new User(userId, balance);
+                usersById.put(userId, user);
+                users.add(user);
+            } else {
+                user.setBalance(balance);
+            }
+            sequence = journalUser(user);
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(sequence);
+        return created;
+    }
+
+    @Override
+    protected BookingResult tryCreateBooking(int userId, int roomNumber, int checkInDay, int checkOutDay,
+                                             BookingStatus status) {
+        User user = usersById.get(userId);
+        if (user == null) {
+            return BookingResult.userNotFound(userId);
+        }
+
+        RoomSlot slot = roomsByNumber.get(roomNumber);
+        if (slot == null) {
+            return BookingResult.roomNotFound(roomNumber);
+        }
+
+        if (commitMode == BookingCommitMode.OPTIMISTIC) {
+            return createBookingOptimistically(user, slot, checkInDay, checkOutDay, status);
+        }
+
+        int roomStripe = roomStripe(roomNumber);
+        int userStripe = userStripe(userId);
+        BookingResult result;
+        long sequence;
+        lockInOrder(roomStripe, userStripe);
+        slot.beginWrite();
+        try {
+            result = commitBooking(user, slot, checkInDay, checkOutDay, status);
+            sequence = journalIfConfirmed(result);
+        } finally {
+            slot.endWrite();
+            unlockInOrder(roomStripe, userStripe);
+        }
+        awaitDurable(sequence);
+        return result;
+    }
+
+    /**
+     * Résout chaque chambre et chaque utilisateur une seule fois, acquiert en une passe
+     * (ordre croissant) les verrous de toutes les chambres et utilisateurs du lot,
+     * puis valide les demandes dans l'ordre de la liste
+     */
+    @Override
+    protected void executeBatch(List<BookingRequest> requests, BookingResult[] results) {
+        IntObjectHashMap<RoomSlot> slotsByNumber = new IntObjectHashMap<>();
+        IntObjectHashMap<User> usersByIdInBatch = new IntObjectHashMap<>();
+        List<RoomSlot> slots = new ArrayList<>();
+        BitSet lockedStripes = new BitSet(stripes.length);
+
+        for (int i = 0; i < results.length; i++) {
+            BookingRequest request = requests.get(i);
+            if (!request.getCheckOut().isAfter(request.getCheckIn())) {
+                results[i] = BookingResult.invalidDates();
+                continue;
+            }
+            User user = resolveUser(request.getUserId(), usersByIdInBatch);
+            if (user == null) {
+                results[i] = BookingResult.userNotFound(request.getUserId());
+                continue;
+            }
+            RoomSlot slot = slotsByNumber.get(request.getRoomNumber());
+            if (slot == null) {
+                slot = roomsByNumber.get(request.getRoomNumber());
+                if (slot == null) {
+                    results[i] = BookingResult.roomNotFound(request.getRoomNumber());
+                    continue;
+                }
+                slotsByNumber.put(request.getRoomNumber(), slot);
+                slots.add(slot);
+                lockedStripes.set(roomStripe(request.getRoomNumber()));
+            }
+            lockedStripes.set(userStripe(request.getUserId()));
+        }
+
+        for (int stripe = lockedStripes.nextSetBit(0); stripe >= 0; stripe = lockedStripes.nextSetBit(stripe + 1)) {
+            stripes[stripe].lock();
+        }
+        long lastSequence = 0;
+        slots.forEach(RoomSlot::beginWrite);
+        try {
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                BookingRequest request = requests.get(i);
+                try {
+                    results[i] = commitBooking(
+                            usersByIdInBatch.get(request.getUserId()), slotsByNumber.get(request.getRoomNumber()),
+                            toEpochDay(request.getCheckIn()), toEpochDay(request.getCheckOut()),
+                            BookingStatus.CONFIRMED);
+                    lastSequence = Math.max(lastSequence, journalIfConfirmed(results[i]));
+                } catch (IllegalArgumentException e) {
+                    results[i] = BookingResult.rejected(RejectionReason.INVALID_PARAMETERS, e.getMessage());
+                }
+            }
+        } finally {
+            slots.forEach(RoomSlot::endWrite);
+            for (int stripe = lockedStripes.previousSetBit(stripes.length - 1); stripe >= 0;
+                 stripe = lockedStripes.previousSetBit(stripe - 1)) {
+                stripes[stripe].unlock();
+            }
+        }
+        // Une seule attente de durabilité pour tout le lot
+        awaitDurable(lastSequence);
+    }
+
+    /**
+     * Parcourt l'index de recherche sous verrou de lecture ; la disponibilité de chaque chambre
+     * est lue sans verrou et validée par sa version
+     */
+    @Override
+    protected List<Room> searchAvailableRooms(RoomType roomType, int checkInDay, int checkOutDay,
+                                              int maxPrice, int limit, IntConsumer candidates) {
+        List<Room> availableRooms = new ArrayList<>(Math.min(limit, 16));
+        roomSearchIndexLock.readLock().lock();
+        try {
+            roomSearchIndex.forEachUpToPrice(roomType, maxPrice, roomNumber -> {
+                candidates.accept(roomNumber);
+                RoomSlot slot = roomsByNumber.get(roomNumber);
+                if (slot.isAvailable(checkInDay, checkOutDay)) {
+                    availableRooms.add(slot.room);
+                }
+                return availableRooms.size() < limit;
+            });
+        } finally {
+            roomSearchIndexLock.readLock().unlock();
+        }
+        return availableRooms;
+    }
+
+    /**
+     * Sous les verrous de la chambre et de l'utilisateur, comme une réservation, et en écriture
+     * exclusive de la chambre : une validation optimiste concurrente voit la version changer
+     */
+    @Override
+    protected Booking cancelActiveBooking(long bookingId, BookingStatus expectedStatus) {
+        Booking booking = bookingsById.get(bookingId);
+        if (booking == null) {
+            return null;
+        }
+        RoomSlot slot = roomsByNumber.get(booking.getRoomNumber());
+        User user = usersById.get(booking.getUserId());
+
+        int roomStripe = roomStripe(booking.getRoomNumber());
+        int userStripe = userStripe(booking.getUserId());
+        lockInOrder(roomStripe, userStripe);
+        slot.beginWrite();
+        try {
+            if (booking.getStatus() != expectedStatus) {
+                return null;
+            }
+            booking.cancel();
+            slot.bookedIntervals.remove(toEpochDay(booking.getCheckIn()), toEpochDay(booking.getCheckOut()));
+            user.creditBalance(booking.getTotalAmount());
+            journalCancellation(booking);
+        } finally {
+            slot.endWrite();
+            unlockInOrder(roomStripe, userStripe);
+        }
+        return booking;
+    }
+
+    /**
+     * Sous le verrou de la chambre, qui sérialise la confirmation avec l'annulation et l'expiration ;
+     * les périodes réservées ne changent pas
+     */
+    @Override
+    protected Booking confirmPendingBooking(long bookingId) {
+        Booking booking = bookingsById.get(bookingId);
+        if (booking == null) {
+            return null;
+        }
+        ReentrantLock lock = stripes[roomStripe(booking.getRoomNumber())];
+        lock.lock();
+        try {
+            if (booking.getStatus() != BookingStatus.PENDING) {
+                return null;
+            }
+            booking.confirm();
+            journalConfirmation(booking);
+        } finally {
+            lock.unlock();
+        }
+        return booking;
+    }
+
+    /**
+     * Les blocages échus sont libérés par le thread d'expiration, sous les mêmes verrous qu'une annulation
+     */
+    @Override
+    protected boolean expiresHoldsInBackground() {
+        return true;
+    }
+
+    /**
+     * La capture prend tous les verrous, puis l'écriture exclusive de chaque chambre
+     */
+    @Override
+    protected boolean capturesSnapshotsConcurrently() {
+        return true;
+    }
+
+    @Override
+    protected void restoreRoom(Room room) {
+        RoomSlot slot = roomsByNumber.get(room.getRoomNumber());
+        if (slot == null) {
+            roomsByNumber.put(room.getRoomNumber(), new RoomSlot(room));
+            rooms.add(room);
+            updateSearchIndex(null, 0, room.getRoomType(), room.getPricePerNight(), room.getRoomNumber());
+            return;
+        }
+        RoomType previousType = slot.room.getRoomType();
+        int previousPrice = slot.room.getPricePerNight();
+        slot.room.update(room.getRoomType(), room.getPricePerNight());
+        updateSearchIndex(previousType, previousPrice, room.getRoomType(), room.getPricePerNight(),
+                room.getRoomNumber());
+    }
+
+    @Override
+    protected void restoreUser(User user) {
+        User existingUser = usersById.putIfAbsent(user.getUserId(), user);
+        if (existingUser == null) {
+            users.add(user);
+        } else {
+            existingUser.setBalance(user.getBalance());
+        }
+    }
+
+    @Override
+    protected void restoreBooking(Booking booking, boolean debitUser) {
+        if (booking.getStatus().blocksRoom()) {
+            roomsByNumber.get(booking.getRoomNumber()).bookedIntervals
+                    .add(toEpochDay(booking.getCheckIn()), toEpochDay(booking.getCheckOut()));
+        }
+        if (debitUser) {
+            User user = usersById.get(booking.getUserId());
+            user.setBalance(user.getBalance() - booking.getTotalAmount());
+        }
+        bookings.add(booking);
+        bookingsById.put(booking.getBookingId(), booking);
+    }
+
+    @Override
+    protected Booking restoreCancellation(long bookingId) {
+        Booking booking = bookingsById.get(bookingId);
+        if (booking == null) {
+            logger.warning("Cancellation of unknown booking " + bookingId + " ignored");
+            return null;
+        }
+        boolean released = booking.getStatus().blocksRoom();
+        if (released) {
+            booking.cancel();
+            roomsByNumber.get(booking.getRoomNumber()).bookedIntervals
+                    .remove(toEpochDay(booking.getCheckIn()), toEpochDay(booking.getCheckOut()));
+        }
+        usersById.get(booking.getUserId()).creditBalance(booking.getTotalAmount());
+        return released ? booking : null;
+    }
+
+    @Override
+    protected Booking restoreConfirmation(long bookingId) {
+        Booking booking = bookingsById.get(bookingId);
+        if (booking == null) {
+            logger.warning("Confirmation of unknown booking " + bookingId + " ignored");
+            return null;
+        }
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            return null;
+        }
+        booking.confirm();
+        return booking;
+    }
+
+    /**
+     * Suspend toutes les écritures le temps de copier chambres et utilisateurs : tous les verrous
+     * sont pris dans l'ordre croissant, puis l'écriture exclusive de chaque chambre (validations
+     * optimistes en cours). Les réservations étant ajoutées en fin de file, seul leur nombre
+     * est capturé ; elles sont sérialisées après libération des verrous. Une annulation postérieure
+     * à la capture peut donc y figurer, mais son remboursement n'est rejoué qu'à partir du journal.
+     */
+    @Override
+    protected ReservationSnapshot captureSnapshot() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+        List<RoomSlot> slots = new ArrayList<>(roomsByNumber.values());
+        slots.forEach(RoomSlot::beginWrite);
+        try {
+            List<Room> roomCopies = new ArrayList<>(rooms.size());
+            for (Room room : rooms) {
+                roomCopies.add(new Room(room.getRoomNumber(), room.getRoomType(), room.getPricePerNight(),
+                        room.getCreatedAt()));
+            }
+            List<User> userCopies = new ArrayList<>(users.size());
+            for (User user : users) {
+                userCopies.add(new User(user.getUserId(), user.getBalance(), user.getCreatedAt()));
+            }
+            return new ReservationSnapshot(journalPosition(), roomCopies, userCopies, bookings, bookings.size());
+        } finally {
+            slots.forEach(RoomSlot::endWrite);
+            for (int stripe = stripes.length - 1; stripe >= 0; stripe--) {
+                stripes[stripe].unlock();
+            }
+        }
+    }
+
+    /**
+     * Somme des index de chaque chambre, lus sans verrou : valeur approchée pendant les écritures
+     */
+    @Override
+    protected long getIndexedPeriodCount() {
+        long count = 0;
+        for (RoomSlot slot : roomsByNumber.values()) {
+            count += slot.bookedIntervals.size();
+        }
+        return count;
+    }
+
+    @Override
+    protected List<Room> getRooms() {
+        return Collections.unmodifiableList(rooms);
+    }
+
+    @Override
+    protected List<User> getUsers() {
+        return Collections.unmodifiableList(users);
+    }
+
+    @Override
+    protected List<Booking> getBookings() {
+        return Collections.unmodifiableList(bookings);
+    }
+
+    private void updateSearchIndex(RoomType previousType, int previousPrice,
+                                   RoomType roomType, int roomPricePerNight, int roomNumber) {
+        roomSearchIndexLock.writeLock().lock();
+        try {
+            if (previousType != null) {
+                roomSearchIndex.remove(previousType, previousPrice, roomNumber);
+            }
+            roomSearchIndex.add(roomType, roomPricePerNight, roomNumber);
+        } finally {
+            roomSearchIndexLock.writeLock().unlock();
+        }
+    }
+
+    private User resolveUser(int userId, IntObjectHashMap<User> cache) {
+        User user = cache.get(userId);
+        if (user == null) {
+            user = usersById.get(userId);
+            if (user != null) {
+                cache.put(userId, user);
+            }
+        }
+        return user;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - VALIDATION OPTIMISTE
+    // ===============================
+
+    private BookingResult createBookingOptimistically(User user, RoomSlot slot, int checkInDay, int checkOutDay,
+                                                      BookingStatus status) {
+        int roomNumber = slot.room.getRoomNumber();
+        if (slot.contention < HOT_ROOM_THRESHOLD) {
+            for (int attempt = 0; attempt < MAX_OPTIMISTIC_ATTEMPTS; attempt++) {
+                long version = slot.version.get();
+                if ((version & 1) != 0) {
+                    // Écriture en cours sur la chambre
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                boolean conflict;
+                try {
+                    conflict = slot.bookedIntervals.hasConflict(checkInDay, checkOutDay);
+                } catch (RuntimeException e) {
+                    // Lecture incohérente pendant une écriture concurrente
+                    conflict = true;
+                }
+                VarHandle.acquireFence();
+
+                if (conflict) {
+                    if (slot.version.get() == version) {
+                        return BookingResult.roomNotAvailable(roomNumber);
+                    }
+                } else {
+                    // Verrou de l'utilisateur pris avant la version : le débit et sa journalisation
+                    // sont ordonnés avec setUser et les annulations, sans attente sous la version
+                    ReentrantLock userLock = stripes[userStripe(user.getUserId())];
+                    userLock.lock();
+                    if (slot.version.compareAndSet(version, version + 1)) {
+                        // La chambre n'a pas changé depuis la lecture : validation exclusive
+                        BookingResult result;
+                        long sequence;
+                        try {
+                            result = commitBooking(user, slot, checkInDay, checkOutDay, status);
+                            sequence = journalIfConfirmed(result);
+                            int contention = slot.contention;
+                            if (contention > 0) {
+                                slot.contention = contention - 1;
+                            }
+                        } finally {
+                            slot.endWrite();
+                            userLock.unlock();
+                        }
+                        awaitDurable(sequence);
+                        return result;
+                    }
+                    userLock.unlock();
+                }
+
+                optimisticRetries.incrementAndGet();
+                slot.contention += CONFLICT_PENALTY;
+            }
+        }
+
+        // Chambre disputée ou tentatives épuisées : sérialisation par le verrou de la chambre
+        pessimisticFallbacks.incrementAndGet();
+        int roomStripe = roomStripe(roomNumber);
+        int userStripe = userStripe(user.getUserId());
+        BookingResult result;
+        long sequence;
+        lockInOrder(roomStripe, userStripe);
+        slot.beginWrite();
+        try {
+            result = commitBooking(user, slot, checkInDay, checkOutDay, status);
+            sequence = journalIfConfirmed(result);
+            slot.contention = Math.max(0, slot.contention - 1);
+        } finally {
+            slot.endWrite();
+            unlockInOrder(roomStripe, userStripe);
+        }
+        awaitDurable(sequence);
+        return result;
+    }
+
+    /**
+     * Valide et enregistre la réservation ; l'appelant détient l'écriture exclusive de la chambre
+     */
+    private BookingResult commitBooking(User user, RoomSlot slot, int checkInDay, int checkOutDay,
+                                        BookingStatus status) {
+        if (slot.bookedIntervals.hasConflict(checkInDay, checkOutDay)) {
+            return BookingResult.roomNotAvailable(slot.room.getRoomNumber());
+        }
+
+        int totalCost = computeTotalCost(slot.room, checkInDay, checkOutDay);
+        int balanceBefore = user.tryDeductBalance(totalCost);
+        if (balanceBefore < 0) {
+            return BookingResult.insufficientBalance(totalCost, user.getBalance());
+        }
+
+        // Seule une réservation acceptée matérialise ses dates
+        Booking booking = new Booking(nextBookingId(), user, slot.room,
+                LocalDate.ofEpochDay(checkInDay), LocalDate.ofEpochDay(checkOutDay), balanceBefore, status);
+        slot.bookedIntervals.add(checkInDay, checkOutDay);
+        bookings.add(booking);
+        bookingsById.put(booking.getBookingId(), booking);
+        return BookingResult.confirmed(booking);
+    }
+
+    private long journalIfConfirmed(BookingResult result) {
+        return result.isConfirmed() ? journalBooking(result.getBooking()) : 0;
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES - VERROUILLAGE
+    // ===============================
+
+    private int roomStripe(int roomNumber) {
+        return spread(roomNumber) & stripeMask;
+    }
+
+    private int userStripe(int userId) {
+        // Sel distinct pour ne pas aligner systématiquement la chambre n et l'utilisateur n
+        return spread(userId ^ 0x5BD1E995) & stripeMask;
+    }
+
+    private void lockInOrder(int first, int second) {
+        if (first == second) {
+            stripes[first].lock();
+            return;
+        }
+        stripes[Math.min(first, second)].lock();
+        stripes[Math.max(first, second)].lock();
+    }
+
+    private void unlockInOrder(int first, int second) {
+        if (first == second) {
+            stripes[first].unlock();
+            return;
+        }
+        stripes[Math.max(first, second)].unlock();
+        stripes[Math.min(first, second)].unlock();
+    }
+
+    private static int spread(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Chambre et index de ses périodes réservées
+     *
+     * Toute modification se fait entre beginWrite et endWrite, qui rendent la version impaire
+     * le temps de l'écriture : un lecteur sans verrou peut ainsi détecter une modification concurrente.
+     */
+    private static final class RoomSlot {
+        private final Room room;
+        private final RoomIntervalIndex bookedIntervals = new RoomIntervalIndex();
+        private final AtomicLong version = new AtomicLong();
+        // Heuristique approximative (mises à jour non atomiques tolérées)
+        private volatile int contention;
+
+        private RoomSlot(Room room) {
+            this.room = room;
+        }
+
+        private void beginWrite() {
+            long current;
+            while (((current = version.get()) & 1) != 0 || !version.compareAndSet(current, current + 1)) {
+                Thread.onSpinWait();
+            }
+        }
+
+        private void endWrite() {
+            version.incrementAndGet();
+        }
+
+        /**
+         * Lecture sans verrou de la disponibilité, validée par la version de la chambre
+         */
+        private boolean isAvailable(int checkInDay, int checkOutDay) {
+            for (int attempt = 0; attempt < MAX_OPTIMISTIC_ATTEMPTS; attempt++) {
+                long current = version.get();
+                if ((current & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                boolean conflict;
+                try {
+                    conflict = bookedIntervals.hasConflict(checkInDay, checkOutDay);
+                } catch (RuntimeException e) {
+                    // Lecture incohérente pendant une écriture concurrente
+                    continue;
+                }
+                VarHandle.acquireFence();
+                if (version.get() == current) {
+                    return !conflict;
+                }
+            }
+            beginWrite();
+            try {
+                return !bookedIntervals.hasConflict(checkInDay, checkOutDay);
+            } finally {
+                endWrite();
+            }
+        }
+    }
+}
@@ -2,8 +2,18 @@ package zerheri.fatimazahrae.services;
 
 import zerheri.fatimazahrae.enums.RoomType;
 import zerheri.fatimazahrae.exceptions.BookingException;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingRequest;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Page;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Interface définissant les opérations principales du système de réservation d'hôtel
@@ -23,6 +33,20 @@ public interface HotelReservationService {
      */
     void setRoom(int roomNumber, RoomType roomType, int roomPricePerNight);
 
+    /**
+     * Crée ou met à jour une chambre et indique si la mutation a abouti
+     *
+     * Comme {@link #setRoom(int, RoomType, int)}, un échec n'est pas levé : il est signalé
+     * au destinataire d'événements et se traduit par le résultat false.
+     *
+     * @param roomNumber Numéro de la chambre
+     * @param roomType Type de chambre
+     * @param roomPricePerNight Prix par nuit
+     * @return true si la chambre est enregistrée (et journalisée), false si les paramètres sont invalides
+     *         ou si l'écriture a échoué (journal indisponible, par exemple)
+     */
+    boolean trySetRoom(int roomNumber, RoomType roomType, int roomPricePerNight);
+
     /**
      * Crée ou met à jour un utilisateur
      *
@@ -32,29 +56,188 @@ public interface HotelReservationService {
      */
     void setUser(int userId, int balance);
 
+    /**
+     * Crée ou met à jour un utilisateur et indique si la mutation a abouti
+     *
+     * @param userId Identifiant de l'utilisateur
+     * @param balance Solde du compte utilisateur
+     * @return true si l'utilisateur est enregistré (et journalisé), false si les paramètres sont invalides
+     *         ou si l'écriture a échoué
+     * @see #trySetRoom(int, RoomType, int)
+     */
+    boolean trySetUser(int userId, int balance);
+
     /**
      * Effectue une réservation de chambre
      *
      * @param userId Identifiant de l'utilisateur
      * @param roomNumber Numéro de la chambre à réserver
-     * @param checkIn Date d'arrivée
-     * @param checkOut Date de départ
+     * @param checkIn Date d'arrivée, ramenée à son jour dans le fuseau de l'hôtel
+     * @param checkOut Date de départ, ramenée à son jour dans le fuseau de l'hôtel
      * @throws BookingException si la réservation ne peut pas être effectuée
      */
     void bookRoom(int userId, int roomNumber, Date checkIn, Date checkOut);
 
+    /**
+     * Effectue une réservation de chambre, sans conversion de fuseau horaire
+     *
+     * @param userId Identifiant de l'utilisateur
+     * @param roomNumber Numéro de la chambre à réserver
+     * @param checkIn Jour d'arrivée
+     * @param checkOut Jour de départ
+     * @throws BookingException si la réservation ne peut pas être effectuée
+     */
+    void bookRoom(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * Effectue une réservation et retourne son résultat, sans exception ni message console
+     *
+     * Un refus (dates invalides, utilisateur ou chambre inconnus, chambre occupée, solde insuffisant)
+     * est un résultat typé : aucune exception n'est construite et le message n'est mis en forme
+     * qu'à l'appel de {@link BookingResult#getMessage()}.
+     *
+     * @param userId Identifiant de l'utilisateur
+     * @param roomNumber Numéro de la chambre à réserver
+     * @param checkIn Date d'arrivée
+     * @param checkOut Date de départ
+     * @return Réservation créée, ou motif du refus
+     */
+    BookingResult tryBookRoom(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * Variante de {@link #tryBookRoom(int, int, LocalDate, LocalDate)} sur des jours epoch
+     * ({@link LocalDate#toEpochDay()}) : aucun objet n'est alloué avant la vérification de disponibilité,
+     * et les dates ne sont construites que pour une réservation confirmée.
+     *
+     * @param userId Identifiant de l'utilisateur
+     * @param roomNumber Numéro de la chambre à réserver
+     * @param checkInEpochDay Jour epoch d'arrivée
+     * @param checkOutEpochDay Jour epoch de départ
+     * @return Réservation créée, ou motif du refus
+     */
+    BookingResult tryBookRoom(int userId, int roomNumber, int checkInEpochDay, int checkOutEpochDay);
+
+    /**
+     * Annule une réservation confirmée : son montant total est remboursé à l'utilisateur
+     * et ses nuits sont libérées pour la chambre
+     *
+     * @param bookingId Identifiant de la réservation
+     * @return true si la réservation a été annulée, false si elle est inconnue ou déjà annulée
+     */
+    boolean cancelBooking(long bookingId);
+
+    /**
+     * Bloque temporairement une chambre : la réservation est créée au statut PENDING, le montant
+     * total est débité, et le blocage est libéré (puis remboursé) s'il n'est pas confirmé à temps
+     *
+     * @param userId Identifiant de l'utilisateur
+     * @param roomNumber Numéro de la chambre à bloquer
+     * @param checkIn Date d'arrivée
+     * @param checkOut Date de départ
+     * @param ttl Durée du blocage avant libération automatique
+     * @return Réservation en attente créée, ou motif du refus
+     * @throws IllegalArgumentException si la durée n'est pas strictement positive
+     */
+    BookingResult holdRoom(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut, Duration ttl);
+
+    /**
+     * Confirme un blocage temporaire avant son expiration
+     *
+     * @param bookingId Identifiant de la réservation en attente
+     * @return true si le blocage a été confirmé, false s'il est inconnu, expiré ou déjà traité
+     */
+    boolean confirmHold(long bookingId);
+
+    /**
+     * Libère un blocage temporaire avant son expiration : ses nuits sont libérées et son montant remboursé
+     *
+     * @param bookingId Identifiant de la réservation en attente
+     * @return true si le blocage a été libéré, false s'il est inconnu, expiré ou déjà traité
+     */
+    boolean releaseHold(long bookingId);
+
+    /**
+     * Effectue un lot de réservations
+     *
+     * Le résultat de chaque demande est identique à celui d'appels successifs à bookRoom
+     * dans l'ordre de la liste, sans message console ni journalisation par demande.
+     * Une erreur inattendue (écriture du journal, par exemple) interrompt le lot et est propagée :
+     * les demandes validées avant elle le restent.
+     *
+     * @param requests Demandes de réservation
+     * @return Résultat de chaque demande, dans le même ordre
+     * @throws IllegalArgumentException si la liste est nulle
+     */
+    List<BookingResult> bookRooms(List<BookingRequest> requests);
+
+    /**
+     * Recherche les chambres libres sur une période
+     *
+     * @param roomType Type de chambre recherché, ou null pour tous les types
+     * @param checkIn Date d'arrivée
+     * @param checkOut Date de départ
+     * @param maxPrice Prix par nuit maximal (inclus)
+     * @param limit Nombre maximal de chambres retournées
+     * @return Chambres disponibles, par prix croissant puis numéro croissant
+     * @throws IllegalArgumentException si les paramètres sont invalides
+     */
+    List<Room> findAvailableRooms(RoomType roomType, LocalDate checkIn, LocalDate checkOut, int maxPrice, int limit);
+
     /**
      * Affiche toutes les chambres et réservations
      * Ordre : du plus récent au plus ancien
      */
     void printAll();
 
+    /**
+     * Écrit toutes les chambres et réservations au fil de l'eau, sans tri ni copie
+     * Ordre : du plus récent au plus ancien (ordre d'insertion inverse)
+     *
+     * @param out Destination (Writer, PrintStream, StringBuilder...) ; un OutputStream brut
+     *            s'enveloppe dans un OutputStreamWriter
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    void printAll(Appendable out) throws IOException;
+
     /**
      * Affiche tous les utilisateurs
      * Ordre : du plus récent au plus ancien
      */
     void printAllUsers();
 
+    /**
+     * Écrit tous les utilisateurs au fil de l'eau, sans tri ni copie
+     * Ordre : du plus récent au plus ancien (ordre d'insertion inverse)
+     *
+     * @param out Destination
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    void printAllUsers(Appendable out) throws IOException;
+
+    /**
+     * Retourne une page de chambres, de la plus récente à la plus ancienne
+     *
+     * @param cursor {@link Page#LATEST} pour la première page, sinon le curseur de la page précédente
+     * @param pageSize Nombre maximal d'éléments de la page
+     * @return Page de chambres et curseur de la suivante
+     * @throws IllegalArgumentException si le curseur ou la taille de page sont invalides
+     */
+    Page<Room> listRooms(int cursor, int pageSize);
+
+    /**
+     * Retourne une page d'utilisateurs, du plus récent au plus ancien
+     *
+     * @see #listRooms(int, int)
+     */
+    Page<User> listUsers(int cursor, int pageSize);
+
+    /**
+     * Retourne une page de réservations, de la plus récente à la plus ancienne
+     *
+     * @see #listRooms(int, int)
+     */
+    Page<Booking> listBookings(int cursor, int pageSize);
+
     /**
      * Retourne le nombre total de chambres dans le système
      *
@@ -1,4 +1,8 @@
 package zerheri.fatimazahrae.services;
+
+import zerheri.fatimazahrae.enums.AvailabilityStrategy;
+import zerheri.fatimazahrae.enums.BookingCommitMode;
+
 /**
  * Factory pour créer des instances du service de réservation
   * Cette factory permet de centraliser la création des services
@@ -16,6 +20,45 @@ public class HotelReservationServiceFactory {
         return new HotelReservationServiceImpl();
     }
 
+    /**
+     * Crée une nouvelle instance du service avec un moteur de disponibilité donné
+     *
+     * @param availabilityStrategy Moteur de disponibilité
+     * @return Nouvelle instance de HotelReservationService
+     */
+    public static HotelReservationService createService(AvailabilityStrategy availabilityStrategy) {
+        return new HotelReservationServiceImpl(availabilityStrategy);
+    }
+
+    /**
+     * Crée une nouvelle instance thread-safe du service, pour un accès concurrent
+     *
+     * @return Nouvelle instance de ConcurrentHotelReservationService
+     */
+    public static HotelReservationService createConcurrentService() {
+        return new ConcurrentHotelReservationService();
+    }
+
+    /**
+     * Crée une nouvelle instance thread-safe du service avec une stratégie de validation donnée
+     *
+     * @param commitMode Validation sous verrous ou optimiste (CAS)
+     * @return Nouvelle instance de ConcurrentHotelReservationService
+     */
+    public static HotelReservationService createConcurrentService(BookingCommitMode commitMode) {
+        return new ConcurrentHotelReservationService(commitMode);
+    }
+
+    /**
+     * Crée une nouvelle instance thread-safe du service, chambres partitionnées entre shards à écrivain unique
+     *
+     * @param shardCount Nombre de shards (un thread chacun)
+     * @return Nouvelle instance de ShardedHotelReservationService
+     */
+    public static HotelReservationService createShardedService(int shardCount) {
+        return new ShardedHotelReservationService(shardCount);
+    }
+
     /**
      * Retourne une instance singleton du service (pour les tests)
      *
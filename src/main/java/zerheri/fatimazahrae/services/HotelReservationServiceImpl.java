@@ -1,161 +1,107 @@
 package zerheri.fatimazahrae.services;
 
+import zerheri.fatimazahrae.enums.AvailabilityStrategy;
 import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.BookingStorage;
 import zerheri.fatimazahrae.enums.RoomType;
-import zerheri.fatimazahrae.exceptions.BookingException;
+import zerheri.fatimazahrae.index.AvailabilityEngine;
+import zerheri.fatimazahrae.index.AvailabilityEngines;
+import zerheri.fatimazahrae.index.CompactBookingList;
+import zerheri.fatimazahrae.index.CrossCheckingAvailabilityEngine;
+import zerheri.fatimazahrae.index.IntObjectHashMap;
+import zerheri.fatimazahrae.index.ListScanAvailabilityEngine;
+import zerheri.fatimazahrae.index.LongIntHashMap;
+import zerheri.fatimazahrae.index.RoomSearchIndex;
 import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingResult;
 import zerheri.fatimazahrae.models.Room;
 import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.persistence.ReservationSnapshot;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Date;
-import java.util.Optional;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
  * Implémentation concrète du service de réservation d'hôtel
  *
  * Cette classe gère la logique métier complète du système de réservation,
- * incluant la gestion des chambres, utilisateurs et réservations
+ * incluant la gestion des chambres, utilisateurs et réservations.
+ * Elle n'est pas thread-safe : voir {@link ConcurrentHotelReservationService} pour un accès concurrent.
  */
-public class HotelReservationServiceImpl implements HotelReservationService {
-    private static final Logger logger = Logger.getLogger(HotelReservationServiceImpl.class.getName());
+public class HotelReservationServiceImpl extends AbstractHotelReservationService {
     private final ArrayList<Room> rooms;
     private final ArrayList<User> users;
-    private final ArrayList<Booking> bookings;
+    private final List<Booking> bookings;
 
-    public HotelReservationServiceImpl() {
-        this.rooms = new ArrayList<>();
-        this.users = new ArrayList<>();
-        this.bookings = new ArrayList<>();
+    // Index primitifs (numéro de chambre / identifiant utilisateur -> entité), sans boxing
+    private final IntObjectHashMap<Room> roomsByNumber;
+    private final IntObjectHashMap<User> usersById;
+    // Identifiant de réservation -> position dans l'historique
+    private final LongIntHashMap bookingPositions;
 
-        logger.info("HotelReservationService initialized successfully");
-    }
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void setRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
-        try {
-            Optional<Room> existingRoom = findRoomByNumber(roomNumber);
-
-            if (existingRoom.isPresent()) {
-                // Update existing room without affecting previous bookings
-                updateExistingRoom(existingRoom.get(), roomType, roomPricePerNight);
-                logger.info(String.format("Room %d updated successfully", roomNumber));
-            } else {
-                createNewRoom(roomNumber, roomType, roomPricePerNight);
-                logger.info(String.format("Room %d created successfully", roomNumber));
-            }
+    // Chambres par type, triées par prix, pour la recherche de disponibilité
+    private final RoomSearchIndex roomSearchIndex;
 
-        } catch (IllegalArgumentException e) {
-            logger.log(Level.WARNING, "Invalid parameters for setRoom", e);
-            System.err.println("Error setting room: " + e.getMessage());
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Unexpected error in setRoom", e);
-            System.err.println("Unexpected error setting room: " + e.getMessage());
-        }
+    // Périodes bloquées (CONFIRMED ou PENDING) par chambre
+    private final AvailabilityEngine availabilityEngine;
 
+    public HotelReservationServiceImpl() {
+        this(AvailabilityStrategy.INTERVAL_INDEX);
     }
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void setUser(int userId, int balance) {
-        try {
-            Optional<User> existingUser = findUserById(userId);
-
-            if (existingUser.isPresent()) {
-                updateExistingUser(existingUser.get(), balance);
-                logger.info(String.format("User %d updated successfully", userId));
-            } else {
-                createNewUser(userId, balance);
-                logger.info(String.format("User %d created successfully", userId));
-            }
-
-        } catch (IllegalArgumentException e) {
-            logger.log(Level.WARNING, "Invalid parameters for setUser", e);
-            System.err.println("Error setting user: " + e.getMessage());
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Unexpected error in setUser", e);
-            System.err.println("Unexpected error setting user: " + e.getMessage());
-        }
 
+    public HotelReservationServiceImpl(AvailabilityStrategy availabilityStrategy) {
+        this(availabilityStrategy, false);
     }
 
-    @Override
-    public void bookRoom(int userId, int roomNumber, Date checkIn, Date checkOut) {
-
-        try {
-            validateBookRoomParameters(userId, roomNumber, checkIn, checkOut);
-
-            LocalDate checkInDate = convertToLocalDate(checkIn);
-            LocalDate checkOutDate = convertToLocalDate(checkOut);
-
-            validateBookingDates(checkInDate, checkOutDate);
-
-            User user = findUserById(userId)
-                    .orElseThrow(() -> new BookingException("User not found: " + userId));
-
-            Room room = findRoomByNumber(roomNumber)
-                    .orElseThrow(() -> new BookingException("Room not found: " + roomNumber));
-
-            validateRoomAvailability(roomNumber, checkInDate, checkOutDate);
-
-            processBooking(user, room, checkInDate, checkOutDate);
-
-            logger.info(String.format("Booking successful: User %d, Room %d", userId, roomNumber));
-
-        } catch (BookingException e) {
-            logger.log(Level.WARNING, "Booking failed", e);
-            System.err.println("Booking failed: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            logger.log(Level.WARNING, "Invalid booking parameters", e);
-            System.err.println("Invalid booking parameters: " + e.getMessage());
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Unexpected error during booking", e);
-            System.err.println("Unexpected error during booking: " + e.getMessage());
-        }
+    /**
+     * @param availabilityStrategy Moteur de disponibilité utilisé par bookRoom
+     * @param crossCheckWithListScan Compare chaque réponse au parcours de liste historique
+     *                               (voir {@link #getAvailabilityMismatchCount()})
+     */
+    public HotelReservationServiceImpl(AvailabilityStrategy availabilityStrategy, boolean crossCheckWithListScan) {
+        this(availabilityStrategy, crossCheckWithListScan, BookingStorage.OBJECTS);
     }
 
-    @Override
-    public void printAll() {
-        System.out.println("\n=== ALL ROOMS AND BOOKINGS ===");
-
-        printAllRooms();
-        printAllBookings();
-
-        System.out.println("================================\n");
-
+    /**
+     * @param availabilityStrategy Moteur de disponibilité utilisé par bookRoom
+     * @param bookingStorage Représentation de l'historique ; COMPACT divise sa taille en mémoire
+     *                       par quatre environ, au prix d'un objet Booking reconstruit à chaque lecture
+     */
+    public HotelReservationServiceImpl(AvailabilityStrategy availabilityStrategy, BookingStorage bookingStorage) {
+        this(availabilityStrategy, false, bookingStorage);
     }
 
-    @Override
-    public void printAllUsers() {
-        System.out.println("\n=== ALL USERS ===");
-
-        if (users.isEmpty()) {
-            System.out.println("No users found.");
-        } else {
-            users.stream()
-                    .sorted(Comparator.comparing(User::getCreatedAt).reversed())
-                    .forEach(System.out::println);
+    public HotelReservationServiceImpl(AvailabilityStrategy availabilityStrategy, boolean crossCheckWithListScan,
+                                       BookingStorage bookingStorage) {
+        if (bookingStorage == null) {
+            throw new IllegalArgumentException("Booking storage cannot be null");
         }
+        this.rooms = new ArrayList<>();
+        this.users = new ArrayList<>();
+        this.bookings = bookingStorage == BookingStorage.COMPACT ? new CompactBookingList() : new ArrayList<>();
+        this.roomsByNumber = new IntObjectHashMap<>();
+        this.usersById = new IntObjectHashMap<>();
+        this.bookingPositions = new LongIntHashMap();
+        this.roomSearchIndex = new RoomSearchIndex();
 
-        System.out.println("==================\n");
+        AvailabilityEngine engine = AvailabilityEngines.create(availabilityStrategy, bookings);
+        this.availabilityEngine = crossCheckWithListScan
+                ? new CrossCheckingAvailabilityEngine(engine, new ListScanAvailabilityEngine(bookings))
+                : engine;
 
+        logger.info("HotelReservationService initialized successfully");
     }
 
     @Override
     public int getTotalRoomsCount() {
-        return rooms.size();
+        return roomsByNumber.size();
     }
 
     @Override
     public int getTotalUsersCount() {
-        return users.size();
+        return usersById.size();
     }
 
     @Override
@@ -163,146 +109,274 @@ public class HotelReservationServiceImpl implements HotelReservationService {
         return bookings.size();
     }
 
-
-
-
-
+    /**
+     * Retourne le nombre de divergences entre le moteur de disponibilité et le parcours de liste
+     *
+     * @return Nombre de divergences, 0 si la comparaison n'est pas activée
+     */
+    public long getAvailabilityMismatchCount() {
+        return availabilityEngine instanceof CrossCheckingAvailabilityEngine
+                ? ((CrossCheckingAvailabilityEngine) availabilityEngine).getMismatchCount()
+                : 0;
+    }
 
     // ===============================
-    // MÉTHODES PRIVÉES - BUSINESS LOGIC
+    // MÉTHODES PROTÉGÉES - BUSINESS LOGIC
     // ===============================
 
-    private void updateExistingRoom(Room room, RoomType roomType, int roomPricePerNight) {
-        room.setRoomType(roomType);
-        room.setPricePerNight(roomPricePerNight);
-        System.out.printf("Room %d updated: type=%s, price=%d/night%n",
-                room.getRoomNumber(), roomType.getDisplayName(), roomPricePerNight);
-    }
+    @Override
+    protected boolean upsertRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+        Room existingRoom = findRoomByNumber(roomNumber);
+
+        if (existingRoom != null) {
+            // Update existing room without affecting previous bookings
+            RoomType previousType = existingRoom.getRoomType();
+            int previousPrice = existingRoom.getPricePerNight();
+            existingRoom.update(roomType, roomPricePerNight);
+            roomSearchIndex.remove(previousType, previousPrice, roomNumber);
+            roomSearchIndex.add(roomType, roomPricePerNight, roomNumber);
+            awaitDurable(journalRoom(existingRoom));
+            return false;
+        }
 
-    private void createNewRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
         Room newRoom = new Room(roomNumber, roomType, roomPricePerNight);
-        rooms.add(newRoom);
-        System.out.printf("Room %d created: type=%s, price=%d/night%n",
-                roomNumber, roomType.getDisplayName(), roomPricePerNight);
+        addRoom(newRoom);
+        awaitDurable(journalRoom(newRoom));
+        return true;
     }
 
-    private void updateExistingUser(User user, int balance) {
-        user.setBalance(balance);
-        System.out.printf("User %d balance updated to %d%n", user.getUserId(), balance);
-    }
+    @Override
+    protected boolean upsertUser(int userId, int balance) {
+        User existingUser = findUserById(userId);
+
+        if (existingUser != null) {
+            existingUser.setBalance(balance);
+            awaitDurable(journalUser(existingUser));
+            return false;
+        }
 
-    private void createNewUser(int userId, int balance) {
         User newUser = new User(userId, balance);
         users.add(newUser);
-        System.out.printf("User %d created with balance %d%n", userId, balance);
+        usersById.put(userId, newUser);
+        awaitDurable(journalUser(newUser));
+        return true;
     }
 
+    @Override
+    protected BookingResult tryCreateBooking(int userId, int roomNumber, int checkInDay, int checkOutDay,
+                                             BookingStatus status) {
+        User user = findUserById(userId);
+        if (user == null) {
+            return BookingResult.userNotFound(userId);
+        }
+
+        Room room = findRoomByNumber(roomNumber);
+        if (room == null) {
+            return BookingResult.roomNotFound(roomNumber);
+        }
 
-    private void processBooking(User user, Room room, LocalDate checkInDate, LocalDate checkOutDate)
-            throws BookingException {
-        long nights = java.time.temporal.ChronoUnit.DAYS.between(checkInDate, checkOutDate);
-        int totalCost = (int) (nights * room.getPricePerNight());
+        if (!availabilityEngine.isAvailable(roomNumber, checkInDay, checkOutDay)) {
+            return BookingResult.roomNotAvailable(roomNumber);
+        }
 
+        int totalCost = computeTotalCost(room, checkInDay, checkOutDay);
         if (!user.canAfford(totalCost)) {
-            throw new BookingException(
-                    String.format("Insufficient balance. Required: %d, Available: %d",
-                            totalCost, user.getBalance()));
+            return BookingResult.insufficientBalance(totalCost, user.getBalance());
         }
 
         // Créer la réservation et déduire le solde
-        Booking booking = new Booking(user, room, checkInDate, checkOutDate);
+        Booking booking = new Booking(nextBookingId(), user, room,
+                LocalDate.ofEpochDay(checkInDay), LocalDate.ofEpochDay(checkOutDay), user.getBalance(), status);
         user.deductBalance(totalCost);
-        bookings.add(booking);
-
-        System.out.printf("Booking successful: User %d booked Room %d for %d nights. " +
-                        "Total cost: %d. Remaining balance: %d%n",
-                user.getUserId(), room.getRoomNumber(), nights, totalCost, user.getBalance());
+        addBooking(booking);
+        availabilityEngine.reserve(roomNumber, checkInDay, checkOutDay);
+        awaitDurable(journalBooking(booking));
+        return BookingResult.confirmed(booking);
     }
 
+    @Override
+    protected Booking cancelActiveBooking(long bookingId, BookingStatus expectedStatus) {
+        int position = bookingPositions.get(bookingId);
+        if (position == LongIntHashMap.NO_VALUE) {
+            return null;
+        }
+        Booking booking = bookings.get(position);
+        if (booking.getStatus() != expectedStatus) {
+            return null;
+        }
 
-    // ===============================
-    // MÉTHODES PRIVÉES - VALIDATION
-    // ===============================
+        cancel(position, booking);
+        findUserById(booking.getUserId()).creditBalance(booking.getTotalAmount());
+        journalCancellation(booking);
+        return booking;
+    }
 
-    private void validateBookRoomParameters(int userId, int roomNumber, Date checkIn, Date checkOut) {
-        if (userId <= 0) {
-            throw new IllegalArgumentException("User ID must be positive");
+    @Override
+    protected Booking confirmPendingBooking(long bookingId) {
+        int position = bookingPositions.get(bookingId);
+        if (position == LongIntHashMap.NO_VALUE) {
+            return null;
         }
-        if (roomNumber <= 0) {
-            throw new IllegalArgumentException("Room number must be positive");
+        Booking booking = bookings.get(position);
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            return null;
         }
-        if (checkIn == null) {
-            throw new IllegalArgumentException("Check-in date cannot be null");
+
+        booking.confirm();
+        bookings.set(position, booking);
+        journalConfirmation(booking);
+        return booking;
+    }
+
+    @Override
+    protected void restoreRoom(Room room) {
+        Room existingRoom = findRoomByNumber(room.getRoomNumber());
+        if (existingRoom == null) {
+            addRoom(room);
+            return;
         }
-        if (checkOut == null) {
-            throw new IllegalArgumentException("Check-out date cannot be null");
+        roomSearchIndex.remove(existingRoom.getRoomType(), existingRoom.getPricePerNight(), room.getRoomNumber());
+        existingRoom.update(room.getRoomType(), room.getPricePerNight());
+        roomSearchIndex.add(room.getRoomType(), room.getPricePerNight(), room.getRoomNumber());
+    }
+
+    @Override
+    protected void restoreUser(User user) {
+        User existingUser = findUserById(user.getUserId());
+        if (existingUser == null) {
+            users.add(user);
+            usersById.put(user.getUserId(), user);
+            return;
         }
+        existingUser.setBalance(user.getBalance());
     }
 
-    private void validateBookingDates(LocalDate checkIn, LocalDate checkOut) throws BookingException {
-        if (!checkOut.isAfter(checkIn)) {
-            throw new BookingException("Check-out date must be after check-in date");
+    @Override
+    protected void restoreBooking(Booking booking, boolean debitUser) {
+        addBooking(booking);
+        if (booking.getStatus().blocksRoom()) {
+            availabilityEngine.reserve(booking.getRoomNumber(),
+                    toEpochDay(booking.getCheckIn()), toEpochDay(booking.getCheckOut()));
+        }
+        if (debitUser) {
+            User user = findUserById(booking.getUserId());
+            user.setBalance(user.getBalance() - booking.getTotalAmount());
         }
     }
 
-    private void validateRoomAvailability(int roomNumber, LocalDate checkIn, LocalDate checkOut)
-            throws BookingException {
-        boolean hasConflict = bookings.stream()
-                .filter(booking -> booking.getRoomNumber() == roomNumber)
-                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
-                .anyMatch(booking -> booking.hasDateConflict(checkIn, checkOut));
+    @Override
+    protected Booking restoreCancellation(long bookingId) {
+        int position = bookingPositions.get(bookingId);
+        if (position == LongIntHashMap.NO_VALUE) {
+            logger.warning("Cancellation of unknown booking " + bookingId + " ignored");
+            return null;
+        }
+        Booking booking = bookings.get(position);
+        boolean released = booking.getStatus().blocksRoom();
+        if (released) {
+            cancel(position, booking);
+        }
+        findUserById(booking.getUserId()).creditBalance(booking.getTotalAmount());
+        return released ? booking : null;
+    }
 
-        if (hasConflict) {
-            throw new BookingException(
-                    String.format("Room %d is not available for the specified period", roomNumber));
+    @Override
+    protected Booking restoreConfirmation(long bookingId) {
+        int position = bookingPositions.get(bookingId);
+        if (position == LongIntHashMap.NO_VALUE) {
+            logger.warning("Confirmation of unknown booking " + bookingId + " ignored");
+            return null;
+        }
+        Booking booking = bookings.get(position);
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            return null;
         }
+        booking.confirm();
+        bookings.set(position, booking);
+        return booking;
     }
 
+    @Override
+    protected List<Room> searchAvailableRooms(RoomType roomType, int checkInDay, int checkOutDay,
+                                              int maxPrice, int limit, IntConsumer candidates) {
+        List<Room> availableRooms = new ArrayList<>(Math.min(limit, 16));
+        roomSearchIndex.forEachUpToPrice(roomType, maxPrice, roomNumber -> {
+            candidates.accept(roomNumber);
+            if (availabilityEngine.isAvailable(roomNumber, checkInDay, checkOutDay)) {
+                availableRooms.add(roomsByNumber.get(roomNumber));
+            }
+            return availableRooms.size() < limit;
+        });
+        return availableRooms;
+    }
 
-    // ===============================
-    // MÉTHODES PRIVÉES - AFFICHAGE
-    // ===============================
-    private void printAllRooms() {
-        System.out.println("\n--- ROOMS (Latest to Oldest) ---");
-        if (rooms.isEmpty()) {
-            System.out.println("No rooms found.");
-        } else {
-            rooms.stream()
-                    .sorted(Comparator.comparing(Room::getCreatedAt).reversed())
-                    .forEach(System.out::println);
+    /**
+     * Comme le reste de la classe, à appeler depuis le thread qui modifie le service
+     */
+    @Override
+    protected ReservationSnapshot captureSnapshot() {
+        List<Room> roomCopies = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            roomCopies.add(new Room(room.getRoomNumber(), room.getRoomType(), room.getPricePerNight(),
+                    room.getCreatedAt()));
+        }
+        List<User> userCopies = new ArrayList<>(users.size());
+        for (User user : users) {
+            userCopies.add(new User(user.getUserId(), user.getBalance(), user.getCreatedAt()));
         }
+        return new ReservationSnapshot(journalPosition(), roomCopies, userCopies, bookings, bookings.size());
     }
 
-    private void printAllBookings() {
-        System.out.println("\n--- BOOKINGS (Latest to Oldest) ---");
-        if (bookings.isEmpty()) {
-            System.out.println("No bookings found.");
-        } else {
-            bookings.stream()
-                    .sorted(Comparator.comparing(Booking::getCreatedAt).reversed())
-                    .forEach(System.out::println);
-        }
+    @Override
+    protected long getIndexedPeriodCount() {
+        return availabilityEngine.getIndexedPeriodCount();
+    }
+
+    @Override
+    protected List<Room> getRooms() {
+        return rooms;
     }
+
+    @Override
+    protected List<User> getUsers() {
+        return users;
+    }
+
+    @Override
+    protected List<Booking> getBookings() {
+        return bookings;
+    }
+
     // ===============================
     // MÉTHODES PRIVÉES - UTILITIES
     // ===============================
 
-    private Optional<Room> findRoomByNumber(int roomNumber) {
-        return rooms.stream()
-                .filter(room -> room.getRoomNumber() == roomNumber)
-                .findFirst();
+    private void addRoom(Room room) {
+        rooms.add(room);
+        roomsByNumber.put(room.getRoomNumber(), room);
+        roomSearchIndex.add(room.getRoomType(), room.getPricePerNight(), room.getRoomNumber());
     }
 
-    private Optional<User> findUserById(int userId) {
-        return users.stream()
-                .filter(user -> user.getUserId() == userId)
-                .findFirst();
+    private void addBooking(Booking booking) {
+        bookingPositions.put(booking.getBookingId(), bookings.size());
+        bookings.add(booking);
     }
 
-    private LocalDate convertToLocalDate(Date date) {
-        return date.toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDate();
+    /**
+     * Change le statut dans l'historique (réécrit la colonne du stockage compact) puis libère la période
+     */
+    private void cancel(int position, Booking booking) {
+        booking.cancel();
+        bookings.set(position, booking);
+        availabilityEngine.release(booking.getRoomNumber(),
+                toEpochDay(booking.getCheckIn()), toEpochDay(booking.getCheckOut()));
     }
 
+    private Room findRoomByNumber(int roomNumber) {
+        return roomsByNumber.get(roomNumber);
+    }
 
-
+    private User findUserById(int userId) {
+        return usersById.get(userId);
+    }
 }
@@ -0,0 +1,291 @@
+package zerheri.fatimazahrae.services;
+
+import zerheri.fatimazahrae.analytics.OccupancyAggregates;
+import zerheri.fatimazahrae.cache.AvailabilityCache;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingRequest;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Page;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.persistence.ReservationSnapshot;
+import zerheri.fatimazahrae.replication.JournalFollower;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Copie en lecture seule d'un service primaire, tenue à jour par son journal expédié sur TCP
+ *
+ * Les mutations reçues ({@link JournalFollower}) sont appliquées à un {@link HotelReservationServiceImpl}
+ * privé, comme au rejeu du journal ; les lectures (affichage, compteurs, recherche, pages) l'interrogent
+ * sous un verrou de lecture partagé, exclusif de l'application d'une trame. Les blocages temporaires
+ * ne sont jamais libérés ici : le primaire journalise leur confirmation ou leur expiration.
+ *
+ * Toute mutation est refusée par {@link UnsupportedOperationException}. Les lectures reflètent le journal
+ * synchronisé du primaire avec un retard exposé par {@link #getFollower()}.
+ */
+public final class ReadReplica implements HotelReservationService, Closeable {
+    private final HotelReservationServiceImpl replica;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final JournalFollower follower;
+
+    private ReadReplica(HotelReservationServiceImpl replica, InetSocketAddress primary, long fromPosition,
+                        Set<Long> pendingHolds) {
+        this.replica = replica;
+        this.follower = JournalFollower.start(primary, fromPosition,
+                replica.restoringVisitor(true, pendingHolds), lock.writeLock());
+    }
+
+    /**
+     * Construit une réplique à partir de tout l'historique du journal du primaire
+     *
+     * @param primary Adresse de l'expéditeur du journal du primaire
+     * @return Réplique, alimentée en arrière-plan
+     */
+    public static ReadReplica follow(InetSocketAddress primary) {
+        return new ReadReplica(newReplicaService(), primary, 0, new HashSet<>());
+    }
+
+    /**
+     * Charge un instantané du primaire puis suit son journal à partir de la position qu'il couvre
+     *
+     * @param primary Adresse de l'expéditeur du journal du primaire
+     * @param snapshotFile Copie d'un instantané écrit par le primaire
+     * @return Réplique, alimentée en arrière-plan
+     * @throws IOException si l'instantané est illisible ou corrompu
+     */
+    public static ReadReplica follow(InetSocketAddress primary, Path snapshotFile) throws IOException {
+        HotelReservationServiceImpl replica = newReplicaService();
+        // Blocages en attente de l'instantané, que le journal confirmera ou libérera
+        Set<Long> pendingHolds = new HashSet<>();
+        long position = ReservationSnapshot.load(snapshotFile, replica.restoringVisitor(false, pendingHolds));
+        return new ReadReplica(replica, primary, position, pendingHolds);
+    }
+
+    /**
+     * @return Suivi du journal : positions, retard, attente d'une position
+     */
+    public JournalFollower getFollower() {
+        return follower;
+    }
+
+    /**
+     * Active le cache des recherches de disponibilité de la réplique, périmé par les mutations reçues
+     *
+     * @param maxEntries Nombre maximal de réponses conservées
+     * @param maxAge Âge au-delà duquel une réponse est recalculée
+     * @return Cache activé, pour lire ses statistiques
+     */
+    public AvailabilityCache enableAvailabilityCache(int maxEntries, Duration maxAge) {
+        lock.writeLock().lock();
+        try {
+            return replica.enableAvailabilityCache(maxEntries, maxAge);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active les agrégats d'occupation et de chiffre d'affaires de la réplique, tenus à jour
+     * par les mutations reçues
+     *
+     * @return Agrégats activés, à interroger par période
+     */
+    public OccupancyAggregates enableOccupancyAggregates() {
+        lock.writeLock().lock();
+        try {
+            return replica.enableOccupancyAggregates();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Arrête le suivi du journal ; l'état déjà reçu reste lisible
+     */
+    @Override
+    public void close() throws IOException {
+        follower.close();
+    }
+
+    // ===============================
+    // LECTURES
+    // ===============================
+
+    @Override
+    public List<Room> findAvailableRooms(RoomType roomType, LocalDate checkIn, LocalDate checkOut,
+                                         int maxPrice, int limit) {
+        return read(() -> replica.findAvailableRooms(roomType, checkIn, checkOut, maxPrice, limit));
+    }
+
+    @Override
+    public void printAll() {
+        read(() -> {
+            replica.printAll();
+            return null;
+        });
+    }
+
+    @Override
+    public void printAll(Appendable out) throws IOException {
+        lock.readLock().lock();
+        try {
+            replica.printAll(out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void printAllUsers() {
+        read(() -> {
+            replica.printAllUsers();
+            return null;
+        });
+    }
+
+    @Override
+    public void printAllUsers(Appendable out) throws IOException {
+        lock.readLock().lock();
+        try {
+            replica.printAllUsers(out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<Room> listRooms(int cursor, int pageSize) {
+        return read(() -> replica.listRooms(cursor, pageSize));
+    }
+
+    @Override
+    public Page<User> listUsers(int cursor, int pageSize) {
+        return read(() -> replica.listUsers(cursor, pageSize));
+    }
+
+    @Override
+    public Page<Booking> listBookings(int cursor, int pageSize) {
+        return read(() -> replica.listBookings(cursor, pageSize));
+    }
+
+    @Override
+    public int getTotalRoomsCount() {
+        return read(replica::getTotalRoomsCount);
+    }
+
+    @Override
+    public int getTotalUsersCount() {
+        return read(replica::getTotalUsersCount);
+    }
+
+    @Override
+    public int getTotalBookingsCount() {
+        return read(replica::getTotalBookingsCount);
+    }
+
+    // ===============================
+    // MUTATIONS REFUSÉES
+    // ===============================
+
+    @Override
+    public void setRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean trySetRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setUser(int userId, int balance) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean trySetUser(int userId, int balance) {
+        throw readOnly();
+    }
+
+    @Override
+    public void bookRoom(int userId, int roomNumber, Date checkIn, Date checkOut) {
+        throw readOnly();
+    }
+
+    @Override
+    public void bookRoom(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        throw readOnly();
+    }
+
+    @Override
+    public BookingResult tryBookRoom(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        throw readOnly();
+    }
+
+    @Override
+    public BookingResult tryBookRoom(int userId, int roomNumber, int checkInEpochDay, int checkOutEpochDay) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean cancelBooking(long bookingId) {
+        throw readOnly();
+    }
+
+    @Override
+    public BookingResult holdRoom(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut, Duration ttl) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean confirmHold(long bookingId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean releaseHold(long bookingId) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<BookingResult> bookRooms(List<BookingRequest> requests) {
+        throw readOnly();
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    private static HotelReservationServiceImpl newReplicaService() {
+        HotelReservationServiceImpl replica = new HotelReservationServiceImpl();
+        replica.setEventSink(ReservationEventSink.SILENT);
+        return replica;
+    }
+
+    private <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Read replica is read-only");
+    }
+}
@@ -0,0 +1,679 @@
+package zerheri.fatimazahrae.services;
+
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.index.AppendOnlyList;
+import zerheri.fatimazahrae.index.BoundedMpscQueue;
+import zerheri.fatimazahrae.index.IntObjectHashMap;
+import zerheri.fatimazahrae.index.RoomIntervalIndex;
+import zerheri.fatimazahrae.index.RoomSearchIndex;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.persistence.ReservationSnapshot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Implémentation thread-safe du service de réservation, sans verrou : chambres partitionnées
+ * entre shards à écrivain unique
+ *
+ * Chaque shard possède un sous-ensemble des chambres (par numéro), leurs périodes réservées et
+ * leur index de recherche. Un seul thread par shard les modifie, en consommant dans l'ordre une file
+ * bornée alimentée par tous les appelants (style LMAX) : vérification de disponibilité, débit et
+ * indexation d'une réservation sont donc atomiques sans verrou, et deux réservations d'une même
+ * chambre ne peuvent pas se chevaucher. L'appelant attend la réponse de son shard ; une file pleine
+ * le fait patienter (pression arrière).
+ *
+ * Les utilisateurs sont eux aussi répartis entre les shards : le shard propriétaire est le seul
+ * à modifier leur solde (setUser, débit, remboursement) et à journaliser ces changements, si bien que
+ * l'ordre du journal suit celui des écritures en mémoire pour chaque utilisateur. Une réservation
+ * suit un protocole en deux temps : le shard de la chambre bloque la période (réserve), puis le shard
+ * de l'utilisateur débite le solde et journalise la réservation (validation) ; un solde insuffisant
+ * fait libérer la période par le shard de la chambre (abandon) ; entre-temps, la période paraît occupée
+ * aux autres demandes. Une annulation marque la réservation
+ * sur le shard de la chambre, rembourse et journalise sur celui de l'utilisateur, puis libère la période :
+ * une nouvelle réservation de la même période est toujours journalisée après l'annulation.
+ *
+ * Une recherche interroge tous les shards en parallèle et fusionne leurs résultats par prix.
+ * La restauration (openJournal) modifie l'état des shards depuis le thread appelant :
+ * elle doit précéder toute autre opération.
+ */
+public class ShardedHotelReservationService extends AbstractHotelReservationService {
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    // Itérations d'attente active d'un shard avant de s'endormir
+    private static final int IDLE_SPINS = 64;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final Comparator<Room> BY_PRICE_THEN_NUMBER =
+            Comparator.comparingInt(Room::getPricePerNight).thenComparingInt(Room::getRoomNumber);
+
+    private final Shard[] shards;
+
+    // Écrits uniquement par le shard propriétaire ; lisibles par tous les threads
+    private final ConcurrentHashMap<Integer, Room> roomsByNumber;
+    private final ConcurrentHashMap<Integer, User> usersById;
+    private final ConcurrentHashMap<Long, Booking> bookingsById;
+
+    // Ordre de création, pour l'affichage et la pagination
+    private final AppendOnlyList<Room> rooms;
+    private final AppendOnlyList<User> users;
+    private final AppendOnlyList<Booking> bookings;
+
+    public ShardedHotelReservationService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedHotelReservationService(int shardCount) {
+        this(shardCount, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param shardCount Nombre de shards, donc de threads écrivains
+     * @param queueCapacity Nombre maximal de messages en attente par shard
+     *                      (arrondi à la puissance de deux supérieure)
+     */
+    public ShardedHotelReservationService(int shardCount, int queueCapacity) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.roomsByNumber = new ConcurrentHashMap<>();
+        this.usersById = new ConcurrentHashMap<>();
+        this.bookingsById = new ConcurrentHashMap<>();
+        this.rooms = new AppendOnlyList<>();
+        this.users = new AppendOnlyList<>();
+        this.bookings = new AppendOnlyList<>();
+
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+
+        logger.info("ShardedHotelReservationService initialized with " + shardCount + " shards, queue capacity "
+                + shards[0].queue.capacity());
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Arrête les threads des shards après les messages déjà reçus ; le service n'est plus utilisable,
+     * toute opération ultérieure échoue par {@link IllegalStateException}
+     */
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    @Override
+    public int getTotalRoomsCount() {
+        return roomsByNumber.size();
+    }
+
+    @Override
+    public int getTotalUsersCount() {
+        return usersById.size();
+    }
+
+    @Override
+    public int getTotalBookingsCount() {
+        return bookings.size();
+    }
+
+    // ===============================
+    // MÉTHODES PROTÉGÉES - BUSINESS LOGIC
+    // ===============================
+
+    @Override
+    protected boolean upsertRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+        Shard shard = roomShard(roomNumber);
+        boolean created = shard.call(() -> {
+            Room room = roomsByNumber.get(roomNumber);
+            if (room == null) {
+                room = new Room(roomNumber, roomType, roomPricePerNight);
+                shard.addRoom(room);
+                roomsByNumber.put(roomNumber, room);
+                rooms.add(room);
+                journalRoom(room);
+                return true;
+            }
+            shard.searchIndex.remove(room.getRoomType(), room.getPricePerNight(), roomNumber);
+            // Update existing room without affecting previous bookings
+            room.update(roomType, roomPricePerNight);
+            shard.searchIndex.add(roomType, roomPricePerNight, roomNumber);
+            journalRoom(room);
+            return false;
+        });
+        awaitJournalDurable();
+        return created;
+    }
+
+    @Override
+    protected boolean upsertUser(int userId, int balance) {
+        boolean created = userShard(userId).call(() -> {
+            User user = usersById.get(userId);
+            if (user == null) {
+                user = new User(userId, balance);
+                usersById.put(userId, user);
+                users.add(user);
+                journalUser(user);
+                return true;
+            }
+            user.setBalance(balance);
+            journalUser(user);
+            return false;
+        });
+        awaitJournalDurable();
+        return created;
+    }
+
+    @Override
+    protected BookingResult tryCreateBooking(int userId, int roomNumber, int checkInDay, int checkOutDay,
+                                             BookingStatus status) {
+        User user = usersById.get(userId);
+        if (user == null) {
+            return BookingResult.userNotFound(userId);
+        }
+        Room room = roomsByNumber.get(roomNumber);
+        if (room == null) {
+            return BookingResult.roomNotFound(roomNumber);
+        }
+
+        Shard shard = roomShard(roomNumber);
+        Room reserved = shard.call(() -> reservePeriod(shard, room, checkInDay, checkOutDay));
+        if (reserved == null) {
+            return BookingResult.roomNotAvailable(roomNumber);
+        }
+        BookingResult result = userShard(userId).call(() -> commitBooking(user, reserved, checkInDay, checkOutDay,
+                status));
+        if (!result.isConfirmed()) {
+            shard.call(() -> {
+                shard.release(roomNumber, checkInDay, checkOutDay);
+                return null;
+            });
+            return result;
+        }
+        awaitJournalDurable();
+        return result;
+    }
+
+    /**
+     * Interroge tous les shards en parallèle, chacun limité au plafond de résultats,
+     * puis fusionne par prix croissant (puis numéro croissant)
+     */
+    @Override
+    protected List<Room> searchAvailableRooms(RoomType roomType, int checkInDay, int checkOutDay,
+                                              int maxPrice, int limit, IntConsumer candidates) {
+        // Les shards examinent leurs chambres en parallèle
+        IntConsumer sharedCandidates = roomNumber -> {
+            synchronized (candidates) {
+                candidates.accept(roomNumber);
+            }
+        };
+        List<CompletableFuture<List<Room>>> partials = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            partials.add(shard.submit(() -> searchShard(shard, roomType, checkInDay, checkOutDay, maxPrice, limit,
+                    sharedCandidates)));
+        }
+        List<Room> availableRooms = new ArrayList<>();
+        for (CompletableFuture<List<Room>> partial : partials) {
+            availableRooms.addAll(join(partial));
+        }
+        availableRooms.sort(BY_PRICE_THEN_NUMBER);
+        return availableRooms.size() > limit ? new ArrayList<>(availableRooms.subList(0, limit)) : availableRooms;
+    }
+
+    @Override
+    protected Booking cancelActiveBooking(long bookingId, BookingStatus expectedStatus) {
+        Booking booking = bookingsById.get(bookingId);
+        if (booking == null) {
+            return null;
+        }
+        Shard shard = roomShard(booking.getRoomNumber());
+        boolean cancelled = shard.call(() -> {
+            if (booking.getStatus() != expectedStatus) {
+                return false;
+            }
+            booking.cancel();
+            return true;
+        });
+        if (!cancelled) {
+            return null;
+        }
+        // Période encore bloquée : aucune réservation concurrente n'est journalisée avant l'annulation
+        userShard(booking.getUserId()).call(() -> {
+            usersById.get(booking.getUserId()).creditBalance(booking.getTotalAmount());
+            journalCancellation(booking);
+            return null;
+        });
+        shard.call(() -> {
+            shard.release(booking);
+            return null;
+        });
+        return booking;
+    }
+
+    @Override
+    protected Booking confirmPendingBooking(long bookingId) {
+        Booking booking = bookingsById.get(bookingId);
+        if (booking == null) {
+            return null;
+        }
+        return roomShard(booking.getRoomNumber()).call(() -> {
+            if (booking.getStatus() != BookingStatus.PENDING) {
+                return null;
+            }
+            booking.confirm();
+            journalConfirmation(booking);
+            return booking;
+        });
+    }
+
+    /**
+     * Les blocages échus sont libérés par le thread d'expiration, via le shard de leur chambre
+     */
+    @Override
+    protected boolean expiresHoldsInBackground() {
+        return true;
+    }
+
+    /**
+     * La capture immobilise tous les shards le temps de la copie
+     */
+    @Override
+    protected boolean capturesSnapshotsConcurrently() {
+        return true;
+    }
+
+    @Override
+    protected void restoreRoom(Room room) {
+        Shard shard = roomShard(room.getRoomNumber());
+        Room existingRoom = roomsByNumber.get(room.getRoomNumber());
+        if (existingRoom == null) {
+            shard.addRoom(room);
+            roomsByNumber.put(room.getRoomNumber(), room);
+            rooms.add(room);
+            return;
+        }
+        shard.searchIndex.remove(existingRoom.getRoomType(), existingRoom.getPricePerNight(), room.getRoomNumber());
+        existingRoom.update(room.getRoomType(), room.getPricePerNight());
+        shard.searchIndex.add(room.getRoomType(), room.getPricePerNight(), room.getRoomNumber());
+    }
+
+    @Override
+    protected void restoreUser(User user) {
+        User existingUser = usersById.putIfAbsent(user.getUserId(), user);
+        if (existingUser == null) {
+            users.add(user);
+        } else {
+            existingUser.setBalance(user.getBalance());
+        }
+    }
+
+    @Override
+    protected void restoreBooking(Booking booking, boolean debitUser) {
+        if (booking.getStatus().blocksRoom()) {
+            roomShard(booking.getRoomNumber()).reserve(booking.getRoomNumber(),
+                    toEpochDay(booking.getCheckIn()), toEpochDay(booking.getCheckOut()));
+        }
+        if (debitUser) {
+            User user = usersById.get(booking.getUserId());
+            user.setBalance(user.getBalance() - booking.getTotalAmount());
+        }
+        bookings.add(booking);
+        bookingsById.put(booking.getBookingId(), booking);
+    }
+
+    @Override
+    protected Booking restoreCancellation(long bookingId) {
+        Booking booking = bookingsById.get(bookingId);
+        if (booking == null) {
+            logger.warning("Cancellation of unknown booking " + bookingId + " ignored");
+            return null;
+        }
+        boolean released = booking.getStatus().blocksRoom();
+        if (released) {
+            booking.cancel();
+            roomShard(booking.getRoomNumber()).release(booking);
+        }
+        usersById.get(booking.getUserId()).creditBalance(booking.getTotalAmount());
+        return released ? booking : null;
+    }
+
+    @Override
+    protected Booking restoreConfirmation(long bookingId) {
+        Booking booking = bookingsById.get(bookingId);
+        if (booking == null) {
+            logger.warning("Confirmation of unknown booking " + bookingId + " ignored");
+            return null;
+        }
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            return null;
+        }
+        booking.confirm();
+        return booking;
+    }
+
+    /**
+     * Immobilise tous les shards (chacun traite un message de pause) le temps de copier chambres
+     * et utilisateurs ; comme pour le service concurrent, seul le nombre de réservations est capturé
+     */
+    @Override
+    protected ReservationSnapshot captureSnapshot() {
+        CountDownLatch paused = new CountDownLatch(shards.length);
+        CountDownLatch resumed = new CountDownLatch(1);
+        for (Shard shard : shards) {
+            shard.submit(() -> {
+                paused.countDown();
+                awaitUninterruptibly(resumed);
+                return null;
+            });
+        }
+        try {
+            awaitUninterruptibly(paused);
+            List<Room> roomCopies = new ArrayList<>(rooms.size());
+            for (Room room : rooms) {
+                roomCopies.add(new Room(room.getRoomNumber(), room.getRoomType(), room.getPricePerNight(),
+                        room.getCreatedAt()));
+            }
+            List<User> userCopies = new ArrayList<>(users.size());
+            for (User user : users) {
+                userCopies.add(new User(user.getUserId(), user.getBalance(), user.getCreatedAt()));
+            }
+            return new ReservationSnapshot(journalPosition(), roomCopies, userCopies, bookings, bookings.size());
+        } finally {
+            resumed.countDown();
+        }
+    }
+
+    /**
+     * Somme des compteurs publiés par chaque shard : valeur approchée pendant les écritures
+     */
+    @Override
+    protected long getIndexedPeriodCount() {
+        long count = 0;
+        for (Shard shard : shards) {
+            count += shard.indexedPeriods;
+        }
+        return count;
+    }
+
+    @Override
+    protected List<Room> getRooms() {
+        return Collections.unmodifiableList(rooms);
+    }
+
+    @Override
+    protected List<User> getUsers() {
+        return Collections.unmodifiableList(users);
+    }
+
+    @Override
+    protected List<Booking> getBookings() {
+        return Collections.unmodifiableList(bookings);
+    }
+
+    // ===============================
+    // MÉTHODES PRIVÉES
+    // ===============================
+
+    /**
+     * Bloque la période si elle est libre (réserve) ; exécuté par le thread du shard de la chambre
+     *
+     * @return Copie de la chambre au moment du blocage (type et prix facturés), ou null en cas de conflit
+     */
+    private Room reservePeriod(Shard shard, Room room, int checkInDay, int checkOutDay) {
+        if (shard.bookedIntervals.get(room.getRoomNumber()).hasConflict(checkInDay, checkOutDay)) {
+            return null;
+        }
+        shard.reserve(room.getRoomNumber(), checkInDay, checkOutDay);
+        return new Room(room.getRoomNumber(), room.getRoomType(), room.getPricePerNight(), room.getCreatedAt());
+    }
+
+    /**
+     * Débite l'utilisateur et enregistre la réservation (validation) ; exécuté par le thread du shard
+     * de l'utilisateur, comme ses setUser : débit et journalisation suivent le même ordre
+     */
+    private BookingResult commitBooking(User user, Room room, int checkInDay, int checkOutDay, BookingStatus status) {
+        int totalCost = computeTotalCost(room, checkInDay, checkOutDay);
+        int balanceBefore = user.tryDeductBalance(totalCost);
+        if (balanceBefore < 0) {
+            return BookingResult.insufficientBalance(totalCost, user.getBalance());
+        }
+
+        Booking booking = new Booking(nextBookingId(), user, room,
+                LocalDate.ofEpochDay(checkInDay), LocalDate.ofEpochDay(checkOutDay), balanceBefore, status);
+        bookings.add(booking);
+        bookingsById.put(booking.getBookingId(), booking);
+        journalBooking(booking);
+        return BookingResult.confirmed(booking);
+    }
+
+    /**
+     * Chambres libres d'un shard, par prix croissant ; exécuté par le thread du shard
+     */
+    private List<Room> searchShard(Shard shard, RoomType roomType, int checkInDay, int checkOutDay,
+                                   int maxPrice, int limit, IntConsumer candidates) {
+        List<Room> availableRooms = new ArrayList<>(Math.min(limit, 16));
+        shard.searchIndex.forEachUpToPrice(roomType, maxPrice, roomNumber -> {
+            candidates.accept(roomNumber);
+            if (!shard.bookedIntervals.get(roomNumber).hasConflict(checkInDay, checkOutDay)) {
+                availableRooms.add(roomsByNumber.get(roomNumber));
+            }
+            return availableRooms.size() < limit;
+        });
+        return availableRooms;
+    }
+
+    private Shard roomShard(int roomNumber) {
+        return shards[Math.floorMod(spread(roomNumber), shards.length)];
+    }
+
+    private Shard userShard(int userId) {
+        // Sel distinct pour ne pas aligner systématiquement la chambre n et l'utilisateur n
+        return shards[Math.floorMod(spread(userId ^ 0x5BD1E995), shards.length)];
+    }
+
+    private static int spread(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Message adressé à un shard : exécuté au plus une fois, par le shard ou refusé par son expéditeur
+     * si le shard s'est arrêté entre-temps (le premier qui le réclame l'emporte)
+     */
+    private static final class Message<T> implements Runnable {
+        private final Supplier<T> task;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Message(Supplier<T> task) {
+            this.task = task;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void run() {
+            if (!claim()) {
+                return;
+            }
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Partition de chambres et thread unique qui la modifie
+     *
+     * Toutes les structures de la partition ne sont lues et écrites que par ce thread
+     * (ou par la restauration, avant tout message).
+     */
+    private static final class Shard implements Runnable {
+        private final BoundedMpscQueue<Runnable> queue;
+        private final Thread thread;
+        private final IntObjectHashMap<RoomIntervalIndex> bookedIntervals = new IntObjectHashMap<>();
+        private final RoomSearchIndex searchIndex = new RoomSearchIndex();
+        // Jauge publiée pour la supervision ; un seul écrivain
+        private volatile long indexedPeriods;
+        private volatile boolean sleeping;
+        private volatile boolean running = true;
+        // Publié par le thread du shard avant sa dernière vidange de la file
+        private volatile boolean stopped;
+
+        private Shard(int index, int queueCapacity) {
+            this.queue = new BoundedMpscQueue<>(queueCapacity);
+            this.thread = new Thread(this, "reservation-shard-" + index);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running) {
+                Runnable task = queue.poll();
+                if (task != null) {
+                    task.run();
+                    idle = 0;
+                } else if (++idle < IDLE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    // Annonce du sommeil, puis dernière vérification : un producteur qui publie
+                    // ensuite voit sleeping et réveille le thread
+                    sleeping = true;
+                    task = queue.poll();
+                    if (task == null) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    sleeping = false;
+                    if (task != null) {
+                        task.run();
+                    }
+                    idle = 0;
+                }
+            }
+            // Messages reçus avant l'arrêt ; ceux publiés ensuite sont refusés par leur expéditeur
+            stopped = true;
+            Runnable task;
+            while ((task = queue.poll()) != null) {
+                task.run();
+            }
+        }
+
+        /**
+         * Envoie un message au shard ; patiente tant que sa file est pleine
+         *
+         * @throws IllegalStateException si le shard est arrêté
+         */
+        private <T> CompletableFuture<T> submit(Supplier<T> task) {
+            Message<T> message = new Message<>(task);
+            if (Thread.currentThread() == thread) {
+                // Message envoyé par le shard à lui-même : exécuté sur place
+                message.run();
+                return message.result;
+            }
+            if (!running) {
+                throw stoppedException();
+            }
+            while (!queue.offer(message)) {
+                if (!running) {
+                    throw stoppedException();
+                }
+                Thread.yield();
+            }
+            if (stopped && message.claim()) {
+                // Publié après la dernière vidange : le shard ne le traitera jamais
+                message.result.completeExceptionally(stoppedException());
+            } else if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+            return message.result;
+        }
+
+        private <T> T call(Supplier<T> task) {
+            return join(submit(task));
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+        private IllegalStateException stoppedException() {
+            return new IllegalStateException("Shard " + thread.getName() + " is stopped");
+        }
+
+        private void addRoom(Room room) {
+            bookedIntervals.put(room.getRoomNumber(), new RoomIntervalIndex());
+            searchIndex.add(room.getRoomType(), room.getPricePerNight(), room.getRoomNumber());
+        }
+
+        private void reserve(int roomNumber, int checkInDay, int checkOutDay) {
+            bookedIntervals.get(roomNumber).add(checkInDay, checkOutDay);
+            indexedPeriods = indexedPeriods + 1;
+        }
+
+        private void release(Booking booking) {
+            release(booking.getRoomNumber(), toEpochDay(booking.getCheckIn()), toEpochDay(booking.getCheckOut()));
+        }
+
+        private void release(int roomNumber, int checkInDay, int checkOutDay) {
+            if (bookedIntervals.get(roomNumber).remove(checkInDay, checkOutDay)) {
+                indexedPeriods = indexedPeriods - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package zerheri.fatimazahrae.analytics;
+
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.services.ConcurrentHotelReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests des analyses fork-join : résultats parallèles, séquentiels et calculés naïvement identiques
+ */
+@DisplayName("Booking Analytics Tests")
+class BookingAnalyticsTest {
+
+    private static final LocalDate ORIGIN = LocalDate.of(2027, 1, 1);
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should compute the same reductions in parallel and sequentially, confirmed bookings only")
+    void shouldMatchSequentialAndNaiveResults() {
+        // Given
+        List<Booking> bookings = randomBookings(200_000, new Random(11));
+        var parallel = new BookingAnalytics(bookings, pool);
+        var sequential = new BookingAnalytics(bookings, null);
+
+        // When
+        var parallelTop = parallel.topUsersBySpend(10);
+        var parallelLeadTimes = parallel.leadTimeHistogram(60);
+        var parallelStays = parallel.lengthOfStayHistogram(14);
+
+        // Then
+        assertThat(parallel.isParallel()).isTrue();
+        assertThat(parallelTop).isEqualTo(sequential.topUsersBySpend(10)).isEqualTo(naiveTopUsers(bookings, 10));
+        assertThat(parallelLeadTimes).isEqualTo(sequential.leadTimeHistogram(60));
+        assertThat(parallelStays).isEqualTo(sequential.lengthOfStayHistogram(14));
+        long confirmed = bookings.stream().filter(b -> b.getStatus() == BookingStatus.CONFIRMED).count();
+        assertThat(sum(parallelLeadTimes)).isEqualTo(confirmed);
+        long confirmedSuites = bookings.stream().filter(b -> b.getStatus() == BookingStatus.CONFIRMED
+                && b.getRoomTypeAtBooking() == RoomType.MASTER_SUITE).count();
+        assertThat(sum(parallelStays[RoomType.MASTER_SUITE.ordinal()])).isEqualTo(confirmedSuites);
+    }
+
+    @Test
+    @DisplayName("Should group lead times and stays beyond their limits into the last bucket")
+    void shouldBucketLeadTimesAndStays() {
+        // Given: créée 10 jours avant l'arrivée pour 3 nuits, puis créée après l'arrivée pour 20 nuits
+        var bookings = List.of(
+                booking(1, 1, RoomType.STANDARD, ORIGIN.plusDays(10), 3, ORIGIN, BookingStatus.CONFIRMED),
+                booking(2, 1, RoomType.STANDARD, ORIGIN, 20, ORIGIN.plusDays(2), BookingStatus.CONFIRMED),
+                booking(3, 2, RoomType.STANDARD, ORIGIN, 1, ORIGIN, BookingStatus.CANCELLED));
+        var analytics = new BookingAnalytics(bookings, null);
+
+        // When
+        long[] leadTimes = analytics.leadTimeHistogram(5);
+        long[][] stays = analytics.lengthOfStayHistogram(7);
+
+        // Then
+        assertThat(leadTimes).containsExactly(1, 0, 0, 0, 0, 1);
+        assertThat(stays[RoomType.STANDARD.ordinal()]).containsExactly(0, 0, 0, 1, 0, 0, 0, 1);
+        assertThat(analytics.topUsersBySpend(5)).containsExactly(new UserSpend(1, 2_300, 2));
+        assertThrows(IllegalArgumentException.class, () -> new BookingAnalytics(new LinkedList<>(bookings), null));
+    }
+
+    @Test
+    @DisplayName("Should analyse the bookings present when the analysis starts, despite later bookings")
+    void shouldAnalyseFrozenHistory() {
+        // Given
+        var service = new ConcurrentHotelReservationService();
+        service.setEventSink(ReservationEventSink.SILENT);
+        service.setRoom(1, RoomType.STANDARD, 100);
+        service.setUser(1, 1_000_000);
+        for (int day = 0; day < 100; day++) {
+            service.tryBookRoom(1, 1, ORIGIN.plusDays(2 * day), ORIGIN.plusDays(2 * day + 1));
+        }
+        var analytics = service.analyzeBookings(pool);
+
+        // When
+        for (int day = 100; day < 200; day++) {
+            service.tryBookRoom(1, 1, ORIGIN.plusDays(2 * day), ORIGIN.plusDays(2 * day + 1));
+        }
+
+        // Then
+        assertThat(analytics.getBookingCount()).isEqualTo(100);
+        assertThat(analytics.topUsersBySpend(1)).containsExactly(new UserSpend(1, 10_000, 100));
+        assertThat(service.analyzeBookings(null).topUsersBySpend(1)).containsExactly(new UserSpend(1, 20_000, 200));
+    }
+
+    private static List<Booking> randomBookings(int count, Random random) {
+        RoomType[] types = RoomType.values();
+        BookingStatus[] statuses = {BookingStatus.CONFIRMED, BookingStatus.CONFIRMED, BookingStatus.CANCELLED,
+                BookingStatus.PENDING};
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate created = ORIGIN.plusDays(random.nextInt(365));
+            LocalDate checkIn = created.plusDays(random.nextInt(90) - 5);
+            bookings.add(booking(i + 1, random.nextInt(5_000) + 1, types[random.nextInt(types.length)], checkIn,
+                    random.nextInt(20) + 1, created, statuses[random.nextInt(statuses.length)]));
+        }
+        return bookings;
+    }
+
+    private static Booking booking(long bookingId, int userId, RoomType roomType, LocalDate checkIn, int nights,
+                                   LocalDate created, BookingStatus status) {
+        int price = 100 + roomType.ordinal() * 50;
+        return new Booking(bookingId, userId, 1, checkIn, checkIn.plusDays(nights), price * nights, status,
+                LocalDateTime.of(created, LocalTime.NOON), roomType, price, 0);
+    }
+
+    private static List<UserSpend> naiveTopUsers(List<Booking> bookings, int limit) {
+        Map<Integer, long[]> totals = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                long[] total = totals.computeIfAbsent(booking.getUserId(), id -> new long[2]);
+                total[0] += booking.getTotalAmount();
+                total[1]++;
+            }
+        }
+        List<UserSpend> all = new ArrayList<>();
+        totals.forEach((userId, total) -> all.add(new UserSpend(userId, total[0], total[1])));
+        all.sort(Comparator.comparingLong(UserSpend::getTotalSpend).reversed().thenComparingInt(UserSpend::getUserId));
+        return all.subList(0, limit);
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,147 @@
+package zerheri.fatimazahrae.analytics;
+
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.BookingRequest;
+import zerheri.fatimazahrae.persistence.JournalConfig;
+import zerheri.fatimazahrae.services.ConcurrentHotelReservationService;
+import zerheri.fatimazahrae.services.HotelReservationServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests des agrégats d'occupation et de chiffre d'affaires, tenus à jour par le service
+ */
+@DisplayName("Occupancy Aggregates Tests")
+class OccupancyAggregatesTest {
+
+    private static final LocalDate MARCH_FIRST = LocalDate.of(2027, 3, 1);
+    private static final int FIRST_DAY = (int) MARCH_FIRST.toEpochDay();
+    private static final int LAST_DAY = (int) MARCH_FIRST.plusDays(30).toEpochDay();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should count confirmed nights and revenue per room type, and remove cancelled ones")
+    void shouldFollowBookingsAndCancellations() {
+        // Given
+        var service = newService();
+        var aggregates = service.enableOccupancyAggregates();
+
+        // When
+        long cancelled = service.tryBookRoom(1, 1, MARCH_FIRST, MARCH_FIRST.plusDays(3)).getBookingId();
+        service.tryBookRoom(1, 2, MARCH_FIRST.plusDays(1), MARCH_FIRST.plusDays(3));
+        service.tryBookRoom(1, 3, MARCH_FIRST.plusDays(9), MARCH_FIRST.plusDays(10));
+        service.cancelBooking(cancelled);
+        service.tryBookRoom(1, 1, MARCH_FIRST.plusDays(2), MARCH_FIRST.plusDays(4));
+
+        // Then
+        assertThat(aggregates.getNightsSold(RoomType.STANDARD, FIRST_DAY, LAST_DAY)).isEqualTo(4);
+        assertThat(aggregates.getRevenue(RoomType.STANDARD, FIRST_DAY, LAST_DAY)).isEqualTo(2 * 100 + 2 * 120);
+        assertThat(aggregates.getRevenue(RoomType.STANDARD, FIRST_DAY + 2, FIRST_DAY + 2)).isEqualTo(220);
+        assertThat(aggregates.getRevenue(RoomType.MASTER_SUITE, FIRST_DAY, LAST_DAY)).isEqualTo(300);
+        assertThat(aggregates.getNightsSold(null, FIRST_DAY, LAST_DAY)).isEqualTo(5);
+        assertThat(aggregates.getOccupancyRate(RoomType.STANDARD, FIRST_DAY + 2, FIRST_DAY + 2)).isEqualTo(1.0);
+        assertThat(aggregates.getOccupancyRate(null, FIRST_DAY, FIRST_DAY + 9)).isEqualTo(5.0 / 30);
+    }
+
+    @Test
+    @DisplayName("Should count each booking of a batch once")
+    void shouldCountBatchBookingsOnce() {
+        // Given
+        var service = newService();
+        var aggregates = service.enableOccupancyAggregates();
+
+        // When
+        service.bookRooms(List.of(
+                new BookingRequest(1, 1, MARCH_FIRST, MARCH_FIRST.plusDays(2)),
+                new BookingRequest(1, 3, MARCH_FIRST, MARCH_FIRST.plusDays(1))));
+
+        // Then
+        assertThat(aggregates.getNightsSold(null, FIRST_DAY, LAST_DAY)).isEqualTo(3);
+        assertThat(aggregates.getRevenue(null, FIRST_DAY, LAST_DAY)).isEqualTo(2 * 100 + 300);
+    }
+
+    @Test
+    @DisplayName("Should count a hold only once confirmed, and keep room counts by current type")
+    void shouldCountConfirmedHoldsOnly() {
+        // Given
+        var service = newService();
+        var aggregates = service.enableOccupancyAggregates();
+        var kept = service.holdRoom(1, 1, MARCH_FIRST, MARCH_FIRST.plusDays(2), Duration.ofMinutes(10));
+        var released = service.holdRoom(1, 2, MARCH_FIRST, MARCH_FIRST.plusDays(2), Duration.ofMinutes(10));
+        long beforeConfirmation = aggregates.getNightsSold(null, FIRST_DAY, LAST_DAY);
+
+        // When
+        service.confirmHold(kept.getBookingId());
+        service.releaseHold(released.getBookingId());
+        service.setRoom(2, RoomType.JUNIOR_SUITE, 150);
+
+        // Then
+        assertThat(beforeConfirmation).isZero();
+        assertThat(aggregates.getNightsSold(null, FIRST_DAY, LAST_DAY)).isEqualTo(2);
+        assertThat(aggregates.getRevenue(RoomType.STANDARD, FIRST_DAY, LAST_DAY)).isEqualTo(200);
+        assertThat(aggregates.getRoomCount(RoomType.STANDARD)).isEqualTo(1);
+        assertThat(aggregates.getRoomCount(RoomType.JUNIOR_SUITE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the same aggregates when the journal is replayed")
+    void shouldRebuildFromJournal() throws IOException {
+        // Given
+        var journalFile = directory.resolve("journal.log");
+        var snapshotFile = directory.resolve("snapshot.bin");
+        var config = JournalConfig.defaults();
+        var service = new ConcurrentHotelReservationService();
+        service.setEventSink(ReservationEventSink.SILENT);
+        var aggregates = service.enableOccupancyAggregates();
+        service.openJournal(journalFile, snapshotFile, config);
+        service.setRoom(1, RoomType.STANDARD, 100);
+        service.setRoom(2, RoomType.MASTER_SUITE, 300);
+        service.setUser(1, 10_000);
+        var hold = service.holdRoom(1, 2, MARCH_FIRST, MARCH_FIRST.plusDays(1), Duration.ofMinutes(10));
+        service.writeSnapshot(snapshotFile);
+        long cancelled = service.tryBookRoom(1, 1, MARCH_FIRST, MARCH_FIRST.plusDays(5)).getBookingId();
+        service.tryBookRoom(1, 1, MARCH_FIRST.plusDays(6), MARCH_FIRST.plusDays(8));
+        service.confirmHold(hold.getBookingId());
+        service.cancelBooking(cancelled);
+        service.closeJournal();
+
+        // When
+        var recovered = new ConcurrentHotelReservationService();
+        recovered.setEventSink(ReservationEventSink.SILENT);
+        var rebuilt = recovered.enableOccupancyAggregates();
+        recovered.openJournal(journalFile, snapshotFile, config);
+        recovered.closeJournal();
+        var scanned = recovered.enableOccupancyAggregates();
+
+        // Then
+        for (var aggregate : new OccupancyAggregates[]{rebuilt, scanned}) {
+            assertThat(aggregate.getNightsSold(null, FIRST_DAY, LAST_DAY))
+                    .isEqualTo(aggregates.getNightsSold(null, FIRST_DAY, LAST_DAY)).isEqualTo(3);
+            assertThat(aggregate.getRevenue(null, FIRST_DAY, LAST_DAY))
+                    .isEqualTo(aggregates.getRevenue(null, FIRST_DAY, LAST_DAY)).isEqualTo(500);
+            assertThat(aggregate.getRoomCount(null)).isEqualTo(2);
+        }
+    }
+
+    private static HotelReservationServiceImpl newService() {
+        var service = new HotelReservationServiceImpl();
+        service.setEventSink(ReservationEventSink.SILENT);
+        service.setRoom(1, RoomType.STANDARD, 100);
+        service.setRoom(2, RoomType.STANDARD, 120);
+        service.setRoom(3, RoomType.MASTER_SUITE, 300);
+        service.setUser(1, 100_000);
+        return service;
+    }
+}
@@ -0,0 +1,139 @@
+package zerheri.fatimazahrae.cache;
+
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.services.HotelReservationServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour AvailabilityCache, seul puis branché sur le service
+ */
+@DisplayName("Availability Cache Tests")
+class AvailabilityCacheTest {
+
+    private static final Duration LONG_AGE = Duration.ofMinutes(10);
+
+    @Test
+    @DisplayName("Should serve a repeated search from the cache until an examined room changes")
+    void shouldInvalidateOnExaminedRoomChange() {
+        // Given: la recherche examine les chambres 1 et 2, la chambre 3 est hors périmètre
+        var cache = new AvailabilityCache(16, LONG_AGE);
+        var searches = new AtomicInteger();
+        AvailabilityCache.Search search = candidates -> {
+            searches.incrementAndGet();
+            candidates.accept(1);
+            candidates.accept(2);
+            return List.of(new Room(1, RoomType.STANDARD, 100));
+        };
+
+        // When
+        cache.get(RoomType.STANDARD, 10, 12, 500, 10, search);
+        cache.get(RoomType.STANDARD, 10, 12, 500, 10, search);
+        cache.roomChanged(3);
+        cache.get(RoomType.STANDARD, 10, 12, 500, 10, search);
+        int beforeChange = searches.get();
+        cache.roomChanged(2);
+        var rooms = cache.get(RoomType.STANDARD, 10, 12, 500, 10, search);
+
+        // Then
+        assertThat(beforeChange).isEqualTo(1);
+        assertThat(searches).hasValue(2);
+        assertThat(rooms).extracting(Room::getRoomNumber).containsExactly(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getInvalidationCount()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should drop a search only when an updated room enters its scope")
+    void shouldInvalidateOnCatalogChangeInScope() {
+        // Given
+        var cache = new AvailabilityCache(16, LONG_AGE);
+        var searches = new AtomicInteger();
+        AvailabilityCache.Search search = candidates -> {
+            searches.incrementAndGet();
+            candidates.accept(1);
+            return List.of(new Room(1, RoomType.STANDARD, 100));
+        };
+        cache.get(RoomType.STANDARD, 10, 12, 150, 10, search);
+
+        // When: une suite et une chambre trop chère ne concernent pas la recherche
+        cache.roomUpdated(7, RoomType.MASTER_SUITE, 120);
+        cache.roomUpdated(8, RoomType.STANDARD, 400);
+        cache.get(RoomType.STANDARD, 10, 12, 150, 10, search);
+        int outOfScope = searches.get();
+        cache.roomUpdated(9, RoomType.STANDARD, 90);
+        cache.get(RoomType.STANDARD, 10, 12, 150, 10, search);
+
+        // Then
+        assertThat(outOfScope).isEqualTo(1);
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest searches beyond the maximum size and expire old ones")
+    void shouldEvictAndExpire() throws InterruptedException {
+        // Given
+        var bounded = new AvailabilityCache(2, LONG_AGE);
+        var shortLived = new AvailabilityCache(2, Duration.ofMillis(20));
+        AvailabilityCache.Search search = candidates -> List.of();
+
+        // When
+        for (int day = 0; day < 3; day++) {
+            bounded.get(null, day, day + 1, 100, 10, search);
+        }
+        bounded.get(null, 2, 3, 100, 10, search);
+        shortLived.get(null, 0, 1, 100, 10, search);
+        Thread.sleep(50);
+        shortLived.get(null, 0, 1, 100, 10, search);
+
+        // Then
+        assertThat(bounded.getSize()).isEqualTo(2);
+        assertThat(bounded.getEvictionCount()).isEqualTo(1);
+        assertThat(bounded.getHitCount()).isEqualTo(1);
+        assertThat(shortLived.getExpirationCount()).isEqualTo(1);
+        assertThat(shortLived.getHitCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the service answers exact across bookings, cancellations and price changes")
+    void shouldStayConsistentWithService() {
+        // Given
+        var service = new HotelReservationServiceImpl();
+        service.setEventSink(ReservationEventSink.SILENT);
+        var cache = service.enableAvailabilityCache(64, LONG_AGE);
+        var checkIn = LocalDate.of(2027, 3, 1);
+        var checkOut = checkIn.plusDays(2);
+        service.setRoom(1, RoomType.STANDARD, 100);
+        service.setRoom(2, RoomType.STANDARD, 120);
+        service.setUser(1, 10_000);
+
+        // When
+        var initial = service.findAvailableRooms(RoomType.STANDARD, checkIn, checkOut, 200, 10);
+        var repeated = service.findAvailableRooms(RoomType.STANDARD, checkIn, checkOut, 200, 10);
+        long bookingId = service.tryBookRoom(1, 1, checkIn, checkOut).getBookingId();
+        var afterBooking = service.findAvailableRooms(RoomType.STANDARD, checkIn, checkOut, 200, 10);
+        service.setRoom(3, RoomType.STANDARD, 80);
+        var afterNewRoom = service.findAvailableRooms(RoomType.STANDARD, checkIn, checkOut, 200, 10);
+        service.cancelBooking(bookingId);
+        var afterCancel = service.findAvailableRooms(RoomType.STANDARD, checkIn, checkOut, 200, 10);
+
+        // Then
+        assertThat(initial).extracting(Room::getRoomNumber).containsExactly(1, 2);
+        assertThat(repeated).extracting(Room::getRoomNumber).containsExactly(1, 2);
+        assertThat(afterBooking).extracting(Room::getRoomNumber).containsExactly(2);
+        assertThat(afterNewRoom).extracting(Room::getRoomNumber).containsExactly(3, 2);
+        assertThat(afterCancel).extracting(Room::getRoomNumber).containsExactly(3, 1, 2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,138 @@
+package zerheri.fatimazahrae.events;
+
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.services.HotelReservationServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests du distributeur d'événements asynchrone et du mode silencieux
+ */
+@DisplayName("Async Event Sink Tests")
+class AsyncEventSinkTest {
+
+    @Test
+    @DisplayName("Should deliver every event of each producer in publication order")
+    void shouldDeliverEventsInOrder() throws Exception {
+        // Given
+        var received = Collections.synchronizedList(new ArrayList<UserSavedEvent>());
+        var sink = new AsyncEventSink(event -> received.add((UserSavedEvent) event), 1 << 16);
+        var threads = new ArrayList<Thread>();
+
+        // When: 4 émetteurs, chacun avec ses propres identifiants
+        for (int t = 0; t < 4; t++) {
+            int producer = t;
+            var thread = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    sink.publish(new UserSavedEvent(producer, i, false));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        sink.close();
+
+        // Then
+        assertThat(sink.getDroppedCount()).isZero();
+        assertThat(received).hasSize(20_000);
+        for (int t = 0; t < 4; t++) {
+            int producer = t;
+            assertThat(received.stream().filter(e -> e.getUserId() == producer).map(UserSavedEvent::getBalance))
+                    .isSorted();
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop events instead of blocking when the buffer is full")
+    void shouldDropWhenFull() throws Exception {
+        // Given: un destinataire bloqué
+        var release = new CountDownLatch(1);
+        var received = new ArrayList<ReservationEvent>();
+        var sink = new AsyncEventSink(event -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event);
+        }, 8);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            sink.publish(new UserSavedEvent(1, i, false));
+        }
+        release.countDown();
+        sink.close();
+
+        // Then
+        assertThat(sink.getDroppedCount()).isPositive();
+        assertThat(received.size() + sink.getDroppedCount()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should print the historical console messages from the dispatcher thread")
+    void shouldFormatOffThread() {
+        // Given
+        var originalOut = System.out;
+        var output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            var service = new HotelReservationServiceImpl();
+            var sink = new AsyncEventSink(new ConsoleEventSink(Logger.getAnonymousLogger()), 64);
+            service.setEventSink(sink);
+
+            // When
+            service.setRoom(1, RoomType.STANDARD, 100);
+            service.setUser(1, 50);
+            sink.close();
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        // Then
+        assertThat(output.toString())
+                .contains("Room 1 created: type=standard, price=100/night")
+                .contains("User 1 created with balance 50");
+    }
+
+    @Test
+    @DisplayName("Should not emit anything in silent mode")
+    void shouldStaySilent() {
+        // Given
+        var service = new HotelReservationServiceImpl();
+        service.setEventSink(ReservationEventSink.SILENT);
+        var originalOut = System.out;
+        var originalErr = System.err;
+        var output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        System.setErr(new PrintStream(output));
+        try {
+            // When
+            service.setRoom(1, RoomType.STANDARD, 100);
+            service.setUser(1, 50);
+            service.setUser(-1, 50);
+            service.bookRoom(1, 1, new Date(), new Date());
+
+            // Then
+            assertThat(service.getTotalRoomsCount()).isEqualTo(1);
+        } finally {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+        assertThat(output.toString()).isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package zerheri.fatimazahrae.holds;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour HashedTimingWheel (temps explicite, en nanosecondes)
+ */
+@DisplayName("Hashed Timing Wheel Tests")
+class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+
+    @Test
+    @DisplayName("Should never expire a deadline early, and expire it within one tick")
+    void shouldExpireWithinOneTick() {
+        // Given
+        var wheel = new HashedTimingWheel<String>(TICK, 8, 0);
+        var expired = new ArrayList<String>();
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 300);
+
+        // When
+        wheel.advance(299, expired::add);
+        var beforeDeadlines = List.copyOf(expired);
+        wheel.advance(300, expired::add);
+        var atThirdTick = List.copyOf(expired);
+        wheel.advance(400, expired::add);
+
+        // Then
+        assertThat(beforeDeadlines).isEmpty();
+        assertThat(atThirdTick).containsExactlyInAnyOrder("a", "b");
+        assertThat(expired).hasSize(2);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep deadlines further than one revolution until their round comes")
+    void shouldCountRounds() {
+        // Given: un tour de roue couvre 8 ticks
+        var wheel = new HashedTimingWheel<String>(TICK, 8, 0);
+        var expired = new ArrayList<String>();
+        wheel.schedule("soon", 3 * TICK);
+        wheel.schedule("later", 19 * TICK);
+
+        // When
+        wheel.advance(18 * TICK, expired::add);
+        var beforeLater = List.copyOf(expired);
+        int count = wheel.advance(19 * TICK, expired::add);
+
+        // Then
+        assertThat(beforeLater).containsExactly("soon");
+        assertThat(count).isEqualTo(1);
+        assertThat(expired).containsExactly("soon", "later");
+    }
+
+    @Test
+    @DisplayName("Should drop cancelled deadlines and deliver past ones at the next tick")
+    void shouldDropCancelledAndDeliverPast() {
+        // Given
+        var wheel = new HashedTimingWheel<String>(TICK, 4, 1_000);
+        var expired = new ArrayList<String>();
+        var cancelled = wheel.schedule("cancelled", 1_500);
+        wheel.advance(1_200, expired::add);
+        wheel.schedule("past", 900);
+
+        // When
+        boolean cancelledNow = cancelled.cancel();
+        int sizeAfterCancel = wheel.size();
+        wheel.advance(1_300, expired::add);
+        wheel.advance(2_000, expired::add);
+
+        // Then
+        assertThat(cancelledNow).isTrue();
+        assertThat(cancelled.cancel()).isFalse();
+        assertThat(sizeAfterCancel).isEqualTo(1);
+        assertThat(expired).containsExactly("past");
+        assertThat(wheel.size()).isZero();
+    }
+}
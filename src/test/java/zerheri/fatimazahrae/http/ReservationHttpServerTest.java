@@ -0,0 +1,166 @@
+package zerheri.fatimazahrae.http;
+
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.services.ConcurrentHotelReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests du point d'accès HTTP, sur un port libre de l'interface locale
+ */
+@DisplayName("Reservation HTTP Server Tests")
+class ReservationHttpServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ConcurrentHotelReservationService service;
+    private ReservationHttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new ConcurrentHotelReservationService();
+        service.setEventSink(ReservationEventSink.SILENT);
+        server = ReservationHttpServer.start(service, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should create rooms and users, book, search and count over HTTP")
+    void shouldServeReservationOperations() throws Exception {
+        // Given
+        assertThat(post("/rooms?number=1&type=standard&price=100").statusCode()).isEqualTo(204);
+        assertThat(post("/rooms?number=2&type=suite&price=300").statusCode()).isEqualTo(204);
+        assertThat(post("/users?id=1&balance=1000").statusCode()).isEqualTo(204);
+
+        // When
+        var booked = post("/bookings?userId=1&roomNumber=1&checkIn=2027-05-01&checkOut=2027-05-03");
+        var conflict = post("/bookings?userId=1&roomNumber=1&checkIn=2027-05-02&checkOut=2027-05-04");
+        var search = get("/rooms/available?checkIn=2027-05-02&checkOut=2027-05-03");
+        var counts = get("/counts");
+
+        // Then
+        assertThat(booked.statusCode()).isEqualTo(201);
+        assertThat(booked.body()).matches("\\{\"bookingId\":\\d+,\"roomNumber\":1,\"totalAmount\":200}");
+        assertThat(conflict.statusCode()).isEqualTo(409);
+        assertThat(conflict.body()).contains("\"rejection\":\"ROOM_NOT_AVAILABLE\"");
+        assertThat(search.body()).isEqualTo("[{\"roomNumber\":2,\"type\":\"suite\",\"pricePerNight\":300}]");
+        assertThat(counts.body()).isEqualTo("{\"rooms\":2,\"users\":1,\"bookings\":1}");
+    }
+
+    @Test
+    @DisplayName("Should accept form-encoded bodies")
+    void shouldAcceptFormBody() throws Exception {
+        // When
+        var response = client.send(HttpRequest.newBuilder(uri("/users"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString("id=7&balance=50"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(204);
+        assertThat(service.getTotalUsersCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should map invalid requests to 400, 404 and 405")
+    void shouldRejectInvalidRequests() throws Exception {
+        // When & Then
+        assertThat(post("/rooms?number=1&type=penthouse&price=100").statusCode()).isEqualTo(400);
+        assertThat(post("/users?id=1&balance=-5").statusCode()).isEqualTo(400);
+        assertThat(post("/bookings?userId=1&roomNumber=1&checkIn=tomorrow&checkOut=2027-05-03").statusCode())
+                .isEqualTo(400);
+        assertThat(post("/bookings?userId=9&roomNumber=1&checkIn=2027-05-01&checkOut=2027-05-03").statusCode())
+                .isEqualTo(404);
+        assertThat(get("/bookings").statusCode()).isEqualTo(405);
+        assertThat(get("/unknown").statusCode()).isEqualTo(404);
+        assertThat(get("/counts").body()).isEqualTo("{\"rooms\":0,\"users\":0,\"bookings\":0}");
+    }
+
+    @Test
+    @DisplayName("Should answer 500 when a room or user cannot be saved")
+    void shouldReportFailedWrites() throws Exception {
+        // Given: un service dont le journal refuse toute écriture
+        var failing = new ConcurrentHotelReservationService() {
+            @Override
+            protected boolean upsertRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+                throw new UncheckedIOException(new IOException("Journal unavailable"));
+            }
+
+            @Override
+            protected boolean upsertUser(int userId, int balance) {
+                throw new UncheckedIOException(new IOException("Journal unavailable"));
+            }
+        };
+        failing.setEventSink(ReservationEventSink.SILENT);
+        server.close();
+        server = ReservationHttpServer.start(failing, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        // When
+        var room = post("/rooms?number=1&type=standard&price=100");
+        var user = post("/users?id=1&balance=100");
+
+        // Then
+        assertThat(room.statusCode()).isEqualTo(500);
+        assertThat(room.body()).isEqualTo("{\"error\":\"Room 1 could not be saved\"}");
+        assertThat(user.statusCode()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Should serve concurrent bookings without double-booking a night")
+    void shouldServeConcurrentBookings() throws Exception {
+        // Given
+        post("/rooms?number=1&type=standard&price=1");
+        for (int user = 1; user <= 50; user++) {
+            post("/users?id=" + user + "&balance=100");
+        }
+
+        // When: 50 clients réservent la même nuit en même temps
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int user = 1; user <= 50; user++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(
+                            uri("/bookings?userId=" + user + "&roomNumber=1&checkIn=2027-06-01&checkOut=2027-06-02"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+
+        // Then
+        assertThat(responses).extracting(response -> response.join().statusCode())
+                .containsOnly(201, 409)
+                .filteredOn(status -> status == 201).hasSize(1);
+    }
+
+    private HttpResponse<String> post(String pathAndQuery) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(pathAndQuery)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String pathAndQuery) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(pathAndQuery)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String pathAndQuery) {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + pathAndQuery);
+    }
+}
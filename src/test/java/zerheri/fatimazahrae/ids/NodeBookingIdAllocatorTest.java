@@ -0,0 +1,93 @@
+package zerheri.fatimazahrae.ids;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests unitaires pour NodeBookingIdAllocator
+ */
+@DisplayName("Node Booking ID Allocator Tests")
+class NodeBookingIdAllocatorTest {
+
+    private static final Clock FIXED_CLOCK = Clock.fixed(Instant.parse("2026-06-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("Should hand out unique positive IDs across threads")
+    void shouldHandOutUniqueIdsAcrossThreads() throws InterruptedException {
+        // Given
+        var allocator = new NodeBookingIdAllocator(7, 64, FIXED_CLOCK);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(allocator.nextId());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(ids).hasSize(400_000).allMatch(id -> id > 0);
+        assertThat(ids).allMatch(id -> NodeBookingIdAllocator.nodeOf(id) == 7);
+    }
+
+    @Test
+    @DisplayName("Should encode node and epoch second in the ID")
+    void shouldEncodeNodeAndEpoch() {
+        // Given
+        var allocator = new NodeBookingIdAllocator(NodeBookingIdAllocator.MAX_NODE_ID,
+                NodeBookingIdAllocator.DEFAULT_BLOCK_SIZE, FIXED_CLOCK);
+
+        // When
+        long id = allocator.nextId();
+
+        // Then
+        assertThat(NodeBookingIdAllocator.nodeOf(id)).isEqualTo(NodeBookingIdAllocator.MAX_NODE_ID);
+        assertThat(NodeBookingIdAllocator.epochSecondOf(id)).isEqualTo(FIXED_CLOCK.instant().getEpochSecond());
+        assertThrows(IllegalArgumentException.class, () -> new NodeBookingIdAllocator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new NodeBookingIdAllocator(1, 1000, FIXED_CLOCK));
+    }
+
+    @Test
+    @DisplayName("Should never reissue an ID observed from a previous run of the same node")
+    void shouldSkipObservedIdsAfterRestart() {
+        // Given: une instance ayant emprunté la seconde suivante (plages d'une seconde entière)
+        var previousRun = new NodeBookingIdAllocator(3, 1 << 22, FIXED_CLOCK);
+        long firstId = previousRun.nextId();
+        var otherThreadRange = new NodeBookingIdAllocator(3, 1 << 22, FIXED_CLOCK);
+        otherThreadRange.observe(firstId);
+        long lastId = otherThreadRange.nextId();
+
+        // When: redémarrage dans la même seconde, après relecture du journal
+        var restarted = new NodeBookingIdAllocator(3, 64, FIXED_CLOCK);
+        restarted.observe(firstId);
+        restarted.observe(lastId);
+        var otherNode = new NodeBookingIdAllocator(4, 64, FIXED_CLOCK);
+        otherNode.observe(lastId);
+
+        // Then
+        assertThat(NodeBookingIdAllocator.epochSecondOf(lastId))
+                .isEqualTo(FIXED_CLOCK.instant().getEpochSecond() + 1);
+        assertThat(restarted.nextId()).isGreaterThan(lastId);
+        assertThat(NodeBookingIdAllocator.epochSecondOf(otherNode.nextId()))
+                .isEqualTo(FIXED_CLOCK.instant().getEpochSecond());
+    }
+}
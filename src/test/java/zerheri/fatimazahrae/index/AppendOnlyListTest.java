@@ -0,0 +1,65 @@
+package zerheri.fatimazahrae.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour AppendOnlyList
+ */
+@DisplayName("Append Only List Tests")
+class AppendOnlyListTest {
+
+    @Test
+    @DisplayName("Should keep insertion order across segments")
+    void shouldKeepInsertionOrderAcrossSegments() {
+        // Given
+        var list = new AppendOnlyList<Integer>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+
+        // Then
+        assertThat(list).hasSize(10_000);
+        assertThat(list.get(0)).isZero();
+        assertThat(list.get(4096)).isEqualTo(4096);
+        assertThat(list.get(9_999)).isEqualTo(9_999);
+    }
+
+    @Test
+    @DisplayName("Should expose a complete prefix to readers during appends")
+    void shouldExposeCompletePrefixDuringAppends() throws InterruptedException {
+        // Given
+        var list = new AppendOnlyList<Integer>();
+        var failed = new AtomicBoolean();
+        var writer = new Thread(() -> {
+            for (int i = 0; i < 200_000; i++) {
+                list.add(i);
+            }
+        });
+
+        // When
+        writer.start();
+        List<Integer> seen = new ArrayList<>();
+        while (writer.isAlive()) {
+            int size = list.size();
+            if (size > 0 && list.get(size - 1) != size - 1) {
+                failed.set(true);
+            }
+            seen.add(size);
+        }
+        writer.join();
+
+        // Then
+        assertThat(failed).isFalse();
+        assertThat(seen).isSorted();
+        assertThat(list).hasSize(200_000);
+    }
+}
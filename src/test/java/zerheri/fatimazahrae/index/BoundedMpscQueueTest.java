@@ -0,0 +1,88 @@
+package zerheri.fatimazahrae.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour BoundedMpscQueue
+ */
+@DisplayName("Bounded MPSC Queue Tests")
+class BoundedMpscQueueTest {
+
+    @Test
+    @DisplayName("Should refuse elements when full and accept them again once drained")
+    void shouldApplyCapacityBound() {
+        // Given
+        var queue = new BoundedMpscQueue<Integer>(3);
+
+        // When
+        for (int i = 0; i < queue.capacity(); i++) {
+            assertThat(queue.offer(i)).isTrue();
+        }
+
+        // Then
+        assertThat(queue.capacity()).isEqualTo(4);
+        assertThat(queue.offer(99)).isFalse();
+        assertThat(queue.poll()).isZero();
+        assertThat(queue.offer(4)).isTrue();
+        assertThat(List.of(queue.poll(), queue.poll(), queue.poll(), queue.poll())).containsExactly(1, 2, 3, 4);
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should deliver every element once, in per-producer order")
+    void shouldDeliverEveryElementFromConcurrentProducers() throws InterruptedException {
+        // Given
+        var queue = new BoundedMpscQueue<long[]>(64);
+        int producers = 4;
+        int perProducer = 50_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!queue.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        // When
+        threads.forEach(Thread::start);
+        long[] nextExpected = new long[producers];
+        int received = 0;
+        boolean ordered = true;
+        while (received < producers * perProducer) {
+            long[] element = queue.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            ordered &= element[1] == nextExpected[(int) element[0]]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(ordered).isTrue();
+        assertThat(nextExpected).containsOnly(perProducer);
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid capacities and null elements")
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> new BoundedMpscQueue<>(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BoundedMpscQueue<>(1).offer(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package zerheri.fatimazahrae.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour CompactBookingList
+ */
+@DisplayName("Compact Booking List Tests")
+class CompactBookingListTest {
+
+    @Test
+    @DisplayName("Should rebuild bookings identical to the ones added")
+    void shouldRebuildIdenticalBookings() {
+        // Given
+        var list = new CompactBookingList();
+        var booking = new Booking(1L << 40, new User(7, 5000), new Room(101, RoomType.MASTER_SUITE, 300),
+                LocalDate.of(2027, 3, 1), LocalDate.of(2027, 3, 4), 5000);
+        var cancelled = new Booking(42, 8, 102, LocalDate.of(1969, 12, 30), LocalDate.of(1970, 1, 2), 10,
+                BookingStatus.CANCELLED, LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_789),
+                RoomType.STANDARD, 5, 100);
+
+        // When
+        list.add(booking);
+        list.add(cancelled);
+
+        // Then
+        assertThat(list).hasSize(2);
+        assertThat(list.get(0)).usingRecursiveComparison().isEqualTo(booking);
+        assertThat(list.get(1)).usingRecursiveComparison().isEqualTo(cancelled);
+        assertThat(list.getCheckInDay(1)).isEqualTo(-2);
+        assertThat(list.getStatus(1)).isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Should only let the status of a stored booking change")
+    void shouldUpdateStatusOnly() {
+        // Given
+        var list = new CompactBookingList();
+        var user = new User(7, 5000);
+        var room = new Room(101, RoomType.STANDARD, 100);
+        var booking = new Booking(1, user, room, LocalDate.of(2027, 3, 1), LocalDate.of(2027, 3, 4), 5000);
+        var other = new Booking(2, user, room, LocalDate.of(2027, 3, 1), LocalDate.of(2027, 3, 4), 5000);
+        list.add(booking);
+
+        // When
+        booking.cancel();
+        var previous = list.set(0, booking);
+
+        // Then
+        assertThat(previous.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(list.getStatus(0)).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(list.get(0)).usingRecursiveComparison().isEqualTo(booking);
+        assertThatThrownBy(() -> list.set(0, other)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep insertion order across blocks")
+    void shouldKeepOrderAcrossBlocks() {
+        // Given
+        var list = new CompactBookingList();
+        var user = new User(1, Integer.MAX_VALUE);
+        var room = new Room(1, RoomType.STANDARD, 1);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            var checkIn = LocalDate.of(2030, 1, 1).plusDays(2L * i);
+            list.add(new Booking(i, user, room, checkIn, checkIn.plusDays(1), user.getBalance()));
+        }
+
+        // Then
+        assertThat(list).hasSize(10_000);
+        assertThat(list.getBookingId(4096)).isEqualTo(4096);
+        assertThat(list.get(9_999).getCheckIn()).isEqualTo(LocalDate.of(2030, 1, 1).plusDays(19_998));
+    }
+}
@@ -0,0 +1,69 @@
+package zerheri.fatimazahrae.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests unitaires pour IntLongHashMap
+ */
+@DisplayName("Int Long Hash Map Tests")
+class IntLongHashMapTest {
+
+    @Test
+    @DisplayName("Should accumulate values by key and merge another map")
+    void shouldAccumulateAndMerge() {
+        // Given
+        var left = new IntLongHashMap();
+        var right = new IntLongHashMap();
+        left.addTo(7, 100);
+        left.addTo(-3, 5);
+        right.addTo(7, 1L << 40);
+        right.addTo(9, 1);
+
+        // When
+        long afterAdd = left.addTo(7, 20);
+        left.addAll(right);
+
+        // Then
+        assertThat(afterAdd).isEqualTo(120);
+        assertThat(left.get(7)).isEqualTo(120 + (1L << 40));
+        assertThat(left.get(-3)).isEqualTo(5);
+        assertThat(left.get(9)).isEqualTo(1);
+        assertThat(left.get(42)).isZero();
+        assertThat(left.size()).isEqualTo(3);
+        assertThrows(IllegalArgumentException.class, () -> left.addTo(0, 1));
+    }
+
+    @Test
+    @DisplayName("Should behave like HashMap across resizes")
+    void shouldMatchHashMapAcrossResizes() {
+        // Given
+        var map = new IntLongHashMap();
+        var expected = new HashMap<Integer, Long>();
+        var random = new Random(7);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(5_000) + 1;
+            long delta = random.nextInt(1_000);
+            map.addTo(key, delta);
+            expected.merge(key, delta, Long::sum);
+        }
+
+        // Then
+        var visited = new HashMap<Integer, Long>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (Map.Entry<Integer, Long> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+        }
+    }
+}
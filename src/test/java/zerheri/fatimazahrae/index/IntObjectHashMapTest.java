@@ -0,0 +1,65 @@
+package zerheri.fatimazahrae.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour IntObjectHashMap
+ */
+@DisplayName("Int Object Hash Map Tests")
+class IntObjectHashMapTest {
+
+    @Test
+    @DisplayName("Should store, replace and remove values by primitive key")
+    void shouldStoreReplaceAndRemove() {
+        // Given
+        var map = new IntObjectHashMap<String>();
+
+        // When
+        map.put(101, "a");
+        var previous = map.put(101, "b");
+        map.put(-7, "c");
+
+        // Then
+        assertThat(previous).isEqualTo("a");
+        assertThat(map.get(101)).isEqualTo("b");
+        assertThat(map.get(-7)).isEqualTo("c");
+        assertThat(map.get(999)).isNull();
+        assertThat(map.size()).isEqualTo(2);
+
+        assertThat(map.remove(101)).isEqualTo("b");
+        assertThat(map.containsKey(101)).isFalse();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should behave like HashMap under random inserts and removals")
+    void shouldMatchHashMapUnderRandomOperations() {
+        // Given
+        var map = new IntObjectHashMap<Integer>();
+        var reference = new HashMap<Integer, Integer>();
+        var random = new Random(42);
+
+        // When
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(reference.remove(key));
+            } else {
+                assertThat(map.put(key, i)).isEqualTo(reference.put(key, i));
+            }
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(reference.size());
+        for (Map.Entry<Integer, Integer> entry : reference.entrySet()) {
+            assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+        }
+    }
+}
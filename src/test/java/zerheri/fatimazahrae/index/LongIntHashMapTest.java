@@ -0,0 +1,58 @@
+package zerheri.fatimazahrae.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour LongIntHashMap
+ */
+@DisplayName("Long Int Hash Map Tests")
+class LongIntHashMapTest {
+
+    @Test
+    @DisplayName("Should store and replace values by 64-bit key")
+    void shouldStoreAndReplace() {
+        // Given
+        var map = new LongIntHashMap();
+
+        // When
+        map.put(1L << 40, 0);
+        var previous = map.put(1L << 40, 3);
+        map.put(-7, 5);
+
+        // Then
+        assertThat(previous).isZero();
+        assertThat(map.get(1L << 40)).isEqualTo(3);
+        assertThat(map.get(-7)).isEqualTo(5);
+        assertThat(map.get(1)).isEqualTo(LongIntHashMap.NO_VALUE);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should behave like HashMap across resizes")
+    void shouldMatchHashMapAcrossResizes() {
+        // Given
+        var map = new LongIntHashMap();
+        var expected = new HashMap<Long, Integer>();
+        var random = new Random(3);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextLong() >>> random.nextInt(64);
+            map.put(key, i);
+            expected.put(key, i);
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package zerheri.fatimazahrae.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests unitaires pour OccupancyCalendar et son moteur de disponibilité
+ */
+@DisplayName("Occupancy Calendar Tests")
+class OccupancyCalendarTest {
+
+    @Test
+    @DisplayName("Should occupy and release ranges spanning words and pages")
+    void shouldOccupyAndReleaseAcrossPages() {
+        // Given
+        var calendar = new OccupancyCalendar();
+
+        // When
+        calendar.occupy(1000, 1100);
+
+        // Then
+        assertThat(calendar.isFree(1100, 1101)).isFalse();
+        assertThat(calendar.isFree(990, 1000)).isFalse();
+        assertThat(calendar.isFree(1101, 1200)).isTrue();
+        assertThat(calendar.getPageCount()).isEqualTo(2);
+
+        calendar.release(1000, 1100);
+        assertThat(calendar.isFree(0, 5000)).isTrue();
+        assertThat(calendar.getPageCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should agree with the interval index under random bookings")
+    void shouldMatchIntervalIndex() {
+        // Given
+        var calendar = new OccupancyCalendar();
+        var index = new RoomIntervalIndex();
+        var random = new Random(3);
+
+        for (int i = 0; i < 20_000; i++) {
+            int checkIn = 20_000 + random.nextInt(2_000);
+            int checkOut = checkIn + 1 + random.nextInt(14);
+
+            // Then
+            boolean free = calendar.isFree(checkIn, checkOut);
+            assertThat(free).isEqualTo(!index.hasConflict(checkIn, checkOut));
+            if (free) {
+                calendar.occupy(checkIn, checkOut);
+                index.add(checkIn, checkOut);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject periods beyond the configured horizon")
+    void shouldRejectPeriodsBeyondHorizon() {
+        // Given: aujourd'hui = jour epoch 20000, horizon de 30 jours
+        var clock = Clock.fixed(Instant.ofEpochSecond(20_000L * 86_400), ZoneOffset.UTC);
+        var engine = new OccupancyCalendarAvailabilityEngine(30, clock);
+
+        // Then
+        assertThat(engine.isAvailable(1, 20_010, 20_030)).isTrue();
+        assertThrows(IllegalArgumentException.class, () -> engine.isAvailable(1, 20_010, 20_031));
+    }
+
+    @Test
+    @DisplayName("Should keep past occupancy as days pass, until it is evicted on demand")
+    void shouldEvictPastPagesOnDemandOnly() {
+        // Given: aujourd'hui = jour epoch 20000, dans la page [19456, 20479]
+        var clock = new MovableClock(20_000);
+        var engine = new OccupancyCalendarAvailabilityEngine(730, clock);
+        engine.reserve(1, 20_000, 20_002);
+        engine.reserve(2, 20_470, 20_490);
+
+        // When: le jour courant passe dans la page suivante
+        clock.day = 20_480;
+        engine.reserve(3, 20_485, 20_486);
+
+        // Then: une date passée reste refusée comme avec les autres moteurs
+        assertThat(engine.isAvailable(1, 20_001, 20_001)).isFalse();
+        assertThat(engine.getPageCount()).isEqualTo(4);
+
+        // When
+        engine.evictBefore(20_480);
+
+        // Then: seules les pages à partir de celle du jour donné sont conservées
+        assertThat(engine.getPageCount()).isEqualTo(2);
+        assertThat(engine.isAvailable(1, 20_000, 20_002)).isTrue();
+        assertThat(engine.isAvailable(2, 20_481, 20_482)).isFalse();
+        assertThat(engine.getIndexedPeriodCount()).isEqualTo(3);
+    }
+
+    /**
+     * Horloge UTC dont le jour courant est modifiable par le test
+     */
+    private static final class MovableClock extends Clock {
+        private long day;
+
+        private MovableClock(long day) {
+            this.day = day;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochSecond(day * 86_400);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package zerheri.fatimazahrae.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests unitaires pour RangeFenwickTree, comparé à un tableau de valeurs par jour
+ */
+@DisplayName("Range Fenwick Tree Tests")
+class RangeFenwickTreeTest {
+
+    @Test
+    @DisplayName("Should add to and sum closed day ranges")
+    void shouldAddAndSumRanges() {
+        // Given
+        var tree = new RangeFenwickTree(16);
+
+        // When
+        tree.add(20_000, 20_002, 100);
+        tree.add(20_001, 20_001, 50);
+        tree.add(20_000, 20_000, -100);
+
+        // Then
+        assertThat(tree.get(20_000)).isZero();
+        assertThat(tree.get(20_001)).isEqualTo(150);
+        assertThat(tree.sum(19_000, 21_000)).isEqualTo(250);
+        assertThat(tree.sum(20_002, 20_010)).isEqualTo(100);
+        assertThat(tree.sum(20_003, 20_010)).isZero();
+        assertThrows(IllegalArgumentException.class, () -> tree.add(5, 4, 1));
+    }
+
+    @Test
+    @DisplayName("Should keep every day value when the window grows in both directions")
+    void shouldMatchNaiveArrayAcrossGrowth() {
+        // Given: fenêtre initiale de 8 jours, agrandie par les périodes aléatoires
+        var tree = new RangeFenwickTree(8);
+        int origin = 19_000;
+        long[] expected = new long[4_000];
+        var random = new Random(42);
+
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            int from = random.nextInt(expected.length);
+            int to = Math.min(expected.length - 1, from + random.nextInt(30));
+            long delta = random.nextInt(201) - 100;
+            tree.add(origin + from, origin + to, delta);
+            for (int day = from; day <= to; day++) {
+                expected[day] += delta;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(expected.length);
+            int to = from + random.nextInt(expected.length - from);
+            long sum = 0;
+            for (int day = from; day <= to; day++) {
+                sum += expected[day];
+            }
+            assertThat(tree.sum(origin + from, origin + to)).isEqualTo(sum);
+        }
+        assertThat(tree.getCapacity()).isGreaterThanOrEqualTo(expected.length);
+    }
+}
@@ -0,0 +1,60 @@
+package zerheri.fatimazahrae.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests unitaires pour RoomIntervalIndex
+ */
+@DisplayName("Room Interval Index Tests")
+class RoomIntervalIndexTest {
+
+    @Test
+    @DisplayName("Should treat check-out day as still occupied, like Booking.hasDateConflict")
+    void shouldUseClosedIntervals() {
+        // Given
+        var index = new RoomIntervalIndex();
+        index.add(10, 15);
+
+        // Then
+        assertThat(index.hasConflict(15, 16)).isTrue();
+        assertThat(index.hasConflict(5, 10)).isTrue();
+        assertThat(index.hasConflict(16, 20)).isFalse();
+        assertThat(index.hasConflict(1, 9)).isFalse();
+        assertThrows(IllegalStateException.class, () -> index.add(12, 20));
+    }
+
+    @Test
+    @DisplayName("Should agree with a linear scan under random inserts and removals")
+    void shouldMatchLinearScan() {
+        // Given
+        var index = new RoomIntervalIndex();
+        var reference = new ArrayList<int[]>();
+        var random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            int checkIn = random.nextInt(3_000);
+            int checkOut = checkIn + 1 + random.nextInt(10);
+            boolean expectedConflict = reference.stream()
+                    .anyMatch(p -> p[1] >= checkIn && checkOut >= p[0]);
+
+            // Then
+            assertThat(index.hasConflict(checkIn, checkOut)).isEqualTo(expectedConflict);
+
+            if (!expectedConflict) {
+                index.add(checkIn, checkOut);
+                reference.add(new int[]{checkIn, checkOut});
+            } else if (!reference.isEmpty() && random.nextBoolean()) {
+                int[] removed = reference.remove(random.nextInt(reference.size()));
+                assertThat(index.remove(removed[0], removed[1])).isTrue();
+            }
+        }
+        assertThat(index.size()).isEqualTo(reference.size());
+    }
+}
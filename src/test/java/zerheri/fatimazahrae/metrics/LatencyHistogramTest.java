@@ -0,0 +1,48 @@
+package zerheri.fatimazahrae.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour LatencyHistogram
+ */
+@DisplayName("Latency Histogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should map every value to a bucket whose upper bound is within 12.5%")
+    void shouldBoundBucketError() {
+        for (long value : new long[]{0, 1, 7, 8, 15, 16, 17, 100, 1_000, 123_456_789L, Long.MAX_VALUE}) {
+            // When
+            int index = LatencyHistogram.bucketIndex(value);
+            long upperBound = LatencyHistogram.upperBound(index);
+
+            // Then
+            assertThat(index).isBetween(0, LatencyHistogram.BUCKET_COUNT - 1);
+            assertThat(upperBound).isGreaterThanOrEqualTo(value);
+            assertThat(upperBound - value).isLessThanOrEqualTo(value / 8);
+        }
+    }
+
+    @Test
+    @DisplayName("Should estimate count, mean and percentiles")
+    void shouldEstimatePercentiles() {
+        // Given
+        var histogram = new LatencyHistogram();
+
+        // When
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 100L);
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        // Then
+        assertThat(snapshot.getCount()).isEqualTo(1_000);
+        assertThat(snapshot.getMeanNanos()).isEqualTo(50_050);
+        assertThat(snapshot.getP50Nanos()).isBetween(50_000L, 56_250L);
+        assertThat(snapshot.getP99Nanos()).isBetween(99_000L, 111_375L);
+        assertThat(snapshot.getMaxNanos()).isBetween(100_000L, 112_500L);
+    }
+}
@@ -0,0 +1,91 @@
+package zerheri.fatimazahrae.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zerheri.fatimazahrae.enums.RejectionReason;
+import zerheri.fatimazahrae.enums.ReservationOperation;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.BookingRequest;
+import zerheri.fatimazahrae.services.ConcurrentHotelReservationService;
+import zerheri.fatimazahrae.services.HotelReservationServiceImpl;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour ReservationMetrics
+ */
+@DisplayName("Reservation Metrics Tests")
+class ReservationMetricsTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2030, 1, 1);
+
+    @Test
+    @DisplayName("Should count outcomes, latencies and gauges of service operations")
+    void shouldCountServiceOperations() {
+        // Given
+        var service = new HotelReservationServiceImpl();
+        service.setEventSink(ReservationEventSink.SILENT);
+        service.setRoom(101, RoomType.STANDARD, 100);
+        service.setUser(1, 250);
+
+        // When
+        service.tryBookRoom(1, 101, CHECK_IN, CHECK_IN.plusDays(2));
+        service.tryBookRoom(1, 101, CHECK_IN, CHECK_IN.plusDays(1));
+        service.tryBookRoom(2, 101, CHECK_IN, CHECK_IN.plusDays(1));
+        service.bookRoom(1, 101, (LocalDate) null, null);
+        service.bookRooms(List.of(new BookingRequest(1, 101, CHECK_IN.plusDays(10), CHECK_IN.plusDays(11))));
+        MetricsSnapshot snapshot = service.getMetrics().snapshot();
+
+        // Then
+        assertThat(snapshot.getSuccessCount(ReservationOperation.SET_ROOM)).isEqualTo(1);
+        assertThat(snapshot.getSuccessCount(ReservationOperation.SET_USER)).isEqualTo(1);
+        assertThat(snapshot.getSuccessCount(ReservationOperation.BOOK_ROOM)).isEqualTo(1);
+        assertThat(snapshot.getRejectionCount(RejectionReason.ROOM_NOT_AVAILABLE)).isEqualTo(1);
+        assertThat(snapshot.getRejectionCount(RejectionReason.USER_NOT_FOUND)).isEqualTo(1);
+        assertThat(snapshot.getRejectionCount(RejectionReason.INVALID_PARAMETERS)).isEqualTo(1);
+        assertThat(snapshot.getRejectionCount(RejectionReason.INSUFFICIENT_BALANCE)).isEqualTo(1);
+        assertThat(snapshot.getLatency(ReservationOperation.BOOK_ROOM).getCount()).isEqualTo(4);
+        assertThat(snapshot.getRoomCount()).isEqualTo(1);
+        assertThat(snapshot.getUserCount()).isEqualTo(1);
+        assertThat(snapshot.getBookingCount()).isEqualTo(1);
+        assertThat(snapshot.getIndexedPeriodCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expose metrics through a platform MXBean")
+    void shouldExposeMetricsThroughJmx() throws Exception {
+        // Given
+        var service = new ConcurrentHotelReservationService();
+        service.setEventSink(ReservationEventSink.SILENT);
+        service.setRoom(101, RoomType.STANDARD, 100);
+        service.setUser(1, 1_000);
+        service.tryBookRoom(1, 101, CHECK_IN, CHECK_IN.plusDays(1));
+        ObjectName name = service.getMetrics().registerMBean("jmx-test");
+        var server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            // When
+            Object bookings = server.getAttribute(name, "BookingCount");
+            Object periods = server.getAttribute(name, "IndexedPeriodCount");
+            var successes = (TabularData) server.getAttribute(name, "SuccessCounts");
+            var latencies = (TabularData) server.getAttribute(name, "Latencies");
+
+            // Then
+            assertThat(bookings).isEqualTo(1);
+            assertThat(periods).isEqualTo(1L);
+            assertThat(successes.get(new Object[]{"BOOK_ROOM"}).get("value")).isEqualTo(1L);
+            var bookRoomLatency = (CompositeData) latencies.get(new Object[]{"BOOK_ROOM"}).get("value");
+            assertThat(bookRoomLatency.get("count")).isEqualTo(1L);
+        } finally {
+            service.getMetrics().unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package zerheri.fatimazahrae.persistence;
+
+import zerheri.fatimazahrae.enums.BookingCommitMode;
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.DurabilityMode;
+import zerheri.fatimazahrae.enums.RejectionReason;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingRequest;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Page;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.services.ConcurrentHotelReservationService;
+import zerheri.fatimazahrae.services.HotelReservationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests du journal des mutations : relecture, troncature d'une fin incomplète et reprise du service
+ */
+@DisplayName("File Reservation Journal Tests")
+class FileReservationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private PrintStream originalOut;
+
+    @BeforeEach
+    void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Should replay every appended record in order")
+    void shouldReplayAppendedRecords() throws IOException {
+        // Given
+        var file = directory.resolve("journal.log");
+        var user = new User(1, 5000);
+        var room = new Room(101, RoomType.JUNIOR_SUITE, 1200);
+        var booking = new Booking(user, room, LocalDate.of(2027, 1, 1), LocalDate.of(2027, 1, 3));
+
+        // When
+        try (var journal = FileReservationJournal.recover(file, JournalConfig.defaults(), new RecordingVisitor())) {
+            journal.appendUser(user);
+            journal.appendRoom(room);
+            journal.appendBooking(booking);
+            journal.awaitDurable(journal.appendCancellation(booking));
+        }
+        var visitor = new RecordingVisitor();
+        var end = FileReservationJournal.replay(file, 0, visitor);
+
+        // Then
+        assertThat(end).isEqualTo(Files.size(file));
+        assertThat(visitor.records).containsExactly("user", "room", "booking",
+                "cancellation " + booking.getBookingId());
+        assertThat(visitor.user.getBalance()).isEqualTo(5000);
+        assertThat(visitor.user.getCreatedAt()).isEqualTo(user.getCreatedAt());
+        assertThat(visitor.room.getRoomType()).isEqualTo(RoomType.JUNIOR_SUITE);
+        assertThat(visitor.booking.getBookingId()).isEqualTo(booking.getBookingId());
+        assertThat(visitor.booking.getTotalAmount()).isEqualTo(2400);
+        assertThat(visitor.booking.getCheckOut()).isEqualTo(LocalDate.of(2027, 1, 3));
+        assertThat(visitor.booking.getRoomPriceAtBooking()).isEqualTo(1200);
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn record at the end of the journal")
+    void shouldTruncateTornTail() throws IOException {
+        // Given
+        var file = directory.resolve("journal.log");
+        try (var journal = FileReservationJournal.recover(file, JournalConfig.defaults(), new RecordingVisitor())) {
+            journal.appendUser(new User(1, 100));
+            journal.awaitDurable(journal.appendUser(new User(2, 200)));
+        }
+        var validSize = Files.size(file);
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Dernier enregistrement partiellement écrit (arrêt brutal pendant l'écriture)
+            channel.truncate(validSize - 3);
+        }
+
+        // When
+        var visitor = new RecordingVisitor();
+        try (var journal = FileReservationJournal.recover(file, JournalConfig.defaults(), visitor)) {
+            journal.awaitDurable(journal.appendUser(new User(3, 300)));
+        }
+        var replayed = new RecordingVisitor();
+        FileReservationJournal.replay(file, 0, replayed);
+
+        // Then
+        assertThat(visitor.records).containsExactly("user");
+        assertThat(replayed.records).containsExactly("user", "user");
+        assertThat(replayed.user.getUserId()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should stop replaying at a record whose checksum does not match")
+    void shouldStopAtCorruptedRecord() throws IOException {
+        // Given
+        var file = directory.resolve("journal.log");
+        try (var journal = FileReservationJournal.recover(file, JournalConfig.defaults(), new RecordingVisitor())) {
+            journal.appendUser(new User(1, 100));
+            journal.awaitDurable(journal.appendUser(new User(2, 200)));
+        }
+        var bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 6] ^= 0x40;
+        Files.write(file, bytes);
+
+        // When
+        var visitor = new RecordingVisitor();
+        var end = FileReservationJournal.replay(file, 0, visitor);
+
+        // Then
+        assertThat(visitor.records).containsExactly("user");
+        assertThat(end).isEqualTo(bytes.length / 2);
+    }
+
+    @Test
+    @DisplayName("Should rebuild rooms, users, balances and booked periods after a restart")
+    void shouldRecoverServiceState() throws IOException {
+        // Given
+        var file = directory.resolve("journal.log");
+        var checkIn = LocalDate.of(2027, 6, 1);
+        var service = new ConcurrentHotelReservationService(BookingCommitMode.PESSIMISTIC);
+        service.openJournal(file, new JournalConfig(Duration.ofMillis(1), 64 * 1024, DurabilityMode.SYNC));
+        service.setRoom(1, RoomType.STANDARD, 1000);
+        service.setRoom(2, RoomType.STANDARD, 500);
+        service.setUser(1, 3000);
+        service.setUser(2, 10_000);
+        service.bookRooms(List.of(
+                new BookingRequest(1, 1, checkIn, checkIn.plusDays(2)),
+                new BookingRequest(2, 2, checkIn, checkIn.plusDays(4))));
+        service.setRoom(1, RoomType.MASTER_SUITE, 4000);
+        service.closeJournal();
+
+        // When
+        var recovered = new HotelReservationServiceImpl();
+        recovered.openJournal(file, JournalConfig.defaults());
+        List<BookingResult> results;
+        try {
+            results = recovered.bookRooms(List.of(
+                    new BookingRequest(2, 1, checkIn.plusDays(1), checkIn.plusDays(2)),
+                    new BookingRequest(1, 2, checkIn.plusDays(10), checkIn.plusDays(13)),
+                    new BookingRequest(1, 2, checkIn.plusDays(10), checkIn.plusDays(12))));
+        } finally {
+            recovered.closeJournal();
+        }
+
+        // Then
+        assertThat(recovered.getTotalRoomsCount()).isEqualTo(2);
+        assertThat(recovered.getTotalUsersCount()).isEqualTo(2);
+        assertThat(results).extracting(BookingResult::getRejectionReason).containsExactly(
+                RejectionReason.ROOM_NOT_AVAILABLE,
+                RejectionReason.INSUFFICIENT_BALANCE,
+                null);
+        assertThat(results.get(2).getBooking().getTotalAmount()).isEqualTo(1000);
+        assertThat(recovered.findAvailableRooms(RoomType.MASTER_SUITE, checkIn.plusDays(5), checkIn.plusDays(6),
+                4000, 10)).extracting(Room::getRoomNumber).containsExactly(1);
+        assertThat(recovered.getTotalBookingsCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should replay cancellations: refund once and free the nights, with or without a snapshot")
+    void shouldRecoverCancellations() throws IOException {
+        // Given: une annulation avant l'instantané, une autre après
+        var file = directory.resolve("journal.log");
+        var snapshotFile = directory.resolve("snapshot.bin");
+        var checkIn = LocalDate.of(2027, 6, 1);
+        var service = new ConcurrentHotelReservationService(BookingCommitMode.OPTIMISTIC);
+        service.openJournal(file, new JournalConfig(Duration.ofMillis(1), 64 * 1024, DurabilityMode.SYNC));
+        service.setRoom(1, RoomType.STANDARD, 100);
+        service.setUser(1, 1000);
+        long first = service.tryBookRoom(1, 1, checkIn, checkIn.plusDays(2)).getBookingId();
+        long second = service.tryBookRoom(1, 1, checkIn.plusDays(5), checkIn.plusDays(6)).getBookingId();
+        service.tryBookRoom(1, 1, checkIn.plusDays(10), checkIn.plusDays(11));
+        service.cancelBooking(first);
+        service.writeSnapshot(snapshotFile);
+        service.cancelBooking(second);
+        service.closeJournal();
+
+        // When
+        var fromJournal = new HotelReservationServiceImpl();
+        fromJournal.openJournal(file, JournalConfig.defaults());
+        fromJournal.closeJournal();
+        var fromSnapshot = new HotelReservationServiceImpl();
+        fromSnapshot.openJournal(file, snapshotFile, JournalConfig.defaults());
+        fromSnapshot.closeJournal();
+
+        // Then
+        for (var recovered : List.of(fromJournal, fromSnapshot)) {
+            assertThat(recovered.listUsers(Page.LATEST, 1).getItems()).extracting(User::getBalance).containsExactly(900);
+            assertThat(recovered.tryBookRoom(1, 1, checkIn, checkIn.plusDays(1)).isConfirmed()).isTrue();
+            assertThat(recovered.tryBookRoom(1, 1, checkIn.plusDays(5), checkIn.plusDays(6)).isConfirmed()).isTrue();
+            assertThat(recovered.cancelBooking(first)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep confirmed holds and release pending ones after a restart")
+    void shouldReleasePendingHoldsOnRecovery() throws IOException {
+        // Given: un blocage confirmé, un blocage en attente avant l'instantané, un autre après
+        var file = directory.resolve("journal.log");
+        var snapshotFile = directory.resolve("snapshot.bin");
+        var checkIn = LocalDate.of(2027, 7, 1);
+        var service = new ConcurrentHotelReservationService(BookingCommitMode.OPTIMISTIC);
+        service.openJournal(file, new JournalConfig(Duration.ofMillis(1), 64 * 1024, DurabilityMode.SYNC));
+        service.setRoom(1, RoomType.STANDARD, 100);
+        service.setUser(1, 1000);
+        long pending = service.holdRoom(1, 1, checkIn, checkIn.plusDays(1), Duration.ofHours(1)).getBookingId();
+        long confirmed = service.holdRoom(1, 1, checkIn.plusDays(3), checkIn.plusDays(4), Duration.ofHours(1))
+                .getBookingId();
+        service.confirmHold(confirmed);
+        service.writeSnapshot(snapshotFile);
+        long pendingAfterSnapshot = service.holdRoom(1, 1, checkIn.plusDays(6), checkIn.plusDays(7),
+                Duration.ofHours(1)).getBookingId();
+        service.closeJournal();
+
+        // When
+        var fromJournal = new HotelReservationServiceImpl();
+        fromJournal.openJournal(file, JournalConfig.defaults());
+        fromJournal.closeJournal();
+        var fromSnapshot = new HotelReservationServiceImpl();
+        fromSnapshot.openJournal(file, snapshotFile, JournalConfig.defaults());
+        fromSnapshot.closeJournal();
+
+        // Then
+        for (var recovered : List.of(fromJournal, fromSnapshot)) {
+            assertThat(recovered.listUsers(Page.LATEST, 1).getItems()).extracting(User::getBalance).containsExactly(900);
+            assertThat(recovered.listBookings(Page.LATEST, 3).getItems())
+                    .extracting(Booking::getBookingId, Booking::getStatus)
+                    .containsExactly(tuple(pendingAfterSnapshot, BookingStatus.CANCELLED),
+                            tuple(confirmed, BookingStatus.CONFIRMED), tuple(pending, BookingStatus.CANCELLED));
+            assertThat(recovered.tryBookRoom(1, 1, checkIn, checkIn.plusDays(1)).isConfirmed()).isTrue();
+            assertThat(recovered.tryBookRoom(1, 1, checkIn.plusDays(3), checkIn.plusDays(4)).isConfirmed()).isFalse();
+        }
+    }
+
+    private static final class RecordingVisitor implements JournalVisitor {
+        private final List<String> records = new ArrayList<>();
+        private Room room;
+        private User user;
+        private Booking booking;
+
+        @Override
+        public void onRoom(Room room) {
+            records.add("room");
+            this.room = room;
+        }
+
+        @Override
+        public void onUser(User user) {
+            records.add("user");
+            this.user = user;
+        }
+
+        @Override
+        public void onBooking(Booking booking) {
+            records.add("booking");
+            this.booking = booking;
+        }
+
+        @Override
+        public void onConfirmation(long bookingId) {
+            records.add("confirmation " + bookingId);
+        }
+
+        @Override
+        public void onCancellation(long bookingId) {
+            records.add("cancellation " + bookingId);
+        }
+    }
+}
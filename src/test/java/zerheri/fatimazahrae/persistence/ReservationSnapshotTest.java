@@ -0,0 +1,186 @@
+package zerheri.fatimazahrae.persistence;
+
+import zerheri.fatimazahrae.enums.RejectionReason;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingRequest;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.services.HotelReservationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests des instantanés binaires et de la reprise à partir d'un instantané et de la fin du journal
+ */
+@DisplayName("Reservation Snapshot Tests")
+class ReservationSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private PrintStream originalOut;
+
+    @BeforeEach
+    void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Should load every record with its booking-time room type and price")
+    void shouldRoundTripRecords() throws IOException {
+        // Given
+        var file = directory.resolve("snapshot.bin");
+        var user = new User(7, 900);
+        var room = new Room(12, RoomType.MASTER_SUITE, 300);
+        var booking = new Booking(user, room, LocalDate.of(2027, 2, 1), LocalDate.of(2027, 2, 2), 1500);
+        room.update(RoomType.STANDARD, 50);
+
+        // When
+        new ReservationSnapshot(4242, List.of(room), List.of(user), List.of(booking), 1).writeTo(file);
+        var loaded = new ArrayList<Object>();
+        var position = ReservationSnapshot.load(file, new JournalVisitor() {
+            @Override
+            public void onRoom(Room room) {
+                loaded.add(room);
+            }
+
+            @Override
+            public void onUser(User user) {
+                loaded.add(user);
+            }
+
+            @Override
+            public void onBooking(Booking booking) {
+                loaded.add(booking);
+            }
+
+            @Override
+            public void onConfirmation(long bookingId) {
+                loaded.add(bookingId);
+            }
+
+            @Override
+            public void onCancellation(long bookingId) {
+                loaded.add(bookingId);
+            }
+        });
+
+        // Then
+        assertThat(position).isEqualTo(4242);
+        assertThat(loaded).hasSize(3);
+        var loadedBooking = (Booking) loaded.get(2);
+        assertThat(loadedBooking.getRoomTypeAtBooking()).isEqualTo(RoomType.MASTER_SUITE);
+        assertThat(loadedBooking.getRoomPriceAtBooking()).isEqualTo(300);
+        assertThat(loadedBooking.getUserBalanceBeforeBooking()).isEqualTo(1500);
+        assertThat(((Room) loaded.get(0)).getRoomType()).isEqualTo(RoomType.STANDARD);
+        assertThat(((User) loaded.get(1)).getBalance()).isEqualTo(900);
+    }
+
+    @Test
+    @DisplayName("Should restore from the snapshot and replay only the journal tail")
+    void shouldReplayOnlyJournalTail() throws IOException {
+        // Given
+        var journalFile = directory.resolve("journal.log");
+        var snapshotFile = directory.resolve("snapshot.bin");
+        var checkIn = LocalDate.of(2027, 4, 1);
+        var service = new HotelReservationServiceImpl();
+        service.openJournal(journalFile, snapshotFile, JournalConfig.defaults());
+        service.setRoom(1, RoomType.STANDARD, 100);
+        service.setUser(1, 700);
+        service.bookRooms(List.of(new BookingRequest(1, 1, checkIn, checkIn.plusDays(3))));
+        service.writeSnapshot(snapshotFile);
+        service.bookRooms(List.of(new BookingRequest(1, 1, checkIn.plusDays(10), checkIn.plusDays(12))));
+        service.closeJournal();
+
+        // When
+        var recovered = new HotelReservationServiceImpl();
+        recovered.openJournal(journalFile, snapshotFile, JournalConfig.defaults());
+        List<BookingResult> results;
+        try {
+            results = recovered.bookRooms(List.of(
+                    new BookingRequest(1, 1, checkIn.plusDays(11), checkIn.plusDays(11)),
+                    new BookingRequest(1, 1, checkIn.plusDays(20), checkIn.plusDays(22)),
+                    new BookingRequest(1, 1, checkIn.plusDays(30), checkIn.plusDays(31))));
+        } finally {
+            recovered.closeJournal();
+        }
+
+        // Then: 700 - 300 - 200 - 200 = 0, sans double débit des réservations de l'instantané
+        assertThat(recovered.getTotalBookingsCount()).isEqualTo(3);
+        assertThat(results).extracting(BookingResult::getRejectionReason).containsExactly(
+                RejectionReason.INVALID_DATES,
+                null,
+                RejectionReason.INSUFFICIENT_BALANCE);
+        var tail = new ArrayList<String>();
+        FileReservationJournal.replay(journalFile, ReservationSnapshot.load(snapshotFile, new IgnoringVisitor()),
+                new IgnoringVisitor() {
+                    @Override
+                    public void onBooking(Booking booking) {
+                        tail.add("booking");
+                    }
+                });
+        assertThat(tail).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a truncated snapshot")
+    void shouldRejectTruncatedSnapshot() throws IOException {
+        // Given
+        var file = directory.resolve("snapshot.bin");
+        var user = new User(1, 10);
+        new ReservationSnapshot(0, List.of(), List.of(user), List.of(), 0).writeTo(file);
+        var bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+
+        // When / Then
+        assertThatThrownBy(() -> ReservationSnapshot.load(file, new IgnoringVisitor()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("corrupted");
+    }
+
+    private static class IgnoringVisitor implements JournalVisitor {
+        @Override
+        public void onRoom(Room room) {
+        }
+
+        @Override
+        public void onUser(User user) {
+        }
+
+        @Override
+        public void onBooking(Booking booking) {
+        }
+
+        @Override
+        public void onConfirmation(long bookingId) {
+        }
+
+        @Override
+        public void onCancellation(long bookingId) {
+        }
+    }
+}
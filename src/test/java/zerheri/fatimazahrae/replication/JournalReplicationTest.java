@@ -0,0 +1,248 @@
+package zerheri.fatimazahrae.replication;
+
+import zerheri.fatimazahrae.enums.BookingCommitMode;
+import zerheri.fatimazahrae.enums.DurabilityMode;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.persistence.JournalConfig;
+import zerheri.fatimazahrae.persistence.JournalVisitor;
+import zerheri.fatimazahrae.services.ConcurrentHotelReservationService;
+import zerheri.fatimazahrae.services.HotelReservationService;
+import zerheri.fatimazahrae.services.ReadReplica;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests de la réplication du journal : primaire et répliques sur l'interface locale
+ */
+@DisplayName("Journal Replication Tests")
+class JournalReplicationTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @TempDir
+    Path directory;
+
+    private final Logger replicationLogger = Logger.getLogger("zerheri.fatimazahrae.replication");
+    private ConcurrentHotelReservationService primary;
+    private Path journalFile;
+    private JournalShipper shipper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        replicationLogger.setLevel(Level.OFF);
+        journalFile = directory.resolve("journal.log");
+        primary = new ConcurrentHotelReservationService(BookingCommitMode.OPTIMISTIC);
+        primary.setEventSink(ReservationEventSink.SILENT);
+        primary.openJournal(journalFile, new JournalConfig(Duration.ofMillis(1), 64 * 1024, DurabilityMode.SYNC));
+        shipper = startShipper(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        shipper.close();
+        primary.closeJournal();
+        replicationLogger.setLevel(null);
+    }
+
+    @Test
+    @DisplayName("Should converge to the primary state and serve reads while refusing writes")
+    void shouldServeReplicatedReads() throws Exception {
+        // Given
+        var checkIn = LocalDate.of(2027, 5, 1);
+        primary.setRoom(1, RoomType.STANDARD, 100);
+        primary.setRoom(2, RoomType.JUNIOR_SUITE, 200);
+        primary.setUser(1, 1_000);
+        long cancelled = primary.tryBookRoom(1, 1, checkIn, checkIn.plusDays(2)).getBookingId();
+        primary.tryBookRoom(1, 2, checkIn, checkIn.plusDays(1));
+
+        try (var replica = ReadReplica.follow(shipper.getAddress())) {
+            // When: mutations avant et après la connexion de la réplique
+            primary.cancelBooking(cancelled);
+            primary.setRoom(1, RoomType.STANDARD, 90);
+            primary.setUser(2, 500);
+            var follower = replica.getFollower();
+            boolean caughtUp = follower.awaitPosition(primary.getJournalDurablePosition(), TIMEOUT);
+
+            // Then
+            assertThat(caughtUp).isTrue();
+            assertThat(printAll(replica)).isEqualTo(printAll(primary));
+            assertThat(replica.getTotalUsersCount()).isEqualTo(2);
+            assertThat(replica.findAvailableRooms(null, checkIn, checkIn.plusDays(1), 1_000, 10))
+                    .extracting(Room::getRoomNumber, Room::getPricePerNight).containsExactly(tuple(1, 90));
+            assertThat(follower.getAppliedRecordCount()).isEqualTo(8);
+            assertThat(follower.getLagBytes()).isZero();
+            assertThatThrownBy(() -> replica.setUser(3, 10)).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should resume from its applied position after the primary connection is lost")
+    void shouldCatchUpAfterReconnection() throws Exception {
+        // Given
+        primary.setRoom(1, RoomType.STANDARD, 100);
+        var address = shipper.getAddress();
+        try (var replica = ReadReplica.follow(address)) {
+            var follower = replica.getFollower();
+            assertThat(follower.awaitPosition(primary.getJournalDurablePosition(), TIMEOUT)).isTrue();
+
+            // When: le primaire continue d'écrire pendant la coupure
+            shipper.close();
+            for (int user = 1; user <= 100; user++) {
+                primary.setUser(user, user);
+            }
+            shipper = startShipper(address);
+            boolean caughtUp = follower.awaitPosition(primary.getJournalDurablePosition(), TIMEOUT);
+
+            // Then
+            assertThat(caughtUp).isTrue();
+            assertThat(follower.getReconnectCount()).isPositive();
+            assertThat(follower.getAppliedRecordCount()).isEqualTo(101);
+            assertThat(replica.getTotalUsersCount()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    @DisplayName("Should follow the journal from the position covered by a snapshot")
+    void shouldFollowFromSnapshot() throws Exception {
+        // Given
+        var snapshotFile = directory.resolve("snapshot.bin");
+        primary.setRoom(1, RoomType.MASTER_SUITE, 300);
+        primary.setUser(1, 1_000);
+        primary.writeSnapshot(snapshotFile);
+        primary.tryBookRoom(1, 1, LocalDate.of(2027, 8, 1), LocalDate.of(2027, 8, 2));
+
+        // When
+        try (var replica = ReadReplica.follow(shipper.getAddress(), snapshotFile)) {
+            boolean caughtUp = replica.getFollower().awaitPosition(primary.getJournalDurablePosition(), TIMEOUT);
+
+            // Then: seule la réservation postérieure à l'instantané est expédiée
+            assertThat(caughtUp).isTrue();
+            assertThat(replica.getFollower().getAppliedRecordCount()).isEqualTo(1);
+            assertThat(printAll(replica)).isEqualTo(printAll(primary));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop, neither skipping nor reapplying records, when a record cannot be applied")
+    void shouldStopOnRecordThatCannotBeApplied() throws Exception {
+        // Given: un visiteur qui échoue sur le troisième utilisateur
+        for (int user = 1; user <= 5; user++) {
+            primary.setUser(user, 100);
+        }
+        var visited = new ArrayList<Integer>();
+        var visitor = new JournalVisitor() {
+            @Override
+            public void onRoom(Room room) {
+            }
+
+            @Override
+            public void onUser(User user) {
+                visited.add(user.getUserId());
+                if (user.getUserId() == 3) {
+                    throw new IllegalStateException("Unexpected user");
+                }
+            }
+
+            @Override
+            public void onBooking(Booking booking) {
+            }
+
+            @Override
+            public void onConfirmation(long bookingId) {
+            }
+
+            @Override
+            public void onCancellation(long bookingId) {
+            }
+        };
+
+        // When
+        try (var follower = JournalFollower.start(shipper.getAddress(), 0, visitor, new ReentrantLock())) {
+            boolean caughtUp = follower.awaitPosition(primary.getJournalDurablePosition(), TIMEOUT);
+
+            // Then
+            assertThat(caughtUp).isFalse();
+            assertThat(follower.isFailed()).isTrue();
+            assertThat(follower.getAppliedRecordCount()).isEqualTo(2);
+            assertThat(follower.getAppliedPosition()).isPositive();
+            Thread.sleep(500);
+            assertThat(follower.getReconnectCount()).isZero();
+            assertThat(visited).containsExactly(1, 2, 3);
+        }
+    }
+
+    @Test
+    @DisplayName("Should replicate to a follower running in another JVM")
+    void shouldReplicateToAnotherProcess() throws Exception {
+        // Given
+        primary.setRoom(1, RoomType.STANDARD, 100);
+        primary.setUser(1, 1_000);
+        primary.tryBookRoom(1, 1, LocalDate.of(2027, 9, 1), LocalDate.of(2027, 9, 3));
+        var address = shipper.getAddress();
+        var javaBin = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        // When
+        var process = new ProcessBuilder(javaBin, "-cp", System.getProperty("java.class.path"),
+                ReplicaProcess.class.getName(), address.getHostString(), String.valueOf(address.getPort()),
+                String.valueOf(primary.getJournalDurablePosition()))
+                .redirectErrorStream(true)
+                .start();
+        boolean exited = process.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        var output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(exited).isTrue();
+        assertThat(process.exitValue()).as(output).isZero();
+        assertThat(output).contains("rooms=1 users=1 bookings=1");
+    }
+
+    /**
+     * Réplique lancée dans une JVM séparée : affiche ses compteurs une fois la position atteinte
+     */
+    static final class ReplicaProcess {
+        public static void main(String[] args) throws Exception {
+            Logger.getLogger("zerheri.fatimazahrae").setLevel(Level.OFF);
+            var primary = new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+            try (var replica = ReadReplica.follow(primary)) {
+                if (!replica.getFollower().awaitPosition(Long.parseLong(args[2]), TIMEOUT)) {
+                    System.exit(1);
+                }
+                System.out.println("rooms=" + replica.getTotalRoomsCount() + " users=" + replica.getTotalUsersCount()
+                        + " bookings=" + replica.getTotalBookingsCount());
+            }
+        }
+    }
+
+    private JournalShipper startShipper(InetSocketAddress address) throws IOException {
+        return JournalShipper.start(journalFile, primary::getJournalDurablePosition, address);
+    }
+
+    private static String printAll(HotelReservationService service) throws IOException {
+        var out = new StringBuilder();
+        service.printAll(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,439 @@
+package zerheri.fatimazahrae.services;
+
+import zerheri.fatimazahrae.enums.BookingCommitMode;
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.DurabilityMode;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.persistence.JournalConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de concurrence pour ConcurrentHotelReservationService
+ */
+@DisplayName("Concurrent Hotel Reservation Service Tests")
+class ConcurrentHotelReservationServiceTest {
+    private static final int ROOMS = 8;
+    private static final int USERS = 16;
+    private static final int INITIAL_BALANCE = 2_000;
+    private static final int PRICE = 10;
+
+    private final Logger serviceLogger = Logger.getLogger(ConcurrentHotelReservationService.class.getName());
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+
+    @BeforeEach
+    void setUp() {
+        // Les sorties console ne sont pas l'objet de ces tests
+        originalOut = System.out;
+        originalErr = System.err;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        serviceLogger.setLevel(Level.OFF);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+        serviceLogger.setLevel(null);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingCommitMode.class)
+    @DisplayName("Should never double-book a room nor overdraw a user under heavy contention")
+    void shouldKeepInvariantsUnderContention(BookingCommitMode commitMode) throws Exception {
+        // Given: peu de chambres et d'utilisateurs pour maximiser la contention
+        var service = new ConcurrentHotelReservationService(4, commitMode);
+        for (int room = 1; room <= ROOMS; room++) {
+            service.setRoom(room, RoomType.STANDARD, PRICE);
+        }
+        for (int user = 1; user <= USERS; user++) {
+            service.setUser(user, INITIAL_BALANCE);
+        }
+        var base = LocalDate.of(2027, 1, 1);
+
+        // When
+        runConcurrently(8, 2_000, () -> {
+            var random = ThreadLocalRandom.current();
+            var checkIn = base.plusDays(random.nextInt(200));
+            service.bookRoom(1 + random.nextInt(USERS), 1 + random.nextInt(ROOMS),
+                    toDate(checkIn), toDate(checkIn.plusDays(1 + random.nextInt(5))));
+        });
+
+        // Then
+        assertNoOverlappingBookings(service.getBookings());
+        assertThat(service.getBookings()).hasSize(service.getTotalBookingsCount());
+        int spent = service.getBookings().stream().mapToInt(Booking::getTotalAmount).sum();
+        int remaining = service.getUsers().stream().mapToInt(User::getBalance).sum();
+        assertThat(service.getUsers()).allSatisfy(u -> assertThat(u.getBalance()).isNotNegative());
+        assertThat(spent + remaining).isEqualTo(USERS * INITIAL_BALANCE);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingCommitMode.class)
+    @DisplayName("Should refund each cancelled booking exactly once while the same rooms are being booked")
+    void shouldCancelConsistentlyUnderContention(BookingCommitMode commitMode) throws Exception {
+        // Given
+        var service = new ConcurrentHotelReservationService(4, commitMode);
+        service.setEventSink(ReservationEventSink.SILENT);
+        for (int room = 1; room <= ROOMS; room++) {
+            service.setRoom(room, RoomType.STANDARD, PRICE);
+        }
+        for (int user = 1; user <= USERS; user++) {
+            service.setUser(user, INITIAL_BALANCE);
+        }
+        var base = LocalDate.of(2027, 1, 1);
+        var cancelled = new AtomicInteger();
+
+        // When: la moitié des opérations annulent une réservation existante, parfois déjà annulée
+        runConcurrently(8, 2_000, () -> {
+            var random = ThreadLocalRandom.current();
+            int bookingCount = service.getTotalBookingsCount();
+            if (random.nextBoolean() && bookingCount > 0) {
+                var booking = service.getBookings().get(random.nextInt(bookingCount));
+                if (service.cancelBooking(booking.getBookingId())) {
+                    cancelled.incrementAndGet();
+                }
+            } else {
+                var checkIn = base.plusDays(random.nextInt(60));
+                service.tryBookRoom(1 + random.nextInt(USERS), 1 + random.nextInt(ROOMS),
+                        checkIn, checkIn.plusDays(1 + random.nextInt(3)));
+            }
+        });
+
+        // Then
+        var confirmed = service.getBookings().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
+                .collect(Collectors.toList());
+        assertNoOverlappingBookings(confirmed);
+        assertThat(service.getTotalBookingsCount() - confirmed.size()).isEqualTo(cancelled.get());
+        int spent = confirmed.stream().mapToInt(Booking::getTotalAmount).sum();
+        int remaining = service.getUsers().stream().mapToInt(User::getBalance).sum();
+        assertThat(spent + remaining).isEqualTo(USERS * INITIAL_BALANCE);
+    }
+
+    @Test
+    @DisplayName("Should expire unconfirmed holds in the background while the same rooms are being held")
+    void shouldExpireHoldsUnderContention() throws Exception {
+        // Given
+        var service = new ConcurrentHotelReservationService(4, BookingCommitMode.OPTIMISTIC);
+        service.setEventSink(ReservationEventSink.SILENT);
+        for (int room = 1; room <= ROOMS; room++) {
+            service.setRoom(room, RoomType.STANDARD, PRICE);
+        }
+        for (int user = 1; user <= USERS; user++) {
+            service.setUser(user, INITIAL_BALANCE);
+        }
+        var base = LocalDate.of(2027, 1, 1);
+
+        // When: un blocage sur trois est confirmé, les autres expirent
+        runConcurrently(8, 1_000, () -> {
+            var random = ThreadLocalRandom.current();
+            var checkIn = base.plusDays(random.nextInt(60));
+            var hold = service.holdRoom(1 + random.nextInt(USERS), 1 + random.nextInt(ROOMS),
+                    checkIn, checkIn.plusDays(1 + random.nextInt(3)), Duration.ofMillis(1 + random.nextInt(50)));
+            if (hold.isConfirmed() && random.nextInt(3) == 0) {
+                service.confirmHold(hold.getBookingId());
+            }
+        });
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (service.getBookings().stream().anyMatch(booking -> booking.getStatus() == BookingStatus.PENDING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // Then
+        assertThat(service.getBookings()).extracting(Booking::getStatus).doesNotContain(BookingStatus.PENDING);
+        var confirmed = service.getBookings().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
+                .collect(Collectors.toList());
+        assertNoOverlappingBookings(confirmed);
+        int spent = confirmed.stream().mapToInt(Booking::getTotalAmount).sum();
+        int remaining = service.getUsers().stream().mapToInt(User::getBalance).sum();
+        assertThat(spent + remaining).isEqualTo(USERS * INITIAL_BALANCE);
+    }
+
+    @Test
+    @DisplayName("Should fall back to locking for a hot room and stay consistent")
+    void shouldFallBackToLockingForHotRoom() throws Exception {
+        // Given: une seule chambre, disputée par tous les threads
+        var service = new ConcurrentHotelReservationService(BookingCommitMode.OPTIMISTIC);
+        service.setRoom(1, RoomType.MASTER_SUITE, 1);
+        for (int user = 1; user <= USERS; user++) {
+            service.setUser(user, INITIAL_BALANCE);
+        }
+        var base = LocalDate.of(2027, 1, 1);
+
+        // When
+        runConcurrently(8, 1_000, () -> {
+            var random = ThreadLocalRandom.current();
+            var checkIn = base.plusDays(random.nextInt(2_000));
+            service.bookRoom(1 + random.nextInt(USERS), 1, toDate(checkIn), toDate(checkIn.plusDays(1)));
+        });
+
+        // Then
+        assertNoOverlappingBookings(service.getBookings());
+        assertThat(service.getTotalBookingsCount()).isPositive();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingCommitMode.class)
+    @DisplayName("Should give the same batch outcomes as the single-threaded implementation")
+    void shouldMatchReferenceBatchOutcomes(BookingCommitMode commitMode) {
+        // Given
+        var concurrent = new ConcurrentHotelReservationService(4, commitMode);
+        var reference = new HotelReservationServiceImpl();
+        var requests = HotelReservationServiceImplTest.randomRequests(new Random(9), 2_000);
+        for (var service : List.of(concurrent, reference)) {
+            for (int room = 1; room <= 20; room++) {
+                service.setRoom(room, RoomType.STANDARD, 100);
+            }
+            for (int user = 1; user <= 30; user++) {
+                service.setUser(user, 5_000);
+            }
+        }
+
+        // When
+        var results = concurrent.bookRooms(requests);
+        var expected = reference.bookRooms(requests);
+
+        // Then
+        assertThat(results).extracting(BookingResult::getRejectionReason)
+                .containsExactlyElementsOf(expected.stream().map(BookingResult::getRejectionReason).toList());
+        assertNoOverlappingBookings(concurrent.getBookings());
+    }
+
+    @Test
+    @DisplayName("Should create each room only once when set concurrently")
+    void shouldCreateEachRoomOnce() throws Exception {
+        // Given
+        var service = new ConcurrentHotelReservationService();
+
+        // When
+        runConcurrently(8, 500, () -> {
+            var random = ThreadLocalRandom.current();
+            service.setRoom(1 + random.nextInt(50), RoomType.JUNIOR_SUITE, 1 + random.nextInt(100));
+        });
+
+        // Then
+        assertThat(service.getTotalRoomsCount()).isEqualTo(50);
+        assertThat(service.getRooms()).hasSize(50);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingCommitMode.class)
+    @DisplayName("Should recover the exact state from snapshots taken while bookings are running")
+    void shouldRecoverFromSnapshotTakenUnderLoad(BookingCommitMode commitMode, @TempDir Path directory)
+            throws Exception {
+        // Given
+        var journalFile = directory.resolve("journal.log");
+        var snapshotFile = directory.resolve("snapshot.bin");
+        var config = new JournalConfig(Duration.ofMillis(1), 64 * 1024, DurabilityMode.ASYNC);
+        var service = new ConcurrentHotelReservationService(4, commitMode);
+        service.openJournal(journalFile, snapshotFile, config);
+        for (int room = 1; room <= ROOMS; room++) {
+            service.setRoom(room, RoomType.STANDARD, PRICE);
+        }
+        for (int user = 1; user <= USERS; user++) {
+            service.setUser(user, INITIAL_BALANCE);
+        }
+        var base = LocalDate.of(2027, 1, 1);
+        var snapshots = new AtomicInteger();
+
+        // When: des instantanés sont écrits pendant les réservations
+        runConcurrently(4, 1_000, () -> {
+            var random = ThreadLocalRandom.current();
+            if (random.nextInt(500) == 0) {
+                try {
+                    service.writeSnapshot(snapshotFile);
+                    snapshots.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            var checkIn = base.plusDays(random.nextInt(300));
+            service.bookRoom(1 + random.nextInt(USERS), 1 + random.nextInt(ROOMS),
+                    toDate(checkIn), toDate(checkIn.plusDays(1 + random.nextInt(5))));
+        });
+        service.closeJournal();
+        var recovered = new ConcurrentHotelReservationService(4, commitMode);
+        recovered.openJournal(journalFile, snapshotFile, config);
+        recovered.closeJournal();
+
+        // Then
+        assertThat(snapshots.get()).isPositive();
+        assertThat(recovered.getBookings()).extracting(Booking::getBookingId)
+                .containsExactlyInAnyOrderElementsOf(service.getBookings().stream().map(Booking::getBookingId).toList());
+        assertThat(recovered.getUsers()).extracting(User::getBalance)
+                .containsExactlyElementsOf(service.getUsers().stream().map(User::getBalance).toList());
+        assertThat(recovered.getTotalBookingsCount()).isEqualTo(service.getTotalBookingsCount());
+        assertNoOverlappingBookings(recovered.getBookings());
+    }
+
+    @Test
+    @DisplayName("Should write scheduled snapshots while booking, and refuse them for the single-threaded service")
+    void shouldWriteScheduledSnapshots(@TempDir Path directory) throws Exception {
+        // Given
+        var journalFile = directory.resolve("journal.log");
+        var snapshotFile = directory.resolve("snapshot.bin");
+        var config = new JournalConfig(Duration.ofMillis(1), 64 * 1024, DurabilityMode.ASYNC);
+        var service = new ConcurrentHotelReservationService(4);
+        service.openJournal(journalFile, snapshotFile, config);
+        for (int room = 1; room <= ROOMS; room++) {
+            service.setRoom(room, RoomType.STANDARD, PRICE);
+        }
+        for (int user = 1; user <= USERS; user++) {
+            service.setUser(user, INITIAL_BALANCE);
+        }
+        var base = LocalDate.of(2027, 1, 1);
+        var singleThreaded = new HotelReservationServiceImpl();
+
+        // When: instantanés écrits par le planificateur pendant les réservations
+        service.scheduleSnapshots(snapshotFile, Duration.ofMillis(5));
+        runConcurrently(4, 500, () -> {
+            var random = ThreadLocalRandom.current();
+            var checkIn = base.plusDays(random.nextInt(300));
+            service.tryBookRoom(1 + random.nextInt(USERS), 1 + random.nextInt(ROOMS),
+                    checkIn, checkIn.plusDays(1 + random.nextInt(5)));
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!Files.exists(snapshotFile) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        service.closeJournal();
+        var recovered = new ConcurrentHotelReservationService(4);
+        recovered.openJournal(journalFile, snapshotFile, config);
+        recovered.closeJournal();
+
+        // Then
+        assertThat(snapshotFile).exists();
+        assertThat(recovered.getUsers()).extracting(User::getBalance)
+                .containsExactlyElementsOf(service.getUsers().stream().map(User::getBalance).toList());
+        assertThat(recovered.getTotalBookingsCount()).isEqualTo(service.getTotalBookingsCount());
+        assertThatThrownBy(() -> singleThreaded.scheduleSnapshots(snapshotFile, Duration.ofMillis(5)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should replay to the live balances when setUser races optimistic bookings and cancellations")
+    void shouldJournalOptimisticDebitsInMemoryOrder(@TempDir Path directory) throws Exception {
+        // Given
+        var journalFile = directory.resolve("journal.log");
+        var config = new JournalConfig(Duration.ofMillis(1), 64 * 1024, DurabilityMode.ASYNC);
+        var service = new ConcurrentHotelReservationService(4, BookingCommitMode.OPTIMISTIC);
+        service.openJournal(journalFile, config);
+        for (int room = 1; room <= ROOMS; room++) {
+            service.setRoom(room, RoomType.STANDARD, PRICE);
+        }
+        for (int user = 1; user <= 2; user++) {
+            service.setUser(user, INITIAL_BALANCE);
+        }
+        var base = LocalDate.of(2027, 1, 1);
+
+        // When: soldes redéfinis pendant que les mêmes utilisateurs réservent et annulent
+        runConcurrently(8, 2_000, () -> {
+            var random = ThreadLocalRandom.current();
+            int user = 1 + random.nextInt(2);
+            int bookingCount = service.getTotalBookingsCount();
+            int action = random.nextInt(4);
+            if (action == 0) {
+                service.setUser(user, INITIAL_BALANCE + random.nextInt(100));
+            } else if (action == 1 && bookingCount > 0) {
+                service.cancelBooking(service.getBookings().get(random.nextInt(bookingCount)).getBookingId());
+            } else {
+                var checkIn = base.plusDays(random.nextInt(3_000));
+                service.tryBookRoom(user, 1 + random.nextInt(ROOMS), checkIn, checkIn.plusDays(1));
+            }
+        });
+        service.closeJournal();
+        var recovered = new ConcurrentHotelReservationService(4, BookingCommitMode.OPTIMISTIC);
+        recovered.openJournal(journalFile, config);
+        recovered.closeJournal();
+
+        // Then
+        assertThat(recovered.getUsers()).extracting(User::getBalance)
+                .containsExactlyElementsOf(service.getUsers().stream().map(User::getBalance).toList());
+        assertThat(recovered.getIndexedPeriodCount()).isEqualTo(service.getIndexedPeriodCount());
+    }
+
+    // ===============================
+    // MÉTHODES UTILITAIRES
+    // ===============================
+
+    static void runConcurrently(int threads, int iterationsPerThread, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterationsPerThread; i++) {
+                    task.run();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (var future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    static void assertNoOverlappingBookings(Collection<Booking> bookings) {
+        var byRoom = bookings.stream().collect(Collectors.groupingBy(Booking::getRoomNumber));
+        byRoom.values().forEach(roomBookings -> {
+            for (int i = 0; i < roomBookings.size(); i++) {
+                for (int j = i + 1; j < roomBookings.size(); j++) {
+                    var other = roomBookings.get(j);
+                    assertThat(roomBookings.get(i).hasDateConflict(other.getCheckIn(), other.getCheckOut()))
+                            .as("bookings %d and %d overlap", roomBookings.get(i).getBookingId(), other.getBookingId())
+                            .isFalse();
+                }
+            }
+        });
+    }
+
+    static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
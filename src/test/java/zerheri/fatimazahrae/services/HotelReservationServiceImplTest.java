@@ -1,25 +1,50 @@
 package zerheri.fatimazahrae.services;
 
+import zerheri.fatimazahrae.enums.AvailabilityStrategy;
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.BookingStorage;
+import zerheri.fatimazahrae.enums.RejectionReason;
 import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.BookingConfirmedEvent;
+import zerheri.fatimazahrae.events.ReservationEvent;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingRequest;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Page;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
+import java.util.Random;
 import java.util.stream.Stream;
 //
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 /**
  * Tests unitaires pour HotelReservationServiceImpl
@@ -365,6 +390,63 @@ class HotelReservationServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Listing Tests")
+    class ListingTests {
+
+        @Test
+        @DisplayName("Should page rooms from latest to oldest using cursors")
+        void shouldPageRoomsLatestFirst() {
+            // Given
+            for (int roomNumber = 1; roomNumber <= 5; roomNumber++) {
+                hotelService.setRoom(roomNumber, RoomType.STANDARD, 100);
+            }
+
+            // When
+            Page<Room> first = hotelService.listRooms(Page.LATEST, 2);
+            Page<Room> second = hotelService.listRooms(first.getNextCursor(), 2);
+            Page<Room> last = hotelService.listRooms(second.getNextCursor(), 2);
+
+            // Then
+            assertThat(first.getItems()).extracting(Room::getRoomNumber).containsExactly(5, 4);
+            assertThat(second.getItems()).extracting(Room::getRoomNumber).containsExactly(3, 2);
+            assertThat(last.getItems()).extracting(Room::getRoomNumber).containsExactly(1);
+            assertThat(first.hasNext()).isTrue();
+            assertThat(last.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should stream users latest first to any appendable")
+        void shouldStreamUsersLatestFirst() throws Exception {
+            // Given
+            hotelService.setUser(1, 100);
+            hotelService.setUser(2, 200);
+            var out = new StringBuilder();
+
+            // When
+            hotelService.printAllUsers(out);
+
+            // Then
+            var text = out.toString();
+            assertThat(text).contains("ALL USERS");
+            assertThat(text.indexOf("id=2,")).isLessThan(text.indexOf("id=1,"));
+            assertThat(outputStream.toString()).doesNotContain("ALL USERS");
+        }
+
+        @Test
+        @DisplayName("Should reject invalid cursors and page sizes")
+        void shouldRejectInvalidCursors() {
+            // Given
+            hotelService.setUser(1, 100);
+
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> hotelService.listUsers(2, 10));
+            assertThrows(IllegalArgumentException.class, () -> hotelService.listUsers(-2, 10));
+            assertThrows(IllegalArgumentException.class, () -> hotelService.listUsers(Page.LATEST, 0));
+            assertThat(hotelService.listBookings(Page.LATEST, 10).getItems()).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("Count Methods Tests")
     class CountMethodsTests {
@@ -431,10 +513,562 @@ class HotelReservationServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batch Booking Tests")
+    class BatchBookingTests {
+
+        @Test
+        @DisplayName("Should propagate a storage failure, keeping the bookings validated before it")
+        void shouldPropagateUnexpectedBatchFailure() {
+            // Given: un stockage qui échoue à la deuxième réservation
+            var failing = new HotelReservationServiceImpl() {
+                private int attempts;
+
+                @Override
+                protected BookingResult tryCreateBooking(int userId, int roomNumber, int checkInDay, int checkOutDay,
+                                                         BookingStatus status) {
+                    if (++attempts == 2) {
+                        throw new UncheckedIOException(new IOException("Journal unavailable"));
+                    }
+                    return super.tryCreateBooking(userId, roomNumber, checkInDay, checkOutDay, status);
+                }
+            };
+            failing.setEventSink(ReservationEventSink.SILENT);
+            failing.setRoom(101, RoomType.STANDARD, 100);
+            failing.setUser(1, 10_000);
+            var aggregates = failing.enableOccupancyAggregates();
+            var checkIn = LocalDate.of(2027, 3, 1);
+
+            // When
+            var thrown = assertThrows(UncheckedIOException.class, () -> failing.bookRooms(List.of(
+                    new BookingRequest(1, 101, checkIn, checkIn.plusDays(2)),
+                    new BookingRequest(1, 101, checkIn.plusDays(5), checkIn.plusDays(7)),
+                    new BookingRequest(1, 101, checkIn.plusDays(10), checkIn.plusDays(11)))));
+
+            // Then: l'erreur n'est pas déguisée en refus, la première réservation reste comptée
+            assertThat(thrown).hasMessageContaining("Journal unavailable");
+            assertThat(failing.getTotalBookingsCount()).isEqualTo(1);
+            assertThat(aggregates.getNightsSold(null, (int) checkIn.toEpochDay(), (int) checkIn.toEpochDay() + 30))
+                    .isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should report a typed result for each request of the batch")
+        void shouldReportResultPerRequest() {
+            // Given
+            hotelService.setRoom(101, RoomType.STANDARD, 1000);
+            hotelService.setUser(1, 3000);
+            var checkIn = LocalDate.of(2027, 3, 1);
+
+            // When
+            var results = hotelService.bookRooms(List.of(
+                    new BookingRequest(1, 101, checkIn, checkIn.plusDays(2)),
+                    new BookingRequest(1, 101, checkIn.plusDays(1), checkIn.plusDays(3)),
+                    new BookingRequest(1, 101, checkIn.plusDays(5), checkIn.plusDays(7)),
+                    new BookingRequest(9, 101, checkIn.plusDays(10), checkIn.plusDays(11)),
+                    new BookingRequest(1, 999, checkIn, checkIn.plusDays(1)),
+                    new BookingRequest(1, 101, checkIn.plusDays(20), checkIn.plusDays(20))));
+
+            // Then
+            assertThat(results).extracting(BookingResult::getRejectionReason).containsExactly(
+                    null,
+                    RejectionReason.ROOM_NOT_AVAILABLE,
+                    RejectionReason.INSUFFICIENT_BALANCE,
+                    RejectionReason.USER_NOT_FOUND,
+                    RejectionReason.ROOM_NOT_FOUND,
+                    RejectionReason.INVALID_DATES);
+            assertThat(results.get(0).getBooking().getTotalAmount()).isEqualTo(2000);
+            assertThat(hotelService.getTotalBookingsCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should give the same outcomes as applying requests one by one")
+        void shouldMatchSequentialOutcomes() {
+            // Given
+            var batched = new HotelReservationServiceImpl();
+            var sequential = new HotelReservationServiceImpl();
+            var requests = randomRequests(new Random(5), 2_000);
+            for (var service : List.of(batched, sequential)) {
+                for (int room = 1; room <= 20; room++) {
+                    service.setRoom(room, RoomType.STANDARD, 100);
+                }
+                for (int user = 1; user <= 30; user++) {
+                    service.setUser(user, 5_000);
+                }
+            }
+
+            // When
+            var batchResults = batched.bookRooms(requests);
+            var sequentialResults = new ArrayList<BookingResult>();
+            requests.forEach(request -> sequentialResults.addAll(sequential.bookRooms(List.of(request))));
+
+            // Then
+            assertThat(batchResults).extracting(BookingResult::getRejectionReason)
+                    .containsExactlyElementsOf(sequentialResults.stream().map(BookingResult::getRejectionReason).toList());
+            assertThat(batched.getTotalBookingsCount()).isEqualTo(sequential.getTotalBookingsCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Try Book Room Tests")
+    class TryBookRoomTests {
+
+        @Test
+        @DisplayName("Should return the booking ID when the booking is confirmed")
+        void shouldReturnBookingId() {
+            // Given
+            hotelService.setRoom(1, RoomType.STANDARD, 100);
+            hotelService.setUser(1, 1000);
+            var checkIn = LocalDate.of(2027, 8, 1);
+
+            // When
+            var result = hotelService.tryBookRoom(1, 1, checkIn, checkIn.plusDays(3));
+
+            // Then
+            assertThat(result.isConfirmed()).isTrue();
+            assertThat(result.getBookingId()).isEqualTo(result.getBooking().getBookingId());
+            assertThat(result.getRejectionReason()).isNull();
+            assertThat(hotelService.getTotalBookingsCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should return a typed rejection with the historical message and no console output")
+        void shouldReturnTypedRejections() {
+            // Given
+            hotelService.setRoom(1, RoomType.STANDARD, 100);
+            hotelService.setUser(1, 250);
+            var checkIn = LocalDate.of(2027, 8, 1);
+            hotelService.tryBookRoom(1, 1, checkIn, checkIn.plusDays(1));
+            outputStream.reset();
+
+            // When
+            var insufficient = hotelService.tryBookRoom(1, 1, checkIn.plusDays(5), checkIn.plusDays(7));
+            var unavailable = hotelService.tryBookRoom(1, 1, checkIn, checkIn.plusDays(1));
+            var unknownUser = hotelService.tryBookRoom(9, 1, checkIn, checkIn.plusDays(1));
+            var unknownRoom = hotelService.tryBookRoom(1, 9, checkIn, checkIn.plusDays(1));
+            var invalidDates = hotelService.tryBookRoom(1, 1, checkIn, checkIn);
+            var invalidUser = hotelService.tryBookRoom(0, 1, checkIn, checkIn.plusDays(1));
+
+            // Then
+            assertThat(insufficient.getRejectionReason()).isEqualTo(RejectionReason.INSUFFICIENT_BALANCE);
+            assertThat(insufficient.getRequiredAmount()).isEqualTo(200);
+            assertThat(insufficient.getAvailableBalance()).isEqualTo(150);
+            assertThat(insufficient.getMessage()).isEqualTo("Insufficient balance. Required: 200, Available: 150");
+            assertThat(unavailable.getMessage()).isEqualTo("Room 1 is not available for the specified period");
+            assertThat(unknownUser.getMessage()).isEqualTo("User not found: 9");
+            assertThat(unknownRoom.getMessage()).isEqualTo("Room not found: 9");
+            assertThat(invalidDates.getRejectionReason()).isEqualTo(RejectionReason.INVALID_DATES);
+            assertThat(invalidUser.getRejectionReason()).isEqualTo(RejectionReason.INVALID_PARAMETERS);
+            assertThat(invalidUser.getBookingId()).isEqualTo(-1L);
+            assertThat(outputStream.toString()).isEmpty();
+            assertThat(hotelService.getTotalBookingsCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should keep the exception-based messages of bookRoom unchanged")
+        void shouldKeepBookRoomMessages() {
+            // Given
+            var originalErr = System.err;
+            var errorStream = new ByteArrayOutputStream();
+            System.setErr(new PrintStream(errorStream));
+            hotelService.setRoom(1, RoomType.STANDARD, 100);
+            hotelService.setUser(1, 50);
+
+            // When
+            try {
+                hotelService.bookRoom(1, 1, createDate(2027, 8, 1), createDate(2027, 8, 2));
+            } finally {
+                System.setErr(originalErr);
+            }
+
+            // Then
+            assertThat(errorStream.toString()).contains("Booking failed: Insufficient balance. Required: 100, Available: 50");
+        }
+
+        @Test
+        @DisplayName("Should give the same outcomes with epoch days as with local dates")
+        void shouldBookWithEpochDays() {
+            // Given
+            hotelService.setRoom(1, RoomType.STANDARD, 100);
+            hotelService.setUser(1, 250);
+            var checkIn = LocalDate.of(2027, 8, 1);
+            int checkInDay = (int) checkIn.toEpochDay();
+
+            // When
+            var confirmed = hotelService.tryBookRoom(1, 1, checkInDay, checkInDay + 2);
+            var unavailable = hotelService.tryBookRoom(1, 1, checkInDay + 1, checkInDay + 2);
+            var insufficient = hotelService.tryBookRoom(1, 1, checkInDay + 10, checkInDay + 12);
+            var invalidDates = hotelService.tryBookRoom(1, 1, checkInDay, checkInDay);
+
+            // Then
+            assertThat(confirmed.isConfirmed()).isTrue();
+            assertThat(confirmed.getBooking().getCheckIn()).isEqualTo(checkIn);
+            assertThat(confirmed.getBooking().getCheckOut()).isEqualTo(checkIn.plusDays(2));
+            assertThat(confirmed.getBooking().getTotalAmount()).isEqualTo(200);
+            assertThat(unavailable.getRejectionReason()).isEqualTo(RejectionReason.ROOM_NOT_AVAILABLE);
+            assertThat(insufficient.getRequiredAmount()).isEqualTo(200);
+            assertThat(insufficient.getAvailableBalance()).isEqualTo(50);
+            assertThat(invalidDates).isSameAs(BookingResult.invalidDates());
+        }
+
+        @Test
+        @DisplayName("Should resolve legacy dates to their day in the hotel zone")
+        void shouldResolveDatesInHotelZone() {
+            // Given
+            var service = new HotelReservationServiceImpl();
+            service.setHotelZone(ZoneOffset.ofHours(14));
+            service.setRoom(1, RoomType.STANDARD, 100);
+            service.setUser(1, 1000);
+            var checkIn = Date.from(Instant.parse("2027-08-01T12:00:00Z"));
+            var checkOut = Date.from(Instant.parse("2027-08-02T12:00:00Z"));
+
+            // When
+            service.bookRoom(1, 1, checkIn, checkOut);
+            service.bookRoom(1, 1, LocalDate.of(2027, 8, 4), LocalDate.of(2027, 8, 5));
+
+            // Then
+            assertThat(service.listBookings(Page.LATEST, 2).getItems())
+                    .extracting(Booking::getCheckIn)
+                    .containsExactly(LocalDate.of(2027, 8, 4), LocalDate.of(2027, 8, 2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation Tests")
+    class CancellationTests {
+
+        @ParameterizedTest
+        @MethodSource("provideStrategiesAndStorages")
+        @DisplayName("Should refund the user and free the nights for every strategy and storage")
+        void shouldRefundAndReleaseNights(AvailabilityStrategy strategy, BookingStorage storage) {
+            // Given
+            var service = new HotelReservationServiceImpl(strategy, true, storage);
+            service.setRoom(1, RoomType.STANDARD, 100);
+            service.setUser(1, 500);
+            service.setUser(2, 500);
+            var checkIn = LocalDate.now().plusDays(10);
+            var booking = service.tryBookRoom(1, 1, checkIn, checkIn.plusDays(3)).getBooking();
+
+            // When
+            boolean cancelled = service.cancelBooking(booking.getBookingId());
+            var rebooked = service.tryBookRoom(2, 1, checkIn.plusDays(1), checkIn.plusDays(2));
+
+            // Then
+            assertThat(cancelled).isTrue();
+            assertThat(rebooked.isConfirmed()).isTrue();
+            assertThat(service.listUsers(Page.LATEST, 2).getItems())
+                    .extracting(User::getUserId, User::getBalance)
+                    .containsExactly(tuple(2, 400), tuple(1, 500));
+            assertThat(service.listBookings(Page.LATEST, 2).getItems())
+                    .extracting(Booking::getBookingId, Booking::getStatus)
+                    .containsExactly(tuple(rebooked.getBookingId(), BookingStatus.CONFIRMED),
+                            tuple(booking.getBookingId(), BookingStatus.CANCELLED));
+            assertThat(service.getAvailabilityMismatchCount()).isZero();
+        }
+
+        static Stream<Arguments> provideStrategiesAndStorages() {
+            return Stream.of(AvailabilityStrategy.values())
+                    .flatMap(strategy -> Stream.of(BookingStorage.values())
+                            .map(storage -> Arguments.of(strategy, storage)));
+        }
+
+        @Test
+        @DisplayName("Should refuse to cancel an unknown or already cancelled booking")
+        void shouldRefuseUnknownOrCancelledBooking() {
+            // Given
+            var originalErr = System.err;
+            var errorStream = new ByteArrayOutputStream();
+            hotelService.setRoom(1, RoomType.STANDARD, 100);
+            hotelService.setUser(1, 500);
+            var checkIn = LocalDate.of(2027, 8, 1);
+            long bookingId = hotelService.tryBookRoom(1, 1, checkIn, checkIn.plusDays(2)).getBookingId();
+            hotelService.cancelBooking(bookingId);
+
+            // When
+            boolean cancelledTwice;
+            boolean cancelledUnknown;
+            System.setErr(new PrintStream(errorStream));
+            try {
+                cancelledTwice = hotelService.cancelBooking(bookingId);
+                cancelledUnknown = hotelService.cancelBooking(-42);
+            } finally {
+                System.setErr(originalErr);
+            }
+
+            // Then
+            assertThat(cancelledTwice).isFalse();
+            assertThat(cancelledUnknown).isFalse();
+            assertThat(errorStream.toString())
+                    .contains("Cancellation failed: No confirmed booking with ID " + bookingId)
+                    .contains("Cancellation failed: No confirmed booking with ID -42");
+            assertThat(outputStream.toString()).containsOnlyOnce("cancelled: User 1 refunded 200 for Room 1");
+        }
+    }
+
+    @Nested
+    @DisplayName("Hold Tests")
+    class HoldTests {
+
+        @ParameterizedTest
+        @MethodSource("zerheri.fatimazahrae.services.HotelReservationServiceImplTest$CancellationTests#provideStrategiesAndStorages")
+        @DisplayName("Should block and debit on hold, keep a confirmed hold and refund a released one")
+        void shouldHoldConfirmAndRelease(AvailabilityStrategy strategy, BookingStorage storage) {
+            // Given
+            var service = new HotelReservationServiceImpl(strategy, true, storage);
+            service.setRoom(1, RoomType.STANDARD, 100);
+            service.setUser(1, 1000);
+            service.setUser(2, 1000);
+            var checkIn = LocalDate.of(2027, 9, 1);
+
+            // When
+            var kept = service.holdRoom(1, 1, checkIn, checkIn.plusDays(2), Duration.ofMinutes(10));
+            var released = service.holdRoom(1, 1, checkIn.plusDays(5), checkIn.plusDays(6), Duration.ofMinutes(10));
+            var blocked = service.tryBookRoom(2, 1, checkIn.plusDays(5), checkIn.plusDays(6));
+            boolean confirmed = service.confirmHold(kept.getBookingId());
+            boolean releasedNow = service.releaseHold(released.getBookingId());
+
+            // Then
+            assertThat(blocked.getRejectionReason()).isEqualTo(RejectionReason.ROOM_NOT_AVAILABLE);
+            assertThat(confirmed).isTrue();
+            assertThat(releasedNow).isTrue();
+            assertThat(service.releaseHold(kept.getBookingId())).isFalse();
+            assertThat(service.confirmHold(released.getBookingId())).isFalse();
+            assertThat(service.tryBookRoom(2, 1, checkIn.plusDays(5), checkIn.plusDays(6)).isConfirmed()).isTrue();
+            assertThat(service.tryBookRoom(2, 1, checkIn, checkIn.plusDays(1)).isConfirmed()).isFalse();
+            assertThat(service.listUsers(Page.LATEST, 2).getItems())
+                    .extracting(User::getUserId, User::getBalance)
+                    .containsExactly(tuple(2, 900), tuple(1, 800));
+            assertThat(service.listBookings(Page.LATEST, 4).getItems())
+                    .extracting(Booking::getBookingId, Booking::getStatus)
+                    .contains(tuple(kept.getBookingId(), BookingStatus.CONFIRMED),
+                            tuple(released.getBookingId(), BookingStatus.CANCELLED));
+            assertThat(service.getAvailabilityMismatchCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should publish a hold confirmation without a stale remaining balance")
+        void shouldPublishHoldConfirmationWithoutBalance() {
+            // Given
+            List<ReservationEvent> events = new ArrayList<>();
+            var service = new HotelReservationServiceImpl();
+            service.setEventSink(events::add);
+            service.setRoom(1, RoomType.STANDARD, 100);
+            service.setUser(1, 500);
+            var checkIn = LocalDate.of(2027, 9, 1);
+            var hold = service.holdRoom(1, 1, checkIn, checkIn.plusDays(2), Duration.ofMinutes(10));
+            service.setUser(1, 1000);
+
+            // When
+            service.confirmHold(hold.getBookingId());
+
+            // Then
+            var confirmation = (BookingConfirmedEvent) events.get(events.size() - 1);
+            assertThat(confirmation.isHoldConfirmation()).isTrue();
+            assertThat(confirmation.getBooking().getBookingId()).isEqualTo(hold.getBookingId());
+            assertThatThrownBy(confirmation::getRemainingBalance).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Should release and refund an unconfirmed hold once its duration has elapsed")
+        void shouldExpireUnconfirmedHold() throws InterruptedException {
+            // Given
+            hotelService.setRoom(1, RoomType.STANDARD, 100);
+            hotelService.setUser(1, 500);
+            var checkIn = LocalDate.of(2027, 9, 1);
+            var hold = hotelService.holdRoom(1, 1, checkIn, checkIn.plusDays(2), Duration.ofMillis(50));
+            var longHold = hotelService.holdRoom(1, 1, checkIn.plusDays(4), checkIn.plusDays(5), Duration.ofMinutes(10));
+
+            // When: l'échéance (arrondie au tick de 100 ms) est passée ; la réservation suivante la traite
+            Thread.sleep(300);
+            var rebooked = hotelService.tryBookRoom(1, 1, checkIn, checkIn.plusDays(2));
+
+            // Then
+            assertThat(rebooked.isConfirmed()).isTrue();
+            assertThat(hold.getBooking().getStatus()).isEqualTo(BookingStatus.CANCELLED);
+            assertThat(longHold.getBooking().getStatus()).isEqualTo(BookingStatus.PENDING);
+            assertThat(hotelService.confirmHold(hold.getBookingId())).isFalse();
+            assertThat(hotelService.listUsers(Page.LATEST, 1).getItems())
+                    .extracting(User::getBalance).containsExactly(200);
+        }
+
+        @Test
+        @DisplayName("Should reject a hold without a positive duration")
+        void shouldRejectNonPositiveDuration() {
+            // Given
+            hotelService.setRoom(1, RoomType.STANDARD, 100);
+            hotelService.setUser(1, 500);
+            var checkIn = LocalDate.of(2027, 9, 1);
+
+            // When & Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> hotelService.holdRoom(1, 1, checkIn, checkIn.plusDays(1), Duration.ZERO));
+            assertThat(hotelService.getTotalBookingsCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Availability Search Tests")
+    class AvailabilitySearchTests {
+
+        @Test
+        @DisplayName("Should return free rooms of the type under the price ceiling, cheapest first")
+        void shouldFindAvailableRoomsOrderedByPrice() {
+            // Given
+            hotelService.setRoom(1, RoomType.STANDARD, 300);
+            hotelService.setRoom(2, RoomType.STANDARD, 100);
+            hotelService.setRoom(3, RoomType.STANDARD, 200);
+            hotelService.setRoom(4, RoomType.MASTER_SUITE, 50);
+            hotelService.setRoom(5, RoomType.STANDARD, 900);
+            hotelService.setUser(1, 10_000);
+            var checkIn = LocalDate.of(2027, 5, 10);
+            hotelService.bookRooms(List.of(new BookingRequest(1, 3, checkIn, checkIn.plusDays(2))));
+
+            // When
+            var rooms = hotelService.findAvailableRooms(RoomType.STANDARD, checkIn.plusDays(1), checkIn.plusDays(4), 500, 10);
+
+            // Then
+            assertThat(rooms).extracting(Room::getRoomNumber).containsExactly(2, 1);
+        }
+
+        @Test
+        @DisplayName("Should follow room type and price updates")
+        void shouldFollowRoomUpdates() {
+            // Given
+            hotelService.setRoom(1, RoomType.STANDARD, 100);
+            hotelService.setRoom(2, RoomType.STANDARD, 200);
+            var checkIn = LocalDate.of(2027, 5, 10);
+
+            // When
+            hotelService.setRoom(1, RoomType.JUNIOR_SUITE, 150);
+            hotelService.setRoom(2, RoomType.STANDARD, 50);
+
+            // Then
+            assertThat(hotelService.findAvailableRooms(RoomType.STANDARD, checkIn, checkIn.plusDays(1), 1000, 10))
+                    .extracting(Room::getRoomNumber).containsExactly(2);
+            assertThat(hotelService.findAvailableRooms(null, checkIn, checkIn.plusDays(1), 1000, 10))
+                    .extracting(Room::getRoomNumber).containsExactly(2, 1);
+            assertThat(hotelService.findAvailableRooms(RoomType.JUNIOR_SUITE, checkIn, checkIn.plusDays(1), 149, 10))
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should agree with a brute-force scan and honour the limit")
+        void shouldMatchBruteForce() {
+            // Given
+            var random = new Random(17);
+            for (int room = 1; room <= 500; room++) {
+                hotelService.setRoom(room, RoomType.values()[random.nextInt(3)], 1 + random.nextInt(1000));
+            }
+            hotelService.setUser(1, Integer.MAX_VALUE);
+            var requests = new ArrayList<BookingRequest>();
+            var base = LocalDate.of(2027, 1, 1);
+            for (int i = 0; i < 3_000; i++) {
+                var checkIn = base.plusDays(random.nextInt(60));
+                requests.add(new BookingRequest(1, 1 + random.nextInt(500), checkIn, checkIn.plusDays(1 + random.nextInt(4))));
+            }
+            var bookings = hotelService.bookRooms(requests).stream()
+                    .filter(BookingResult::isConfirmed).map(BookingResult::getBooking).toList();
+            var checkIn = base.plusDays(20);
+            var checkOut = base.plusDays(23);
+
+            // When
+            var rooms = hotelService.findAvailableRooms(RoomType.JUNIOR_SUITE, checkIn, checkOut, 600, 25);
+
+            // Then
+            var expected = ((HotelReservationServiceImpl) hotelService).getRooms().stream()
+                    .filter(r -> r.getRoomType() == RoomType.JUNIOR_SUITE && r.getPricePerNight() <= 600)
+                    .filter(r -> bookings.stream().noneMatch(b -> b.getRoomNumber() == r.getRoomNumber()
+                            && b.hasDateConflict(checkIn, checkOut)))
+                    .sorted(Comparator.comparingInt(Room::getPricePerNight).thenComparingInt(Room::getRoomNumber))
+                    .limit(25)
+                    .toList();
+            assertThat(rooms).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Nested
+    @DisplayName("Availability Strategy Tests")
+    class AvailabilityStrategyTests {
+
+        @ParameterizedTest
+        @EnumSource(AvailabilityStrategy.class)
+        @DisplayName("Should give the same answers as the list scan for every strategy")
+        void shouldMatchListScan(AvailabilityStrategy strategy) {
+            // Given
+            var service = new HotelReservationServiceImpl(strategy, true);
+            for (int room = 1; room <= 5; room++) {
+                service.setRoom(room, RoomType.STANDARD, 10);
+            }
+            service.setUser(1, 1_000_000);
+            var random = new Random(11);
+            var today = LocalDate.now();
+
+            // When
+            for (int i = 0; i < 300; i++) {
+                var checkIn = today.plusDays(random.nextInt(120));
+                var checkOut = checkIn.plusDays(1 + random.nextInt(7));
+                service.bookRoom(1, 1 + random.nextInt(5), toDate(checkIn), toDate(checkOut));
+            }
+
+            // Then
+            assertThat(service.getTotalBookingsCount()).isPositive();
+            assertThat(service.getAvailabilityMismatchCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should accept and list the same bookings with compact storage")
+        void shouldMatchObjectStorageWithCompactStorage() {
+            // Given
+            var objects = new HotelReservationServiceImpl(AvailabilityStrategy.INTERVAL_INDEX, true, BookingStorage.OBJECTS);
+            var compact = new HotelReservationServiceImpl(AvailabilityStrategy.INTERVAL_INDEX, true, BookingStorage.COMPACT);
+            for (var service : List.of(objects, compact)) {
+                for (int room = 1; room <= 5; room++) {
+                    service.setRoom(room, RoomType.STANDARD, 10);
+                }
+                service.setUser(1, 1_000_000);
+            }
+            var random = new Random(5);
+            var today = LocalDate.now();
+
+            // When
+            for (int i = 0; i < 300; i++) {
+                var checkIn = today.plusDays(random.nextInt(120));
+                var checkOut = checkIn.plusDays(1 + random.nextInt(7));
+                int room = 1 + random.nextInt(5);
+                assertThat(compact.tryBookRoom(1, room, checkIn, checkOut).isConfirmed())
+                        .isEqualTo(objects.tryBookRoom(1, room, checkIn, checkOut).isConfirmed());
+            }
+
+            // Then
+            assertThat(compact.getTotalBookingsCount()).isEqualTo(objects.getTotalBookingsCount());
+            assertThat(compact.getAvailabilityMismatchCount()).isZero();
+            assertThat(compact.listBookings(Page.LATEST, 20).getItems())
+                    .extracting(Booking::getRoomNumber, Booking::getCheckIn, Booking::getTotalAmount)
+                    .containsExactlyElementsOf(objects.listBookings(Page.LATEST, 20).getItems().stream()
+                            .map(b -> tuple(b.getRoomNumber(), b.getCheckIn(), b.getTotalAmount()))
+                            .toList());
+        }
+    }
+
     // ===============================
     // MÉTHODES UTILITAIRES
     // ===============================
 
+    static List<BookingRequest> randomRequests(Random random, int count) {
+        var requests = new ArrayList<BookingRequest>();
+        var base = LocalDate.of(2027, 1, 1);
+        for (int i = 0; i < count; i++) {
+            var checkIn = base.plusDays(random.nextInt(90));
+            requests.add(new BookingRequest(1 + random.nextInt(32), 1 + random.nextInt(21),
+                    checkIn, checkIn.plusDays(random.nextInt(6))));
+        }
+        return requests;
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
     private static Date createDate(int year, int month, int day) {
         return Date.from(LocalDate.of(year, month, day)
                 .atStartOfDay(ZoneId.systemDefault())
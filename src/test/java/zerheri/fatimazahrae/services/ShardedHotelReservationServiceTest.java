@@ -0,0 +1,268 @@
+package zerheri.fatimazahrae.services;
+
+import zerheri.fatimazahrae.enums.BookingStatus;
+import zerheri.fatimazahrae.enums.DurabilityMode;
+import zerheri.fatimazahrae.enums.RoomType;
+import zerheri.fatimazahrae.events.ReservationEventSink;
+import zerheri.fatimazahrae.models.Booking;
+import zerheri.fatimazahrae.models.BookingResult;
+import zerheri.fatimazahrae.models.Room;
+import zerheri.fatimazahrae.models.User;
+import zerheri.fatimazahrae.persistence.JournalConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static zerheri.fatimazahrae.services.ConcurrentHotelReservationServiceTest.assertNoOverlappingBookings;
+import static zerheri.fatimazahrae.services.ConcurrentHotelReservationServiceTest.runConcurrently;
+
+/**
+ * Tests de concurrence pour ShardedHotelReservationService
+ */
+@DisplayName("Sharded Hotel Reservation Service Tests")
+class ShardedHotelReservationServiceTest {
+    private static final int ROOMS = 8;
+    private static final int USERS = 16;
+    private static final int INITIAL_BALANCE = 2_000;
+    private static final int PRICE = 10;
+
+    private final Logger serviceLogger = Logger.getLogger(ShardedHotelReservationService.class.getName());
+    private PrintStream originalOut;
+    private ShardedHotelReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        // Les sorties console ne sont pas l'objet de ces tests
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        serviceLogger.setLevel(Level.OFF);
+        service = new ShardedHotelReservationService(4, 16);
+        service.setEventSink(ReservationEventSink.SILENT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        System.setOut(originalOut);
+        serviceLogger.setLevel(null);
+    }
+
+    @Test
+    @DisplayName("Should never double-book a room nor overdraw a user debited from several shards")
+    void shouldKeepInvariantsUnderContention() throws Exception {
+        // Given: chaque utilisateur réserve des chambres de tous les shards
+        givenRoomsAndUsers();
+        var base = LocalDate.of(2027, 1, 1);
+        var cancelled = new AtomicInteger();
+
+        // When
+        runConcurrently(8, 2_000, () -> {
+            var random = ThreadLocalRandom.current();
+            int bookingCount = service.getTotalBookingsCount();
+            if (random.nextInt(4) == 0 && bookingCount > 0) {
+                if (service.cancelBooking(service.getBookings().get(random.nextInt(bookingCount)).getBookingId())) {
+                    cancelled.incrementAndGet();
+                }
+            } else {
+                var checkIn = base.plusDays(random.nextInt(200));
+                service.tryBookRoom(1 + random.nextInt(USERS), 1 + random.nextInt(ROOMS),
+                        checkIn, checkIn.plusDays(1 + random.nextInt(5)));
+            }
+        });
+
+        // Then
+        var confirmed = service.getBookings().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
+                .collect(Collectors.toList());
+        assertNoOverlappingBookings(confirmed);
+        assertThat(service.getTotalBookingsCount() - confirmed.size()).isEqualTo(cancelled.get());
+        assertThat(service.getIndexedPeriodCount()).isEqualTo(confirmed.size());
+        int spent = confirmed.stream().mapToInt(Booking::getTotalAmount).sum();
+        int remaining = service.getUsers().stream().mapToInt(User::getBalance).sum();
+        assertThat(service.getUsers()).allSatisfy(u -> assertThat(u.getBalance()).isNotNegative());
+        assertThat(spent + remaining).isEqualTo(USERS * INITIAL_BALANCE);
+    }
+
+    @Test
+    @DisplayName("Should give the same batch outcomes as the single-threaded implementation")
+    void shouldMatchReferenceBatchOutcomes() {
+        // Given
+        var reference = new HotelReservationServiceImpl();
+        var requests = HotelReservationServiceImplTest.randomRequests(new Random(9), 2_000);
+        for (var target : List.of(service, reference)) {
+            for (int room = 1; room <= 20; room++) {
+                target.setRoom(room, RoomType.STANDARD, 100);
+            }
+            for (int user = 1; user <= 30; user++) {
+                target.setUser(user, 5_000);
+            }
+        }
+
+        // When
+        var results = service.bookRooms(requests);
+        var expected = reference.bookRooms(requests);
+
+        // Then
+        assertThat(results).extracting(BookingResult::getRejectionReason)
+                .containsExactlyElementsOf(expected.stream().map(BookingResult::getRejectionReason).toList());
+        assertNoOverlappingBookings(service.getBookings());
+    }
+
+    @Test
+    @DisplayName("Should merge per-shard search results by price then room number")
+    void shouldMergeSearchResultsAcrossShards() {
+        // Given
+        for (int room = 1; room <= 40; room++) {
+            service.setRoom(room, room % 2 == 0 ? RoomType.STANDARD : RoomType.JUNIOR_SUITE, 100 + (room * 7) % 50);
+        }
+        service.setUser(1, 100_000);
+        var checkIn = LocalDate.of(2027, 3, 1);
+        service.tryBookRoom(1, 2, checkIn, checkIn.plusDays(2));
+        service.setRoom(4, RoomType.STANDARD, 1);
+
+        // When
+        var found = service.findAvailableRooms(RoomType.STANDARD, checkIn.plusDays(1), checkIn.plusDays(3), 140, 5);
+
+        // Then
+        var expected = service.getRooms().stream()
+                .filter(room -> room.getRoomType() == RoomType.STANDARD && room.getPricePerNight() <= 140)
+                .filter(room -> room.getRoomNumber() != 2)
+                .sorted((a, b) -> a.getPricePerNight() != b.getPricePerNight()
+                        ? Integer.compare(a.getPricePerNight(), b.getPricePerNight())
+                        : Integer.compare(a.getRoomNumber(), b.getRoomNumber()))
+                .limit(5)
+                .map(Room::getRoomNumber)
+                .toList();
+        assertThat(found).extracting(Room::getRoomNumber).containsExactlyElementsOf(expected).startsWith(4);
+    }
+
+    @Test
+    @DisplayName("Should expire unconfirmed holds through the owning shard")
+    void shouldExpireHoldsThroughShards() throws Exception {
+        // Given
+        givenRoomsAndUsers();
+        var checkIn = LocalDate.of(2027, 1, 1);
+        var kept = service.holdRoom(1, 1, checkIn, checkIn.plusDays(1), Duration.ofMinutes(5));
+        var expiring = service.holdRoom(2, 2, checkIn, checkIn.plusDays(1), Duration.ofMillis(1));
+
+        // When
+        service.confirmHold(kept.getBookingId());
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (service.getBookings().stream().anyMatch(booking -> booking.getStatus() == BookingStatus.PENDING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // Then
+        assertThat(expiring.isConfirmed()).isTrue();
+        assertThat(service.getBookings()).extracting(Booking::getStatus)
+                .containsExactly(BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+        assertThat(service.tryBookRoom(3, 2, checkIn, checkIn.plusDays(1)).isConfirmed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should replay to the live balances when setUser races bookings and cancellations")
+    void shouldJournalBalanceChangesInMemoryOrder(@TempDir Path directory) throws Exception {
+        // Given
+        var journalFile = directory.resolve("journal.log");
+        var config = new JournalConfig(Duration.ofMillis(1), 64 * 1024, DurabilityMode.ASYNC);
+        service.openJournal(journalFile, config);
+        givenRoomsAndUsers();
+        var base = LocalDate.of(2027, 1, 1);
+
+        // When: soldes redéfinis pendant que les mêmes utilisateurs réservent et annulent
+        runConcurrently(8, 2_000, () -> {
+            var random = ThreadLocalRandom.current();
+            int user = 1 + random.nextInt(2);
+            int bookingCount = service.getTotalBookingsCount();
+            int action = random.nextInt(4);
+            if (action == 0) {
+                service.setUser(user, INITIAL_BALANCE + random.nextInt(100));
+            } else if (action == 1 && bookingCount > 0) {
+                service.cancelBooking(service.getBookings().get(random.nextInt(bookingCount)).getBookingId());
+            } else {
+                var checkIn = base.plusDays(random.nextInt(3_000));
+                service.tryBookRoom(user, 1 + random.nextInt(ROOMS), checkIn, checkIn.plusDays(1));
+            }
+        });
+        service.closeJournal();
+        var recovered = new ShardedHotelReservationService(4, 16);
+        recovered.setEventSink(ReservationEventSink.SILENT);
+        recovered.openJournal(journalFile, config);
+        recovered.closeJournal();
+        recovered.shutdown();
+
+        // Then
+        assertThat(recovered.getUsers()).extracting(User::getUserId, User::getBalance)
+                .containsExactlyElementsOf(service.getUsers().stream()
+                        .map(u -> tuple(u.getUserId(), u.getBalance())).toList());
+        assertThat(recovered.getIndexedPeriodCount()).isEqualTo(service.getIndexedPeriodCount());
+        assertNoOverlappingBookings(recovered.getBookings().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject, never strand, messages sent while or after the shards stop")
+    void shouldRejectMessagesAfterShutdown() throws Exception {
+        // Given
+        givenRoomsAndUsers();
+        var checkIn = LocalDate.of(2027, 1, 1);
+        var rejected = new AtomicInteger();
+        var callers = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            var caller = new Thread(() -> {
+                try {
+                    while (true) {
+                        service.findAvailableRooms(null, checkIn, checkIn.plusDays(1), PRICE, ROOMS);
+                    }
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+
+        // When: arrêt pendant que les appelants envoient des recherches
+        Thread.sleep(50);
+        service.shutdown();
+        for (var caller : callers) {
+            caller.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        // Then
+        assertThat(callers).noneMatch(Thread::isAlive);
+        assertThat(rejected).hasValue(4);
+        assertThatThrownBy(() -> service.findAvailableRooms(null, checkIn, checkIn.plusDays(1), PRICE, 1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void givenRoomsAndUsers() {
+        for (int room = 1; room <= ROOMS; room++) {
+            service.setRoom(room, RoomType.STANDARD, PRICE);
+        }
+        for (int user = 1; user <= USERS; user++) {
+            service.setUser(user, INITIAL_BALANCE);
+        }
+    }
+}